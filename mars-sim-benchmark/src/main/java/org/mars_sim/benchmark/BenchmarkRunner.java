@@ -0,0 +1,66 @@
+/**
+ * Mars Simulation Project
+ * BenchmarkRunner.java
+ * @version 3.1.1 2026-10-18
+ * @author agent
+ */
+package org.mars_sim.benchmark;
+
+import java.io.File;
+
+import org.mars_sim.msp.core.Msg;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The main class of benchmarks.jar. It takes the usual JMH command line
+ * options, e.g. a benchmark name pattern or "-p template=stock", and writes the
+ * results as JSON to jmh-results/mars-sim-[version]-[build].json unless another
+ * result file or format is given. Comparing the files of two builds shows the
+ * regressions between them.
+ * <p>
+ * Build with "mvn package -pl mars-sim-benchmark -am" and run with
+ * "java -jar mars-sim-benchmark/target/benchmarks.jar".
+ */
+public class BenchmarkRunner {
+
+	private static final String RESULT_DIR = "jmh-results";
+
+	/**
+	 * Private constructor for the main class.
+	 */
+	private BenchmarkRunner() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		CommandLineOptions commandLine = new CommandLineOptions(args);
+		if (commandLine.shouldHelp()) {
+			commandLine.showHelp();
+			return;
+		}
+		if (commandLine.shouldList()) {
+			new Runner(commandLine).list();
+			return;
+		}
+
+		ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+
+		if (!commandLine.getResultFormat().hasValue())
+			options.resultFormat(ResultFormatType.JSON);
+
+		if (!commandLine.getResult().hasValue()) {
+			String version = Msg.getString("Simulation.version").trim();
+			String build = Msg.getString("Simulation.build").trim();
+			new File(RESULT_DIR).mkdirs();
+			String extension = commandLine.getResultFormat().hasValue()
+					? commandLine.getResultFormat().get().toString().toLowerCase()
+					: "json";
+			options.result(RESULT_DIR + File.separator + "mars-sim-" + version + "-" + build + "." + extension);
+		}
+
+		new Runner(options.build()).run();
+	}
+}
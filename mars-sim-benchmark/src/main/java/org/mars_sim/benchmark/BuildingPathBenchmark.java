@@ -0,0 +1,60 @@
+/**
+ * Mars Simulation Project
+ * BuildingPathBenchmark.java
+ * @version 3.1.1 2026-10-18
+ * @author agent
+ */
+package org.mars_sim.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.mars_sim.msp.core.structure.building.Building;
+import org.mars_sim.msp.core.structure.building.connection.BuildingConnectorManager;
+import org.mars_sim.msp.core.structure.building.connection.InsideBuildingPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Finds the shortest walking path between the centers of two connected
+ * buildings of a settlement, for each pair of connected buildings in turn.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BuildingPathBenchmark extends SimulationState {
+
+	private BuildingConnectorManager connectorManager;
+	private List<Building[]> pairs;
+	private int next;
+
+	@Override
+	protected void prepare() {
+		connectorManager = getSettlement().getBuildingConnectorManager();
+		List<Building> buildings = getSettlement().getBuildingManager().getBuildings();
+		pairs = new ArrayList<>();
+		for (int i = 0; i < buildings.size(); i++) {
+			for (int j = i + 1; j < buildings.size(); j++) {
+				Building building1 = buildings.get(i);
+				Building building2 = buildings.get(j);
+				if (connectorManager.hasValidPath(building1, building2))
+					pairs.add(new Building[] { building1, building2 });
+			}
+		}
+		if (pairs.isEmpty())
+			throw new IllegalStateException("No connected buildings in " + template + ".");
+	}
+
+	@Benchmark
+	public InsideBuildingPath determineShortestPath() {
+		Building[] pair = pairs.get(next);
+		next = (next + 1) % pairs.size();
+		return connectorManager.determineShortestPath(pair[0], pair[0].getXLocation(), pair[0].getYLocation(),
+				pair[1], pair[1].getXLocation(), pair[1].getYLocation());
+	}
+}
@@ -0,0 +1,59 @@
+/**
+ * Mars Simulation Project
+ * ClockPulseBenchmark.java
+ * @version 3.1.1 2026-10-18
+ * @author agent
+ */
+package org.mars_sim.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.mars_sim.msp.core.UnitManager;
+import org.mars_sim.msp.core.time.EarthClock;
+import org.mars_sim.msp.core.time.MarsClock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Runs the whole simulation for one clock pulse : advances the earth and mars
+ * clocks as the master clock does, then updates mars, the missions, the units,
+ * the scientific studies and the transports. The simulation keeps running
+ * from one invocation to the next.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ClockPulseBenchmark extends SimulationState {
+
+	/** The length of a pulse (millisols). */
+	@Param({ "1.0" })
+	public double pulse;
+
+	/** True if the settlements are updated in parallel. */
+	@Param({ "false", "true" })
+	public boolean parallelTick;
+
+	private EarthClock earthClock;
+	private MarsClock marsClock;
+	private long earthMillis;
+
+	@Override
+	protected void prepare() {
+		UnitManager.setParallelTick(parallelTick);
+		earthClock = sim.getMasterClock().getEarthClock();
+		marsClock = sim.getMasterClock().getMarsClock();
+		earthMillis = (long) (pulse * MarsClock.SECONDS_PER_MILLISOL * 1000D);
+	}
+
+	@Benchmark
+	public void clockPulse() {
+		earthClock.addTime(earthMillis);
+		marsClock.addTime(pulse);
+		sim.clockPulse(pulse);
+	}
+}
@@ -0,0 +1,71 @@
+/**
+ * Mars Simulation Project
+ * CoordinatesBenchmark.java
+ * @version 3.1.1 2026-10-18
+ * @author agent
+ */
+package org.mars_sim.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.mars_sim.msp.core.Coordinates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Computes the distances from a few origins to random sites on the surface.
+ * The coordinates do not depend on the simulation, so none is created.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CoordinatesBenchmark {
+
+	private static final long SEED = 20200220L;
+	/** The number of origins, as many as the settlements of a large simulation. */
+	private static final int NUM_ORIGINS = 8;
+	/** The number of sites per origin. */
+	private static final int NUM_SITES = 256;
+
+	private Coordinates[] origins;
+	private Coordinates[] sites;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void createSites() {
+		Random random = new Random(SEED);
+		origins = new Coordinates[NUM_ORIGINS * NUM_SITES];
+		sites = new Coordinates[origins.length];
+		Coordinates origin = null;
+		for (int i = 0; i < origins.length; i++) {
+			if (i % NUM_SITES == 0)
+				origin = randomLocation(random);
+			origins[i] = origin;
+			sites[i] = randomLocation(random);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(NUM_SITES)
+	public void getDistance(Blackhole blackhole) {
+		// Walk the sites of one origin per invocation
+		int start = next;
+		for (int i = start; i < start + NUM_SITES; i++) {
+			blackhole.consume(origins[i].getDistance(sites[i]));
+		}
+		next = (start + NUM_SITES) % origins.length;
+	}
+
+	private static Coordinates randomLocation(Random random) {
+		return new Coordinates(random.nextDouble() * Math.PI, random.nextDouble() * Math.PI * 2D);
+	}
+}
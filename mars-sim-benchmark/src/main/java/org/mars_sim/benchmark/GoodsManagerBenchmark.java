@@ -0,0 +1,70 @@
+/**
+ * Mars Simulation Project
+ * GoodsManagerBenchmark.java
+ * @version 3.1.1 2026-10-18
+ * @author agent
+ */
+package org.mars_sim.benchmark;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.mars_sim.msp.core.Inventory;
+import org.mars_sim.msp.core.structure.goods.GoodsManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Updates the goods values of a settlement, either only for the resources in
+ * stock, which the stores and retrieves between two updates mark dirty, or for
+ * all of the goods.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GoodsManagerBenchmark extends SimulationState {
+
+	private GoodsManager goodsManager;
+	/** The ids of the resources in stock at the settlement. */
+	private int[] stockIDs;
+
+	@Override
+	protected void prepare() {
+		Inventory inv = getSettlement().getInventory();
+		Set<Integer> ids = new HashSet<>(inv.getAllARStored(false));
+		ids.addAll(inv.getAllItemResourcesStored());
+		stockIDs = ids.stream().mapToInt(Integer::intValue).toArray();
+
+		goodsManager = getSettlement().getGoodsManager();
+		// The first update values all the goods
+		goodsManager.updateGoodsValues();
+	}
+
+	/**
+	 * Marks the resources in stock dirty, as a time pulse of the settlement
+	 * does.
+	 */
+	@Setup(Level.Invocation)
+	public void markStockDirty() {
+		for (int id : stockIDs)
+			goodsManager.markGoodDirty(id);
+	}
+
+	@Benchmark
+	public void updateGoodsValues() {
+		goodsManager.updateGoodsValues();
+	}
+
+	@Benchmark
+	public void updateAllGoodsValues() {
+		goodsManager.markAllGoodsDirty();
+		goodsManager.updateGoodsValues();
+	}
+}
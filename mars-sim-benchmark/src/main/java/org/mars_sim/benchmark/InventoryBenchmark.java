@@ -0,0 +1,55 @@
+/**
+ * Mars Simulation Project
+ * InventoryBenchmark.java
+ * @version 3.1.1 2026-10-18
+ * @author agent
+ */
+package org.mars_sim.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.mars_sim.msp.core.Inventory;
+import org.mars_sim.msp.core.resource.ResourceUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Stores an amount of a resource in the inventory of a settlement and
+ * retrieves it again, so that the stock stays the same between invocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InventoryBenchmark extends SimulationState {
+
+	/** The amount stored and retrieved (kg). */
+	private static final double AMOUNT = 1D;
+
+	/** The name of the amount resource. */
+	@Param({ "oxygen", "water", "food" })
+	public String resource;
+
+	private Inventory inventory;
+	private int id;
+
+	@Override
+	protected void prepare() {
+		inventory = getSettlement().getInventory();
+		id = ResourceUtil.findIDbyAmountResourceName(resource);
+		// Make room for the amount to store
+		if (inventory.getAmountResourceRemainingCapacity(id, true, false) < AMOUNT)
+			inventory.retrieveAmountResource(id, AMOUNT);
+	}
+
+	@Benchmark
+	public double storeAndRetrieveAmountResource() {
+		inventory.storeAmountResource(id, AMOUNT, true);
+		inventory.retrieveAmountResource(id, AMOUNT);
+		return inventory.getAmountResourceStored(id, false);
+	}
+}
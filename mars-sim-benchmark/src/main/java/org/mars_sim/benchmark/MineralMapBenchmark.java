@@ -0,0 +1,63 @@
+/**
+ * Mars Simulation Project
+ * MineralMapBenchmark.java
+ * @version 3.1.1 2026-10-18
+ * @author agent
+ */
+package org.mars_sim.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.mars_sim.msp.core.Coordinates;
+import org.mars_sim.msp.core.Direction;
+import org.mars_sim.msp.core.mars.MineralMap;
+import org.mars_sim.msp.core.tool.RandomUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Looks up all the mineral concentrations of the random mineral map of the
+ * simulation, at the settlements and at sites around them, as the exploration
+ * and mining missions do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MineralMapBenchmark extends SimulationState {
+
+	/** The number of locations per invocation. */
+	private static final int NUM_LOCATIONS = 64;
+	/** The distance of the sites from their settlement (km). */
+	private static final double MAX_SITE_DISTANCE = 500D;
+
+	private MineralMap mineralMap;
+	private Coordinates[] locations;
+
+	@Override
+	protected void prepare() {
+		mineralMap = sim.getMars().getSurfaceFeatures().getMineralMap();
+		locations = new Coordinates[NUM_LOCATIONS];
+		for (int i = 0; i < NUM_LOCATIONS; i++) {
+			Coordinates settlementLocation = settlements.get(i % settlements.size()).getCoordinates();
+			if (i < settlements.size())
+				locations[i] = settlementLocation;
+			else
+				locations[i] = settlementLocation.getNewLocation(new Direction(RandomUtil.getRandomDouble(Math.PI * 2D)),
+						RandomUtil.getRandomDouble(MAX_SITE_DISTANCE));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(NUM_LOCATIONS)
+	public void getAllMineralConcentrations(Blackhole blackhole) {
+		for (Coordinates location : locations) {
+			blackhole.consume(mineralMap.getAllMineralConcentrations(location));
+		}
+	}
+}
@@ -0,0 +1,101 @@
+/**
+ * Mars Simulation Project
+ * SimulationState.java
+ * @version 3.1.1 2026-10-18
+ * @author agent
+ */
+package org.mars_sim.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.mars_sim.msp.core.Simulation;
+import org.mars_sim.msp.core.SimulationConfig;
+import org.mars_sim.msp.core.structure.Settlement;
+import org.mars_sim.msp.core.structure.SettlementConfig;
+import org.mars_sim.msp.core.structure.SettlementTemplate;
+import org.mars_sim.msp.core.tool.RandomUtil;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * The fixture shared by the benchmarks : a new simulation created from the
+ * stock settlements.xml. With the "stock" template the simulation has the
+ * initial settlements listed in the file. With any other template it has a
+ * single settlement built from that template with its default population and
+ * robots. The shared random generator is seeded so that every run starts from
+ * the same simulation.
+ */
+public abstract class SimulationState {
+
+	/** The template value for the initial settlements of settlements.xml. */
+	public static final String STOCK = "stock";
+
+	private static final long SEED = 20200220L;
+	private static final String SETTLEMENT_NAME = "Benchmark Base";
+	private static final String SPONSOR = "Mars Society (MS)";
+
+	/** The settlement template the simulation is built from. */
+	@Param({ "Mars Direct Base (Phase 1)", "Mars Direct Base (Phase 3)", "Alpha Base (Phase 4)", STOCK })
+	public String template;
+
+	/** The simulation. */
+	protected Simulation sim;
+	/** The settlements of the simulation. */
+	protected List<Settlement> settlements;
+
+	/**
+	 * Creates the simulation, then lets the benchmark prepare its own data.
+	 */
+	@Setup(Level.Trial)
+	public void createSimulation() {
+		RandomUtil.setSeed(SEED);
+
+		SimulationConfig simulationConfig = SimulationConfig.instance();
+		simulationConfig.loadConfig();
+
+		if (!STOCK.equals(template)) {
+			SettlementConfig settlementConfig = simulationConfig.getSettlementConfiguration();
+			SettlementTemplate settlementTemplate = settlementConfig.getSettlementTemplate(template);
+			if (settlementTemplate == null)
+				throw new IllegalArgumentException("Settlement template: " + template + " not found.");
+			settlementConfig.clearInitialSettlements();
+			settlementConfig.addInitialSettlement(SETTLEMENT_NAME, template,
+					settlementTemplate.getDefaultPopulation(), settlementTemplate.getDefaultNumOfRobots(), SPONSOR,
+					"0.0 N", "0.0 E");
+		}
+
+		sim = Simulation.instance();
+		sim.createNewSimulation(-1, false);
+
+		settlements = new ArrayList<>(sim.getUnitManager().getSettlements());
+		if (settlements.isEmpty())
+			throw new IllegalStateException("No settlement was created from " + template + ".");
+
+		prepare();
+	}
+
+	/**
+	 * Ends the simulation.
+	 */
+	@TearDown(Level.Trial)
+	public void endSimulation() {
+		sim.endSimulation();
+	}
+
+	/**
+	 * Gets the first settlement of the simulation.
+	 *
+	 * @return settlement.
+	 */
+	protected Settlement getSettlement() {
+		return settlements.get(0);
+	}
+
+	/**
+	 * Prepares the data of the benchmark once the simulation is created.
+	 */
+	protected abstract void prepare();
+}
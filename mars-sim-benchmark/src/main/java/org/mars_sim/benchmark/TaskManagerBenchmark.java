@@ -0,0 +1,54 @@
+/**
+ * Mars Simulation Project
+ * TaskManagerBenchmark.java
+ * @version 3.1.1 2026-10-18
+ * @author agent
+ */
+package org.mars_sim.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.mars_sim.msp.core.person.Person;
+import org.mars_sim.msp.core.person.ai.task.utils.Task;
+import org.mars_sim.msp.core.person.ai.task.utils.TaskManager;
+import org.mars_sim.msp.core.structure.Settlement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Selects a new task for the people of the settlements in turn. The selected
+ * task is constructed but not started.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskManagerBenchmark extends SimulationState {
+
+	private List<TaskManager> taskManagers;
+	private int next;
+
+	@Override
+	protected void prepare() {
+		taskManagers = new ArrayList<>();
+		for (Settlement settlement : settlements) {
+			for (Person person : settlement.getAllAssociatedPeople()) {
+				taskManagers.add(person.getMind().getTaskManager());
+			}
+		}
+		if (taskManagers.isEmpty())
+			throw new IllegalStateException("No people in " + template + ".");
+	}
+
+	@Benchmark
+	public Task getNewTask() {
+		TaskManager taskManager = taskManagers.get(next);
+		next = (next + 1) % taskManagers.size();
+		return taskManager.getNewTask();
+	}
+}
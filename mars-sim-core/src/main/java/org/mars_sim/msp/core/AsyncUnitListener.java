@@ -0,0 +1,27 @@
+/**
+ * Mars Simulation Project
+ * AsyncUnitListener.java
+ * @version 3.1.1 2026-10-18
+ * @author agent
+ */
+package org.mars_sim.msp.core;
+
+import java.util.Set;
+
+/**
+ * A unit listener that is not called on the simulation thread. Its events go
+ * through the {@link UnitEventBus} and are delivered in batches on the UI
+ * thread, with repeats of the same event between two deliveries coalesced.
+ */
+public interface AsyncUnitListener extends UnitListener {
+
+	/**
+	 * Gets the types of event this listener wants. Events of other types are not
+	 * queued for it at all.
+	 * 
+	 * @return set of event types or null for all of them.
+	 */
+	default Set<UnitEventType> getUnitEventTypes() {
+		return null;
+	}
+}
@@ -10,10 +10,13 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -33,6 +36,7 @@ import org.mars_sim.msp.core.equipment.SpecimenBox;
 import org.mars_sim.msp.core.mars.MarsSurface;
 import org.mars_sim.msp.core.person.Person;
 import org.mars_sim.msp.core.resource.AmountResource;
+import org.mars_sim.msp.core.resource.AmountResourceArray;
 import org.mars_sim.msp.core.resource.AmountResourceStorage;
 import org.mars_sim.msp.core.resource.ItemResource;
 import org.mars_sim.msp.core.resource.ItemResourceUtil;
@@ -69,19 +73,22 @@ public class Inventory implements Serializable {
 	/** Collection of units in inventory. */
 //	private Collection<Unit> containedUnits = null;
 	private Collection<Integer> containedUnitIDs;
+	/** Index of the contained units by type. Rebuilt from containedUnitIDs when null. */
+	private transient volatile ContainedUnitIndex containedUnitIndex = null;
 	
 	/** Map of item resources. */
 	private Map<Integer, Integer> containedItemResources = null;
 	
-	// Cache capacity variables.
-	private transient Map<Integer, Double> capacityCache = null;
-	private transient Map<Integer, Boolean> capacityCacheDirty = null;
-	private transient Map<Integer, Double> containersCapacityCache = null;
-	private transient Map<Integer, Boolean> containersCapacityCacheDirty = null;
-	private transient Map<Integer, Double> storedCache = null;
-	private transient Map<Integer, Boolean> storedCacheDirty = null;
-	private transient Map<Integer, Double> containersStoredCache = null;
-	private transient Map<Integer, Boolean> containersStoredCacheDirty = null;
+	// Cache capacity variables. The values are indexed by amount resource id and
+	// the bit of a resource id is set when its cached value is up to date.
+	private transient AmountResourceArray capacityCache = null;
+	private transient BitSet capacityCacheClean = null;
+	private transient AmountResourceArray containersCapacityCache = null;
+	private transient BitSet containersCapacityCacheClean = null;
+	private transient AmountResourceArray storedCache = null;
+	private transient BitSet storedCacheClean = null;
+	private transient AmountResourceArray containersStoredCache = null;
+	private transient BitSet containersStoredCacheClean = null;
 	private transient Set<Integer> allStoredARCache = null;
 
 	private transient boolean allStoredAmountResourcesCacheDirty = true;
@@ -1303,54 +1310,30 @@ public class Inventory implements Serializable {
 	}
 
 	/**
-	 * Gets a collection of all the stored EVA suits.
+	 * Gets a read-only copy of all the stored EVA suits.
 	 * 
 	 * @return Collection
 	 */
 	public Collection<EVASuit> getContainedEVASuits() {
-		List<EVASuit> result = new ArrayList<>();
-		if (containedUnitIDs != null) {
-			for (Integer id : containedUnitIDs) {
-				Equipment e = unitManager.getEquipmentByID(id);
-				if (e instanceof EVASuit)
-					result.add((EVASuit)e);
-			}
-		}
-		return result;
+		return getContainedUnitIndex().getEquipment(EVASuit.class);
 	}
 	
 	/**
-	 * Gets a collection of all the stored bags.
+	 * Gets a read-only copy of all the stored bags.
 	 * 
 	 * @return Collection
 	 */
 	public Collection<Bag> getContainedBags() {
-		List<Bag> result = new ArrayList<>();
-		if (containedUnitIDs != null) {
-			for (Integer id : containedUnitIDs) {
-				Equipment e = unitManager.getEquipmentByID(id);
-				if (e instanceof Bag)
-					result.add((Bag)e);
-			}
-		}
-		return result;
+		return getContainedUnitIndex().getEquipment(Bag.class);
 	}
 	
 	/**
-	 * Gets a collection of all the stored specimen box.
+	 * Gets a read-only copy of all the stored specimen box.
 	 * 
 	 * @return Collection
 	 */
 	public Collection<SpecimenBox> getContainedSpecimenBoxes() {
-		List<SpecimenBox> result = new ArrayList<>();
-		if (containedUnitIDs != null) {
-			for (Integer id : containedUnitIDs) {
-				Equipment e = unitManager.getEquipmentByID(id);
-				if (e instanceof SpecimenBox)
-					result.add((SpecimenBox)e);
-			}
-		}
-		return result;
+		return getContainedUnitIndex().getEquipment(SpecimenBox.class);
 	}
 	
 	/**
@@ -1369,20 +1352,12 @@ public class Inventory implements Serializable {
 	}
 
 	/**
-	 * Gets a collection of all the stored people.
+	 * Gets a read-only copy of all the stored people.
 	 * 
 	 * @return Collection of all people
 	 */
 	public Collection<Person> getContainedPeople() {
-		List<Person> result = new ArrayList<>();
-		if (containedUnitIDs != null) {
-			for (Integer id : containedUnitIDs) {
-				Person p = unitManager.getPersonByID(id);
-				if (p != null)
-					result.add(p);
-			}
-		}
-		return result;
+		return getContainedUnitIndex().getPeople();
 	}
 
 	/**
@@ -1391,32 +1366,16 @@ public class Inventory implements Serializable {
 	 * @return the number of people contained
 	 */
 	public int getNumContainedPeople() {
-		int result = 0;
-		if (containedUnitIDs != null) {
-			for (Integer id : containedUnitIDs) {
-				Person p = unitManager.getPersonByID(id);
-				if (p != null)
-					result++;
-			}
-		}
-		return result;
+		return getContainedUnitIndex().getNumPeople();
 	}
 	
 	/**
-	 * Gets a collection of all the stored robots.
+	 * Gets a read-only copy of all the stored robots.
 	 * 
 	 * @return Collection of all robots
 	 */
 	public Collection<Robot> getContainedRobots() {
-		List<Robot> result = new ArrayList<>();
-		if (containedUnitIDs != null) {
-			for (Integer id : containedUnitIDs) {
-				Robot r = unitManager.getRobotByID(id);
-				if (r != null)
-					result.add(r);
-			}
-		}
-		return result;
+		return getContainedUnitIndex().getRobots();
 	}
 	
 	/**
@@ -1425,32 +1384,16 @@ public class Inventory implements Serializable {
 	 * @return a number of robots contained
 	 */
 	public int getNumContainedRobots() {
-		int result = 0;
-		if (containedUnitIDs != null) {
-			for (Integer id : containedUnitIDs) {
-				Robot r = unitManager.getRobotByID(id);
-				if (r != null)
-					result++;
-			}
-		}
-		return result;
+		return getContainedUnitIndex().getNumRobots();
 	}
 	
 	/**
-	 * Gets a collection of all the stored vehicles.
+	 * Gets a read-only copy of all the stored vehicles.
 	 * 
 	 * @return Collection of all vehicles
 	 */
 	public Collection<Vehicle> getContainedVehicles() {
-		List<Vehicle> result = new ArrayList<>();
-		if (containedUnitIDs != null) {
-			for (Integer id : containedUnitIDs) {
-				Vehicle v = unitManager.getVehicleByID(id);
-				if (v != null)
-					result.add(v);
-			}
-		}
-		return result;
+		return getContainedUnitIndex().getVehicles();
 	}
 	
 	/**
@@ -1459,15 +1402,7 @@ public class Inventory implements Serializable {
 	 * @return number of vehicles
 	 */
 	public int getNumContainedVehicles() {
-		int result = 0;
-		if (containedUnitIDs != null) {
-			for (Integer id : containedUnitIDs) {
-				Vehicle v = unitManager.getVehicleByID(id);
-				if (v != null)
-					result++;
-			}
-		}
-		return result;
+		return getContainedUnitIndex().getNumVehicles();
 	}
 	
 	/**
@@ -1500,6 +1435,15 @@ public class Inventory implements Serializable {
 		}
 		if (!containedUnitIDs.contains(id)) {
 			containedUnitIDs.add(id);
+			ContainedUnitIndex index = containedUnitIndex;
+			if (index != null) {
+				Unit unit = unitManager.getUnitByID(id);
+				if (unit != null)
+					index.add(unit);
+				else
+					// Not registered yet; resolve it on the next lookup
+					containedUnitIndex = null;
+			}
 		}
 	}
 	
@@ -1645,14 +1589,7 @@ public class Inventory implements Serializable {
 	 * @return the instance of EVAsuit or null if none.
 	 */
 	public EVASuit findAnEVAsuit() {
-		if (containedUnitIDs != null) {
-			for (Integer id : containedUnitIDs) {
-				Equipment e = unitManager.getEquipmentByID(id);
-				if (e instanceof EVASuit)
-					return (EVASuit)e;
-			}
-		}
-		return null;
+		return getContainedUnitIndex().findEquipment(EVASuit.class);
 		
 //		EVASuit result = null;
 ////		if (containsUnitClass(EVASuit.class)) {
@@ -1674,14 +1611,7 @@ public class Inventory implements Serializable {
 	 */
 	public SpecimenBox findASpecimenBox() {
 //		List<SpecimenBox> result = new ArrayList<>();
-		if (containedUnitIDs != null) {
-			for (Integer id : containedUnitIDs) {
-				Equipment e = unitManager.getEquipmentByID(id);
-				if (e instanceof SpecimenBox)
-					return (SpecimenBox)e;
-			}
-		}
-		return null;
+		return getContainedUnitIndex().findEquipment(SpecimenBox.class);
 		
 //		SpecimenBox result = null;
 ////		if (containsUnitClass(SpecimenBox.class)) {
@@ -1704,21 +1634,16 @@ public class Inventory implements Serializable {
 	 */
 	public Bag findABag(boolean empty) {
 //		List<Bag> result = new ArrayList<>();
-		if (containedUnitIDs != null) {
-			for (Integer id : containedUnitIDs) {
-				Equipment e = unitManager.getEquipmentByID(id);
-				if (e instanceof Bag) {
-					if (empty) {
-						Inventory inv = e.getInventory();
-						// It must be empty inside
-						if ((inv != null) && inv.isEmpty(false)) {
-							return (Bag)e;
-						}
-					}
-					else
-						return (Bag)e;
+		for (Bag b : getContainedUnitIndex().getEquipment(Bag.class)) {
+			if (empty) {
+				Inventory inv = b.getInventory();
+				// It must be empty inside
+				if ((inv != null) && inv.isEmpty(false)) {
+					return b;
 				}
 			}
+			else
+				return b;
 		}
 		return null;
 							
@@ -2194,6 +2119,10 @@ public class Inventory implements Serializable {
 	public boolean storeUnit(Unit unit) {
 		boolean stored = true;
 		
+		// The surface of Mars is shared by all settlement work units
+		if (ownerID != null && ownerID == Unit.MARS_SURFACE_UNIT_ID)
+			UnitManager.awaitTurn();
+		
 		if (canStoreUnit(unit, false)) {
 
 			setUnitTotalMassCacheDirty();
@@ -2204,6 +2133,9 @@ public class Inventory implements Serializable {
 			}
 
 			containedUnitIDs.add(unit.getIdentifier());
+			ContainedUnitIndex index = containedUnitIndex;
+			if (index != null)
+				index.add(unit);
 
 			Unit newOwner = getOwner();
 //			System.out.println("Inventory::storeUnit - " + unit + "'s ownerID : " + ownerID + "   owner : " + owner);
@@ -2302,6 +2234,9 @@ public class Inventory implements Serializable {
 		
 		boolean retrieved = true;
 		
+		if (ownerID != null && ownerID == Unit.MARS_SURFACE_UNIT_ID)
+			UnitManager.awaitTurn();
+		
 		Integer id = unit.getIdentifier();
 
 		if (containedUnitIDs.contains(id)) {
@@ -2309,6 +2244,9 @@ public class Inventory implements Serializable {
 			setUnitTotalMassCacheDirty();
 
 			containedUnitIDs.remove(id);
+			ContainedUnitIndex index = containedUnitIndex;
+			if (index != null)
+				index.remove(unit);
 
 			// Update owner
 			Unit owner = getOwner();
@@ -2443,19 +2381,11 @@ public class Inventory implements Serializable {
 //	 */
 //	public synchronized void initializeARCapacityCache() {
 
-		Collection<Integer> resources = ResourceUtil.getIDs(); // allStoredARCache;
-		capacityCache = new HashMap<Integer, Double>();
-		capacityCacheDirty = new HashMap<Integer, Boolean>();
-		containersCapacityCache = new HashMap<Integer, Double>();
-		containersCapacityCacheDirty = new HashMap<Integer, Boolean>();
-
-		if (resources != null )
-		for (int resource : resources) {
-			capacityCache.put(resource, 0D);
-			capacityCacheDirty.put(resource, true);
-			containersCapacityCache.put(resource, 0D);
-			containersCapacityCacheDirty.put(resource, true);
-		}
+		// All the values start as zero and dirty
+		capacityCache = new AmountResourceArray();
+		capacityCacheClean = new BitSet();
+		containersCapacityCache = new AmountResourceArray();
+		containersCapacityCacheClean = new BitSet();
 	}
 
 	/**
@@ -2470,14 +2400,7 @@ public class Inventory implements Serializable {
 		if (capacityCache == null) {
 			initializeAmountResourceCapacityCache();
 		}
-		// Check if amountResourceCapacityCacheDirty contains the resource
-		if (capacityCacheDirty.containsKey(resource)) {
-			boolean value = capacityCacheDirty.get(resource);
-			return value;
-		}
-		else
-			return true;
-
+		return !capacityCacheClean.get(resource);
 	}
 
 	/**
@@ -2492,7 +2415,7 @@ public class Inventory implements Serializable {
 //			initializeAmountResourceCapacityCache();
 //		}
 
-		capacityCacheDirty.put(resource, true);
+		capacityCacheClean.clear(resource);
 	}
 
 	/**
@@ -2508,12 +2431,10 @@ public class Inventory implements Serializable {
 			initializeAmountResourceCapacityCache();
 		}
 		
-		for (int amountResource : ResourceUtil.getIDs()) { //allStoredARCache
-			setAmountResourceCapacityCacheDirty(amountResource);
+		capacityCacheClean.clear();
 
-			if (containersDirty) {
-				containersCapacityCacheDirty.put(amountResource, true);
-			}
+		if (containersDirty) {
+			containersCapacityCacheClean.clear();
 		}
 
 		Unit owner = getOwner();
@@ -2561,14 +2482,7 @@ public class Inventory implements Serializable {
 			updateAmountResourceCapacityCache(resource);
 		}
 
-		// Check if amountResourceCapacityCache contains the resource
-		if (capacityCache.containsKey(resource))
-			return capacityCache.get(resource);
-		else {
-			capacityCache.put(resource, 0D);
-			return 0;
-		}
-		// return amountResourceCapacityCache.get(resource);
+		return capacityCache.get(resource);
 	}
 
 	/**
@@ -2591,26 +2505,18 @@ public class Inventory implements Serializable {
 
 		// Determine capacity for all contained units.
 		double containedCapacity = 0D;
-		// Check for null
-		if (containersCapacityCacheDirty.containsKey(resource)) {
-			if (containersCapacityCacheDirty.get((Integer)resource)) {
-				if (containedUnitIDs != null) {
-					for (Unit unit : getContainedUnits()) {
-						if (unit instanceof Container) {
-							containedCapacity += unit.getInventory().getAmountResourceCapacity(resource, false);
-						}
+		if (!containersCapacityCacheClean.get(resource)) {
+			if (containedUnitIDs != null) {
+				for (Unit unit : getContainedUnits()) {
+					if (unit instanceof Container) {
+						containedCapacity += unit.getInventory().getAmountResourceCapacity(resource, false);
 					}
 				}
-				containersCapacityCache.put(resource, containedCapacity);
-				containersCapacityCacheDirty.put(resource, false);
-			}
-			// Check for null
-			else if (containersCapacityCache.containsKey(resource)) {
-				containedCapacity = containersCapacityCache.get(resource);
 			}
+			containersCapacityCache.set(resource, containedCapacity);
+			containersCapacityCacheClean.set(resource);
 		}
-		// Check for null
-		else if (containersCapacityCache.containsKey(resource)) {
+		else {
 			containedCapacity = containersCapacityCache.get(resource);
 		}
 
@@ -2620,31 +2526,7 @@ public class Inventory implements Serializable {
 			initializeAmountResourceStoredCache();
 		}
 
-		// Add checking for amountResourceContainersStoredCacheDirty and add if else
-		// clause
-//		logger.config(ResourceUtil.findAmountResource(resource) + " (id : " + resource + ")"); 
-		
-		if (containersStoredCacheDirty == null)
-			containersStoredCacheDirty = new HashMap<>();
-		else if (containersStoredCacheDirty.containsKey(resource)) {
-			if (containersStoredCacheDirty.get(resource)) {
-				if (containedUnitIDs != null) {
-					for (Unit unit : getContainedUnits()) {
-						if (unit instanceof Container) {
-							containedStored += unit.getInventory().getAmountResourceStored(resource, false);
-						}
-					}
-				}
-				containersStoredCache.put(resource, containedStored);
-				containersStoredCacheDirty.put(resource, false);
-			} else {
-				containedStored = containersStoredCache.get(resource);
-			}
-		} 
-//		else {
-			// amountResourceContainersStoredCacheDirty.put(resource, false);
-			// containedStored = amountResourceContainersStoredCache.get(resource);
-//		}
+		containedStored = getContainersStoredCacheValue(resource);
 
 		// Limit container capacity to this inventory's remaining general capacity.
 		// Add container's resource stored as this is already factored into inventory's
@@ -2656,26 +2538,19 @@ public class Inventory implements Serializable {
 
 		capacity += containedCapacity;
 
-		capacityCache.put(resource, capacity);
-		capacityCacheDirty.put(resource, false);
+		capacityCache.set(resource, capacity);
+		capacityCacheClean.set(resource);
 	}
 
 	/**
 	 * Initializes the amount resource stored cache.
 	 */
 	private synchronized void initializeAmountResourceStoredCache() {
-		Collection<Integer> resources = ResourceUtil.getIDs(); // allStoredARCache
-		storedCache = new HashMap<Integer, Double>();
-		storedCacheDirty = new HashMap<Integer, Boolean>();
-		containersStoredCache = new HashMap<Integer, Double>();
-		containersStoredCacheDirty = new HashMap<Integer, Boolean>();
-
-		for (int resource : resources) {
-			storedCache.put(resource, 0D);
-			storedCacheDirty.put(resource, true);
-			containersStoredCache.put(resource, 0D);
-			containersStoredCacheDirty.put(resource, true);
-		}
+		// All the values start as zero and dirty
+		storedCache = new AmountResourceArray();
+		storedCacheClean = new BitSet();
+		containersStoredCache = new AmountResourceArray();
+		containersStoredCacheClean = new BitSet();
 	}
 
 	/**
@@ -2686,15 +2561,11 @@ public class Inventory implements Serializable {
 	 */
 	private boolean isAmountResourceStoredCacheDirty(int resource) {
 		// Initialize amount resource stored cache if necessary.
-		if (storedCacheDirty == null) {
+		if (storedCacheClean == null) {
 			initializeAmountResourceStoredCache();
 		}
 
-		// Check if amountResourceStoredCacheDirty contains the resource
-		if (storedCacheDirty.containsKey(resource))
-			return storedCacheDirty.get(resource);
-		else
-			return true;
+		return !storedCacheClean.get(resource);
 	}
 
 	/**
@@ -2709,7 +2580,7 @@ public class Inventory implements Serializable {
 			initializeAmountResourceStoredCache();
 		}
 
-		storedCacheDirty.put(resource, true);
+		storedCacheClean.clear(resource);
 	}
 
 	/**
@@ -2725,12 +2596,10 @@ public class Inventory implements Serializable {
 			initializeAmountResourceStoredCache();
 		}
 
-		for (int id : ResourceUtil.getIDs()) { //allStoredARCache
-			setAmountResourceStoredCacheDirty(id);
+		storedCacheClean.clear();
 
-			if (containersDirty) {
-				containersStoredCacheDirty.put(id, true);
-			}
+		if (containersDirty) {
+			containersStoredCacheClean.clear();
 		}
 		
 		// Set owner unit's amount resource stored cache as dirty (if any).
@@ -2767,16 +2636,7 @@ public class Inventory implements Serializable {
 			updateAmountResourceStoredCache(resource);
 		}
 
-		// Check if amountResourceStoredCache contains the resource
-		if (storedCache.containsKey(resource))
-			return storedCache.get(resource);
-		else {
-			capacityCache.put(resource, 0D);
-			return 0;
-		}
-
-		// return amountResourceStoredCache.get(resource);
-
+		return storedCache.get(resource);
 	}
 
 	/**
@@ -2792,35 +2652,42 @@ public class Inventory implements Serializable {
 			stored += resourceStorage.getAmountResourceStored(resource);
 		}
 
+		stored += getContainersStoredCacheValue(resource);
+
+		storedCache.set(resource, stored);
+		storedCacheClean.set(resource);
+	}
+
+	/**
+	 * Gets the amount of a resource stored in the contained units, updating the
+	 * cached value if it is dirty.
+	 * 
+	 * @param resource the resource.
+	 * @return stored amount (kg) in the contained units.
+	 */
+	private double getContainersStoredCacheValue(int resource) {
+
+		// Initialize amount resource stored cache if necessary.
+		if (containersStoredCache == null) {
+			initializeAmountResourceStoredCache();
+		}
+
+		if (containersStoredCacheClean.get(resource)) {
+			return containersStoredCache.get(resource);
+		}
+
 		double containerStored = 0D;
-		if (containersStoredCacheDirty == null)
-			containersStoredCacheDirty = new HashMap<>();
-		else if (containersStoredCacheDirty.containsKey(resource)) {
-			if (containersStoredCacheDirty.get(resource)) {
-				if (containedUnitIDs != null) {
-					for (Unit unit : getContainedUnits()) {
-						if (unit instanceof Container) {
-							containerStored += unit.getInventory().getAmountResourceStored(resource, false);
-						}
-					}
+		if (containedUnitIDs != null) {
+			for (Unit unit : getContainedUnits()) {
+				if (unit instanceof Container) {
+					containerStored += unit.getInventory().getAmountResourceStored(resource, false);
 				}
-				containersStoredCache.put(resource, containerStored);
-				containersStoredCacheDirty.put(resource, false);
-			} else {
-				containerStored = containersStoredCache.get(resource);
 			}
 		}
-		// Add checking amountResourceContainersStoredCache
-		else if (containersStoredCache.containsKey(resource)) {
-			containerStored = containersStoredCache.get(resource);
-		} else {
-			// containerStored = amountResourceContainersStoredCache.get(resource);
-		}
-
-		stored += containerStored;
+		containersStoredCache.set(resource, containerStored);
+		containersStoredCacheClean.set(resource);
 
-		storedCache.put(resource, stored);
-		storedCacheDirty.put(resource, false);
+		return containerStored;
 	}
 
 	/**
@@ -3210,6 +3077,34 @@ public class Inventory implements Serializable {
 //		}
 	}
 	
+	/**
+	 * Gets the index of the contained units, building it from the contained
+	 * unit ids if it has not been built since loading.
+	 * 
+	 * @return the index
+	 */
+	private ContainedUnitIndex getContainedUnitIndex() {
+		ContainedUnitIndex index = containedUnitIndex;
+		if (index == null) {
+			index = new ContainedUnitIndex();
+			boolean complete = true;
+			if (containedUnitIDs != null) {
+				for (Integer id : containedUnitIDs) {
+					Unit unit = unitManager.getUnitByID(id);
+					if (unit != null)
+						index.add(unit);
+					else
+						complete = false;
+				}
+			}
+			// Only keep an index that covers every contained unit. Units not yet
+			// registered with the unit manager are picked up by a later rebuild.
+			if (complete)
+				containedUnitIndex = index;
+		}
+		return index;
+	}
+	
 	public static void initializeInstances(UnitManager um, MarsSurface ms) {
 		unitManager = um;
 		marsSurface = ms;
@@ -3224,6 +3119,7 @@ public class Inventory implements Serializable {
         if (containedUnitIDs != null) 
         	containedUnitIDs.clear();
 		containedUnitIDs = null;
+		containedUnitIndex = null;
         if (containedItemResources != null) 
         	containedItemResources.clear();
 		containedItemResources = null;
@@ -3242,15 +3138,15 @@ public class Inventory implements Serializable {
 //        if (allStoredAmountResourcesCache != null) allStoredAmountResourcesCache.clear();
 //        allStoredAmountResourcesCache = null;
 		capacityCache = null;
-		capacityCacheDirty = null;
-		storedCacheDirty = null;
+		capacityCacheClean = null;
+		storedCacheClean = null;
 		allStoredARCache = null;
 
 		containersCapacityCache = null;
-		containersCapacityCacheDirty = null;
+		containersCapacityCacheClean = null;
 		storedCache = null;
 		containersStoredCache = null;
-		containersStoredCacheDirty = null;
+		containersStoredCacheClean = null;
 	}
 
 	/**
@@ -3271,4 +3167,101 @@ public class Inventory implements Serializable {
 		unitTotalMassCacheDirty = true;
 		totalInventoryMassCacheDirty = true;
 	}
-}
\ No newline at end of file
+	
+	/**
+	 * Keeps the contained units grouped by type so the typed lookups and counts
+	 * do not have to resolve every contained unit id. The sets preserve the
+	 * order in which the units were stored and are guarded by the index, so the
+	 * lookups hand out read-only copies that callers may iterate while units are
+	 * stored or retrieved.
+	 */
+	private static class ContainedUnitIndex {
+
+		private final Set<Person> people = new LinkedHashSet<>();
+		private final Set<Robot> robots = new LinkedHashSet<>();
+		private final Set<Vehicle> vehicles = new LinkedHashSet<>();
+		private final Map<Class<?>, Set<Equipment>> equipment = new HashMap<>();
+
+		synchronized void add(Unit unit) {
+			if (unit instanceof Person)
+				people.add((Person) unit);
+			else if (unit instanceof Robot)
+				robots.add((Robot) unit);
+			else if (unit instanceof Vehicle)
+				vehicles.add((Vehicle) unit);
+			else if (unit instanceof Equipment)
+				equipment.computeIfAbsent(unit.getClass(), c -> new LinkedHashSet<>()).add((Equipment) unit);
+		}
+
+		synchronized void remove(Unit unit) {
+			if (unit instanceof Person)
+				people.remove(unit);
+			else if (unit instanceof Robot)
+				robots.remove(unit);
+			else if (unit instanceof Vehicle)
+				vehicles.remove(unit);
+			else if (unit instanceof Equipment) {
+				Set<Equipment> set = equipment.get(unit.getClass());
+				if (set != null)
+					set.remove(unit);
+			}
+		}
+
+		synchronized Collection<Person> getPeople() {
+			return copyOf(people);
+		}
+
+		synchronized int getNumPeople() {
+			return people.size();
+		}
+
+		synchronized Collection<Robot> getRobots() {
+			return copyOf(robots);
+		}
+
+		synchronized int getNumRobots() {
+			return robots.size();
+		}
+
+		synchronized Collection<Vehicle> getVehicles() {
+			return copyOf(vehicles);
+		}
+
+		synchronized int getNumVehicles() {
+			return vehicles.size();
+		}
+
+		/**
+		 * Gets a read-only copy of the contained equipment of a given class.
+		 * 
+		 * @param equipmentClass the equipment class
+		 * @return the equipment of that class
+		 */
+		@SuppressWarnings("unchecked")
+		synchronized <T extends Equipment> Collection<T> getEquipment(Class<T> equipmentClass) {
+			Set<Equipment> set = equipment.get(equipmentClass);
+			if (set == null)
+				return Collections.emptyList();
+			return (Collection<T>) copyOf(set);
+		}
+
+		/**
+		 * Finds the first stored equipment of a given class.
+		 * 
+		 * @param equipmentClass the equipment class
+		 * @return the equipment or null if none
+		 */
+		synchronized <T extends Equipment> T findEquipment(Class<T> equipmentClass) {
+			Set<Equipment> set = equipment.get(equipmentClass);
+			if (set == null || set.isEmpty())
+				return null;
+			return equipmentClass.cast(set.iterator().next());
+		}
+
+		private static <T> Collection<T> copyOf(Set<T> set) {
+			if (set.isEmpty())
+				return Collections.emptyList();
+			return Collections.unmodifiableList(new ArrayList<>(set));
+		}
+	}
+}
@@ -13,9 +13,10 @@ import java.awt.geom.Line2D;
 import java.awt.geom.Path2D;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.logging.Logger;
@@ -42,13 +43,22 @@ public class LocalAreaUtil {
 	/** A very small distance (meters) for measuring how close two locations are. */
 	private static final double VERY_SMALL_DISTANCE = .00001D;
 
+	/** The largest number of obstacle indexes kept. */
+	static final int MAX_OBSTACLE_INDEXES = 64;
+
 	/**
-	 * Cache for total area containing obstacles for a given coordinate location.
+	 * The obstacle indexes, keyed by coordinate location. Since a rover leaves a
+	 * new location behind as it moves, only the most recently used are kept.
 	 */
-	private static final Map<Coordinates, Area> obstacleAreaCache = new HashMap<Coordinates, Area>();
+	private static final Map<Coordinates, LocalObstacleIndex> obstacleIndexes = Collections
+			.synchronizedMap(new LinkedHashMap<Coordinates, LocalObstacleIndex>(16, .75F, true) {
+				private static final long serialVersionUID = 1L;
 
-	/** Time stamps for obstacle area cache. */
-	private static final Map<Coordinates, String> obstacleAreaTimestamps = new HashMap<Coordinates, String>();
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Coordinates, LocalObstacleIndex> eldest) {
+					return size() > MAX_OBSTACLE_INDEXES;
+				}
+			});
 
 	private static Simulation sim = Simulation.instance();
 	private static UnitManager unitManager = sim.getUnitManager();
@@ -476,36 +486,7 @@ public class LocalAreaUtil {
 	 * @return true if location is within object bounds.
 	 */
 	public static boolean checkLocationWithinLocalBoundedObject(double xLoc, double yLoc, LocalBoundedObject object) {
-		boolean result = false;
-		// Below gets java.lang.NullPointerException after resuming from power saving in
-		// windows os
-		// called from ai.task.Walk.walkingRoverInteriorPhase(Walk.java:813)
-		Rectangle2D rect = new Rectangle2D.Double(object.getXLocation() - (object.getWidth() / 2D),
-				object.getYLocation() - (object.getLength() / 2D), object.getWidth(), object.getLength());
-		Path2D path = getPathFromRectangleRotation(rect, object.getFacing());
-		Area area = new Area(path); // See StackOverflowError below : 
-
-//		Exception in thread "pool-2-thread-9" java.lang.StackOverflowError
-//		at java.base/java.util.TimSort.countRunAndMakeAscending(TimSort.java:355)
-//		at java.base/java.util.TimSort.sort(TimSort.java:220)
-//		at java.base/java.util.Arrays.sort(Arrays.java:1441)
-//		at java.desktop/sun.awt.geom.AreaOp.pruneEdges(AreaOp.java:205)
-//		at java.desktop/sun.awt.geom.AreaOp.calculate(AreaOp.java:159)
-//		at java.desktop/java.awt.geom.Area.pathToCurves(Area.java:195)
-//		at java.desktop/java.awt.geom.Area.<init>(Area.java:126)
-//		at org.mars_sim.msp.core.LocalAreaUtil.checkLocationWithinLocalBoundedObject(LocalAreaUtil.java:486)
-//		at org.mars_sim.msp.core.person.ai.task.WalkingSteps.determineInitialWalkState(WalkingSteps.java:174)
-//		at org.mars_sim.msp.core.person.ai.task.WalkingSteps.<init>(WalkingSteps.java:62)
-//		at org.mars_sim.msp.core.person.ai.task.Walk.<init>(Walk.java:316)
-//		at org.mars_sim.msp.core.person.ai.task.EVAOperation.walkBackInsidePhase(EVAOperation.java:304)
-//		at org.mars_sim.msp.core.person.ai.task.EVAOperation.performMappedPhase(EVAOperation.java:206)
-//		at org.mars_sim.msp.core.person.ai.task.DigLocalRegolith.performMappedPhase(DigLocalRegolith.java:160)
-		
-		if (area.contains(xLoc, yLoc)) {
-			result = true;
-		}
-
-		return result;
+		return new LocalObstacleIndex.Obstacle(object).contains(xLoc, yLoc);
 	}
 
 	/**
@@ -561,11 +542,11 @@ public class LocalAreaUtil {
 
 		boolean result = true;
 
-		// Create path for object.
-		Rectangle2D objectRect = new Rectangle2D.Double(xLoc - (width / 2D), yLoc - (length / 2D), width, length);
-		Path2D objectPath = getPathFromRectangleRotation(objectRect, facing);
+		// Create rectangle for object.
+		LocalObstacleIndex.Obstacle objectRect = new LocalObstacleIndex.Obstacle(object, xLoc, yLoc, width, length,
+				facing);
 
-		result = isPathCollisionFree(object, objectPath, coordinates, false);
+		result = isPathCollisionFree(object, objectRect, coordinates, false);
 
 		return result;
 	}
@@ -583,10 +564,10 @@ public class LocalAreaUtil {
 
 		boolean result = true;
 
-		// Create line path
-		Path2D linePath = createLinePath(line);
+		// Create line rectangle
+		LocalObstacleIndex.Obstacle lineRect = LocalObstacleIndex.Obstacle.createLine(line);
 
-		result = isPathCollisionFree(null, linePath, coordinates, useCache);
+		result = isPathCollisionFree(null, lineRect, coordinates, useCache);
 
 		return result;
 	}
@@ -645,7 +626,7 @@ public class LocalAreaUtil {
 	 * @return true if they do collide
 	 */
 	public static boolean isTwoBoundedOjectsIntersected(LocalBoundedObject o1, LocalBoundedObject o2) {
-		return doAreasCollide(getBoundedObjectArea(o1), getBoundedObjectArea(o2));
+		return new LocalObstacleIndex.Obstacle(o1).intersects(new LocalObstacleIndex.Obstacle(o2));
 
 //    	//boolean result = false;
 //
@@ -708,31 +689,6 @@ public class LocalAreaUtil {
 		return result;
 	}
 
-	/**
-	 * Create a thin (1 mm wide) rectangle path representing a line.
-	 * 
-	 * @param line the line.
-	 * @return rectangle path for the line.
-	 */
-	private static Path2D createLinePath(Line2D line) {
-
-		// Make rectangle width 1mm.
-		double width = .001D;
-		double length = line.getP1().distance(line.getP2());
-		double centerX = (line.getX1() + line.getX2()) / 2D;
-		double centerY = (line.getY1() + line.getY2()) / 2D;
-
-		double x1 = centerX - (width / 2D);
-		double y1 = centerY - (length / 2D);
-		Rectangle2D lineRect = new Rectangle2D.Double(x1, y1, width, length);
-
-		double facing = getDirection(line.getP1(), line.getP2());
-
-		Path2D rectPath = getPathFromRectangleRotation(lineRect, facing);
-
-		return rectPath;
-	}
-
 	/**
 	 * Gets the direction from point1 to point2.
 	 * 
@@ -758,101 +714,63 @@ public class LocalAreaUtil {
 	}
 
 	/**
-	 * Checks if a path collides with an existing building, construction site, or
-	 * vehicle at a location.
+	 * Checks if a rectangle collides with an existing building, construction site,
+	 * or vehicle at a location.
 	 * 
 	 * @param object      the object being checked (may be null if no object).
-	 * @param path        the path to check.
+	 * @param rectangle   the rectangle to check.
 	 * @param coordinates the global coordinate location to check.
-	 * @param useCache    true if caching should be used.
-	 * @return true if path doesn't collide with anything.
+	 * @param useCache    true if the obstacles may be taken as they were earlier
+	 *                    in the same time pulse.
+	 * @return true if rectangle doesn't collide with anything.
 	 */
-	private static boolean isPathCollisionFree(Object object, Path2D path, Coordinates coordinates, boolean useCache) {
-
-		boolean result = true;
-
-		// Check if obstacle area has been cached for this coordinate location if using
-		// cache.
-		boolean cached = false;
-		Area obstacleArea = null;
-		if (useCache && obstacleAreaCache.containsKey(coordinates)) {
-			if (marsClock == null)
-				marsClock = Simulation.instance().getMasterClock().getMarsClock();
-			String currentTimestamp = marsClock.getDateTimeStamp();
-			String cachedTimestamp = obstacleAreaTimestamps.get(coordinates);
-			if (currentTimestamp.equals(cachedTimestamp)) {
-				cached = true;
-				obstacleArea = obstacleAreaCache.get(coordinates);
-			}
-		}
-
-		if (!cached) {
-			// Add all obstacle areas at location together to create a total obstacle area.
-			Iterator<LocalBoundedObject> i = getAllLocalBoundedObjectsAtLocation(coordinates).iterator();
-			while (i.hasNext()) {
-				LocalBoundedObject lbo = i.next();
-				if (lbo != object) {
-					Rectangle2D objectRect = new Rectangle2D.Double(lbo.getXLocation() - (lbo.getWidth() / 2D),
-							lbo.getYLocation() - (lbo.getLength() / 2D), lbo.getWidth(), lbo.getLength());
-					Path2D objectPath = getPathFromRectangleRotation(objectRect, lbo.getFacing());
-					Area objectArea = new Area(objectPath);
-					if (obstacleArea == null) {
-						obstacleArea = objectArea;
-					} else {
-						obstacleArea.add(objectArea);
-					}
-				}
+	private static boolean isPathCollisionFree(Object object, LocalObstacleIndex.Obstacle rectangle,
+			Coordinates coordinates, boolean useCache) {
+
+		LocalObstacleIndex index = null;
+		synchronized (obstacleIndexes) {
+			index = obstacleIndexes.get(coordinates);
+			if (index == null) {
+				index = new LocalObstacleIndex();
+				obstacleIndexes.put(new Coordinates(coordinates), index);
 			}
 		}
 
-		if (obstacleArea != null) {
-			// Check for intersection of obstacle and path bounding rectangles first
-			// (faster).
-			Rectangle2D pathBounds = path.getBounds2D();
-			Rectangle2D obstacleBounds = obstacleArea.getBounds2D();
-			if (pathBounds.intersects(obstacleBounds)) {
-				// If rectangles intersect, check for collision of path and obstacle areas
-				// (slower).
-				Area pathArea = new Area(path);
-				result = !doAreasCollide(pathArea, obstacleArea);
-			}
-		}
+		if (marsClock == null)
+			marsClock = Simulation.instance().getMasterClock().getMarsClock();
+		int missionSol = marsClock.getMissionSol();
+		double millisol = marsClock.getMillisol();
 
-		// Store cached obstacle area for location with current timestamp if needed.
-		if (useCache && !cached && (obstacleArea != null)) {
-			obstacleAreaCache.put(coordinates, obstacleArea);
-//			String currentTimestamp = marsClock.getDateTimeStamp();
-			obstacleAreaTimestamps.put(coordinates, marsClock.getDateTimeStamp());
+		// Only the obstacles that have moved since the last refresh are updated.
+		if (!useCache || !index.isRefreshedAt(missionSol, millisol)) {
+			index.refresh(getAllLocalBoundedObjectsAtLocation(coordinates), missionSol, millisol);
 		}
 
-		return result;
+		return index.isCollisionFree(object, rectangle);
 	}
 
 	/**
-	 * Clear the obstacle area cache and time stamps.
+	 * Clear the obstacle indexes.
 	 */
 	public static void clearObstacleCache() {
-		if (obstacleAreaCache != null) {
-			obstacleAreaCache.clear();
-		}
-		if (obstacleAreaTimestamps != null) {
-			obstacleAreaTimestamps.clear();
-		}
+		obstacleIndexes.clear();
 	}
 
 	/**
-	 * Checks if two areas collide.
+	 * Gets the number of obstacle indexes kept.
 	 * 
-	 * @param area1 the first area.
-	 * @param area2 the second area.
-	 * @return true if areas collide.
+	 * @return number of indexes.
 	 */
-	private static boolean doAreasCollide(Area area1, Area area2) {
-
-		Area collide = new Area(area1);
-		collide.intersect(area2);
-		return !collide.isEmpty();
+	static int getNumObstacleIndexes() {
+		return obstacleIndexes.size();
+	}
 
+	/**
+	 * Releases the obstacle indexes and the clock of the old simulation.
+	 */
+	public static void destroy() {
+		obstacleIndexes.clear();
+		marsClock = null;
 	}
 
 	/**
@@ -0,0 +1,317 @@
+/**
+ * Mars Simulation Project
+ * LocalObstacleIndex.java
+ * @version 3.1.1 2026-10-18
+ * @author agent
+ */
+
+package org.mars_sim.msp.core;
+
+import java.awt.geom.Line2D;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A spatial index of the obstacles in a local area, i.e. the buildings,
+ * construction sites and vehicles around a settlement or rover. Each obstacle
+ * is kept as an oriented rectangle in the cells of a uniform grid that its
+ * bounds overlap. A refresh only moves the obstacles whose position, facing or
+ * size has changed since the last one. The queries are thread-safe and run
+ * concurrently between the refreshes.
+ */
+final class LocalObstacleIndex {
+
+	/** The width and length of a grid cell (meters). */
+	private static final double CELL_SIZE = 20D;
+
+	// Data members
+	/** The obstacles, keyed by the object they stand for. */
+	private final Map<LocalBoundedObject, Obstacle> obstacles = new IdentityHashMap<>();
+	/** The obstacles overlapping each grid cell, keyed by cell. */
+	private final Map<Long, List<Obstacle>> cells = new HashMap<>();
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/** The mission sol of the last refresh. */
+	private volatile int refreshSol = -1;
+	/** The millisol of the last refresh. */
+	private volatile double refreshMillisol = -1D;
+
+	/**
+	 * Checks if the index was last refreshed at a given time.
+	 *
+	 * @param missionSol the mission sol.
+	 * @param millisol   the millisol.
+	 * @return true if the index is up to date at that time.
+	 */
+	boolean isRefreshedAt(int missionSol, double millisol) {
+		return refreshSol == missionSol && refreshMillisol == millisol;
+	}
+
+	/**
+	 * Brings the index up to date with the objects now in the local area.
+	 *
+	 * @param objects    the local bounded objects in the local area.
+	 * @param missionSol the current mission sol.
+	 * @param millisol   the current millisol.
+	 */
+	void refresh(Collection<LocalBoundedObject> objects, int missionSol, double millisol) {
+		lock.writeLock().lock();
+		try {
+			Set<LocalBoundedObject> present = Collections.newSetFromMap(new IdentityHashMap<>());
+			Iterator<LocalBoundedObject> i = objects.iterator();
+			while (i.hasNext()) {
+				LocalBoundedObject object = i.next();
+				present.add(object);
+				Obstacle old = obstacles.get(object);
+				if (old == null || !old.isAt(object)) {
+					if (old != null)
+						remove(old);
+					Obstacle obstacle = new Obstacle(object);
+					obstacles.put(object, obstacle);
+					insert(obstacle);
+				}
+			}
+
+			Iterator<Map.Entry<LocalBoundedObject, Obstacle>> j = obstacles.entrySet().iterator();
+			while (j.hasNext()) {
+				Map.Entry<LocalBoundedObject, Obstacle> entry = j.next();
+				if (!present.contains(entry.getKey())) {
+					remove(entry.getValue());
+					j.remove();
+				}
+			}
+
+			refreshSol = missionSol;
+			refreshMillisol = millisol;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Checks if a rectangle overlaps none of the obstacles.
+	 *
+	 * @param exclude   the object whose obstacle is ignored (may be null).
+	 * @param rectangle the rectangle.
+	 * @return true if the rectangle is collision free.
+	 */
+	boolean isCollisionFree(Object exclude, Obstacle rectangle) {
+		lock.readLock().lock();
+		try {
+			int minColumn = getCell(rectangle.minX);
+			int maxColumn = getCell(rectangle.maxX);
+			int minRow = getCell(rectangle.minY);
+			int maxRow = getCell(rectangle.maxY);
+
+			// A rectangle across many cells is faster checked against every obstacle.
+			long numCells = (long) (maxColumn - minColumn + 1) * (maxRow - minRow + 1);
+			if (numCells > obstacles.size()) {
+				for (Obstacle obstacle : obstacles.values()) {
+					if (obstacle.source != exclude && obstacle.intersects(rectangle))
+						return false;
+				}
+				return true;
+			}
+
+			for (int column = minColumn; column <= maxColumn; column++) {
+				for (int row = minRow; row <= maxRow; row++) {
+					List<Obstacle> cell = cells.get(getKey(column, row));
+					if (cell != null) {
+						for (Obstacle obstacle : cell) {
+							if (obstacle.source != exclude && obstacle.intersects(rectangle))
+								return false;
+						}
+					}
+				}
+			}
+			return true;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Adds an obstacle to the cells it overlaps.
+	 */
+	private void insert(Obstacle obstacle) {
+		for (int column = getCell(obstacle.minX); column <= getCell(obstacle.maxX); column++) {
+			for (int row = getCell(obstacle.minY); row <= getCell(obstacle.maxY); row++) {
+				cells.computeIfAbsent(getKey(column, row), k -> new ArrayList<>(4)).add(obstacle);
+			}
+		}
+	}
+
+	/**
+	 * Removes an obstacle from the cells it overlaps.
+	 */
+	private void remove(Obstacle obstacle) {
+		for (int column = getCell(obstacle.minX); column <= getCell(obstacle.maxX); column++) {
+			for (int row = getCell(obstacle.minY); row <= getCell(obstacle.maxY); row++) {
+				Long key = getKey(column, row);
+				List<Obstacle> cell = cells.get(key);
+				if (cell != null) {
+					cell.remove(obstacle);
+					if (cell.isEmpty())
+						cells.remove(key);
+				}
+			}
+		}
+	}
+
+	private static int getCell(double coordinate) {
+		return (int) Math.floor(coordinate / CELL_SIZE);
+	}
+
+	private static long getKey(int column, int row) {
+		return ((long) column << 32) | (row & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * A rectangle rotated about its center, in the local coordinates of the area.
+	 * Its width runs along the X axis and its length along the Y axis before the
+	 * rotation.
+	 */
+	static final class Obstacle {
+
+		/** The object the rectangle stands for (may be null). */
+		private final Object source;
+		private final double x;
+		private final double y;
+		private final double width;
+		private final double length;
+		private final double facing;
+
+		private final double halfWidth;
+		private final double halfLength;
+		/** The cosine and sine of the rotation. */
+		private final double cos;
+		private final double sin;
+
+		/** The axis-aligned bounds. */
+		private final double minX;
+		private final double maxX;
+		private final double minY;
+		private final double maxY;
+
+		/**
+		 * Constructor for the rectangle of a local bounded object.
+		 *
+		 * @param object the local bounded object.
+		 */
+		Obstacle(LocalBoundedObject object) {
+			this(object, object.getXLocation(), object.getYLocation(), object.getWidth(), object.getLength(),
+					object.getFacing());
+		}
+
+		/**
+		 * Constructor.
+		 *
+		 * @param source the object the rectangle stands for (may be null).
+		 * @param x      the X location of the center.
+		 * @param y      the Y location of the center.
+		 * @param width  the width.
+		 * @param length the length.
+		 * @param facing the rotation (degrees clockwise from North).
+		 */
+		Obstacle(Object source, double x, double y, double width, double length, double facing) {
+			this.source = source;
+			this.x = x;
+			this.y = y;
+			this.width = width;
+			this.length = length;
+			this.facing = facing;
+
+			halfWidth = width / 2D;
+			halfLength = length / 2D;
+			double radians = Math.toRadians(facing);
+			cos = Math.cos(radians);
+			sin = Math.sin(radians);
+
+			double extentX = halfWidth * Math.abs(cos) + halfLength * Math.abs(sin);
+			double extentY = halfWidth * Math.abs(sin) + halfLength * Math.abs(cos);
+			minX = x - extentX;
+			maxX = x + extentX;
+			minY = y - extentY;
+			maxY = y + extentY;
+		}
+
+		/**
+		 * Creates a thin (1 mm wide) rectangle along a line.
+		 *
+		 * @param line the line.
+		 * @return rectangle for the line.
+		 */
+		static Obstacle createLine(Line2D line) {
+			double length = line.getP1().distance(line.getP2());
+			double centerX = (line.getX1() + line.getX2()) / 2D;
+			double centerY = (line.getY1() + line.getY2()) / 2D;
+			double facing = LocalAreaUtil.getDirection(line.getP1(), line.getP2());
+			return new Obstacle(null, centerX, centerY, .001D, length, facing);
+		}
+
+		/**
+		 * Checks if the rectangle still matches the position, facing and size of
+		 * an object.
+		 */
+		private boolean isAt(LocalBoundedObject object) {
+			return x == object.getXLocation() && y == object.getYLocation() && width == object.getWidth()
+					&& length == object.getLength() && facing == object.getFacing();
+		}
+
+		/**
+		 * Checks if a point is inside the rectangle.
+		 *
+		 * @param xLoc the X location.
+		 * @param yLoc the Y location.
+		 * @return true if the point is inside.
+		 */
+		boolean contains(double xLoc, double yLoc) {
+			double dx = xLoc - x;
+			double dy = yLoc - y;
+			return Math.abs(dx * cos + dy * sin) < halfWidth && Math.abs(dy * cos - dx * sin) < halfLength;
+		}
+
+		/**
+		 * Checks if two rectangles overlap, by looking for a separating axis among
+		 * their edge directions. Rectangles that only touch do not overlap.
+		 *
+		 * @param other the other rectangle.
+		 * @return true if they overlap.
+		 */
+		boolean intersects(Obstacle other) {
+			if (maxX <= other.minX || other.maxX <= minX || maxY <= other.minY || other.maxY <= minY)
+				return false;
+
+			double dx = other.x - x;
+			double dy = other.y - y;
+			return !isSeparatedBy(cos, sin, dx, dy, other) && !isSeparatedBy(-sin, cos, dx, dy, other)
+					&& !isSeparatedBy(other.cos, other.sin, dx, dy, other)
+					&& !isSeparatedBy(-other.sin, other.cos, dx, dy, other);
+		}
+
+		/**
+		 * Checks if the projections of two rectangles on an axis are apart.
+		 */
+		private boolean isSeparatedBy(double axisX, double axisY, double dx, double dy, Obstacle other) {
+			double distance = Math.abs(dx * axisX + dy * axisY);
+			double radius = getRadius(axisX, axisY) + other.getRadius(axisX, axisY);
+			return distance >= radius;
+		}
+
+		/**
+		 * Gets the half length of the projection of the rectangle on an axis.
+		 */
+		private double getRadius(double axisX, double axisY) {
+			return halfWidth * Math.abs(cos * axisX + sin * axisY) + halfLength * Math.abs(cos * axisY - sin * axisX);
+		}
+	}
+}
@@ -7,10 +7,14 @@
 
 package org.mars_sim.msp.core;
 
-import java.util.HashMap;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
 
 import org.mars_sim.msp.core.time.EarthClock;
 import org.mars_sim.msp.core.time.MarsClock;
@@ -27,14 +31,27 @@ public class LogConsolidated {
 	/* Google fluent logger. */
 	private static final FluentLogger flogger = FluentLogger.forEnclosingClass();
 	
-	private static HashMap<String, TimeAndCount> lastLogged = new HashMap<>();
+	/** Walks the stack to the caller of the logging methods. */
+	private static final StackWalker stackWalker = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+	
+	private static final Function<Stream<StackWalker.StackFrame>, Optional<StackWalker.StackFrame>> findCaller = s -> s
+			.filter(f -> f.getDeclaringClass() != LogConsolidated.class).findFirst();
+	
+	/** The call sites of each calling class, keyed by line number. */
+	private static final ClassValue<Map<Integer, CallSite>> callSites = new ClassValue<Map<Integer, CallSite>>() {
+		@Override
+		protected Map<Integer, CallSite> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+	
+	/** The call site used when the caller cannot be found. */
+	private static final CallSite unknownSite = new CallSite();
 
 	private static final String OPEN_BRACKET = "[x";
 	private static final String CLOSED_BRACKET = "] ";
 	private static final String COLON = " : ";
-	private static final String COLON_2 = ":";
 	private static final String ONCE = "[x1] ";
-	private static final String QUESTION = "?";
 	private static final String PERIOD = ".";
 
 	private static boolean showRateLimit = false;
@@ -66,51 +83,101 @@ public class LogConsolidated {
 	 */
 	public static void log(Logger logger, Level level, long timeBetweenLogs, String sourceName, String message,
 			Throwable t) {
-		long dTime = timeBetweenLogs;
-		String className = sourceName.substring(sourceName.lastIndexOf(PERIOD) + 1, sourceName.length());
+		if (logger.isLoggable(level))
+			log(getCallSite(timeBetweenLogs), logger, level, timeBetweenLogs, sourceName, message, null, t);
+	}
 
-//		if (logger.isEnabledFor(level)) {
-		String uniqueIdentifier = getFileAndLine();
-		TimeAndCount lastTimeAndCount = lastLogged.get(uniqueIdentifier);
-		if (lastTimeAndCount != null) {
-			synchronized (lastTimeAndCount) {
-				long now = System.currentTimeMillis();
-				if (now - lastTimeAndCount.startTime < dTime) {
-					// Increment count only since the message in the same and is within the time prescribed
-					lastTimeAndCount.count++;
-					return;
-				} else {
-					// Print the log statement with counts
-					log(logger, level,
-							OPEN_BRACKET + lastTimeAndCount.count + CLOSED_BRACKET + className + COLON + message, t);
-				}
-			}
-		}
+	/**
+	 * Logs a lazily built message to given <code>logger</code>. The message is
+	 * only built if it is actually logged.
+	 * 
+	 * @param logger          Where to log.
+	 * @param level           Level to log.
+	 * @param timeBetweenLogs Milliseconds to wait between similar log messages.
+	 * @param message         Builds the actual message to log.
+	 * @param t               Can be null. Will log stack trace if not null.
+	 */
+	public static void log(Logger logger, Level level, long timeBetweenLogs, String sourceName,
+			Supplier<String> message, Throwable t) {
+		if (logger.isLoggable(level))
+			log(getCallSite(timeBetweenLogs), logger, level, timeBetweenLogs, sourceName, null, message, t);
+	}
 
-		else {
-			// Print the log statement
-			log(logger, level, ONCE + className + COLON + message, t);
-		}
+	/**
+	 * Logs a lazily built message from a call site held by the caller. This does
+	 * not need to look up the caller and allocates nothing when the message is
+	 * suppressed.
+	 * 
+	 * @param site            The call site, see {@link #callSite()}.
+	 * @param logger          Where to log.
+	 * @param level           Level to log.
+	 * @param timeBetweenLogs Milliseconds to wait between similar log messages.
+	 * @param message         Builds the actual message to log.
+	 * @param t               Can be null. Will log stack trace if not null.
+	 */
+	public static void log(CallSite site, Logger logger, Level level, long timeBetweenLogs, String sourceName,
+			Supplier<String> message, Throwable t) {
+		if (logger.isLoggable(level))
+			log(site, logger, level, timeBetweenLogs, sourceName, null, message, t);
+	}
 
-		// Register the message
-		lastLogged.put(uniqueIdentifier, new TimeAndCount());
+	private static void log(CallSite site, Logger logger, Level level, long timeBetweenLogs, String sourceName,
+			String message, Supplier<String> messageSupplier, Throwable t) {
+		int count = (site == null) ? 1 : site.tryAcquire(timeBetweenLogs);
+		if (count == 0)
+			return;
+
+		String className = sourceName.substring(sourceName.lastIndexOf(PERIOD) + 1, sourceName.length());
+		String text = (messageSupplier != null) ? messageSupplier.get() : message;
+		if (count == 1)
+			// Print the log statement
+			log(logger, level, ONCE + className + COLON + text, t);
+		else
+			// Print the log statement with counts
+			log(logger, level, OPEN_BRACKET + count + CLOSED_BRACKET + className + COLON + text, t);
 	}
-//	}
 
-//	public static void go(Level level, int timeBetweenLogs, StringBuffer sb) {
-//		flogger.at(level).atMostEvery(timeBetweenLogs, TimeUnit.SECONDS).log(sb.toString());
-//	}
-	
+	/**
+	 * Logs a message to the simulation log at most once every
+	 * <code>timeBetweenLogs</code> milliseconds from the same class and line
+	 * number.
+	 */
 	public static void log(Level level, int timeBetweenLogs, String sourceName, String message) {
-//		if (sourceName.contains("."))
-//			sourceName = sourceName.substring(sourceName.lastIndexOf(PERIOD) + 1, sourceName.length());
-		flogger.at(level).atMostEvery(timeBetweenLogs, TimeUnit.MILLISECONDS).log(sourceName + COLON + message);
+		FluentLogger.Api api = flogger.at(level);
+		if (api.isEnabled() && (timeBetweenLogs <= 0 || getCallSite().tryAcquire(timeBetweenLogs) > 0))
+			api.log(sourceName + COLON + message);
 	}
 	
 	public static void log(Level level, int timeBetweenLogs, String sourceName, String message, Throwable t) {
-//		if (sourceName.contains("."))
-//			sourceName = sourceName.substring(sourceName.lastIndexOf(PERIOD) + 1, sourceName.length());
-		flogger.at(level).atMostEvery(timeBetweenLogs, TimeUnit.MILLISECONDS).log(sourceName + COLON + message, t);
+		FluentLogger.Api api = flogger.at(level);
+		if (api.isEnabled() && (timeBetweenLogs <= 0 || getCallSite().tryAcquire(timeBetweenLogs) > 0))
+			api.withCause(t).log(sourceName + COLON + message);
+	}
+	
+	/**
+	 * Logs a lazily built message to the simulation log. The message is only built
+	 * if it is actually logged.
+	 */
+	public static void log(Level level, int timeBetweenLogs, String sourceName, Supplier<String> message) {
+		FluentLogger.Api api = flogger.at(level);
+		if (api.isEnabled() && (timeBetweenLogs <= 0 || getCallSite().tryAcquire(timeBetweenLogs) > 0))
+			api.log(sourceName + COLON + message.get());
+	}
+	
+	public static void log(Level level, int timeBetweenLogs, String sourceName, Supplier<String> message, Throwable t) {
+		FluentLogger.Api api = flogger.at(level);
+		if (api.isEnabled() && (timeBetweenLogs <= 0 || getCallSite().tryAcquire(timeBetweenLogs) > 0))
+			api.withCause(t).log(sourceName + COLON + message.get());
+	}
+	
+	/**
+	 * Logs a lazily built message to the simulation log from a call site held by
+	 * the caller.
+	 */
+	public static void log(CallSite site, Level level, int timeBetweenLogs, String sourceName, Supplier<String> message) {
+		FluentLogger.Api api = flogger.at(level);
+		if (api.isEnabled() && site.tryAcquire(timeBetweenLogs) > 0)
+			api.log(sourceName + COLON + message.get());
 	}
 	
 //	public static void info(int timeBetweenLogs, String sourceName, String message) {
@@ -124,22 +191,35 @@ public class LogConsolidated {
 //	}
 	
 	/**
-	 * Returns the line
+	 * Creates a call site for a log statement. Keep it in a static final field
+	 * next to the statement so each log call does not have to walk the stack.
 	 * 
-	 * @return
+	 * @return a new call site.
 	 */
-	private static String getFileAndLine() {
-		StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
-		boolean enteredLogConsolidated = false;
-		for (StackTraceElement ste : stackTrace) {
-			if (ste.getClassName().equals(LogConsolidated.class.getName())) {
-				enteredLogConsolidated = true;
-			} else if (enteredLogConsolidated) {
-				// We have now file/line before entering LogConsolidated.
-				return ste.getFileName() + COLON_2 + ste.getLineNumber();
-			}
-		}
-		return QUESTION;
+	public static CallSite callSite() {
+		return new CallSite();
+	}
+	
+	/**
+	 * Gets the call site of the caller of the logging methods.
+	 * 
+	 * @param timeBetweenLogs Milliseconds to wait between logs.
+	 * @return the call site or null if the message is never rate limited.
+	 */
+	private static CallSite getCallSite(long timeBetweenLogs) {
+		return (timeBetweenLogs > 0) ? getCallSite() : null;
+	}
+
+	/**
+	 * Gets the call site of the caller of the logging methods.
+	 * 
+	 * @return the call site.
+	 */
+	private static CallSite getCallSite() {
+		StackWalker.StackFrame frame = stackWalker.walk(findCaller).orElse(null);
+		if (frame == null)
+			return unknownSite;
+		return callSites.get(frame.getDeclaringClass()).computeIfAbsent(frame.getLineNumber(), l -> new CallSite());
 	}
 
 	private static void log(Logger logger, Level level, String message, Throwable t) {
@@ -205,15 +285,34 @@ public class LogConsolidated {
 	}
 	
 	/**
-	 * TimeAndCount keeps track of the between time and the number of times the message has appeared
+	 * The rate limit state of a log statement. It keeps track of the time it was
+	 * last logged and the number of times the message has appeared since.
 	 */
-	private static class TimeAndCount {
-		protected long startTime;
-		protected int count;
+	public static final class CallSite {
+		private long startTime;
+		private int count;
+		private boolean logged;
+
+		private CallSite() {
+		}
 
-		TimeAndCount() {
-			this.startTime = System.currentTimeMillis();
-			this.count = 1;
+		/**
+		 * Counts an occurrence of the message and checks if it may be logged now.
+		 * 
+		 * @param timeBetweenLogs Milliseconds to wait between logs.
+		 * @return 0 if the message is suppressed, otherwise the number of
+		 *         occurrences since it was last logged.
+		 */
+		synchronized int tryAcquire(long timeBetweenLogs) {
+			count++;
+			long now = System.currentTimeMillis();
+			if (logged && now - startTime < timeBetweenLogs)
+				return 0;
+			int result = count;
+			logged = true;
+			startTime = now;
+			count = 0;
+			return result;
 		}
 	}
 }
\ No newline at end of file
@@ -8,11 +8,8 @@ package org.mars_sim.msp.core;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.EOFException;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -33,9 +30,12 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -106,15 +106,16 @@ import org.mars_sim.msp.core.time.MasterClock;
 import org.mars_sim.msp.core.time.SystemDateTime;
 import org.mars_sim.msp.core.time.UpTimer;
 import org.mars_sim.msp.core.tool.CheckSerializedSize;
+import org.mars_sim.msp.core.tool.ParallelXZInputStream;
+import org.mars_sim.msp.core.tool.SectionOutputStream;
+import org.mars_sim.msp.core.tool.SnapshotOutputStream;
+import org.mars_sim.msp.core.tool.XZBlockOutputStream;
 import org.mars_sim.msp.core.vehicle.Vehicle;
 import org.tukaani.xz.FilterOptions;
 import org.tukaani.xz.LZMA2Options;
 import org.tukaani.xz.XZFormatException;
-import org.tukaani.xz.XZInputStream;
 import org.tukaani.xz.XZOutputStream;
 
-import com.google.common.io.ByteStreams;
-
 /**
  * The Simulation class is the primary singleton class in the MSP simulation.
  * It's capable of creating a new simulation or loading/saving an existing one.
@@ -212,8 +213,10 @@ public class Simulation implements ClockListener, Serializable {
 			+ " - " + OS_ARCH + " " + JAVA_VERSION + " - " + NUM_THREADS
 			+ ((NUM_THREADS == 1) ? " CPU thread" : " CPU threads")); // $NON-NLS-1$
 
-	/** The mininum size of heap space in bytes */
-	public final static int MIN_HEAP_SPACE = 128*1024*1024;
+	/** The maximum size of an xz block in a saved sim in bytes. */
+	private final static int BLOCK_SIZE = 8*1024*1024;
+	/** The size of the file buffer for saving and loading in bytes. */
+	private final static int BUFFER_SIZE = 64*1024;
 	
 //	private static final boolean debug = false; // logger.isLoggable(Level.FINE);
 	/** true if displaying graphic user interface. */
@@ -225,7 +228,7 @@ public class Simulation implements ClockListener, Serializable {
 	
 	private transient boolean defaultLoad = false;
 
-	private transient boolean justSaved = true;
+	private transient volatile boolean justSaved = true;
 
 	private transient boolean autosaveDefault;
 	
@@ -247,6 +250,16 @@ public class Simulation implements ClockListener, Serializable {
 	private transient ExecutorService clockThreadExecutor;
 	/** The simulation thread executor service. */
 	private transient ExecutorService simExecutor;
+	/** The executor that compresses and writes the snapshots to disk. */
+	private transient ExecutorService saveExecutor;
+	/** The snapshot being written, if any. */
+	private transient volatile Future<?> pendingWrite;
+	/** The time in millis the clock was held up by the last snapshot. */
+	private transient volatile long lastSnapshotPauseTime;
+	/** The time in millis taken to compress and write the last snapshot. */
+	private transient volatile long lastSnapshotWriteTime;
+	/** True if saves are taken as snapshots that are written in the background. */
+	private static boolean snapshotSave = true;
 
 	// Intransient data members (stored in save file)
 	/** Planet Mars. */
@@ -532,6 +545,18 @@ public class Simulation implements ClockListener, Serializable {
 		
 //		logger.config("Done with Unit.setUnitManager()");
 		
+		// Number the units of the new simulation from the first identifiers, so that
+		// a run with a fixed seed can be repeated within the same JVM
+		Building.initializeInstances(SimulationConfig.instance().getBuildingConfiguration(), unitManager);
+		ConstructionSite.justReloaded(unitManager);
+		Person.reinitializeIdentifierCount();
+		Robot.reinitializeIdentifierCount();
+		Vehicle.reinitializeIdentifierCount();
+		Building.reinitializeIdentifierCount();
+		Equipment.reinitializeIdentifierCount();
+		Settlement.reinitializeIdentifierCount();
+		ConstructionSite.reinitializeIdentifierCount();
+		
 		unitManager.constructInitialUnits(loadSaveSim); // unitManager needs to be on the same thread as masterClock
 		
 //		logger.config("Done with unitManager.constructInitialUnits()");
@@ -746,24 +771,16 @@ public class Simulation implements ClockListener, Serializable {
     public void deserialize(File file) throws IOException, ClassNotFoundException {
 		logger.config("deserialize() is on " + Thread.currentThread().getName());
 		
-//		byte[] buf = new byte[8192];
-		FileInputStream in = null;
-	    XZInputStream xzin = null;
-		ByteArrayOutputStream baos = new ByteArrayOutputStream();
-	    InputStream is = null;
+	    InputStream in = null;
 	    ObjectInputStream ois = null;
 
 		try {
-			in = new FileInputStream(file);
 			// Replace gzip with xz compression (based on LZMA2)
-			// Since XZInputStream does some buffering internally
-			// anyway, BufferedInputStream doesn't seem to be
-			// needed here to improve performance.
-			// in = new BufferedInputStream(in);
-			
+			// The xz blocks are decompressed ahead of the ObjectInputStream on a 
+			// thread pool and streamed into it, rather than inflating the whole 
+			// file into a byte array first.
 			try {
-				// Limit memory usage to 256 MB
-				xzin = new XZInputStream(new BufferedInputStream(in), 256 * 1024);
+				in = new ParallelXZInputStream(file, NUM_THREADS);
 			} catch (XZFormatException e) {
 				e.printStackTrace();
 				// Thrown when reading a stream terminated by an exception that occurred while the stream was being written.
@@ -771,19 +788,7 @@ public class Simulation implements ClockListener, Serializable {
 				System.exit(1);	
 			}
 			
-//			int size;
-//			while ((size = xzin.read(buf)) != -1)
-//				baos.write(buf, 0, size);			
-			ByteStreams.copy(xzin, baos);
-			
-			//see https://stackoverflow.com/questions/26960997/convert-outputstream-to-bytearrayoutputstream
-//			byte[] bytes = new byte[8];
-//			baos.write(bytes);
-//			baos.writeTo(os);
-
-//			is = new ByteArrayInputStream(baos.toByteArray());
-//			ois = new ObjectInputStream(is);
-			ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()));
+			ois = new ObjectInputStream(new BufferedInputStream(in, BUFFER_SIZE));
 
 			// Load intransient objects.
 //			SimulationConfig.setInstance((SimulationConfig) ois.readObject());	
@@ -802,6 +807,8 @@ public class Simulation implements ClockListener, Serializable {
 			relationshipManager = (RelationshipManager) ois.readObject();		
 			unitManager = (UnitManager) ois.readObject();		
 			masterClock = (MasterClock) ois.readObject();	
+			
+			logManifest(ois);
 	
 		// Note: see https://docs.oracle.com/javase/7/docs/platform/serialization/spec/exceptions.html
 		} catch (WriteAbortedException e) {
@@ -885,22 +892,27 @@ public class Simulation implements ClockListener, Serializable {
 			if (in != null) {
 				in.close();
 			}
-
-			if (xzin != null) {
-				xzin.close();
-			}
-
-			if (is != null) {
-				is.close();
-			}
-
-			if (baos != null) {
-				baos.close();
-			}
 		}
 
     }
     
+    /**
+     * Logs the section manifest at the end of a saved sim. Saved sims made 
+     * before the sectioned format have no manifest.
+     * 
+     * @param ois
+     * @throws ClassNotFoundException 
+     */
+    @SuppressWarnings("unchecked")
+	private void logManifest(ObjectInputStream ois) throws ClassNotFoundException {
+		try {
+			Map<String, Long> manifest = (Map<String, Long>) ois.readObject();
+			logger.config("Sections : " + manifest);
+		} catch (IOException e) {
+			logger.config("The saved sim has no section manifest.");
+		}
+    }
+    
     /**
      * Computes the size of the file
      * 
@@ -1229,26 +1241,76 @@ public class Simulation implements ClockListener, Serializable {
 		lastSaveTimeStamp = new SystemDateTime().getDateTimeStr();
 		changed = true;
 
-		File backupFile = new File(SAVE_DIR, "previous" + SAVE_FILE_EXTENSION);
-		FileSystem fileSys = null;
+		file = getSaveFile(type, file);
+		
 		Path destPath = null;
 		Path srcPath = null;
 
-		// Use type to differentiate in what name/dir it is saved
-		if (type == SaveType.SAVE_DEFAULT) {
-
-			file = new File(SAVE_DIR, SAVE_FILE + SAVE_FILE_EXTENSION);
-
+		if (type == SaveType.SAVE_DEFAULT || type == SaveType.AUTOSAVE_AS_DEFAULT) {
 			if (file.exists() && !file.isDirectory()) {
-				fileSys = FileSystems.getDefault();
-				destPath = fileSys.getPath(backupFile.getPath());
+				FileSystem fileSys = FileSystems.getDefault();
+				destPath = fileSys.getPath(new File(SAVE_DIR, "previous" + SAVE_FILE_EXTENSION).getPath());
 				srcPath = fileSys.getPath(file.getPath());
 				// Backup the existing default.sim
 				Files.move(srcPath, destPath, StandardCopyOption.REPLACE_EXISTING);
 			}
+		}
+		
+		logHeapSize();
+		
+		// Serialize the file
+		serialize(type, file, srcPath, destPath);
 
-			logger.config("Saving the simulation as " + SAVE_FILE + SAVE_FILE_EXTENSION + ".");
+		// Restarts the master clock and adds back the Simulation clock listener
+		sim.proceed(isPause);
+	}
+
+	/**
+	 * Takes a snapshot of the simulation and writes it to a save file in the
+	 * background. The snapshot is the uncompressed serialized form of the
+	 * managers, which is taken in memory, and so the clock only has to wait for
+	 * the snapshot and not for the compression and the disk. Must be called at a
+	 * pulse boundary, i.e. while no clock pulse is being processed.
+	 * 
+	 * @param file the file to be saved to.
+	 */
+	public synchronized void snapshotSimulation(SaveType type, File file) throws IOException {
+		long start = System.nanoTime();
+		
+		lastSaveTimeStamp = new SystemDateTime().getDateTimeStr();
+		changed = true;
+
+		file = getSaveFile(type, file);
+		
+		logHeapSize();
+		
+		SnapshotOutputStream snapshot = new SnapshotOutputStream();
+		ObjectOutputStream oos = new ObjectOutputStream(snapshot);
+		try {
+			writeManagers(oos, snapshot);
+		} finally {
+			oos.close();
+		}
+		
+		lastSnapshotPauseTime = (System.nanoTime() - start) / 1_000_000;
+		logger.config("Took a snapshot of " + formatSize(snapshot.getCount()) + " in " 
+				+ lastSnapshotPauseTime + " ms. The simulation resumes while it is being written.");
+		
+		pendingWrite = getSaveExecutor().submit(new SnapshotWriteTask(type, file, snapshot));
+	}
 
+	/**
+	 * Gets the file to save to and creates its directory if needed.
+	 * 
+	 * @param type the save type
+	 * @param file the file requested or null if default file
+	 * @return the file to save to
+	 */
+	private File getSaveFile(SaveType type, File file) {
+		// Use type to differentiate in what name/dir it is saved
+		if (type == SaveType.SAVE_DEFAULT) {
+			file = new File(SAVE_DIR, SAVE_FILE + SAVE_FILE_EXTENSION);
+			logger.config("Saving the simulation as " + SAVE_FILE + SAVE_FILE_EXTENSION + ".");
 		}
 
 		else if (type == SaveType.SAVE_AS) {
@@ -1260,22 +1322,8 @@ public class Simulation implements ClockListener, Serializable {
 		}
 
 		else if (type == SaveType.AUTOSAVE_AS_DEFAULT) {
-
-//            file = new File(DEFAULT_DIR, DEFAULT_FILE + DEFAULT_EXTENSION);
-//            logger.config("Autosaving as " + DEFAULT_FILE + DEFAULT_EXTENSION);
-
 			file = new File(SAVE_DIR, SAVE_FILE + SAVE_FILE_EXTENSION);
-
-			if (file.exists() && !file.isDirectory()) {
-				fileSys = FileSystems.getDefault();
-				destPath = fileSys.getPath(backupFile.getPath());
-				srcPath = fileSys.getPath(file.getPath());
-				// Backup the existing default.sim
-				Files.move(srcPath, destPath, StandardCopyOption.REPLACE_EXISTING);
-			}
-
 			logger.config("Autosaving the simulation as " + SAVE_FILE + SAVE_FILE_EXTENSION + ".");
-
 		}
 
 		else if (type == SaveType.AUTOSAVE) {
@@ -1285,7 +1333,6 @@ public class Simulation implements ClockListener, Serializable {
 					+ SAVE_FILE_EXTENSION;
 			file = new File(AUTOSAVE_DIR, autosaveFilename);
 			logger.config("Autosaving the simulation as " + autosaveFilename + ".");
-
 		}
 
 		// if the autosave/default save directory does not exist, create one now
@@ -1293,6 +1340,13 @@ public class Simulation implements ClockListener, Serializable {
 			file.getParentFile().mkdirs();
 		}
 		
+		return file;
+	}
+	
+	/**
+	 * Logs the current size of the heap.
+	 */
+	private void logHeapSize() {
 		// Get current size of heap in bytes
 		long heapSize = Runtime.getRuntime().totalMemory();
 		// Get maximum size of heap in bytes. The heap cannot grow beyond this size.// Any attempt will result in an OutOfMemoryException.
@@ -1304,41 +1358,139 @@ public class Simulation implements ClockListener, Serializable {
 		+ "    heapMaxSize: " + formatSize(heapMaxSize) 
 //		+ "    heapFreeSize: " + heapFreeSize
 		+ "    heapFreeSize: " + formatSize(heapFreeSize) + "");
-		
-		int counts = 0;
-		while (heapFreeSize < MIN_HEAP_SPACE && counts <= 2) {
-			counts++;
-			logger.config("Not enough free memory in heap space. Wait for 10 seconds and retry...");
-			// Restarts the master clock and removes the Simulation clock listener
-			sim.proceed(isPause);
-			// delay for 10 seconds
-			delay(10000);
-			// Stops the master clock and removes the Simulation clock listener
-			sim.halt(isPause);
-			// Get current size of heap in bytes
-			heapSize = Runtime.getRuntime().totalMemory();
-			// Get maximum size of heap in bytes. The heap cannot grow beyond this size.// Any attempt will result in an OutOfMemoryException.
-			heapMaxSize = Runtime.getRuntime().maxMemory();
-			 // Get amount of free memory within the heap in bytes. This size will increase // after garbage collection and decrease as new objects are created.
-			heapFreeSize = Runtime.getRuntime().freeMemory(); 
-			
-			logger.config("heapSize: " + formatSize(heapSize) 
-			+ "    heapMaxSize: " + formatSize(heapMaxSize) 
-			+ "    heapFreeSize: " + formatSize(heapFreeSize) + "");
+	}
+	
+	/**
+	 * Gets the executor that writes the snapshots to disk.
+	 * 
+	 * @return executor
+	 */
+	private synchronized ExecutorService getSaveExecutor() {
+		if (saveExecutor == null || saveExecutor.isShutdown())
+			saveExecutor = Executors.newSingleThreadExecutor();
+		return saveExecutor;
+	}
+	
+	/**
+	 * Checks if a snapshot is still being written to disk.
+	 * 
+	 * @return true if a snapshot is being written
+	 */
+	public boolean isWritingSave() {
+		Future<?> f = pendingWrite;
+		return f != null && !f.isDone();
+	}
+	
+	/**
+	 * Waits for the snapshots still being written to disk. To be called before
+	 * exiting the program.
+	 */
+	public void awaitPendingSaves() {
+		ExecutorService executor = saveExecutor;
+		if (executor != null) {
+			executor.shutdown();
+			try {
+				if (!executor.awaitTermination(5, TimeUnit.MINUTES))
+					logger.log(Level.SEVERE, "Timed out waiting for the save file to be written.");
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
 		}
+	}
+	
+	/**
+	 * Gets the time the clock was held up by the last snapshot.
+	 * 
+	 * @return millis
+	 */
+	public long getLastSnapshotPauseTime() {
+		return lastSnapshotPauseTime;
+	}
+	
+	/**
+	 * Gets the time taken to compress and write the last snapshot.
+	 * 
+	 * @return millis
+	 */
+	public long getLastSnapshotWriteTime() {
+		return lastSnapshotWriteTime;
+	}
+	
+	/**
+	 * Checks if saves are taken as snapshots that are written in the background.
+	 * 
+	 * @return true if snapshot saves are used
+	 */
+	public static boolean isSnapshotSave() {
+		return snapshotSave;
+	}
+	
+	/**
+	 * Sets whether saves are taken as snapshots that are written in the background
+	 * rather than by halting the clock.
+	 * 
+	 * @param value
+	 */
+	public static void setSnapshotSave(boolean value) {
+		snapshotSave = value;
+	}
+	
+	/**
+	 * Compresses a snapshot and writes it to the save file. The snapshot is
+	 * written to a temporary file first so that a failed write never replaces the
+	 * existing save.
+	 */
+	class SnapshotWriteTask implements Runnable {
 
-		if (counts <= 2) {
-			// Serialize the file
-			serialize(type, file, srcPath, destPath);
-		}
-		else {
-			logger.config("Please try saving the sim later.");
+		private SaveType type;
+		private File file;
+		private SnapshotOutputStream snapshot;
+
+		private SnapshotWriteTask(SaveType type, File file, SnapshotOutputStream snapshot) {
+			this.type = type;
+			this.file = file;
+			this.snapshot = snapshot;
 		}
 
-		// Restarts the master clock and adds back the Simulation clock listener
-		sim.proceed(isPause);
+		@Override
+		public void run() {
+			long start = System.nanoTime();
+			File tempFile = new File(file.getPath() + ".tmp");
+			
+			try {
+				XZBlockOutputStream xzout = new XZBlockOutputStream(new XZOutputStream(
+						new BufferedOutputStream(new FileOutputStream(tempFile), BUFFER_SIZE), getFilterOptions()), BLOCK_SIZE);
+				try {
+					snapshot.writeTo(xzout);
+					xzout.finish();
+				} finally {
+					xzout.close();
+				}
+				
+				if ((type == SaveType.SAVE_DEFAULT || type == SaveType.AUTOSAVE_AS_DEFAULT)
+						&& file.exists() && !file.isDirectory()) {
+					// Backup the existing default.sim
+					Files.move(file.toPath(), new File(SAVE_DIR, "previous" + SAVE_FILE_EXTENSION).toPath(),
+							StandardCopyOption.REPLACE_EXISTING);
+				}
+				Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				
+				lastSnapshotWriteTime = (System.nanoTime() - start) / 1_000_000;
+				logger.config("Done saving " + file.getName() + " (" + computeFileSize(file) + ") : paused for " 
+						+ lastSnapshotPauseTime + " ms, written in " + lastSnapshotWriteTime + " ms.");
+				
+			} catch (Exception e) {
+				logger.log(Level.SEVERE, Msg.getString("Simulation.log.saveError"), e); //$NON-NLS-1$
+				tempFile.delete();
+			
+			} finally {
+				// Release the snapshot as soon as it is written
+				snapshot = null;
+				justSaved = true;
+			}
+		}
 	}
-
+	
 	/**
 	 * Delays for a period of time in millis
 	 * 
@@ -1358,6 +1510,82 @@ public class Simulation implements ClockListener, Serializable {
         return String.format("%.2f %sB", (double)v / (1L << (z*10)), " KMGTPE".charAt(z));
     }
     
+    /**
+     * Gets the managers in the order they are saved and loaded.
+     * 
+     * @return list of managers
+     */
+    private List<Serializable> getManagers() {
+    	return Arrays.asList(
+				malfunctionFactory,
+				mars,
+				missionManager,
+				medicalManager,
+				scientificStudyManager,
+				transportManager,
+				creditManager,
+				eventManager,
+				relationshipManager,
+				unitManager,
+				masterClock);
+    }
+    
+    /**
+     * Gets the xz filter options for the save files.
+     * 
+     * @return filter options
+     */
+    private static FilterOptions[] getFilterOptions() {
+		// Using the default settings and the default integrity check type (CRC64)
+		LZMA2Options lzma2 = new LZMA2Options(5);
+		// Set to 6. For mid sized archives (>8mb), 7 works better.
+		//lzma2.setPreset(8);
+		FilterOptions[] options = {lzma2};
+		
+		// Using the x86 BCJ filter // 424KB
+//		X86Options x86 = new X86Options();
+//		LZMA2Options lzma2 = new LZMA2Options();
+//		FilterOptions[] options = { x86, lzma2 };
+		logger.config("Encoder memory usage : "
+	              + Math.round(FilterOptions.getEncoderMemoryUsage(options)/1_000.0*100.00)/100.00 + " MB");
+		logger.config("Decoder memory usage : "
+	              + Math.round(FilterOptions.getDecoderMemoryUsage(options)/1_000.0*100.00)/100.00 + " MB");
+		
+		return options;
+    }
+    
+    /**
+     * Writes each manager as its own section, followed by the manifest of the
+     * uncompressed offset of each section.
+     * 
+     * @param oos the object stream
+     * @param out the stream under the object stream
+     * @return the manifest
+     * @throws IOException
+     */
+    private Map<String, Long> writeManagers(ObjectOutputStream oos, SectionOutputStream out) throws IOException {
+		// The uncompressed offset of each section
+		Map<String, Long> manifest = new LinkedHashMap<>();
+		
+		// Store the in-transient objects.
+//		oos.writeObject(SimulationConfig.instance());
+//		oos.writeObject(ResourceUtil.getInstance());
+		for (Serializable o : getManagers()) {
+			oos.flush();
+			out.endSection();
+			manifest.put(o.getClass().getSimpleName(), out.getCount());
+			// Note: mars may throw java.util.ConcurrentModificationException, infinite ObjectOutputStream.java:1510)
+			oos.writeObject(o);
+		}
+		
+		oos.flush();
+		out.endSection();
+		oos.writeObject(manifest);
+		oos.flush();
+		
+		return manifest;
+    }
+    
     /**
      * Serialize the given object and save it to a given file.
      */
@@ -1368,62 +1596,27 @@ public class Simulation implements ClockListener, Serializable {
 		// (1) http://stackoverflow.com/questions/5481487/how-to-use-lzma-sdk-to-compress-decompress-in-java
 		// (2) http://tukaani.org/xz/xz-javadoc/
 
-		// STEP 1: combine all objects into one single uncompressed file, namely
-		// "default"
+		// Each manager is written as its own section, i.e. one or more xz blocks, 
+		// and is streamed straight to the file without being buffered in memory.
+		// Note that the sections share a single ObjectOutputStream since the managers 
+		// reference one another's objects.
+		
+		FilterOptions[] options = getFilterOptions();
 		
-		ByteArrayOutputStream baos = new ByteArrayOutputStream();
-	    ObjectOutputStream oos = new ObjectOutputStream(baos);
-	    InputStream is = null;
-		XZOutputStream xzout = null;
+		XZBlockOutputStream xzout = new XZBlockOutputStream(new XZOutputStream(
+				new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE), options), BLOCK_SIZE);
+	    ObjectOutputStream oos = new ObjectOutputStream(xzout);
 		
 		try {
 	
 			// Set a delay for 200 millis to avoid java.util.ConcurrentModificationException
 			delay(500L);
 			
-			// Store the in-transient objects.
-//			oos.writeObject(SimulationConfig.instance());
-//			oos.writeObject(ResourceUtil.getInstance());
-			oos.writeObject(malfunctionFactory);
-			oos.writeObject(mars); // java.util.ConcurrentModificationException, infinite ObjectOutputStream.java:1510)
-			oos.writeObject(missionManager);
-			oos.writeObject(medicalManager);
-			oos.writeObject(scientificStudyManager);
-			oos.writeObject(transportManager);
-			oos.writeObject(creditManager);
-			oos.writeObject(eventManager);
-			oos.writeObject(relationshipManager);
-			oos.writeObject(unitManager);
-			oos.writeObject(masterClock);
-			
-			oos.flush();
-			oos.close();
-
-		    is = new ByteArrayInputStream(baos.toByteArray());
-		    
-			// Print the size of each serializable object
-//			System.out.println(printObjectSize(0).toString());
-			
-			// Using the default settings and the default integrity check type (CRC64)
-			LZMA2Options lzma2 = new LZMA2Options(5);
-			// Set to 6. For mid sized archives (>8mb), 7 works better.
-			//lzma2.setPreset(8);
-			FilterOptions[] options = {lzma2};
-			
-			// Using the x86 BCJ filter // 424KB
-//			X86Options x86 = new X86Options();
-//			LZMA2Options lzma2 = new LZMA2Options();
-//			FilterOptions[] options = { x86, lzma2 };
-			logger.config("Encoder memory usage : "
-		              + Math.round(FilterOptions.getEncoderMemoryUsage(options)/1_000.0*100.00)/100.00 + " MB");
-			logger.config("Decoder memory usage : "
-		              + Math.round(FilterOptions.getDecoderMemoryUsage(options)/1_000.0*100.00)/100.00 + " MB");
-	
-			xzout = new XZOutputStream(new BufferedOutputStream(new FileOutputStream(file)), options);
-			
-			ByteStreams.copy(is, xzout);
+			Map<String, Long> manifest = writeManagers(oos, xzout);
 			
 			xzout.finish();
+			
+			logger.config("Sections : " + manifest);
 			// Print the size of the saved sim
 			logger.config("           File size : " + computeFileSize(file));
 			logger.config("Done saving. The simulation resumes.");
@@ -1491,21 +1684,10 @@ public class Simulation implements ClockListener, Serializable {
 		}
 
 		finally {
-		
-			if (xzout != null) {
-				xzout.close();
-				xzout.finish();
-			}
 			
 			if (oos != null)
 				oos.close();
 			
-			if (is != null)
-				is.close();
-			
-			if (baos != null)
-				baos.close();
-			
 			justSaved = true;
 
 		}
@@ -2060,6 +2242,8 @@ public class Simulation implements ClockListener, Serializable {
 			eventManager = null;
 		}
 
+		LocalAreaUtil.destroy();
+
 		 logger.config("Done with destroyOldSimulation()");
 	}
 
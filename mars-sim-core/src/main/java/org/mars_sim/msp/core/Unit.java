@@ -9,8 +9,10 @@ package org.mars_sim.msp.core;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Logger;
 
@@ -90,6 +92,10 @@ public abstract class Unit implements Serializable, UnitIdentifer, Comparable<Un
 
 	/** Unit listeners. */
 	private transient List<UnitListener> listeners;// = Collections.synchronizedList(new ArrayList<UnitListener>());
+	/** Unit listeners called through the unit event bus. */
+	private transient List<AsyncUnitListener> asyncListeners;
+	/** The event types wanted by the asynchronous listeners. */
+	private transient volatile Set<UnitEventType> asyncEventTypes;
 
 	protected static Simulation sim = Simulation.instance();
 	protected static SimulationConfig simulationConfig = SimulationConfig.instance();
@@ -874,6 +880,8 @@ public abstract class Unit implements Serializable, UnitIdentifer, Comparable<Un
 	}
     
 	public synchronized boolean hasUnitListener(UnitListener listener) {
+		if (listener instanceof AsyncUnitListener)
+			return asyncListeners != null && asyncListeners.contains(listener);
 		if (listeners == null)
 			return false;
 		return listeners.contains(listener);
@@ -887,6 +895,15 @@ public abstract class Unit implements Serializable, UnitIdentifer, Comparable<Un
 	public synchronized final void addUnitListener(UnitListener newListener) {
 		if (newListener == null)
 			throw new IllegalArgumentException();
+		if (newListener instanceof AsyncUnitListener) {
+			if (asyncListeners == null)
+				asyncListeners = new CopyOnWriteArrayList<>();
+			if (!asyncListeners.contains(newListener)) {
+				asyncListeners.add((AsyncUnitListener) newListener);
+				updateAsyncEventTypes();
+			}
+			return;
+		}
 		if (listeners == null)
 			listeners = Collections.synchronizedList(new CopyOnWriteArrayList<UnitListener>());
 
@@ -912,6 +929,10 @@ public abstract class Unit implements Serializable, UnitIdentifer, Comparable<Un
 		if (oldListener == null)
 			throw new IllegalArgumentException();
 
+		if (asyncListeners != null && asyncListeners.remove(oldListener)) {
+			updateAsyncEventTypes();
+			return;
+		}
 		if (listeners == null) {
 			listeners = Collections.synchronizedList(new CopyOnWriteArrayList<UnitListener>());
 		}
@@ -939,24 +960,59 @@ public abstract class Unit implements Serializable, UnitIdentifer, Comparable<Un
 		// logger.info("Unit's fireUnitUpdate() is on " +
 		// Thread.currentThread().getName() + " Thread");
 
+		// Queue the event only if an asynchronous listener wants it
+		Set<UnitEventType> types = asyncEventTypes;
+		if (types != null && types.contains(updateType))
+			UnitEventBus.post(this, updateType, target);
+
 		if (listeners == null || listeners.size() < 1) {
 			// listeners = Collections.synchronizedList(new ArrayList<UnitListener>());
 			// we don't do anything if there's no listeners attached
 			return;
 		}
 		final UnitEvent ue = new UnitEvent(this, updateType, target);
-		synchronized (listeners) {
-			 Iterator<UnitListener> i = listeners.iterator();
-				 while (i.hasNext()) {
-				 i.next().unitUpdate(ue);
-			 }
-//			for (UnitListener u : listeners) {
-//				u.unitUpdate(ue);
-//			}
+		// The copy on write list iterates over a snapshot without locking
+		Iterator<UnitListener> i = listeners.iterator();
+		while (i.hasNext()) {
+			i.next().unitUpdate(ue);
 		}
 	}
 
-	
+	/**
+	 * Delivers an event from the unit event bus to the asynchronous listeners.
+	 * 
+	 * @param event the unit event.
+	 */
+	void deliverAsyncUpdate(UnitEvent event) {
+		if (asyncListeners == null)
+			return;
+		for (AsyncUnitListener listener : asyncListeners) {
+			Set<UnitEventType> types = listener.getUnitEventTypes();
+			if (types == null || types.contains(event.getType()))
+				listener.unitUpdate(event);
+		}
+	}
+
+	/**
+	 * Updates the event types wanted by the asynchronous listeners.
+	 */
+	private void updateAsyncEventTypes() {
+		if (asyncListeners.isEmpty()) {
+			asyncEventTypes = null;
+			return;
+		}
+		Set<UnitEventType> types = EnumSet.noneOf(UnitEventType.class);
+		for (AsyncUnitListener listener : asyncListeners) {
+			Set<UnitEventType> wanted = listener.getUnitEventTypes();
+			if (wanted == null) {
+				types = EnumSet.allOf(UnitEventType.class);
+				break;
+			}
+			types.addAll(wanted);
+		}
+		asyncEventTypes = types;
+	}
+
 	public LocationStateType getLocationStateType() {
 		return currentStateType;
 	}
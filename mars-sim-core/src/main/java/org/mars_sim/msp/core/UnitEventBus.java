@@ -0,0 +1,136 @@
+/**
+ * Mars Simulation Project
+ * UnitEventBus.java
+ * @version 3.1.1 2026-10-18
+ * @author agent
+ */
+package org.mars_sim.msp.core;
+
+import java.awt.EventQueue;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Carries unit events from the simulation thread to the
+ * {@link AsyncUnitListener}s. Posting an event never blocks. Events are
+ * delivered in batches by the dispatcher, the Swing event queue by default,
+ * and an event repeated before delivery (same unit, type and target) is
+ * dropped when posted, so it is only delivered once, at the position of its
+ * first occurrence. The queue never holds more events than there are distinct
+ * unit, type and target triples.
+ */
+public final class UnitEventBus {
+
+	private static Logger logger = Logger.getLogger(UnitEventBus.class.getName());
+
+	/** The events waiting for delivery. */
+	private static final Set<QueuedEvent> pending = ConcurrentHashMap.newKeySet();
+	/** The pending events in the order they were first posted. */
+	private static final Queue<QueuedEvent> queue = new ConcurrentLinkedQueue<>();
+	private static final AtomicBoolean scheduled = new AtomicBoolean();
+
+	private static volatile Consumer<Runnable> dispatcher = EventQueue::invokeLater;
+
+	/**
+	 * Private constructor for utility class.
+	 */
+	private UnitEventBus() {
+	}
+
+	/**
+	 * Sets how event batches are delivered, e.g. on the thread of another UI
+	 * toolkit.
+	 * 
+	 * @param newDispatcher runs the delivery of a batch.
+	 */
+	public static void setDispatcher(Consumer<Runnable> newDispatcher) {
+		dispatcher = Objects.requireNonNull(newDispatcher);
+	}
+
+	/**
+	 * Queues an event for the asynchronous listeners of a unit.
+	 * 
+	 * @param unit   the unit firing the event.
+	 * @param type   the event type.
+	 * @param target the event target or null if none.
+	 */
+	static void post(Unit unit, UnitEventType type, Object target) {
+		QueuedEvent event = new QueuedEvent(unit, type, target);
+		// An event already waiting tells the listeners the same thing
+		if (!pending.add(event))
+			return;
+		queue.offer(event);
+		if (scheduled.compareAndSet(false, true))
+			dispatcher.accept(UnitEventBus::deliver);
+	}
+
+	/**
+	 * Gets the number of events waiting for delivery.
+	 * 
+	 * @return number of events.
+	 */
+	static int getPendingEvents() {
+		return pending.size();
+	}
+
+	/**
+	 * Delivers the queued events.
+	 */
+	private static void deliver() {
+		// Events posted from now on need another delivery
+		scheduled.set(false);
+
+		int size = queue.size();
+		for (int i = 0; i < size; i++) {
+			QueuedEvent event = queue.poll();
+			if (event == null)
+				break;
+			// The same event posted from now on is queued again
+			pending.remove(event);
+			try {
+				event.unit.deliverAsyncUpdate(new UnitEvent(event.unit, event.type, event.target));
+			} catch (RuntimeException e) {
+				logger.log(Level.SEVERE, "Error delivering " + event.type + " of " + event.unit, e);
+			}
+		}
+	}
+
+	/**
+	 * An event waiting for delivery. Two events are equal when they would tell a
+	 * listener the same thing.
+	 */
+	private static final class QueuedEvent {
+
+		private final Unit unit;
+		private final UnitEventType type;
+		private final Object target;
+
+		QueuedEvent(Unit unit, UnitEventType type, Object target) {
+			this.unit = unit;
+			this.type = type;
+			this.target = target;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof QueuedEvent))
+				return false;
+			QueuedEvent other = (QueuedEvent) obj;
+			return unit == other.unit && type == other.type && Objects.equals(target, other.target);
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(unit) * 31 + type.hashCode() * 17 + Objects.hashCode(target);
+		}
+	}
+}
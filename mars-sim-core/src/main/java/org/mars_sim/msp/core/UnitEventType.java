@@ -52,6 +52,7 @@ public enum UnitEventType {
 
 	// For MalfunctionManager
 	MALFUNCTION_EVENT				("malfunction"),
+	MAINTENANCE_PARTS_EVENT			("maintenance parts"),
 
 	// For TaskManager
 	TASK_EVENT						("task"),
@@ -14,8 +14,15 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -54,6 +61,7 @@ import org.mars_sim.msp.core.structure.SettlementTemplate;
 import org.mars_sim.msp.core.structure.building.Building;
 import org.mars_sim.msp.core.structure.construction.ConstructionSite;
 import org.mars_sim.msp.core.time.MarsClock;
+import org.mars_sim.msp.core.tool.MersenneTwisterFast;
 import org.mars_sim.msp.core.tool.RandomUtil;
 import org.mars_sim.msp.core.vehicle.LightUtilityVehicle;
 import org.mars_sim.msp.core.vehicle.Rover;
@@ -96,9 +104,17 @@ public class UnitManager implements Serializable {
 	/** Flag true if the class has just been reloaded/deserialized */
 	public static boolean justReloaded = false;
 	
+	/** True if the settlement work units are ticked in parallel. */
+	private static volatile boolean parallelTick = false;
+	
 	/** The total numbers of Unit instances. */
 	private static int totalNumUnits = 0;
 	
+	/** The thread pool that runs the settlement work units. */
+	private static ExecutorService tickPool;
+	/** The settlement work unit being ticked by the calling thread. */
+	private static final ThreadLocal<SettlementTask> currentTask = new ThreadLocal<>();
+	
 	/** List of unit manager listeners. */
 	private static CopyOnWriteArrayList<UnitManagerListener> listeners;
 
@@ -165,6 +181,10 @@ public class UnitManager implements Serializable {
 	private volatile Map<Integer, Equipment> lookupEquipment;// = new HashMap<>();
 	/** A map of building with its unit identifier. */
 	private volatile Map<Integer, Building> lookupBuilding;// = new HashMap<>();
+	/** The settlement work units for the parallel tick, sorted by settlement identifier. */
+	private transient Map<Integer, SettlementTask> settlementTasks;
+	/** The units outside of any settlement, ticked after the settlement work units. */
+	private transient List<Unit> outsideUnits;
 	
 	private static SimulationConfig simulationConfig = SimulationConfig.instance();
 	private static Simulation sim = Simulation.instance();
@@ -710,6 +730,8 @@ public class UnitManager implements Serializable {
 //		if (!units.contains(unit)) {
 //			units.add(unit);
 		if (unit != null) {
+			awaitTurn();
+
 			// Add the unit's id into its lookup maps
 			if (unit instanceof Settlement)
 				addSettlementID((Settlement)unit);
@@ -756,6 +778,7 @@ public class UnitManager implements Serializable {
 	public void removeUnit(Unit unit) {
 //		if (units.contains(unit)) {
 //			units.remove(unit);
+			awaitTurn();
 
 			// Add the unit's id into its lookup maps
 			if (unit instanceof Settlement)
@@ -2182,38 +2205,340 @@ public class UnitManager implements Serializable {
 //			lookupVehicle.values().stream().forEach(x -> x.timePassing(time));
 //			lookupUnit.values().stream().forEach(x -> x.timePassing(time));
 			
-			for (Settlement s : lookupSettlement.values()) {
-				s.timePassing(time);
+			timePassingByWorkUnit(time);
+		}
+	}
+
+	/**
+	 * Ticks each settlement together with the units physically in it, i.e. its
+	 * construction sites and the people, robots, equipment and vehicles whose
+	 * topmost container is the settlement, as one work unit. In serial mode the
+	 * work units are ticked one after the other in the order of settlement
+	 * identifiers and every change applies at once. In parallel mode they run on
+	 * the thread pool. Each one then draws from its own random generator, seeded
+	 * from the shared one in that order, takes unit identifiers in turn and
+	 * defers the changes to the state shared by all settlements until after the
+	 * barrier, so a given seed gives the same result whatever the number of
+	 * threads. The units outside of any settlement are ticked after the barrier,
+	 * on the calling thread.
+	 * 
+	 * @param time the amount time passing (in millisols)
+	 */
+	private void timePassingByWorkUnit(double time) {
+		assignWorkUnits();
+		
+		List<SettlementTask> tasks = new ArrayList<>(settlementTasks.values());
+		
+		if (parallelTick) {
+			for (int i = 0; i < tasks.size(); i++) {
+				tasks.get(i).prepare(time, RandomUtil.getRandomLong(), tasks.subList(0, i));
 			}
 			
-			for (ConstructionSite s : lookupSite.values()) {
-				s.timePassing(time);
+			// invokeAll() acts as the barrier : it returns only when all work units are done
+			List<Future<Void>> futures;
+			try {
+				futures = getTickPool().invokeAll(tasks);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while ticking the settlements.", e);
 			}
-			
-//			logger.info("time: " + Math.round(time*1000.0)/1000.0);
-			
-			for (Person p : lookupPerson.values()) {
-				p.timePassing(time);
+			for (int i = 0; i < futures.size(); i++) {
+				try {
+					futures.get(i).get();
+				} catch (ExecutionException e) {
+					throw tasks.get(i).failed(e.getCause());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException("Interrupted while ticking the settlements.", e);
+				}
 			}
 			
-			for (Robot r : lookupRobot.values()) {
-				r.timePassing(time);
+			for (SettlementTask task : tasks) {
+				task.applyDeferred();
 			}
-			
-			for (Equipment e : lookupEquipment.values()) {
-				e.timePassing(time);
+		}
+		else {
+			for (SettlementTask task : tasks) {
+				try {
+					task.tick(time);
+				} catch (RuntimeException e) {
+					throw task.failed(e);
+				}
 			}
-			
-			for (Vehicle v : lookupVehicle.values()) {
-				v.timePassing(time);
+		}
+		
+		for (Unit u : outsideUnits) {
+			u.timePassing(time);
+		}
+		
+		for (Unit u : lookupUnit.values()) {
+			u.timePassing(time);
+		}
+	}
+	
+	/**
+	 * Partitions the units into per-settlement work units. The units within a
+	 * work unit are kept in the same order as in the serial tick.
+	 */
+	private void assignWorkUnits() {
+		if (settlementTasks == null)
+			settlementTasks = new TreeMap<>();
+		if (outsideUnits == null)
+			outsideUnits = new ArrayList<>();
+		
+		settlementTasks.keySet().retainAll(lookupSettlement.keySet());
+		for (Settlement s : lookupSettlement.values()) {
+			SettlementTask task = settlementTasks.get(s.getIdentifier());
+			if (task == null)
+				settlementTasks.put(s.getIdentifier(), new SettlementTask(s));
+			else
+				task.clear();
+		}
+		outsideUnits.clear();
+		
+		for (ConstructionSite s : lookupSite.values()) {
+			assignWorkUnit(s, s.getSettlement());
+		}
+		for (Person p : lookupPerson.values()) {
+			assignWorkUnit(p, getPhysicalSettlement(p));
+		}
+		for (Robot r : lookupRobot.values()) {
+			assignWorkUnit(r, getPhysicalSettlement(r));
+		}
+		for (Equipment e : lookupEquipment.values()) {
+			assignWorkUnit(e, getPhysicalSettlement(e));
+		}
+		for (Vehicle v : lookupVehicle.values()) {
+			assignWorkUnit(v, getPhysicalSettlement(v));
+		}
+	}
+	
+	/**
+	 * Adds a unit to the work unit of a settlement.
+	 * 
+	 * @param unit the unit
+	 * @param settlement the settlement it is in or null if none
+	 */
+	private void assignWorkUnit(Unit unit, Settlement settlement) {
+		SettlementTask task = null;
+		if (settlement != null)
+			task = settlementTasks.get(settlement.getIdentifier());
+		if (task != null)
+			task.add(unit);
+		else
+			outsideUnits.add(unit);
+	}
+	
+	/**
+	 * Gets the settlement a unit is physically in, i.e. its topmost container
+	 * below the surface of Mars. A person in a rover parked at a settlement is in
+	 * that settlement, whichever settlement the person is associated with.
+	 * 
+	 * @param unit the unit
+	 * @return the settlement or null if the unit is outside
+	 */
+	private static Settlement getPhysicalSettlement(Unit unit) {
+		Unit top = unit;
+		Unit container = unit.getContainerUnit();
+		while (container != null && !(container instanceof MarsSurface)) {
+			top = container;
+			container = container.getContainerUnit();
+		}
+		if (top instanceof Settlement)
+			return (Settlement) top;
+		return null;
+	}
+	
+	/**
+	 * Gets the thread pool for the settlement work units. Its queue is first in
+	 * first out, so a work unit only starts once all the work units before it have
+	 * started, which keeps {@link #awaitTurn()} free of deadlocks.
+	 * 
+	 * @return {@link ExecutorService}
+	 */
+	private static synchronized ExecutorService getTickPool() {
+		if (tickPool == null)
+			setTickThreads(Simulation.NUM_THREADS);
+		return tickPool;
+	}
+	
+	/**
+	 * Replaces the thread pool for the settlement work units.
+	 * 
+	 * @param threads the number of threads
+	 */
+	static synchronized void setTickThreads(int threads) {
+		if (tickPool != null)
+			tickPool.shutdown();
+		tickPool = Executors.newFixedThreadPool(threads, r -> {
+			Thread t = new Thread(r, "settlement-tick");
+			t.setDaemon(true);
+			return t;
+		});
+	}
+	
+	/**
+	 * Waits, when called from a settlement work unit, until the work units ticked
+	 * before it are done. A change to the state shared by all settlements that has
+	 * to happen at once, such as taking a unit identifier or moving a unit onto the
+	 * surface of Mars, calls this first so that it happens in the same order as in
+	 * a serial tick.
+	 */
+	public static void awaitTurn() {
+		SettlementTask task = currentTask.get();
+		if (task != null)
+			task.awaitTurn();
+	}
+	
+	/**
+	 * Defers a change to the state shared by all settlements, such as adding a
+	 * mission, when called from a settlement work unit ticked in parallel. The
+	 * deferred changes are applied after the barrier, work unit by work unit in
+	 * the order of settlement identifiers.
+	 * 
+	 * @param change the change
+	 * @return true if the change is deferred, false if the caller is not in a work
+	 *         unit ticked in parallel and should apply it at once
+	 */
+	public static boolean deferToBarrier(Runnable change) {
+		SettlementTask task = currentTask.get();
+		if (task == null)
+			return false;
+		task.deferred.add(change);
+		return true;
+	}
+	
+	/**
+	 * Sets whether the settlement work units are ticked in parallel.
+	 * 
+	 * @param value true to tick the work units on a thread pool, false to tick
+	 *              them one after the other on the calling thread
+	 */
+	public static void setParallelTick(boolean value) {
+		parallelTick = value;
+	}
+	
+	/**
+	 * Checks if the settlements are ticked in parallel.
+	 * 
+	 * @return true if ticked in parallel
+	 */
+	public static boolean isParallelTick() {
+		return parallelTick;
+	}
+	
+	/**
+	 * A settlement work unit that passes time for a settlement and the units
+	 * physically in it.
+	 */
+	class SettlementTask implements Callable<Void> {
+
+		private double time;
+		private Settlement settlement;
+		private List<Unit> units = new ArrayList<>();
+		private MersenneTwisterFast random = new MersenneTwisterFast();
+		/** The work units ticked before this one. */
+		private List<SettlementTask> predecessors;
+		/** Counted down once the work unit is done. */
+		private CountDownLatch done;
+		/** True once the work units ticked before this one are done. */
+		private boolean inTurn;
+		/** The changes to the shared state, applied after the barrier. */
+		private List<Runnable> deferred = new ArrayList<>();
+
+		SettlementTask(Settlement settlement) {
+			this.settlement = settlement;
+		}
+
+		void add(Unit unit) {
+			units.add(unit);
+		}
+
+		void clear() {
+			units.clear();
+		}
+
+		void prepare(double time, long seed, List<SettlementTask> predecessors) {
+			this.time = time;
+			this.predecessors = predecessors;
+			random.setSeed(seed);
+			done = new CountDownLatch(1);
+			inTurn = predecessors.isEmpty();
+			deferred.clear();
+		}
+
+		/**
+		 * Waits until the work units ticked before this one are done.
+		 */
+		void awaitTurn() {
+			if (inTurn)
+				return;
+			boolean interrupted = false;
+			for (SettlementTask task : predecessors) {
+				while (true) {
+					try {
+						task.done.await();
+						break;
+					} catch (InterruptedException e) {
+						interrupted = true;
+					}
+				}
 			}
-			
-			for (Unit u : lookupUnit.values()) {
+			if (interrupted)
+				Thread.currentThread().interrupt();
+			inTurn = true;
+		}
+
+		/**
+		 * Applies the changes deferred by the work unit.
+		 */
+		void applyDeferred() {
+			for (Runnable change : deferred) {
+				change.run();
+			}
+			deferred.clear();
+		}
+
+		/**
+		 * Wraps the failure of the work unit.
+		 * 
+		 * @param cause the failure
+		 * @return the exception to throw
+		 */
+		RuntimeException failed(Throwable cause) {
+			if (cause instanceof Error)
+				throw (Error) cause;
+			return new IllegalStateException("The work unit of " + settlement.getName() 
+				+ " failed in timePassing().", cause);
+		}
+
+		/**
+		 * Passes time for the settlement and the units in it.
+		 * 
+		 * @param time the amount time passing (in millisols)
+		 */
+		void tick(double time) {
+			settlement.timePassing(time);
+			for (Unit u : units) {
 				u.timePassing(time);
 			}
 		}
-	}
 
+		@Override
+		public Void call() {
+			currentTask.set(this);
+			RandomUtil.setLocalRandom(random);
+			try {
+				tick(time);
+			} finally {
+				RandomUtil.setLocalRandom(null);
+				currentTask.remove();
+				done.countDown();
+			}
+			return null;
+		}
+	}
+	
 	/**
 	 * Get number of settlements
 	 *
@@ -2806,6 +3131,9 @@ public class UnitManager implements Serializable {
 		lookupPerson = null;
 		lookupRobot = null;
 		lookupEquipment = null;
+		
+		settlementTasks = null;
+		outsideUnits = null;
 
 		sim = null;
 		simulationConfig = SimulationConfig.instance();
@@ -15,6 +15,7 @@ import org.mars_sim.msp.core.CollectionUtils;
 import org.mars_sim.msp.core.Coordinates;
 import org.mars_sim.msp.core.Simulation;
 import org.mars_sim.msp.core.Unit;
+import org.mars_sim.msp.core.UnitManager;
 import org.mars_sim.msp.core.location.LocationStateType;
 import org.mars_sim.msp.core.manufacture.Salvagable;
 import org.mars_sim.msp.core.manufacture.SalvageInfo;
@@ -61,12 +62,15 @@ public abstract class Equipment extends Unit implements Indoor, Salvagable {
 	
 	/**
 	 * Must be synchronised to prevent duplicate ids being assigned via different
-	 * threads.
+	 * threads. Settlement work units take their ids in turn.
 	 * 
 	 * @return
 	 */
-	private static synchronized int getNextIdentifier() {
-		return uniqueCount++;
+	private static int getNextIdentifier() {
+		UnitManager.awaitTurn();
+		synchronized (Equipment.class) {
+			return uniqueCount++;
+		}
 	}
 	
 	/**
@@ -0,0 +1,80 @@
+/**
+ * Mars Simulation Project
+ * ArchivedEvent.java
+ * @version 3.1.1 2026-10-18
+ * @author agent
+ */
+package org.mars_sim.msp.core.events;
+
+/**
+ * A historical event read back from the event archive. Unlike a
+ * {@link SimpleEvent}, it holds its strings itself, so reading the archive
+ * does not add them to the dictionaries of the event manager.
+ */
+public class ArchivedEvent {
+
+	private short missionSol;
+	private float msol;
+	private byte cat;
+	private byte type;
+	private String what;
+	private String whileDoing;
+	private String who;
+	private String loc0;
+	private String loc1;
+	private short settlementID;
+
+	ArchivedEvent(short missionSol, float msol, byte cat, byte type, String what, String whileDoing, String who,
+			String loc0, String loc1, short settlementID) {
+		this.missionSol = missionSol;
+		this.msol = msol;
+		this.cat = cat;
+		this.type = type;
+		this.what = what;
+		this.whileDoing = whileDoing;
+		this.who = who;
+		this.loc0 = loc0;
+		this.loc1 = loc1;
+		this.settlementID = settlementID;
+	}
+
+	public short getSol() {
+		return missionSol;
+	}
+
+	public float getMillisol() {
+		return msol;
+	}
+
+	public byte getCat() {
+		return cat;
+	}
+
+	public byte getType() {
+		return type;
+	}
+
+	public String getWhat() {
+		return what;
+	}
+
+	public String getWhileDoing() {
+		return whileDoing;
+	}
+
+	public String getWho() {
+		return who;
+	}
+
+	public String getLoc0() {
+		return loc0;
+	}
+
+	public String getLoc1() {
+		return loc1;
+	}
+
+	public short getSettlementID() {
+		return settlementID;
+	}
+}
@@ -0,0 +1,343 @@
+/**
+ * Mars Simulation Project
+ * EventArchive.java
+ * @version 3.1.1 2026-10-18
+ * @author agent
+ */
+package org.mars_sim.msp.core.events;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Serializable;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.mars_sim.msp.core.Simulation;
+
+/**
+ * An append-only text file holding the historical events that no longer fit
+ * in memory. Each line is one event with its fields separated by tabs, and
+ * the strings are written out in full so the file can be read on its own.
+ * The file is written on a thread of its own, so archiving an event does not
+ * wait on the disk. A save records how far the file was written, and a load
+ * copies that much into a new file, so that a run going on from a save does not
+ * share its file with the events archived after the save.
+ */
+class EventArchive implements Serializable {
+
+	/** default serial id. */
+	private static final long serialVersionUID = 1L;
+
+	private static Logger logger = Logger.getLogger(EventArchive.class.getName());
+
+	private static final String FILE_PREFIX = "events-";
+	private static final String FILE_EXTENSION = ".txt";
+	private static final String SEPARATOR = "\t";
+	private static final int NUM_FIELDS = 10;
+
+	/** The number of archive files opened in this run, to tell them apart. */
+	private static final AtomicInteger numFiles = new AtomicInteger();
+
+	/** The archive file name. */
+	private transient String fileName;
+	/** The directory of the archive file, or null for the logs directory. */
+	private transient File directory;
+
+	/** Writes the archive file. Only used on the writer thread. */
+	private transient Writer writer;
+	private transient volatile boolean failed;
+	private transient ExecutorService writerThread;
+
+	/**
+	 * Constructor.
+	 */
+	EventArchive() {
+		this(null);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param directory the directory of the archive file, or null for the logs
+	 *                  directory.
+	 */
+	EventArchive(File directory) {
+		this.directory = directory;
+		fileName = createFileName();
+	}
+
+	/**
+	 * Creates the name of a new archive file.
+	 *
+	 * @return file name.
+	 */
+	private static String createFileName() {
+		return FILE_PREFIX + System.currentTimeMillis() + "-" + numFiles.incrementAndGet() + FILE_EXTENSION;
+	}
+
+	/**
+	 * Gets the archive file.
+	 *
+	 * @return file.
+	 */
+	File getFile() {
+		return getFile(fileName);
+	}
+
+	/**
+	 * Gets an archive file in the directory of this archive.
+	 *
+	 * @param name the file name.
+	 * @return file.
+	 */
+	private File getFile(String name) {
+		if (directory != null)
+			return new File(directory, name);
+		return new File(Simulation.USER_HOME,
+				Simulation.MARS_SIM_DIR + File.separator + Simulation.LOGS_DIR + File.separator + name);
+	}
+
+	/**
+	 * Gets the writer thread, starting it if needed.
+	 */
+	private synchronized ExecutorService getWriterThread() {
+		if (writerThread == null)
+			writerThread = Executors.newSingleThreadExecutor(r -> {
+				Thread t = new Thread(r, "event-archive");
+				t.setDaemon(true);
+				return t;
+			});
+		return writerThread;
+	}
+
+	/**
+	 * Appends an event to the archive.
+	 *
+	 * @param sol        the mission sol.
+	 * @param millisol   the millisol.
+	 * @param category   the category ordinal.
+	 * @param type       the event type ordinal.
+	 * @param what       the cause.
+	 * @param whileDoing the activity.
+	 * @param who        the actor.
+	 * @param loc0       the first location.
+	 * @param loc1       the second location.
+	 * @param settlement the settlement id.
+	 */
+	void append(short sol, float millisol, byte category, byte type, String what, String whileDoing, String who,
+			String loc0, String loc1, short settlement) {
+		if (failed)
+			return;
+
+		StringBuilder line = new StringBuilder(128);
+		line.append(sol).append(SEPARATOR).append(millisol).append(SEPARATOR).append(category).append(SEPARATOR)
+				.append(type).append(SEPARATOR).append(clean(what)).append(SEPARATOR).append(clean(whileDoing))
+				.append(SEPARATOR).append(clean(who)).append(SEPARATOR).append(clean(loc0)).append(SEPARATOR)
+				.append(clean(loc1)).append(SEPARATOR).append(settlement).append(System.lineSeparator());
+		String text = line.toString();
+		getWriterThread().execute(() -> write(text));
+	}
+
+	/**
+	 * Writes a line to the archive file. Runs on the writer thread.
+	 */
+	private void write(String line) {
+		if (failed)
+			return;
+
+		try {
+			if (writer == null) {
+				File file = getFile();
+				file.getParentFile().mkdirs();
+				writer = new BufferedWriter(
+						new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8));
+			}
+			writer.write(line);
+
+		} catch (IOException e) {
+			logger.log(Level.WARNING, "Cannot archive historical events to " + getFile() + ". Older events are dropped.",
+					e);
+			failed = true;
+			closeWriter();
+		}
+	}
+
+	/**
+	 * Reads the archived events, oldest first.
+	 *
+	 * @param visitor receives the fields of each event.
+	 */
+	void scan(Consumer<String[]> visitor) {
+		if (!flush())
+			return;
+
+		File file = getFile();
+		if (!file.exists())
+			return;
+
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				String[] fields = line.split(SEPARATOR, -1);
+				if (fields.length == NUM_FIELDS)
+					visitor.accept(fields);
+			}
+		} catch (IOException e) {
+			logger.log(Level.WARNING, "Cannot read the historical event archive " + file, e);
+		}
+	}
+
+	/**
+	 * Waits for the events archived so far to be written.
+	 *
+	 * @return false if interrupted.
+	 */
+	private boolean flush() {
+		try {
+			getWriterThread().submit(this::flushWriter).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		} catch (ExecutionException e) {
+			logger.log(Level.WARNING, "Cannot flush the historical event archive " + getFile(), e.getCause());
+		}
+		return true;
+	}
+
+	/**
+	 * Flushes the archive file. Runs on the writer thread.
+	 */
+	private void flushWriter() {
+		if (writer != null) {
+			try {
+				writer.flush();
+			} catch (IOException e) {
+				logger.log(Level.WARNING, "Cannot flush the historical event archive " + getFile(), e);
+			}
+		}
+	}
+
+	/**
+	 * Closes the archive file once the pending events are written. It is reopened
+	 * on the next append.
+	 */
+	synchronized void close() {
+		if (writerThread != null) {
+			writerThread.execute(this::closeWriter);
+			writerThread.shutdown();
+			try {
+				writerThread.awaitTermination(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			writerThread = null;
+		}
+	}
+
+	/**
+	 * Closes the archive file. Runs on the writer thread.
+	 */
+	private void closeWriter() {
+		if (writer != null) {
+			try {
+				writer.close();
+			} catch (IOException e) {
+				logger.log(Level.WARNING, "Cannot close the historical event archive " + getFile(), e);
+			}
+			writer = null;
+		}
+	}
+
+	/**
+	 * Copies the part of a saved archive file that was written at the time of the
+	 * save to the archive file.
+	 *
+	 * @param saved  the saved archive file.
+	 * @param length the length of the saved file at the time of the save.
+	 */
+	private void copyArchive(File saved, long length) {
+		if (length <= 0)
+			return;
+		if (!saved.exists()) {
+			logger.warning("Cannot find the historical event archive " + saved + ". Older events are dropped.");
+			return;
+		}
+
+		File file = getFile();
+		file.getParentFile().mkdirs();
+		try (FileChannel source = FileChannel.open(saved.toPath(), StandardOpenOption.READ);
+				FileChannel target = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+						StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			long size = Math.min(length, source.size());
+			long position = 0;
+			while (position < size)
+				position += source.transferTo(position, size - position, target);
+			if (size < length)
+				logger.warning("The historical event archive " + saved + " is shorter than when saved.");
+		} catch (IOException e) {
+			logger.log(Level.WARNING, "Cannot copy the historical event archive " + saved + " to " + file, e);
+		}
+	}
+
+	/**
+	 * Implementing writeObject method for serialization. Records the archive file
+	 * and how far it was written.
+	 *
+	 * @param out the output stream.
+	 * @throws IOException if error writing to output stream.
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		out.defaultWriteObject();
+		flush();
+		File file = getFile();
+		out.writeObject(directory);
+		out.writeUTF(fileName);
+		out.writeLong(file.exists() ? file.length() : 0);
+	}
+
+	/**
+	 * Implementing readObject method for serialization. Opens a new archive file
+	 * holding the events archived up to the save.
+	 *
+	 * @param in the input stream.
+	 * @throws IOException            if error reading from input stream.
+	 * @throws ClassNotFoundException if error creating class.
+	 */
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		directory = (File) in.readObject();
+		String savedName = in.readUTF();
+		long savedLength = in.readLong();
+
+		fileName = createFileName();
+		copyArchive(getFile(savedName), savedLength);
+	}
+
+	/**
+	 * Keeps a string on a single field of a line.
+	 */
+	private static String clean(String s) {
+		if (s == null)
+			return "";
+		return s.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+	}
+}
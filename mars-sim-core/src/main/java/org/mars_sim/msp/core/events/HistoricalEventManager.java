@@ -9,16 +9,20 @@ package org.mars_sim.msp.core.events;
 
 import org.mars_sim.msp.core.CollectionUtils;
 import org.mars_sim.msp.core.Simulation;
+import org.mars_sim.msp.core.UnitManager;
 import org.mars_sim.msp.core.narrator.Narrator;
 import org.mars_sim.msp.core.person.EventType;
 import org.mars_sim.msp.core.time.MarsClock;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
-
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.function.Consumer;
 
 
 /**
@@ -29,32 +33,68 @@ import java.util.stream.Collectors;
  * time, i.e. most recent event first. It should be noted that the throughput of
  * new events of the manager can be in the order of 100 event per simulation
  * tick.
+ * <p>
+ * The events are stored column by column in primitive arrays used as a ring
+ * buffer, with the strings replaced by ids into dictionaries. Only the most
+ * recent events, up to the retention, are kept in memory. Older events are
+ * appended to an archive file that can be scanned on demand.
+ * <p>
+ * Saves made before the ring buffer held the events in a list of
+ * {@link SimpleEvent} and the strings in lists. They are converted into the
+ * columns on load.
  */
 public class HistoricalEventManager implements Serializable {
 
 	/** default serial id. */
 	private static final long serialVersionUID = 1L;
-	/**
-	 * This defines the maximum number of events that are stored. It should be a
-	 * standard property.
-	 */
-//	private final static int TRANSIENT_EVENTS = 5000;
+	/** The default number of events kept in memory. */
+	public static final int DEFAULT_RETENTION = 5000;
 
 	private transient List<HistoricalEventListener> listeners;
 
 	// Static list - don't want to be serialized
 	private volatile static List<HistoricalEvent> lastEvents = new ArrayList<>();
 
-	// The following list cannot be static since it needs to be serialized
+	/** The number of events kept in memory. */
+	private int retention;
+	/** The sequence number of the next event. */
+	private int nextEvent;
+
+	// The event columns, indexed by sequence number modulo the retention.
+	private short[] sols;
+	private float[] millisols;
+	private byte[] categories;
+	private byte[] types;
+	private int[] whats;
+	private int[] whileDoings;
+	private int[] whos;
+	private int[] loc0s;
+	private int[] loc1s;
+	private short[] settlementIDs;
+
+	// The string dictionaries
+	private StringDictionary whatDictionary;
+	private StringDictionary whileDoingDictionary;
+	private StringDictionary whoDictionary;
+	private StringDictionary loc0Dictionary;
+	private StringDictionary loc1Dictionary;
+
+	/** The events that no longer fit in memory. */
+	private EventArchive archive;
+
+	// Only set when loading an older save, until converted into the columns
 	private List<SimpleEvent> eventsRegistry;
-
-	// The following 4 list cannot be static since they need to be serialized
 	private List<String> whatList;
 	private List<String> whileDoingList;
 	private List<String> whoList;
 	private List<String> loc0List;
 	private List<String> loc1List;
 
+	/** The events already handed out, indexed like the columns. */
+	private transient SimpleEvent[] eventCache;
+	/** The sequence numbers of the events of each settlement. */
+	private transient Map<Short, SequenceIndex> settlementEvents;
+
 	// Note : marsClock CAN'T be initialized until the simulation start
 	private MarsClock marsClock;
 
@@ -62,17 +102,49 @@ public class HistoricalEventManager implements Serializable {
 	 * Create a new EventManager that represents a particular simulation.
 	 */
 	public HistoricalEventManager() {
+		this(new EventArchive());
+	}
+
+	/**
+	 * Create a new EventManager that archives its older events to the given
+	 * archive.
+	 * 
+	 * @param archive the event archive.
+	 */
+	HistoricalEventManager(EventArchive archive) {
 		listeners = new ArrayList<HistoricalEventListener>();
-		eventsRegistry = new ArrayList<>();
+		this.archive = archive;
 		initMaps();
+		allocate(DEFAULT_RETENTION);
 	}
 
 	private void initMaps() {
-		whatList = new ArrayList<>();
-		whileDoingList = new ArrayList<>();
-		whoList = new ArrayList<>();
-		loc0List = new ArrayList<>();
-		loc1List = new ArrayList<>();
+		whatDictionary = new StringDictionary();
+		whileDoingDictionary = new StringDictionary();
+		whoDictionary = new StringDictionary();
+		loc0Dictionary = new StringDictionary();
+		loc1Dictionary = new StringDictionary();
+	}
+
+	/**
+	 * Allocates empty event columns.
+	 * 
+	 * @param size the number of events they hold.
+	 */
+	private void allocate(int size) {
+		retention = size;
+		sols = new short[size];
+		millisols = new float[size];
+		categories = new byte[size];
+		types = new byte[size];
+		whats = new int[size];
+		whileDoings = new int[size];
+		whos = new int[size];
+		loc0s = new int[size];
+		loc1s = new int[size];
+		settlementIDs = new short[size];
+		eventCache = new SimpleEvent[size];
+		settlementEvents = null;
 	}
 
 	/**
@@ -112,8 +184,26 @@ public class HistoricalEventManager implements Serializable {
 	 * @param index Index of event to retrieve.
 	 * @return Historical event.
 	 */
-	public SimpleEvent getEvent(int index) {
-		return eventsRegistry.get(index);
+	public synchronized SimpleEvent getEvent(int index) {
+		if (index < 0 || index >= getNumEvents())
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + getNumEvents());
+		return getSimpleEvent(nextEvent - 1 - index);
+	}
+
+	/**
+	 * Gets the number of events kept in memory.
+	 * 
+	 * @return number of events.
+	 */
+	public synchronized int getNumEvents() {
+		return nextEvent - getOldestEvent();
+	}
+
+	/**
+	 * Gets the sequence number of the oldest event kept in memory.
+	 */
+	private int getOldestEvent() {
+		return Math.max(0, nextEvent - retention);
 	}
 	
 	public boolean isSameEvent(HistoricalEvent newEvent) {
@@ -138,10 +228,23 @@ public class HistoricalEventManager implements Serializable {
 	 * 
 	 * @param newEvent The event to register.
 	 */
-	public synchronized void registerNewEvent(HistoricalEvent newEvent) {
+	public void registerNewEvent(HistoricalEvent newEvent) {
 		if (newEvent.getCategory() == HistoricalEventCategory.TASK)
 			return;
-		
+
+		// Settlement work units record their events after the barrier, in turn
+		if (UnitManager.deferToBarrier(() -> registerNewEvent(newEvent)))
+			return;
+
+		addNewEvent(newEvent);
+	}
+
+	/**
+	 * Adds a new event to the manager.
+	 * 
+	 * @param newEvent The event to add.
+	 */
+	private synchronized void addNewEvent(HistoricalEvent newEvent) {
 		EventType type = newEvent.getType();
 		
 		if (type == EventType.MISSION_START)
@@ -194,70 +297,322 @@ public class HistoricalEventManager implements Serializable {
 	}
 
 	private SimpleEvent convert2SimpleEvent(HistoricalEvent event, MarsClock timestamp) {
-		short missionSol = (short) (timestamp.getMissionSol());//event.getTimestamp().getMissionSol());
-		float millisols = (float) (event.getTimestamp().getMillisol());
-		byte cat = (byte) (event.getCategory().ordinal());
-		byte type = (byte) (event.getType().ordinal());
-		short what = (short) (getID(whatList, event.getWhatCause()));
-		short whileDoing = (short) (getID(whileDoingList, event.getWhileDoing()));
-		short who = (short) (getID(whoList, event.getWho()));
-		short loc0 = (short) (getID(loc0List, event.getLocation0()));
-		short loc1 = (short) (getID(loc1List, event.getLocation1()));
-		short id = (short) CollectionUtils.findSettlementID(event.getAssociatedSettlement());
-		
-		SimpleEvent se = new SimpleEvent(missionSol, millisols, cat, type, what, whileDoing, who, loc0, loc1, id);
-		eventsRegistry.add(0, se);
+		addEvent((short) (timestamp.getMissionSol()), (float) (event.getTimestamp().getMillisol()),
+				(byte) (event.getCategory().ordinal()), (byte) (event.getType().ordinal()), event.getWhatCause(),
+				event.getWhileDoing(), event.getWho(), event.getLocation0(), event.getLocation1(),
+				(short) CollectionUtils.findSettlementID(event.getAssociatedSettlement()));
+		return getSimpleEvent(nextEvent - 1);
+	}
+
+	/**
+	 * Adds an event to the columns, archiving the oldest one if they are full.
+	 */
+	private void addEvent(short sol, float millisol, byte category, byte type, String what, String whileDoing,
+			String who, String loc0, String loc1, short settlementID) {
+		if (nextEvent >= retention)
+			// The oldest event is about to be overwritten
+			archiveEvent(nextEvent - retention);
+
+		int slot = nextEvent % retention;
+		sols[slot] = sol;
+		millisols[slot] = millisol;
+		categories[slot] = category;
+		types[slot] = type;
+		whats[slot] = whatDictionary.getID(what);
+		whileDoings[slot] = whileDoingDictionary.getID(whileDoing);
+		whos[slot] = whoDictionary.getID(who);
+		loc0s[slot] = loc0Dictionary.getID(loc0);
+		loc1s[slot] = loc1Dictionary.getID(loc1);
+		settlementIDs[slot] = settlementID;
+		eventCache[slot] = null;
+
+		if (settlementEvents != null)
+			getSettlementEvents(settlementID).add(nextEvent, getOldestEvent());
+		nextEvent++;
+	}
+
+	/**
+	 * Gets an event kept in memory as a simple event.
+	 * 
+	 * @param seq the sequence number of the event.
+	 * @return the event.
+	 */
+	private SimpleEvent getSimpleEvent(int seq) {
+		if (eventCache == null)
+			eventCache = new SimpleEvent[retention];
+		int slot = seq % retention;
+		SimpleEvent se = eventCache[slot];
+		if (se == null) {
+			se = new SimpleEvent(sols[slot], millisols[slot], categories[slot], types[slot], whats[slot],
+					whileDoings[slot], whos[slot], loc0s[slot], loc1s[slot], settlementIDs[slot]);
+			eventCache[slot] = se;
+		}
 		return se;
 	}
 
-	public int getID(List<String> list, String s) {
-		if (list.contains(s)) {
-			return list.indexOf(s);
-		} else {
-			int size = list.size();
-			list.add(s);
-			return size;
+	/**
+	 * Appends an event kept in memory to the archive.
+	 * 
+	 * @param seq the sequence number of the event.
+	 */
+	private void archiveEvent(int seq) {
+		int slot = seq % retention;
+		archive.append(sols[slot], millisols[slot], categories[slot], types[slot], whatDictionary.get(whats[slot]),
+				whileDoingDictionary.get(whileDoings[slot]), whoDictionary.get(whos[slot]),
+				loc0Dictionary.get(loc0s[slot]), loc1Dictionary.get(loc1s[slot]), settlementIDs[slot]);
+	}
+
+	/**
+	 * Gets the events of a settlement, building the index if needed.
+	 * 
+	 * @param settlementID the settlement id.
+	 * @return the sequence numbers of its events.
+	 */
+	private SequenceIndex getSettlementEvents(short settlementID) {
+		if (settlementEvents == null) {
+			settlementEvents = new HashMap<>();
+			for (int seq = getOldestEvent(); seq < nextEvent; seq++) {
+				short id = settlementIDs[seq % retention];
+				settlementEvents.computeIfAbsent(id, i -> new SequenceIndex()).add(seq, getOldestEvent());
+			}
 		}
+		return settlementEvents.computeIfAbsent(settlementID, i -> new SequenceIndex());
 	}
-	
-	public String getWhat(int id) {
-		return whatList.get(id);
+
+	/**
+	 * Gets the number of events kept in memory.
+	 * 
+	 * @return the retention.
+	 */
+	public synchronized int getRetention() {
+		return retention;
 	}
 
-	public String getWhileDoing(int id) {
-		return whileDoingList.get(id);
+	/**
+	 * Sets the number of events kept in memory. Events beyond it are moved to the
+	 * archive.
+	 * 
+	 * @param size the new retention.
+	 */
+	public synchronized void setRetention(int size) {
+		if (size < 1)
+			throw new IllegalArgumentException("The event retention must be at least 1.");
+		if (size == retention)
+			return;
+
+		int first = Math.max(getOldestEvent(), nextEvent - size);
+		for (int seq = getOldestEvent(); seq < first; seq++)
+			archiveEvent(seq);
+
+		int oldRetention = retention;
+		Object[] oldColumns = getColumns();
+		allocate(size);
+		Object[] newColumns = getColumns();
+		for (int seq = first; seq < nextEvent; seq++) {
+			for (int c = 0; c < newColumns.length; c++)
+				System.arraycopy(oldColumns[c], seq % oldRetention, newColumns[c], seq % retention, 1);
+		}
 	}
 
-	public String getWho(int id) {
-		return whoList.get(id);
+	/**
+	 * Gets the event columns.
+	 * 
+	 * @return array of the column arrays.
+	 */
+	private Object[] getColumns() {
+		return new Object[] { sols, millisols, categories, types, whats, whileDoings, whos, loc0s, loc1s,
+				settlementIDs };
+	}
+
+	/**
+	 * Reads the events moved to the archive, oldest first. The archive is only
+	 * read, so the events in memory are not changed.
+	 * 
+	 * @param consumer receives each archived event.
+	 */
+	public void scanArchivedEvents(Consumer<ArchivedEvent> consumer) {
+		EventArchive a;
+		synchronized (this) {
+			a = archive;
+		}
+		a.scan(f -> {
+			try {
+				consumer.accept(new ArchivedEvent(Short.parseShort(f[0]), Float.parseFloat(f[1]),
+						Byte.parseByte(f[2]), Byte.parseByte(f[3]), f[4], f[5], f[6], f[7], f[8],
+						Short.parseShort(f[9])));
+			} catch (NumberFormatException e) {
+				// Skip a damaged line
+			}
+		});
 	}
 
-	public String getLoc0(int id) {
-		return loc0List.get(id);
+	public synchronized String getWhat(int id) {
+		return whatDictionary.get(id);
 	}
 
-	public String getLoc1(int id) {
-		return loc1List.get(id);
+	public synchronized String getWhileDoing(int id) {
+		return whileDoingDictionary.get(id);
 	}
 
-	public List<SimpleEvent> getEvents() {
-		return eventsRegistry;
+	public synchronized String getWho(int id) {
+		return whoDictionary.get(id);
 	}
 
-	public List<SimpleEvent> getEvents(int settlementID) {
-		return eventsRegistry
-				.stream()
-				.filter(e -> e.getSettlementID() == settlementID)
-				.collect(Collectors.toList());
+	public synchronized String getLoc0(int id) {
+		return loc0Dictionary.get(id);
+	}
+
+	public synchronized String getLoc1(int id) {
+		return loc1Dictionary.get(id);
+	}
+
+	/**
+	 * Gets the events kept in memory, most recent first.
+	 * 
+	 * @return list of events.
+	 */
+	public synchronized List<SimpleEvent> getEvents() {
+		List<SimpleEvent> result = new ArrayList<>(getNumEvents());
+		for (int seq = nextEvent - 1; seq >= getOldestEvent(); seq--)
+			result.add(getSimpleEvent(seq));
+		return result;
+	}
+
+	/**
+	 * Gets the events of a settlement kept in memory, most recent first.
+	 * 
+	 * @param settlementID the settlement id.
+	 * @return list of events.
+	 */
+	public synchronized List<SimpleEvent> getEvents(int settlementID) {
+		SequenceIndex index = getSettlementEvents((short) settlementID);
+		index.prune(getOldestEvent());
+		List<SimpleEvent> result = new ArrayList<>(index.size());
+		for (int i = index.size() - 1; i >= 0; i--)
+			result.add(getSimpleEvent(index.get(i)));
+		return result;
 	}
 	
 	/**
 	 * Prepare object for garbage collection.
 	 */
-	public void destroy() {
+	public synchronized void destroy() {
 //		listeners.clear();
 		listeners = null;
-		eventsRegistry.clear();
-		eventsRegistry = null;
+		archive.close();
+		eventCache = null;
+		settlementEvents = null;
+	}
+
+	/**
+	 * Implementing readObject method for serialization.
+	 * 
+	 * @param in the input stream.
+	 * @throws IOException            if error reading from input stream.
+	 * @throws ClassNotFoundException if error creating class.
+	 */
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+
+		if (eventsRegistry != null) {
+			// Convert the events of an older save, oldest first
+			archive = new EventArchive();
+			initMaps();
+			allocate(DEFAULT_RETENTION);
+			nextEvent = 0;
+			for (int i = eventsRegistry.size() - 1; i >= 0; i--) {
+				SimpleEvent e = eventsRegistry.get(i);
+				addEvent(e.getSol(), e.getMillisol(), e.getCat(), e.getType(), whatList.get(e.getWhat()),
+						whileDoingList.get(e.getWhileDoing()), whoList.get(e.getWho()), loc0List.get(e.getLoc0()),
+						loc1List.get(e.getLoc1()), e.getSettlementID());
+			}
+
+			eventsRegistry = null;
+			whatList = null;
+			whileDoingList = null;
+			whoList = null;
+			loc0List = null;
+			loc1List = null;
+		}
+
+		if (eventCache == null)
+			eventCache = new SimpleEvent[retention];
+	}
+
+	/**
+	 * A list of unique strings, each identified by its position.
+	 */
+	private static class StringDictionary implements Serializable {
+
+		/** default serial id. */
+		private static final long serialVersionUID = 1L;
+
+		private List<String> values = new ArrayList<>();
+		/** The position of each string, rebuilt after loading. */
+		private transient Map<String, Integer> ids;
+
+		/**
+		 * Gets the id of a string, adding it if needed.
+		 */
+		int getID(String s) {
+			if (ids == null) {
+				ids = new HashMap<>();
+				for (int i = 0; i < values.size(); i++)
+					ids.put(values.get(i), i);
+			}
+			Integer id = ids.get(s);
+			if (id == null) {
+				id = values.size();
+				values.add(s);
+				ids.put(s, id);
+			}
+			return id;
+		}
+
+		String get(int id) {
+			return values.get(id);
+		}
+	}
+
+	/**
+	 * The ascending sequence numbers of the events of one settlement.
+	 */
+	private static class SequenceIndex {
+
+		private int[] seqs = new int[16];
+		private int start;
+		private int end;
+
+		/**
+		 * Adds an event and drops the ones no longer kept in memory.
+		 */
+		void add(int seq, int oldest) {
+			prune(oldest);
+			if (end == seqs.length) {
+				if (start > seqs.length / 2) {
+					System.arraycopy(seqs, start, seqs, 0, end - start);
+				} else {
+					int[] grown = new int[seqs.length * 2];
+					System.arraycopy(seqs, start, grown, 0, end - start);
+					seqs = grown;
+				}
+				end -= start;
+				start = 0;
+			}
+			seqs[end++] = seq;
+		}
+
+		void prune(int oldest) {
+			while (start < end && seqs[start] < oldest)
+				start++;
+		}
+
+		int size() {
+			return end - start;
+		}
+
+		int get(int i) {
+			return seqs[start + i];
+		}
 	}
 }
\ No newline at end of file
@@ -7,6 +7,10 @@
 
 package org.mars_sim.msp.core.events;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.text.DecimalFormat;
 
@@ -17,6 +21,21 @@ public class SimpleEvent implements Serializable {
 	/** default serial id. */
 	private static final long serialVersionUID = 23982863L;
 
+	/**
+	 * The serialized fields. The string ids used to be saved as shorts named
+	 * what, whileDoing, who, loc0 and loc1. Those are still declared so that
+	 * events of older saves can be read.
+	 */
+	private static final ObjectStreamField[] serialPersistentFields = {
+			new ObjectStreamField("missionSol", short.class), new ObjectStreamField("msol", float.class),
+			new ObjectStreamField("cat", byte.class), new ObjectStreamField("type", byte.class),
+			new ObjectStreamField("whatID", int.class), new ObjectStreamField("whileDoingID", int.class),
+			new ObjectStreamField("whoID", int.class), new ObjectStreamField("loc0ID", int.class),
+			new ObjectStreamField("loc1ID", int.class), new ObjectStreamField("settlementID", short.class),
+			new ObjectStreamField("what", short.class), new ObjectStreamField("whileDoing", short.class),
+			new ObjectStreamField("who", short.class), new ObjectStreamField("loc0", short.class),
+			new ObjectStreamField("loc1", short.class) };
+
 //	private static final String ONE_ZERO = "0";
 //	private static final String TWO_ZEROS = "00";
 //	private static final String THREE_ZEROS = "000";
@@ -26,18 +45,18 @@ public class SimpleEvent implements Serializable {
 	private float msol;
 	private byte cat;
 	private byte type;
-	private short what;
-	private short whileDoing;
-	private short who;
-	private short loc0;
-	private short loc1;
+	private int what;
+	private int whileDoing;
+	private int who;
+	private int loc0;
+	private int loc1;
 	private short settlementID;
-	private String dateTime = null;
+	private transient String dateTime = null;
 
-	private DecimalFormat df = new DecimalFormat("000.000");
+	private transient DecimalFormat df;
 
-	public SimpleEvent(short missionSol, float msol, byte cat, byte type, short what, short whileDoing, short who, short loc0,
-			short loc1, short settlementID) {
+	public SimpleEvent(short missionSol, float msol, byte cat, byte type, int what, int whileDoing, int who, int loc0,
+			int loc1, short settlementID) {
 		this.missionSol = missionSol;
 		this.msol = msol;
 		this.cat = cat;
@@ -49,9 +68,13 @@ public class SimpleEvent implements Serializable {
 		this.loc1 = loc1;
 		this.settlementID = settlementID;
 		
+		initFormat();
+	}
+
+	private void initFormat() {
+		df = new DecimalFormat("000.000");
 		df.setMinimumFractionDigits(3);
 		df.setMinimumIntegerDigits(3);
-		
 	}
 
 	public String getFullDateTimeString() {
@@ -65,6 +88,10 @@ public class SimpleEvent implements Serializable {
 		return missionSol;
 	}
 
+	float getMillisol() {
+		return msol;
+	}
+
 //	/**
 //	 * Returns the time string in the non-decimal format of xxx
 //	 * 
@@ -123,27 +150,79 @@ public class SimpleEvent implements Serializable {
 		return type;
 	}
 
-	public short getWhat() {
+	public int getWhat() {
 		return what;
 	}
 
-	public short getWhileDoing() {
+	public int getWhileDoing() {
 		return whileDoing;
 	}
 
-	public short getWho() {
+	public int getWho() {
 		return who;
 	}
 
-	public short getLoc0() {
+	public int getLoc0() {
 		return loc0;
 	}
 
-	public short getLoc1() {
+	public int getLoc1() {
 		return loc1;
 	}
 	
 	public short getSettlementID() {
 		return settlementID;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Implementing writeObject method for serialization.
+	 * 
+	 * @param out the output stream.
+	 * @throws IOException if error writing to output stream.
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		ObjectOutputStream.PutField fields = out.putFields();
+		fields.put("missionSol", missionSol);
+		fields.put("msol", msol);
+		fields.put("cat", cat);
+		fields.put("type", type);
+		fields.put("whatID", what);
+		fields.put("whileDoingID", whileDoing);
+		fields.put("whoID", who);
+		fields.put("loc0ID", loc0);
+		fields.put("loc1ID", loc1);
+		fields.put("settlementID", settlementID);
+		out.writeFields();
+	}
+
+	/**
+	 * Implementing readObject method for serialization.
+	 * 
+	 * @param in the input stream.
+	 * @throws IOException            if error reading from input stream.
+	 * @throws ClassNotFoundException if error creating class.
+	 */
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		ObjectInputStream.GetField fields = in.readFields();
+		missionSol = fields.get("missionSol", (short) 0);
+		msol = fields.get("msol", 0F);
+		cat = fields.get("cat", (byte) 0);
+		type = fields.get("type", (byte) 0);
+		settlementID = fields.get("settlementID", (short) 0);
+		if (fields.defaulted("whatID")) {
+			// An event of an older save
+			what = fields.get("what", (short) 0);
+			whileDoing = fields.get("whileDoing", (short) 0);
+			who = fields.get("who", (short) 0);
+			loc0 = fields.get("loc0", (short) 0);
+			loc1 = fields.get("loc1", (short) 0);
+		} else {
+			what = fields.get("whatID", 0);
+			whileDoing = fields.get("whileDoingID", 0);
+			who = fields.get("whoID", 0);
+			loc0 = fields.get("loc0ID", 0);
+			loc1 = fields.get("loc1ID", 0);
+		}
+		initFormat();
+	}
+}
@@ -28,6 +28,7 @@ import org.mars_sim.msp.core.structure.building.BuildingManager;
 import org.mars_sim.msp.core.structure.building.function.FoodProduction;
 import org.mars_sim.msp.core.structure.building.function.FunctionType;
 import org.mars_sim.msp.core.structure.goods.Good;
+import org.mars_sim.msp.core.structure.goods.GoodsGraph;
 import org.mars_sim.msp.core.structure.goods.GoodsManager;
 import org.mars_sim.msp.core.structure.goods.GoodsUtil;
 import org.mars_sim.msp.core.time.MarsClock;
@@ -72,17 +73,7 @@ public final class FoodProductionUtil {
 	 * @throws Exception if error getting processes.
 	 */
 	public static List<FoodProductionProcessInfo> getFoodProductionProcessesForTechLevel(int techLevel) {
-		List<FoodProductionProcessInfo> result = new ArrayList<FoodProductionProcessInfo>();
-
-		FoodProductionConfig config = SimulationConfig.instance().getFoodProductionConfiguration();
-		Iterator<FoodProductionProcessInfo> i = config.getFoodProductionProcessList().iterator();
-		while (i.hasNext()) {
-			FoodProductionProcessInfo process = i.next();
-			if (process.getTechLevelRequired() <= techLevel)
-				result.add(process);
-		}
-
-		return result;
+		return GoodsGraph.getFoodProductionProcesses(techLevel, Integer.MAX_VALUE);
 	}
 
 	/**
@@ -92,17 +83,7 @@ public final class FoodProductionUtil {
 	 * @return {@link List}<{@link FoodProductionProcessItem}> list of processes
 	 */
 	public static List<FoodProductionProcessInfo> getFoodProductionProcessesWithGivenOutput(String name) {
-		List<FoodProductionProcessInfo> result = new ArrayList<FoodProductionProcessInfo>();
-		Iterator<FoodProductionProcessInfo> i = SimulationConfig.instance().getFoodProductionConfiguration()
-				.getFoodProductionProcessList().iterator();
-		while (i.hasNext()) {
-			FoodProductionProcessInfo process = i.next();
-			for (String n : process.getOutputNames()) {
-				if (name.equalsIgnoreCase(n))
-					result.add(process);
-			}
-		}
-		return result;
+		return new ArrayList<FoodProductionProcessInfo>(GoodsGraph.getFoodProductionProcessesWithOutput(name));
 	}
 
 	/**
@@ -112,17 +93,7 @@ public final class FoodProductionUtil {
 	 * @return {@link List}<{@link FoodProductionProcessItem}> list of processes
 	 */
 	public static List<FoodProductionProcessInfo> getFoodProductionProcessesWithGivenInput(String name) {
-		List<FoodProductionProcessInfo> result = new ArrayList<FoodProductionProcessInfo>();
-		Iterator<FoodProductionProcessInfo> i = SimulationConfig.instance().getFoodProductionConfiguration()
-				.getFoodProductionProcessList().iterator();
-		while (i.hasNext()) {
-			FoodProductionProcessInfo process = i.next();
-			for (String n : process.getInputNames()) {
-				if (name.equalsIgnoreCase(n))
-					result.add(process);
-			}
-		}
-		return result;
+		return new ArrayList<FoodProductionProcessInfo>(GoodsGraph.getFoodProductionProcessesWithInput(name));
 	}
 
 	/**
@@ -136,17 +107,7 @@ public final class FoodProductionUtil {
 	 */
 	public static List<FoodProductionProcessInfo> getFoodProductionProcessesForTechSkillLevel(int techLevel,
 			int skillLevel) {
-		List<FoodProductionProcessInfo> result = new ArrayList<FoodProductionProcessInfo>();
-
-		FoodProductionConfig config = SimulationConfig.instance().getFoodProductionConfiguration();
-		Iterator<FoodProductionProcessInfo> i = config.getFoodProductionProcessList().iterator();
-		while (i.hasNext()) {
-			FoodProductionProcessInfo process = i.next();
-			if ((process.getTechLevelRequired() <= techLevel) && (process.getSkillLevelRequired() <= skillLevel))
-				result.add(process);
-		}
-
-		return result;
+		return GoodsGraph.getFoodProductionProcesses(techLevel, skillLevel);
 	}
 
 	/**
@@ -159,22 +120,67 @@ public final class FoodProductionUtil {
 	 */
 	public static double getFoodProductionProcessValue(FoodProductionProcessInfo process, Settlement settlement) {
 
+		// The goods value is kept by the goods manager until a good involved changes.
+		double goodsValue = settlement.getGoodsManager().getProcessGoodsValue(process,
+				p -> getFoodProductionProcessGoodsValue(p, settlement));
+		// The outputs that do not fit in the current stock are taken off on each lookup.
+		goodsValue -= getOverflowValue(process, settlement);
+
+		// Subtract power value.
+//		double hoursInMillisol = MarsClock.convertMillisolsToSeconds(1D) / 60D / 60D;
+		double powerHrsRequiredPerMillisol = process.getPowerRequired() * MarsClock.HOURS_PER_MILLISOL;
+		double powerValue = powerHrsRequiredPerMillisol * settlement.getPowerGrid().getPowerValue();
+
+		return goodsValue - powerValue;
+	}
+
+	/**
+	 * Gets the value of the output goods minus the input goods of a
+	 * foodProduction process at a settlement.
+	 * 
+	 * @param process    the foodProduction process.
+	 * @param settlement the settlement.
+	 * @return goods value.
+	 */
+	private static double getFoodProductionProcessGoodsValue(FoodProductionProcessInfo process,
+			Settlement settlement) {
 		double inputsValue = 0D;
 		Iterator<FoodProductionProcessItem> i = process.getInputList().iterator();
 		while (i.hasNext())
 			inputsValue += getFoodProductionProcessItemValue(i.next(), settlement, false);
 
+		// The outputs are valued as if they all fit in the settlement.
 		double outputsValue = 0D;
 		Iterator<FoodProductionProcessItem> j = process.getOutputList().iterator();
 		while (j.hasNext())
-			outputsValue += getFoodProductionProcessItemValue(j.next(), settlement, true);
+			outputsValue += getFoodProductionProcessItemValue(j.next(), settlement, false);
 
-		// Subtract power value.
-//		double hoursInMillisol = MarsClock.convertMillisolsToSeconds(1D) / 60D / 60D;
-		double powerHrsRequiredPerMillisol = process.getPowerRequired() * MarsClock.HOURS_PER_MILLISOL;
-		double powerValue = powerHrsRequiredPerMillisol * settlement.getPowerGrid().getPowerValue();
+		return outputsValue - inputsValue;
+	}
 
-		return outputsValue - inputsValue - powerValue;
+	/**
+	 * Gets the value of the amount resource outputs of a foodProduction process
+	 * that exceed the remaining capacity of a settlement.
+	 * 
+	 * @param process    the foodProduction process.
+	 * @param settlement the settlement.
+	 * @return goods value.
+	 */
+	private static double getOverflowValue(FoodProductionProcessInfo process, Settlement settlement) {
+		double result = 0D;
+		Iterator<FoodProductionProcessItem> i = process.getOutputList().iterator();
+		while (i.hasNext()) {
+			FoodProductionProcessItem item = i.next();
+			if (item.getType().equals(ItemType.AMOUNT_RESOURCE)) {
+				int id = GoodsGraph.getGoodID(item);
+				double remainingCapacity = settlement.getInventory().getAmountResourceRemainingCapacity(id, true,
+						false);
+				if (item.getAmount() > remainingCapacity)
+					result += settlement.getGoodsManager().getGoodValuePerItem(id)
+							* (item.getAmount() - remainingCapacity);
+			}
+		}
+		return result;
 	}
 
 	/**
@@ -188,35 +194,22 @@ public final class FoodProductionUtil {
 	 */
 	public static double getFoodProductionProcessItemValue(FoodProductionProcessItem item, Settlement settlement,
 			boolean isOutput) {
-		double result = 0D;
-
 		GoodsManager manager = settlement.getGoodsManager();
 
-		if (item.getType().equals(ItemType.AMOUNT_RESOURCE)) {
-//			AmountResource resource = ResourceUtil.findAmountResource(item.getName());
-            int id = ResourceUtil.findIDbyAmountResourceName(item.getName());
-			double amount = item.getAmount();
-			if (isOutput) {
-				double remainingCapacity = settlement.getInventory().getAmountResourceRemainingCapacity(id, true,
-						false);
-				if (amount > remainingCapacity) {
-					amount = remainingCapacity;
-				}
+		// The good id was resolved from the item name when the process graph was built
+		int id = GoodsGraph.getGoodID(item);
+		if (id < 0)
+			throw new IllegalStateException("Item: " + item.getName() + " of type " + item.getType() + " not valid.");
+
+		double amount = item.getAmount();
+		if (isOutput && item.getType().equals(ItemType.AMOUNT_RESOURCE)) {
+			double remainingCapacity = settlement.getInventory().getAmountResourceRemainingCapacity(id, true,
+					false);
+			if (amount > remainingCapacity) {
+				amount = remainingCapacity;
 			}
-			result = manager.getGoodValuePerItem(id) * amount;
-		} else if (item.getType().equals(ItemType.PART)) {
-			Good good = GoodsUtil.getResourceGood(ItemResourceUtil.findItemResource(item.getName()));
-			result = manager.getGoodValuePerItem(good) * item.getAmount();
-		} else if (item.getType().equals(ItemType.EQUIPMENT)) {
-			Good good = GoodsUtil.getEquipmentGood(EquipmentFactory.getEquipmentClass(item.getName()));
-			result = manager.getGoodValuePerItem(good) * item.getAmount();
-		} else if (item.getType().equals(ItemType.VEHICLE)) {
-			Good good = GoodsUtil.getVehicleGood(item.getName());
-			result = manager.getGoodValuePerItem(good) * item.getAmount();
-		} else
-			throw new IllegalStateException("Item type: " + item.getType() + " not valid.");
-
-		return result;
+		}
+		return manager.getGoodValuePerItem(id) * amount;
 	}
 
 	/**
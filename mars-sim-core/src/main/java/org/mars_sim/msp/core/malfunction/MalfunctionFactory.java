@@ -11,7 +11,9 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import org.mars_sim.msp.core.Inventory;
 import org.mars_sim.msp.core.Simulation;
@@ -66,9 +68,9 @@ public final class MalfunctionFactory implements Serializable {
 	/** The map for storing the failure rate of Parts. */
 	private Map<Integer, Integer> failure_map;
 	/** The repair part probabilities per malfunction for a set of entity scope strings. */
-	private static Map<Integer, Double> repairPartProbabilities;
+	private static volatile Map<Integer, Double> repairPartProbabilities;
 	/** The probabilities of parts per maintenance for a set of entity scope strings. */
-	private static Map<Integer, Double> maintenancePartProbabilities;
+	private static volatile Map<Integer, Double> maintenancePartProbabilities;
 	
 	private static MalfunctionConfig malfunctionConfig;
 	private static PartConfig partConfig;
@@ -192,6 +194,22 @@ public final class MalfunctionFactory implements Serializable {
 		return entities;
 	}
 
+	/**
+	 * Gets a collection of malfunctionable entities carried by a person.
+	 * 
+	 * @param person the person.
+	 * @return collection of malfunctionables.
+	 */
+	public static Collection<Malfunctionable> getCarriedMalfunctionables(Person person) {
+		Collection<Malfunctionable> entities = new ArrayList<Malfunctionable>();
+		for (Unit unit : person.getInventory().getContainedUnits()) {
+			if (unit instanceof Malfunctionable) {
+				entities.add((Malfunctionable) unit);
+			}
+		}
+		return entities;
+	}
+
 	public static Collection<Malfunctionable> getMalfunctionables(Robot robot) {
 
 		Collection<Malfunctionable> entities = new ArrayList<Malfunctionable>();
@@ -229,8 +247,9 @@ public final class MalfunctionFactory implements Serializable {
 		// TODO: need to separate the malfunctionable in a vehicle ?
 		Collection<Unit> inventoryUnits = settlement.getInventory().getContainedUnits();
 		if (inventoryUnits.size() > 0) {
+			Set<Malfunctionable> added = new HashSet<>(entities);
 			for (Unit unit : inventoryUnits) {
-				if ((unit instanceof Malfunctionable) && (!entities.contains((Malfunctionable)unit))) {
+				if ((unit instanceof Malfunctionable) && added.add((Malfunctionable) unit)) {
 					entities.add((Malfunctionable) unit);
 				}
 			}
@@ -313,8 +332,15 @@ public final class MalfunctionFactory implements Serializable {
 	 * @throws Exception if error finding repair part probabilities.
 	 */
 	Map<Integer, Double> getRepairPartProbabilities(Collection<String> scope) {
-		if (repairPartProbabilities == null) {
-			repairPartProbabilities = new HashMap<Integer, Double>();
+		if (repairPartProbabilities != null)
+			return repairPartProbabilities;
+
+		// Published once complete, as the settlements ticked in parallel may ask at once
+		synchronized (MalfunctionFactory.class) {
+			if (repairPartProbabilities != null)
+				return repairPartProbabilities;
+
+			Map<Integer, Double> probabilities = new HashMap<Integer, Double>();
 	
 			for (Malfunction m : MalfunctionConfig.getMalfunctionList()) {
 				if (m.isMatched(scope)) {
@@ -329,12 +355,13 @@ public final class MalfunctionFactory implements Serializable {
 	//					Part part = (Part) ItemResource.findItemResource(partName);
 	//					int id = part.getID();
 						Integer id = ItemResourceUtil.findIDbyItemResourceName(partName);
-						if (repairPartProbabilities.containsKey(id))
-							totalNumber += repairPartProbabilities.get(id);
-						repairPartProbabilities.put(id, totalNumber);
+						if (probabilities.containsKey(id))
+							totalNumber += probabilities.get(id);
+						probabilities.put(id, totalNumber);
 					}
 				}
 			}
+			repairPartProbabilities = probabilities;
 		}
 		return repairPartProbabilities;
 	}
@@ -349,8 +376,14 @@ public final class MalfunctionFactory implements Serializable {
 	 * @throws Exception if error finding maintenance part probabilities.
 	 */
 	Map<Integer, Double> getMaintenancePartProbabilities(Collection<String> scope) {
-		if (maintenancePartProbabilities == null) {
-			maintenancePartProbabilities = new HashMap<Integer, Double>();
+		if (maintenancePartProbabilities != null)
+			return maintenancePartProbabilities;
+
+		synchronized (MalfunctionFactory.class) {
+			if (maintenancePartProbabilities != null)
+				return maintenancePartProbabilities;
+
+			Map<Integer, Double> probabilities = new HashMap<Integer, Double>();
 	
 			for (String entity : scope) {
 				for (Part part : ItemResourceUtil.getItemResources()) {
@@ -363,13 +396,14 @@ public final class MalfunctionFactory implements Serializable {
 	//						totalNumber += result.get(part);
 	//					result.put(part, totalNumber);
 						Integer id = part.getID();//ItemResourceUtil.findIDbyItemResourceName(part.getName());
-						if (maintenancePartProbabilities.containsKey(id))
-							totalNumber += maintenancePartProbabilities.get(id);
-						maintenancePartProbabilities.put(id, totalNumber);
+						if (probabilities.containsKey(id))
+							totalNumber += probabilities.get(id);
+						probabilities.put(id, totalNumber);
 	
 					}
 				}
 			}
+			maintenancePartProbabilities = probabilities;
 		}
 		return maintenancePartProbabilities;
 	}
@@ -522,7 +556,7 @@ public final class MalfunctionFactory implements Serializable {
 	 * @param p
 	 * @param num
 	 */
-	public void setFailure(Integer p, int num) {
+	public synchronized void setFailure(Integer p, int num) {
 		int old_failures = failure_map.get(p);// .getID());
 		failure_map.put(p, old_failures + num);
 	}
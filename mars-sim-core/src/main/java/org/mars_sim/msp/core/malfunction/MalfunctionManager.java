@@ -12,6 +12,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -522,6 +523,7 @@ public class MalfunctionManager implements Serializable {
 
 		try {
 			getUnit().fireUnitUpdate(UnitEventType.MALFUNCTION_EVENT, malfunction);
+			fireSettlementUpdate(UnitEventType.MALFUNCTION_EVENT, malfunction);
 		} catch (Exception e) {
 			e.printStackTrace(System.err);
 		}
@@ -1181,6 +1183,7 @@ public class MalfunctionManager implements Serializable {
 				
 				try {
 					getUnit().fireUnitUpdate(UnitEventType.MALFUNCTION_EVENT, m);
+					fireSettlementUpdate(UnitEventType.MALFUNCTION_EVENT, m);
 				} catch (Exception e) {
 					e.printStackTrace(System.err);
 				}
@@ -1654,7 +1657,10 @@ public class MalfunctionManager implements Serializable {
 			maintenanceTimeCompleted = 0D;
 			timeSinceLastMaintenance = 0D;
 			effectiveTimeSinceLastMaintenance = 0D;
+			Set<Integer> parts = new HashSet<>(getMaintenanceParts().keySet());
 			determineNewMaintenanceParts();
+			parts.addAll(partsNeededForMaintenance.keySet());
+			fireSettlementUpdate(UnitEventType.MAINTENANCE_PARTS_EVENT, parts);
 			numberMaintenances++;
 		}
 	}
@@ -1739,6 +1745,20 @@ public class MalfunctionManager implements Serializable {
 			throw new IllegalStateException("Could not find unit associated with malfunctionable.");
 	}
 
+	/**
+	 * Fires a unit update event on the settlement of the entity too, as the parts
+	 * needed by its malfunctionables are valued there.
+	 * 
+	 * @param updateType the update type.
+	 * @param target     the event target object.
+	 */
+	private void fireSettlementUpdate(UnitEventType updateType, Object target) {
+		Unit u = getUnit();
+		Settlement settlement = u.getAssociatedSettlement();
+		if (settlement != null && settlement != u)
+			settlement.fireUnitUpdate(updateType, target);
+	}
+
 	/**
 	 * Determines a new set of required maintenance parts.
 	 */
@@ -1798,6 +1818,7 @@ public class MalfunctionManager implements Serializable {
 					partsNeededForMaintenance.put(part, numberNeeded);
 				else
 					partsNeededForMaintenance.remove(part);
+				fireSettlementUpdate(UnitEventType.MAINTENANCE_PARTS_EVENT, Collections.singleton(part));
 			}
 		} else
 			throw new IllegalArgumentException("Part " + part + " is not needed for maintenance.");
@@ -33,6 +33,7 @@ import org.mars_sim.msp.core.structure.building.BuildingManager;
 import org.mars_sim.msp.core.structure.building.function.FunctionType;
 import org.mars_sim.msp.core.structure.building.function.Manufacture;
 import org.mars_sim.msp.core.structure.goods.Good;
+import org.mars_sim.msp.core.structure.goods.GoodsGraph;
 import org.mars_sim.msp.core.structure.goods.GoodsManager;
 import org.mars_sim.msp.core.structure.goods.GoodsUtil;
 import org.mars_sim.msp.core.time.MarsClock;
@@ -90,15 +91,7 @@ public final class ManufactureUtil {
 	 * @throws Exception if error getting processes.
 	 */
 	public static List<ManufactureProcessInfo> getManufactureProcessesForTechLevel(int techLevel) {
-		List<ManufactureProcessInfo> result = new ArrayList<ManufactureProcessInfo>();
-		Iterator<ManufactureProcessInfo> i = ManufactureConfig.getManufactureProcessList().iterator();
-		while (i.hasNext()) {
-			ManufactureProcessInfo process = i.next();
-			if (process.getTechLevelRequired() <= techLevel)
-				result.add(process);
-		}
-
-		return result;
+		return GoodsGraph.getManufactureProcesses(techLevel, Integer.MAX_VALUE);
 	}
 
 	/**
@@ -108,16 +101,7 @@ public final class ManufactureUtil {
 	 * @return {@link List}<{@link ManufactureProcessItem}> list of processes
 	 */
 	public static List<ManufactureProcessInfo> getManufactureProcessesWithGivenOutput(String name) {
-		List<ManufactureProcessInfo> result = new ArrayList<ManufactureProcessInfo>();
-		Iterator<ManufactureProcessInfo> i = ManufactureConfig.getManufactureProcessList().iterator();
-		while (i.hasNext()) {
-			ManufactureProcessInfo process = i.next();
-			for (String n : process.getOutputNames()) {
-				if (name.equalsIgnoreCase(n))
-					result.add(process);
-			}
-		}
-		return result;
+		return new ArrayList<ManufactureProcessInfo>(GoodsGraph.getManufactureProcessesWithOutput(name));
 	}
 
 	/**
@@ -127,16 +111,7 @@ public final class ManufactureUtil {
 	 * @return {@link List}<{@link ManufactureProcessItem}> list of processes
 	 */
 	public static List<ManufactureProcessInfo> getManufactureProcessesWithGivenInput(String name) {
-		List<ManufactureProcessInfo> result = new ArrayList<ManufactureProcessInfo>();
-		Iterator<ManufactureProcessInfo> i = ManufactureConfig.getManufactureProcessList().iterator();
-		while (i.hasNext()) {
-			ManufactureProcessInfo process = i.next();
-			for (String n : process.getInputNames()) {
-				if (name.equalsIgnoreCase(n))
-					result.add(process);
-			}
-		}
-		return result;
+		return new ArrayList<ManufactureProcessInfo>(GoodsGraph.getManufactureProcessesWithInput(name));
 	}
 
 	/**
@@ -149,16 +124,16 @@ public final class ManufactureUtil {
 	 * @throws Exception if error getting processes.
 	 */
 	public static List<ManufactureProcessInfo> getManufactureProcessesForTechSkillLevel(int techLevel, int skillLevel) {
-		List<ManufactureProcessInfo> result = new ArrayList<ManufactureProcessInfo>();
-
-		Iterator<ManufactureProcessInfo> i = ManufactureConfig.getManufactureProcessList().iterator();
-		while (i.hasNext()) {
-			ManufactureProcessInfo process = i.next();
-			if ((process.getTechLevelRequired() <= techLevel) && (process.getSkillLevelRequired() <= skillLevel))
-				result.add(process);
-		}
+		return GoodsGraph.getManufactureProcesses(techLevel, skillLevel);
+	}
 
-		return result;
+	/**
+	 * Gets all salvage processes info.
+	 * 
+	 * @return list of salvage processes info.
+	 */
+	public static List<SalvageProcessInfo> getAllSalvageProcesses() {
+		return manufactureConfig.getSalvageList();
 	}
 
 	/**
@@ -171,16 +146,7 @@ public final class ManufactureUtil {
 	 * @throws Exception if error getting salvage processes info.
 	 */
 	public static List<SalvageProcessInfo> getSalvageProcessesForTechSkillLevel(int techLevel, int skillLevel) {
-		List<SalvageProcessInfo> result = new ArrayList<SalvageProcessInfo>();
-		Iterator<SalvageProcessInfo> i = manufactureConfig.getSalvageList()
-				.iterator();
-		while (i.hasNext()) {
-			SalvageProcessInfo process = i.next();
-			if ((process.getTechLevelRequired() <= techLevel) && (process.getSkillLevelRequired() <= skillLevel))
-				result.add(process);
-		}
-
-		return result;
+		return GoodsGraph.getSalvageProcesses(techLevel, skillLevel);
 	}
 
 	/**
@@ -191,16 +157,7 @@ public final class ManufactureUtil {
 	 * @throws Exception if error get salvage processes info.
 	 */
 	public static List<SalvageProcessInfo> getSalvageProcessesForTechLevel(int techLevel) {
-		List<SalvageProcessInfo> result = new ArrayList<SalvageProcessInfo>();
-		Iterator<SalvageProcessInfo> i = manufactureConfig.getSalvageList()
-				.iterator();
-		while (i.hasNext()) {
-			SalvageProcessInfo process = i.next();
-			if (process.getTechLevelRequired() <= techLevel)
-				result.add(process);
-		}
-
-		return result;
+		return GoodsGraph.getSalvageProcesses(techLevel, Integer.MAX_VALUE);
 	}
 
 	/**
@@ -213,22 +170,66 @@ public final class ManufactureUtil {
 	 */
 	public static double getManufactureProcessValue(ManufactureProcessInfo process, Settlement settlement) {
 
+		// The goods value is kept by the goods manager until a good involved changes.
+		double goodsValue = settlement.getGoodsManager().getProcessGoodsValue(process,
+				p -> getManufactureProcessGoodsValue(p, settlement));
+		// The outputs that do not fit in the current stock are taken off on each lookup.
+		goodsValue -= getOverflowValue(process, settlement);
+
+		// Subtract power value.
+//		double hoursInMillisol = MarsClock.convertMillisolsToSeconds(1D) / 60D / 60D;
+		double powerHrsRequiredPerMillisol = process.getPowerRequired() * MarsClock.HOURS_PER_MILLISOL;
+		double powerValue = powerHrsRequiredPerMillisol * settlement.getPowerGrid().getPowerValue();
+
+		return goodsValue - powerValue;
+	}
+
+	/**
+	 * Gets the value of the output goods minus the input goods of a manufacturing
+	 * process at a settlement.
+	 * 
+	 * @param process    the manufacturing process.
+	 * @param settlement the settlement.
+	 * @return goods value.
+	 */
+	private static double getManufactureProcessGoodsValue(ManufactureProcessInfo process, Settlement settlement) {
 		double inputsValue = 0D;
 		Iterator<ManufactureProcessItem> i = process.getInputList().iterator();
 		while (i.hasNext())
 			inputsValue += getManufactureProcessItemValue(i.next(), settlement, false);
 
+		// The outputs are valued as if they all fit in the settlement.
 		double outputsValue = 0D;
 		Iterator<ManufactureProcessItem> j = process.getOutputList().iterator();
 		while (j.hasNext())
-			outputsValue += getManufactureProcessItemValue(j.next(), settlement, true);
+			outputsValue += getManufactureProcessItemValue(j.next(), settlement, false);
 
-		// Subtract power value.
-//		double hoursInMillisol = MarsClock.convertMillisolsToSeconds(1D) / 60D / 60D;
-		double powerHrsRequiredPerMillisol = process.getPowerRequired() * MarsClock.HOURS_PER_MILLISOL;
-		double powerValue = powerHrsRequiredPerMillisol * settlement.getPowerGrid().getPowerValue();
+		return outputsValue - inputsValue;
+	}
 
-		return outputsValue - inputsValue - powerValue;
+	/**
+	 * Gets the value of the amount resource outputs of a manufacturing process
+	 * that exceed the remaining capacity of a settlement.
+	 * 
+	 * @param process    the manufacturing process.
+	 * @param settlement the settlement.
+	 * @return goods value.
+	 */
+	private static double getOverflowValue(ManufactureProcessInfo process, Settlement settlement) {
+		double result = 0D;
+		Iterator<ManufactureProcessItem> i = process.getOutputList().iterator();
+		while (i.hasNext()) {
+			ManufactureProcessItem item = i.next();
+			if (item.getType().equals(ItemType.AMOUNT_RESOURCE)) {
+				int id = GoodsGraph.getGoodID(item);
+				double remainingCapacity = settlement.getInventory().getAmountResourceRemainingCapacity(id, true,
+						false);
+				if (item.getAmount() > remainingCapacity)
+					result += settlement.getGoodsManager().getGoodValuePerItem(id)
+							* (item.getAmount() - remainingCapacity);
+			}
+		}
+		return result;
 	}
 
 	/**
@@ -302,46 +303,22 @@ public final class ManufactureUtil {
 	 */
 	public static double getManufactureProcessItemValue(ManufactureProcessItem item, Settlement settlement,
 			boolean isOutput) {
-		double result = 0D;
-
 		GoodsManager manager = settlement.getGoodsManager();
 
-		if (item.getType().equals(ItemType.AMOUNT_RESOURCE)) {
-			AmountResource ar = ResourceUtil.findAmountResource(item.getName());
-//            int id = ResourceUtil.findIDbyAmountResourceName(item.getName());
-			double amount = item.getAmount();
-			if (isOutput) {
-				double remainingCapacity = settlement.getInventory().getAmountResourceRemainingCapacity(
-						ar, true, false);
-				if (amount > remainingCapacity) {
-					amount = remainingCapacity;
-				}
+		// The good id was resolved from the item name when the process graph was built
+		int id = GoodsGraph.getGoodID(item);
+		if (id < 0)
+			throw new IllegalStateException("Item: " + item.getName() + " of type " + item.getType() + " not valid.");
+
+		double amount = item.getAmount();
+		if (isOutput && item.getType().equals(ItemType.AMOUNT_RESOURCE)) {
+			double remainingCapacity = settlement.getInventory().getAmountResourceRemainingCapacity(id, true,
+					false);
+			if (amount > remainingCapacity) {
+				amount = remainingCapacity;
 			}
-			Good good = GoodsUtil.getResourceGood(ar);
-			result = manager.getGoodValuePerItem(good) * amount;
-		} 
-		
-		else if (item.getType().equals(ItemType.PART)) {
-//            ItemResource ir = ItemResourceUtil.findItemResource(item.getName());
-//            int id = ItemResourceUtil.findIDbyItemResourceName(item.getName());
-			Good good = GoodsUtil.getResourceGood(ItemResourceUtil.findItemResource(item.getName()));
-			result = manager.getGoodValuePerItem(good) * item.getAmount();
-		} 
-		
-		else if (item.getType().equals(ItemType.EQUIPMENT)) {
-//			Class<? extends Equipment> equipmentClass = EquipmentFactory.getEquipmentClass(item.getName());
-			Good good = GoodsUtil.getEquipmentGood(EquipmentFactory.getEquipmentClass(item.getName()));
-			result = manager.getGoodValuePerItem(good) * item.getAmount();
-		} 
-		
-		else if (item.getType().equals(ItemType.VEHICLE)) {
-			result = manager.getGoodValuePerItem(GoodsUtil.getVehicleGood(item.getName())) * item.getAmount();
-		} 
-		
-		else
-			throw new IllegalStateException("Item type: " + item.getType() + " not valid.");
-
-		return result;
+		}
+		return manager.getGoodValuePerItem(id) * amount;
 	}
 
 	/**
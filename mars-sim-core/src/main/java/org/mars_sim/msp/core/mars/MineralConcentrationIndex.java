@@ -0,0 +1,201 @@
+/**
+ * Mars Simulation Project
+ * MineralConcentrationIndex.java
+ * @version 3.1.1 2026-10-18
+ * @author agent
+ */
+package org.mars_sim.msp.core.mars;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.mars_sim.msp.core.Coordinates;
+
+/**
+ * A latitude/longitude bucket grid over the mineral concentrations of a
+ * mineral map. Each concentration is filed under the cell containing its
+ * location, so a query only visits the cells overlapping the spherical cap
+ * around a location instead of every concentration on the planet. The mineral
+ * types are interned to integer ids. The index is immutable once built.
+ */
+class MineralConcentrationIndex {
+
+	/** The angular size of a grid cell (radians). */
+	private static final double CELL_SIZE = Math.PI / 90D;
+	private static final int PHI_CELLS = 90;
+	private static final int THETA_CELLS = 180;
+	/** Extra angle added to a query to absorb rounding errors (radians). */
+	private static final double MARGIN = 1E-6;
+
+	private static final int[] EMPTY_CELL = new int[0];
+
+	/** The concentrations in the order of the mineral map list. */
+	private final MineralConcentration[] concentrations;
+	/** The mineral type id of each concentration. */
+	private final int[] typeIds;
+	/** The mineral type names by id. */
+	private final String[] typeNames;
+	/** The mineral type ids keyed by lower case name. */
+	private final Map<String, Integer> typeIdsByName = new HashMap<>();
+	/** The concentration indices in each cell, in ascending order. */
+	private final int[][] cells = new int[PHI_CELLS * THETA_CELLS][];
+	/** The largest concentration value, which is also its range in km. */
+	private final double maxConcentration;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param mineralConcentrations the mineral concentrations of the map.
+	 */
+	MineralConcentrationIndex(List<MineralConcentration> mineralConcentrations) {
+		int size = mineralConcentrations.size();
+		concentrations = mineralConcentrations.toArray(new MineralConcentration[size]);
+		typeIds = new int[size];
+
+		List<String> names = new ArrayList<>();
+		int[] cellSizes = new int[cells.length];
+		int[] cellOf = new int[size];
+		double max = 0D;
+		for (int x = 0; x < size; x++) {
+			MineralConcentration concentration = concentrations[x];
+			String name = concentration.getMineralType();
+			Integer id = typeIdsByName.get(name.toLowerCase());
+			if (id == null) {
+				id = names.size();
+				typeIdsByName.put(name.toLowerCase(), id);
+				names.add(name);
+			}
+			typeIds[x] = id;
+
+			Coordinates location = concentration.getLocation();
+			cellOf[x] = getPhiCell(location.getPhi()) * THETA_CELLS + getThetaCell(location.getTheta());
+			cellSizes[cellOf[x]]++;
+			max = Math.max(max, concentration.getConcentration());
+		}
+		typeNames = names.toArray(new String[names.size()]);
+		maxConcentration = max;
+
+		for (int c = 0; c < cells.length; c++)
+			cells[c] = (cellSizes[c] == 0) ? EMPTY_CELL : new int[cellSizes[c]];
+		Arrays.fill(cellSizes, 0);
+		for (int x = 0; x < size; x++) {
+			int c = cellOf[x];
+			cells[c][cellSizes[c]++] = x;
+		}
+	}
+
+	/**
+	 * Gets the concentration at an index.
+	 */
+	MineralConcentration getConcentration(int index) {
+		return concentrations[index];
+	}
+
+	/**
+	 * Gets the mineral type id of the concentration at an index.
+	 */
+	int getTypeId(int index) {
+		return typeIds[index];
+	}
+
+	/**
+	 * Gets the id of a mineral type.
+	 *
+	 * @param mineralType the mineral type name (case insensitive).
+	 * @return the id or -1 if no concentration has this type.
+	 */
+	int getTypeId(String mineralType) {
+		Integer id = typeIdsByName.get(mineralType.toLowerCase());
+		return (id == null) ? -1 : id;
+	}
+
+	/**
+	 * Gets the name of a mineral type.
+	 */
+	String getTypeName(int typeId) {
+		return typeNames[typeId];
+	}
+
+	/**
+	 * Gets the number of mineral types.
+	 */
+	int getNumTypes() {
+		return typeNames.length;
+	}
+
+	/**
+	 * Gets the largest concentration, which bounds the range of influence of any
+	 * concentration (km).
+	 */
+	double getMaxConcentration() {
+		return maxConcentration;
+	}
+
+	/**
+	 * Gets the indices of the concentrations that may lie within a distance of a
+	 * location. The result can contain concentrations further away but never
+	 * misses a closer one.
+	 *
+	 * @param location the location.
+	 * @param distance the distance (km).
+	 * @return concentration indices in ascending order.
+	 */
+	int[] getNearby(Coordinates location, double distance) {
+		double angle = distance / Mars.MARS_RADIUS_KM + MARGIN;
+		if (angle >= Math.PI) {
+			int[] all = new int[concentrations.length];
+			for (int x = 0; x < all.length; x++)
+				all[x] = x;
+			return all;
+		}
+
+		double phi = location.getPhi();
+		double theta = location.getTheta();
+		int minPhiCell = getPhiCell(phi - angle);
+		int maxPhiCell = getPhiCell(phi + angle);
+
+		// The longitude spread of the cap, unless it covers a pole.
+		int minThetaCell = 0;
+		int thetaCells = THETA_CELLS;
+		if ((phi - angle > 0D) && (phi + angle < Math.PI)) {
+			double ratio = Math.sin(angle) / Math.sin(phi);
+			if (ratio < 1D) {
+				double spread = Math.asin(ratio) + MARGIN;
+				minThetaCell = (int) Math.floor((theta - spread) / CELL_SIZE);
+				int maxThetaCell = (int) Math.floor((theta + spread) / CELL_SIZE);
+				thetaCells = Math.min(THETA_CELLS, maxThetaCell - minThetaCell + 1);
+			}
+		}
+
+		int count = 0;
+		int[] result = EMPTY_CELL;
+		for (int p = minPhiCell; p <= maxPhiCell; p++) {
+			for (int t = 0; t < thetaCells; t++) {
+				int[] cell = cells[p * THETA_CELLS + Math.floorMod(minThetaCell + t, THETA_CELLS)];
+				if (cell.length > 0) {
+					if (count + cell.length > result.length)
+						result = Arrays.copyOf(result, Math.max(count + cell.length, result.length * 2));
+					System.arraycopy(cell, 0, result, count, cell.length);
+					count += cell.length;
+				}
+			}
+		}
+
+		result = Arrays.copyOf(result, count);
+		// Keep the map list order so results match a full scan.
+		Arrays.sort(result);
+		return result;
+	}
+
+	private static int getPhiCell(double phi) {
+		int cell = (int) Math.floor(phi / CELL_SIZE);
+		return Math.max(0, Math.min(PHI_CELLS - 1, cell));
+	}
+
+	private static int getThetaCell(double theta) {
+		return Math.floorMod((int) Math.floor(theta / CELL_SIZE), THETA_CELLS);
+	}
+}
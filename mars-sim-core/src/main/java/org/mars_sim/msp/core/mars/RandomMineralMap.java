@@ -66,6 +66,8 @@ public class RandomMineralMap implements Serializable, MineralMap {
 
 	// List of all mineral concentrations.
 	private List<MineralConcentration> mineralConcentrations;
+	// Spatial index of the mineral concentrations, rebuilt after loading.
+	private transient volatile MineralConcentrationIndex concentrationIndex;
 
 	private static MineralMapConfig mineralMapConfig = SimulationConfig.instance().getMineralMapConfiguration();
 	
@@ -208,27 +210,31 @@ public class RandomMineralMap implements Serializable, MineralMap {
 	 * @return map of mineral types and percentage concentration (0 to 100.0)
 	 */
 	public Map<String, Double> getAllMineralConcentrations(Coordinates location) {
-		Map<String, Double> result = Collections.emptyMap();
-		boolean emptyMap = true;
-
-		Iterator<MineralConcentration> i = mineralConcentrations.iterator();
-		while (i.hasNext()) {
-			MineralConcentration mineralConcentration = i.next();
-			double effect = getMineralConcentrationEffect(mineralConcentration, location);
+		MineralConcentrationIndex index = getConcentrationIndex();
+		int[] nearby = index.getNearby(location, index.getMaxConcentration());
+		if (nearby.length == 0)
+			return Collections.emptyMap();
+
+		double[] totals = null;
+		for (int i : nearby) {
+			double effect = getMineralConcentrationEffect(index.getConcentration(i), location);
 			if (effect > 0D) {
-				if (emptyMap) {
-					result = new HashMap<String, Double>();
-					emptyMap = false;
+				if (totals == null) {
+					totals = new double[index.getNumTypes()];
 				}
-				double totalConcentration = 0D;
-				if (result.containsKey(mineralConcentration.getMineralType()))
-					totalConcentration = result.get(mineralConcentration.getMineralType());
-				totalConcentration += effect;
-				if (totalConcentration > 100D)
-					totalConcentration = 100D;
-				result.put(mineralConcentration.getMineralType(), totalConcentration);
+				int typeId = index.getTypeId(i);
+				totals[typeId] = Math.min(totals[typeId] + effect, 100D);
 			}
 		}
+
+		if (totals == null)
+			return Collections.emptyMap();
+
+		Map<String, Double> result = new HashMap<String, Double>();
+		for (int x = 0; x < totals.length; x++) {
+			if (totals[x] > 0D)
+				result.put(index.getTypeName(x), totals[x]);
+		}
 		return result;
 	}
 
@@ -242,11 +248,14 @@ public class RandomMineralMap implements Serializable, MineralMap {
 	public double getMineralConcentration(String mineralType, Coordinates location) {
 		double result = 0D;
 
-		Iterator<MineralConcentration> i = mineralConcentrations.iterator();
-		while (i.hasNext()) {
-			MineralConcentration mineralConcentration = i.next();
-			if (mineralConcentration.getMineralType().equalsIgnoreCase(mineralType)) {
-				result += getMineralConcentrationEffect(mineralConcentration, location);
+		MineralConcentrationIndex index = getConcentrationIndex();
+		int typeId = index.getTypeId(mineralType);
+		if (typeId < 0)
+			return result;
+
+		for (int i : index.getNearby(location, index.getMaxConcentration())) {
+			if (index.getTypeId(i) == typeId) {
+				result += getMineralConcentrationEffect(index.getConcentration(i), location);
 				if (result > 100D)
 					result = 100D;
 			}
@@ -255,6 +264,25 @@ public class RandomMineralMap implements Serializable, MineralMap {
 		return result;
 	}
 
+	/**
+	 * Gets the spatial index of the mineral concentrations, building it if needed.
+	 * 
+	 * @return the index.
+	 */
+	private MineralConcentrationIndex getConcentrationIndex() {
+		MineralConcentrationIndex index = concentrationIndex;
+		if (index == null) {
+			synchronized (this) {
+				index = concentrationIndex;
+				if (index == null) {
+					index = new MineralConcentrationIndex(mineralConcentrations);
+					concentrationIndex = index;
+				}
+			}
+		}
+		return index;
+	}
+
 	/**
 	 * Gets the effect of a given mineral concentration on a location.
 	 * 
@@ -319,9 +347,9 @@ public class RandomMineralMap implements Serializable, MineralMap {
 
 		List<MineralConcentration> locales = new ArrayList<MineralConcentration>(0);
 
-		Iterator<MineralConcentration> i = mineralConcentrations.iterator();
-		while (i.hasNext()) {
-			MineralConcentration mineralConc = i.next();
+		MineralConcentrationIndex mineralIndex = getConcentrationIndex();
+		for (int i : mineralIndex.getNearby(startingLocation, range + mineralIndex.getMaxConcentration())) {
+			MineralConcentration mineralConc = mineralIndex.getConcentration(i);
 			double distance = Coordinates.computeDistance(startingLocation, mineralConc.getLocation());
 			if (range > (distance - mineralConc.getConcentration())) {
 				locales.add(mineralConc);
@@ -344,6 +372,7 @@ public class RandomMineralMap implements Serializable, MineralMap {
 
 	@Override
 	public void destroy() {
+		concentrationIndex = null;
 		mineralConcentrations.clear();
 		mineralConcentrations = null;
 	}
@@ -7,7 +7,6 @@
 package org.mars_sim.msp.core.mars;
 
 import java.io.Serializable;
-import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -21,7 +20,6 @@ import org.mars_sim.msp.core.person.ai.mission.Mining;
 import org.mars_sim.msp.core.person.ai.mission.Mission;
 import org.mars_sim.msp.core.person.ai.mission.MissionManager;
 import org.mars_sim.msp.core.structure.Settlement;
-import org.mars_sim.msp.core.time.MarsClock;
 import org.mars_sim.msp.core.time.MasterClock;
 import org.mars_sim.msp.core.tool.RandomUtil;
 
@@ -54,6 +52,13 @@ public class SurfaceFeatures implements Serializable {
 
 	private static double opticalDepthStartingValue = 0.2342;
 
+	/** The angle between the nodes of the solar irradiance field (in degrees). */
+	private static final double IRRADIANCE_GRID_STEP = 1D;
+	/** The number of millisols between evaluations of the solar irradiance. */
+	private static final int IRRADIANCE_PERIOD = 1;
+	/** The number of solar irradiance values kept per node for the trend. */
+	private static final int TREND_SIZE = 20;
+
 	// Data members
 	// non static instances
 	private MineralMap mineralMap;
@@ -62,9 +67,12 @@ public class SurfaceFeatures implements Serializable {
 	// The locations that have been explored and/or mined
 	private List<ExploredLocation> exploredLocations;
 
-	private Map<Coordinates, Double> opticalDepthMap;
-	private Map<Coordinates, List<Double>> solarIrradianceCaches;
-	private Map<Coordinates, Double> solarIrradiance;
+	/** The optical depth, evaluated on a grid. */
+	private transient SurfaceField opticalDepthField;
+	/** The solar irradiance, evaluated on a grid. */
+	private transient SurfaceField solarIrradianceField;
+	/** The latest solar irradiance values of the grid nodes, oldest first. */
+	private transient Map<Coordinates, List<Double>> solarIrradianceTrends;
 
 	// The sites map for ice and regolith collection mission
 //	private static Map<Coordinates, CollectionSite> sites;
@@ -75,7 +83,6 @@ public class SurfaceFeatures implements Serializable {
 	private static SimulationConfig simulationConfig = SimulationConfig.instance();
 	private static MissionManager missionManager;
 	
-	private static MarsClock solarIrradianceMapCacheTime;
 	private static MasterClock masterClock;
 	
 	private static TerrainElevation terrainElevation;
@@ -111,14 +118,6 @@ public class SurfaceFeatures implements Serializable {
 //			throw new IllegalStateException("Landmarks could not be loaded: " + e.getMessage(), e);
 //		}
 
-		if (solarIrradianceCaches == null)
-			solarIrradianceCaches = new ConcurrentHashMap<>();
-
-		solarIrradiance = new ConcurrentHashMap<>();
-		
-		if (opticalDepthMap == null)
-			opticalDepthMap = new ConcurrentHashMap<>();
-		
 //		double a = OrbitInfo.SEMI_MAJOR_AXIS;
 //		factor = MEAN_SOLAR_IRRADIANCE * a * a;
 	}
@@ -204,21 +203,40 @@ public class SurfaceFeatures implements Serializable {
 		return result;
 	}
 
+	/**
+	 * Gets the optical depth of the martian dust at a location.
+	 * 
+	 * @param location
+	 * @return tau
+	 */
 	public double getOpticalDepth(Coordinates location) {
-		if (opticalDepthMap.containsKey(location))
-			return opticalDepthMap.get(location);
-		else {
-			return computeOpticalDepth(location); // opticalDepthStartingValue
+		return getOpticalDepthField().getValue(location);
+	}
+
+	/**
+	 * Gets the optical depth field, creating it if needed.
+	 * 
+	 * @return field
+	 */
+	private SurfaceField getOpticalDepthField() {
+		if (opticalDepthField == null) {
+			synchronized (this) {
+				if (opticalDepthField == null)
+					opticalDepthField = new SurfaceField(IRRADIANCE_GRID_STEP, IRRADIANCE_PERIOD, false,
+							getMasterClock().getMarsClock(), this::computeOpticalDepth);
+			}
 		}
+		return opticalDepthField;
 	}
 
 	/***
 	 * Computes the optical depth of the martian dust
 	 * 
 	 * @param location
+	 * @param previous the previous optical depth at the location, or NaN if none
 	 * @return tau
 	 */
-	public double computeOpticalDepth(Coordinates location) {
+	public double computeOpticalDepth(Coordinates location, double previous) {
 
 		double tau = 0;
 
@@ -226,8 +244,8 @@ public class SurfaceFeatures implements Serializable {
 		
 		// Equation: tau = 0.2342 + 0.2247 * yestersolAirPressureVariation;
 		// the starting value for opticalDepth is 0.2342. See Ref below
-		if (opticalDepthMap.containsKey(location))
-			tau = (opticalDepthMap.get(location) + opticalDepthStartingValue + newTau) / 1.9D;
+		if (!Double.isNaN(previous))
+			tau = (previous + opticalDepthStartingValue + newTau) / 1.9D;
 		else {
 			tau = opticalDepthStartingValue + newTau;
 		}
@@ -268,8 +286,8 @@ public class SurfaceFeatures implements Serializable {
 	public int getTrend(Coordinates location) {
 		int trend = 0;
 		
-		if (solarIrradianceCaches.containsKey(location)) {
-			List<Double> sequence = solarIrradianceCaches.get(location);
+		List<Double> sequence = getSolarIrradianceTrends().get(getSolarIrradianceField().getNearestNode(location));
+		if (sequence != null) {
 //			double avg = sequence.get(0); 
 			int size = sequence.size();
 //			for (int i=0; i < size - 1; ++i) {
@@ -321,63 +339,60 @@ public class SurfaceFeatures implements Serializable {
 	 * @return solar irradiance (W/m2)
 	 */
 	public double getSolarIrradiance(Coordinates location) {
-		if (masterClock == null)
-			masterClock = sim.getMasterClock();
-		MarsClock currentTime = masterClock.getMarsClock();
-		if (!currentTime.equals(solarIrradianceMapCacheTime)) {
-			// Call here once per frame because getSolarIrradiance()
-			// is called many times in 
-//			double G_h = 0;
-//			if (solarIrradiance.containsKey(location))
-//					G_h = Math.round(solarIrradiance.get(location)*10.0)/10.0;
-//			System.out.println("At " + currentTime.getMillisolInt() 
-//				+ "   Light : " + G_h
-//				+ "   Trend : " + getTrend(location));
-			solarIrradiance.clear();
-			solarIrradianceMapCacheTime = (MarsClock) currentTime.clone();
-		}
-//		else {
-//			// It's mostly this case
-//		}
-		
-		List<Double> list = null;
-//		int size = 0;
-		double G_h = 0;
-		
-		if (!solarIrradiance.containsKey(location)) {
-			
-			// If location is not in cache, calculate solar irradiance.
-			if (solarIrradianceCaches.containsKey(location)) {
-				list = solarIrradianceCaches.get(location);
-				
-				G_h = calculateSolarIrradiance(location);
-				list.add(G_h);
-				
-				if (list.size() > 20)
-					list.remove(0);
-				
-//				size = solarIrradianceMapCache.get(location).size();
-				solarIrradianceCaches.put(location, list);
+		return getSolarIrradianceField().getValue(location);
+	}
+
+	/**
+	 * Gets the solar irradiance field, creating it if needed.
+	 * 
+	 * @return field
+	 */
+	private SurfaceField getSolarIrradianceField() {
+		if (solarIrradianceField == null) {
+			synchronized (this) {
+				if (solarIrradianceField == null)
+					solarIrradianceField = new SurfaceField(IRRADIANCE_GRID_STEP, IRRADIANCE_PERIOD, false,
+							getMasterClock().getMarsClock(), (node, previous) -> {
+								double G_h = calculateSolarIrradiance(node);
+								
+								// Keep the latest values of the node for its trend
+								List<Double> list = getSolarIrradianceTrends().computeIfAbsent(node,
+										n -> new CopyOnWriteArrayList<>());
+								list.add(G_h);
+								if (list.size() > TREND_SIZE)
+									list.remove(0);
+								
+								return G_h;
+							});
 			}
-			
-			else {
-				list = new ArrayList<>();
-				
-				G_h = calculateSolarIrradiance(location);
-				list.add(G_h);
-	
-//				size = 1;
-				solarIrradianceCaches.put(location, list);
+		}
+		return solarIrradianceField;
+	}
+
+	/**
+	 * Gets the latest solar irradiance values of the grid nodes.
+	 * 
+	 * @return map of node to values, oldest first
+	 */
+	private Map<Coordinates, List<Double>> getSolarIrradianceTrends() {
+		if (solarIrradianceTrends == null) {
+			synchronized (this) {
+				if (solarIrradianceTrends == null)
+					solarIrradianceTrends = new ConcurrentHashMap<>();
 			}
-			
-			solarIrradiance.put(location, G_h);
 		}
-		
-		else {
-			G_h = solarIrradiance.get(location);
-		}	
-		
-		return G_h;
+		return solarIrradianceTrends;
+	}
+
+	/**
+	 * Gets the master clock.
+	 * 
+	 * @return master clock
+	 */
+	private static MasterClock getMasterClock() {
+		if (masterClock == null)
+			masterClock = sim.getMasterClock();
+		return masterClock;
 	}
 
 	/**
@@ -462,7 +477,7 @@ public class SurfaceFeatures implements Serializable {
 			// PART 4 : OPTICAL DEPTH - CALCULATING ABSORPTION AND SCATTERING OF SOLAR
 			// RADIATION
 
-			double tau = computeOpticalDepth(location);
+			double tau = getOpticalDepth(location);
 
 			// TODO: Part 4a : reducing opacity of the Martian atmosphere due to local dust
 			// storm
@@ -502,9 +517,6 @@ public class SurfaceFeatures implements Serializable {
 
 			// Note: m(z), the air mass, is estimated as ~ 1/cos_z
 
-			// save tau onto opticalDepthMap
-			opticalDepthMap.put(location, tau);
-
 			// Note: one can estimate m(z), the air mass, as ~ 1/cos_z
 
 			// PART 5 : DIFFUSE SOLAR IRRADIANCE
@@ -767,12 +779,9 @@ public class SurfaceFeatures implements Serializable {
 	public void destroy() {
 //		sites.clear();
 //		sites = null;
-		opticalDepthMap.clear();
-		opticalDepthMap = null;
-		solarIrradianceCaches.clear();
-		solarIrradianceCaches = null;
-		solarIrradiance.clear();
-		solarIrradiance = null;
+		opticalDepthField = null;
+		solarIrradianceField = null;
+		solarIrradianceTrends = null;
 			
 		mineralMap.destroy();
 		mineralMap = null;
@@ -784,7 +793,6 @@ public class SurfaceFeatures implements Serializable {
 		sim = null;
 		simulationConfig = null;
 		missionManager = null;
-		solarIrradianceMapCacheTime = null;
 		masterClock = null;
 		weather = null;
 		orbitInfo = null;
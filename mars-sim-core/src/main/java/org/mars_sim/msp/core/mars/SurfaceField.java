@@ -0,0 +1,228 @@
+/**
+ * Mars Simulation Project
+ * SurfaceField.java
+ * @version 3.1.1 2026-10-18
+ * @author agent
+ */
+package org.mars_sim.msp.core.mars;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+
+import org.mars_sim.msp.core.Coordinates;
+import org.mars_sim.msp.core.time.MarsClock;
+
+/**
+ * A quantity over the surface of Mars, e.g. the solar irradiance or the
+ * temperature. It is evaluated on a coarse grid of latitudes and longitudes and
+ * interpolated in between. A grid node is evaluated at most once per period of
+ * a given number of millisols, when it is first looked up in the period. An
+ * eager field evaluates all of its nodes in parallel instead, as soon as the
+ * period starts.
+ */
+public class SurfaceField {
+
+	/**
+	 * Evaluates the quantity at a grid node.
+	 */
+	public interface Evaluator {
+
+		/**
+		 * Evaluates the quantity at a grid node.
+		 *
+		 * @param node     the location of the node.
+		 * @param previous the value of the node in an earlier period, or NaN if none.
+		 * @return the value.
+		 */
+		double evaluate(Coordinates node, double previous);
+	}
+
+	private static final long NEVER = Long.MIN_VALUE;
+	private static final int NUM_LOCKS = 64;
+	private static final int MILLISOLS_PER_SOL = 1000;
+
+	// Data members
+	/** The angle between two neighboring rows or columns of nodes (in radians). */
+	private final double step;
+	/** The number of rows of nodes, from the north pole to the south pole. */
+	private final int rows;
+	/** The number of columns of nodes, eastward from longitude 0. */
+	private final int columns;
+	/** The number of millisols between two evaluations of a node. */
+	private final int period;
+	/** True if all the nodes are evaluated as soon as a period starts. */
+	private final boolean eager;
+
+	private final Evaluator evaluator;
+	private final MarsClock clock;
+
+	/** The node values, as raw long bits. */
+	private final AtomicLongArray values;
+	/** The period in which each node was last evaluated. */
+	private final AtomicLongArray periods;
+	/** The locations of the nodes, created when first needed. */
+	private final AtomicReferenceArray<Coordinates> nodes;
+	/** The last period in which the nodes of an eager field were evaluated. */
+	private final AtomicLong eagerPeriod = new AtomicLong(NEVER);
+	private final Object[] locks = new Object[NUM_LOCKS];
+
+	/**
+	 * Constructor.
+	 *
+	 * @param stepDegrees the angle between two neighboring rows or columns of
+	 *                    nodes (in degrees). It should divide 180.
+	 * @param period      the number of millisols between two evaluations of a
+	 *                    node.
+	 * @param eager       true if all the nodes are evaluated in parallel as soon
+	 *                    as a period starts.
+	 * @param clock       the mars clock.
+	 * @param evaluator   evaluates the quantity at a node.
+	 */
+	public SurfaceField(double stepDegrees, int period, boolean eager, MarsClock clock, Evaluator evaluator) {
+		this.step = Math.toRadians(stepDegrees);
+		this.rows = (int) Math.round(180D / stepDegrees) + 1;
+		this.columns = (int) Math.round(360D / stepDegrees);
+		this.period = period;
+		this.eager = eager;
+		this.clock = clock;
+		this.evaluator = evaluator;
+
+		int size = rows * columns;
+		values = new AtomicLongArray(size);
+		periods = new AtomicLongArray(size);
+		nodes = new AtomicReferenceArray<>(size);
+		for (int i = 0; i < size; i++)
+			periods.set(i, NEVER);
+		for (int i = 0; i < NUM_LOCKS; i++)
+			locks[i] = new Object();
+	}
+
+	/**
+	 * Gets the value at a given location, interpolated between the four nearest
+	 * nodes.
+	 *
+	 * @param location the location.
+	 * @return the value.
+	 */
+	public double getValue(Coordinates location) {
+		long current = getCurrentPeriod();
+		if (eager)
+			evaluateAll(current);
+
+		double y = location.getPhi() / step;
+		double x = location.getTheta() / step;
+		int row = (int) Math.floor(y);
+		int column = (int) Math.floor(x);
+		double dy = y - row;
+		double dx = x - column;
+
+		double top = getValue(row, column, current) * (1D - dx) + getValue(row, column + 1, current) * dx;
+		if (dy == 0D)
+			return top;
+		double bottom = getValue(row + 1, column, current) * (1D - dx) + getValue(row + 1, column + 1, current) * dx;
+		return top * (1D - dy) + bottom * dy;
+	}
+
+	/**
+	 * Gets the location of the node nearest to a given location.
+	 *
+	 * @param location the location.
+	 * @return the location of the node.
+	 */
+	public Coordinates getNearestNode(Coordinates location) {
+		int row = (int) Math.round(location.getPhi() / step);
+		int column = (int) Math.round(location.getTheta() / step);
+		return getNode(getIndex(row, column));
+	}
+
+	/**
+	 * Forgets the values of all the nodes. They are evaluated again with no
+	 * previous value on their next lookup.
+	 */
+	public void clear() {
+		for (int i = 0; i < periods.length(); i++)
+			periods.set(i, NEVER);
+		eagerPeriod.set(NEVER);
+	}
+
+	/**
+	 * Gets the index of the current period.
+	 *
+	 * @return period index.
+	 */
+	private long getCurrentPeriod() {
+		long millisols = (long) clock.getMissionSol() * MILLISOLS_PER_SOL + clock.getMillisolInt();
+		return millisols / period;
+	}
+
+	/**
+	 * Gets the index of a node. The rows are clamped to the poles and the columns
+	 * wrap around.
+	 */
+	private int getIndex(int row, int column) {
+		if (row < 0)
+			row = 0;
+		else if (row >= rows)
+			row = rows - 1;
+
+		column %= columns;
+		if (column < 0)
+			column += columns;
+
+		return row * columns + column;
+	}
+
+	/**
+	 * Gets the location of a node.
+	 *
+	 * @param index the node index.
+	 * @return the location.
+	 */
+	private Coordinates getNode(int index) {
+		Coordinates node = nodes.get(index);
+		if (node == null) {
+			node = new Coordinates((index / columns) * step, (index % columns) * step);
+			if (!nodes.compareAndSet(index, null, node))
+				node = nodes.get(index);
+		}
+		return node;
+	}
+
+	/**
+	 * Gets the value of a node in a given period, evaluating it if needed.
+	 */
+	private double getValue(int row, int column, long current) {
+		int index = getIndex(row, column);
+		if (periods.get(index) != current)
+			evaluate(index, current);
+		return Double.longBitsToDouble(values.get(index));
+	}
+
+	/**
+	 * Evaluates a node for a given period unless another thread already has.
+	 */
+	private void evaluate(int index, long current) {
+		synchronized (locks[index % NUM_LOCKS]) {
+			long last = periods.get(index);
+			if (last == current)
+				return;
+
+			double previous = (last == NEVER) ? Double.NaN : Double.longBitsToDouble(values.get(index));
+			double value = evaluator.evaluate(getNode(index), previous);
+			values.set(index, Double.doubleToRawLongBits(value));
+			periods.set(index, current);
+		}
+	}
+
+	/**
+	 * Evaluates all the nodes in parallel, once per period.
+	 */
+	private void evaluateAll(long current) {
+		long last = eagerPeriod.get();
+		if (last != current && eagerPeriod.compareAndSet(last, current)) {
+			IntStream.range(0, rows * columns).parallel().forEach(i -> evaluate(i, current));
+		}
+	}
+}
@@ -275,7 +275,7 @@ public class TerrainElevation implements Serializable {
 	public double getMOLAElevation(double phi, double theta) {
 //		if (mapdata == null)
 //			mapdata = mapDataUtil.getTopoMapData();
-		return mapDataUtil.getElevationInt(phi, theta)/ 1000.0;
+		return mapDataUtil.getElevation(phi, theta) / 1000.0;
 	}
 		
 	/**
@@ -288,7 +288,7 @@ public class TerrainElevation implements Serializable {
 //		if (mapdata == null)
 //			mapdata = mapDataUtil.getTopoMapData();
 //		logger.config("Calling getMOLAElevation().  mapdata : " + mapdata);
-		return mapDataUtil.getElevationInt(location.getPhi(), location.getTheta())/ 1000.0;
+		return mapDataUtil.getElevation(location.getPhi(), location.getTheta()) / 1000.0;
 	}
 	
 	/**
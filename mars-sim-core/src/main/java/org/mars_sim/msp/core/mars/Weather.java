@@ -59,6 +59,8 @@ public class Weather implements Serializable {
 																					// at 25 C, 50% relative humidity
 
 	private static final int MILLISOLS_PER_UPDATE = 5; // one update per x millisols
+	/** The angle between the nodes of the temperature and air pressure fields (in degrees). */
+	private static final double FIELD_GRID_STEP = 1D;
 
 	private static final int RECORDING_FREQUENCY = 50; // in millisols
 
@@ -90,8 +92,10 @@ public class Weather implements Serializable {
 	private List<DailyWeather> todayWeather = new CopyOnWriteArrayList<>();
 	private List<Coordinates> coordinateList = new CopyOnWriteArrayList<>();
 
-	private transient Map<Coordinates, Double> temperatureCacheMap;
-	private transient Map<Coordinates, Double> airPressureCacheMap;
+	/** The surface temperature, evaluated on a grid. */
+	private transient SurfaceField temperatureField;
+	/** The surface air pressure, evaluated on a grid. */
+	private transient SurfaceField airPressureField;
 	private transient Map<Coordinates, Double> windSpeedCacheMap;
 	private transient Map<Coordinates, Integer> windDirCacheMap;
 
@@ -380,18 +384,16 @@ public class Weather implements Serializable {
 	public double getCachedAirPressure(Coordinates location) {
 		checkLocation(location);
 
-		// Lazy instantiation of airPressureCacheMap.
-		if (airPressureCacheMap == null) {
-			airPressureCacheMap = new ConcurrentHashMap<Coordinates, Double>();
+		// Lazy instantiation of airPressureField.
+		if (airPressureField == null) {
+			synchronized (this) {
+				if (airPressureField == null)
+					airPressureField = new SurfaceField(FIELD_GRID_STEP, MILLISOLS_PER_UPDATE, false, getMarsClock(),
+							(node, previous) -> calculateAirPressure(node, 0));
+			}
 		}
 
-		if (msols % MILLISOLS_PER_UPDATE == 1) {
-			double newP = calculateAirPressure(location, 0);
-			airPressureCacheMap.put(location, newP);
-			return newP;
-		} else {
-			return getCachedReading(airPressureCacheMap, location);// , AIR_PRESSURE);
-		}
+		return airPressureField.getValue(location);
 	}
 
 	/**
@@ -453,18 +455,45 @@ public class Weather implements Serializable {
 	public double getCachedTemperature(Coordinates location) {
 		checkLocation(location);
 
-		// Lazy instantiation of temperatureCacheMap.
-		if (temperatureCacheMap == null) {
-			temperatureCacheMap = new ConcurrentHashMap<Coordinates, Double>();
+		// Lazy instantiation of temperatureField.
+		if (temperatureField == null) {
+			synchronized (this) {
+				if (temperatureField == null)
+					temperatureField = new SurfaceField(FIELD_GRID_STEP, MILLISOLS_PER_UPDATE, false, getMarsClock(),
+							this::calculateTemperature);
+			}
 		}
 
-		if (msols % MILLISOLS_PER_UPDATE == 0) {
-			double newT = calculateTemperature(location);
-			temperatureCacheMap.put(location, newT);
-			return newT;
-		} else {
-			return getCachedReading(temperatureCacheMap, location);// , TEMPERATURE);
-		}
+		return Math.round((temperatureField.getValue(location) - getWindChill(location)) * 100.0) / 100.0;
+	}
+
+	/**
+	 * Gets the drop of the surface temperature caused by the wind at a given
+	 * location. It is left out of the temperature field since the wind is tracked
+	 * per location.
+	 * 
+	 * @return temperature drop in deg Celsius.
+	 */
+	private double getWindChill(Coordinates location) {
+		if (windSpeedCacheMap == null || surfaceFeatures.inDarkPolarRegion(location)
+				|| surfaceFeatures.inPolarRegion(location))
+			return 0;
+
+		Double speed = windSpeedCacheMap.get(location);
+		return (speed == null) ? 0 : speed * 1.5D;
+	}
+
+	/**
+	 * Gets the mars clock.
+	 * 
+	 * @return mars clock
+	 */
+	private static MarsClock getMarsClock() {
+		if (masterClock == null)
+			masterClock = Simulation.instance().getMasterClock();
+		if (marsClock == null)
+			marsClock = masterClock.getMarsClock();
+		return marsClock;
 	}
 
 	/***
@@ -495,11 +524,14 @@ public class Weather implements Serializable {
 	}
 
 	/**
-	 * Calculates the surface temperature at a given location.
+	 * Calculates the surface temperature at a given location, before the wind
+	 * chill.
 	 * 
+	 * @param location
+	 * @param previous the previous temperature at the location, or NaN if none
 	 * @return temperature in Celsius.
 	 */
-	public double calculateTemperature(Coordinates location) {
+	public double calculateTemperature(Coordinates location, double previous) {
 
 		double t = 0;
 
@@ -621,24 +653,13 @@ public class Weather implements Serializable {
 			double up = RandomUtil.getRandomDouble(2);
 			double down = RandomUtil.getRandomDouble(2);
 
-			// (6). Add Windspped
-
-			double wind_dt = 0;
-			if (windSpeedCacheMap == null)
-				windSpeedCacheMap = new ConcurrentHashMap<>();
+			// (6). The wind speed is taken into account by getWindChill()
 
-			if (windSpeedCacheMap.containsKey(location))
-				wind_dt = windSpeedCacheMap.get(location) * 1.5D;
-
-			t = equatorial_temperature + viking_dt - lat_dt - terrain_dt + seasonal_dt - wind_dt + up - down;
+			t = equatorial_temperature + viking_dt - lat_dt - terrain_dt + seasonal_dt + up - down;
 
 			double previous_t = 0;
-			if (temperatureCacheMap == null) {
-				temperatureCacheMap = new ConcurrentHashMap<Coordinates, Double>();
-			}
-
-			if (temperatureCacheMap.containsKey(location)) {
-				previous_t = temperatureCacheMap.get(location);
+			if (!Double.isNaN(previous)) {
+				previous_t = previous;
 			}
 
 			t = Math.round((t + previous_t) / 2.0 * 100.0) / 100.0;
@@ -655,42 +676,13 @@ public class Weather implements Serializable {
 	 * key-value sets
 	 */
 	public synchronized void clearMap() {
-		if (temperatureCacheMap != null) {
-			temperatureCacheMap.clear();
-		}
-
-		if (airPressureCacheMap != null) {
-			airPressureCacheMap.clear();
+		if (temperatureField != null) {
+			temperatureField.clear();
 		}
-	}
-
-	/**
-	 * Provides the surface temperature or air pressure at a given location from the
-	 * temperatureCacheMap. If calling the given location for the first time from
-	 * the cache map, call update temperature/air pressure instead
-	 * 
-	 * @return temperature or pressure
-	 */
-	public double getCachedReading(Map<Coordinates, Double> map, Coordinates location) {
-		double result;
-
-		if (map.containsKey(location)) {
-			result = map.get(location);
-		} else {
-			double cache = 0;
-			// if (value == TEMPERATURE )
-			if (map.equals(temperatureCacheMap))
-				cache = calculateTemperature(location);
-			// else if (value == AIR_PRESSURE )
-			else if (map.equals(airPressureCacheMap))
-				cache = calculateAirPressure(location, 0);
 
-			map.put(location, cache);
-
-			result = cache;
+		if (airPressureField != null) {
+			airPressureField.clear();
 		}
-		
-		return result;
 	}
 
 	/**
@@ -1038,14 +1030,8 @@ public class Weather implements Serializable {
 		todayWeather = null;
 		coordinateList = null;
 		
-		if (temperatureCacheMap != null) {
-			temperatureCacheMap.clear();
-			temperatureCacheMap = null;
-		}
-		if (airPressureCacheMap != null) {
-			airPressureCacheMap.clear();
-			airPressureCacheMap = null;
-		}
+		temperatureField = null;
+		airPressureField = null;
 		marsClock = null;
 		surfaceFeatures = null;
 		terrainElevation = null;
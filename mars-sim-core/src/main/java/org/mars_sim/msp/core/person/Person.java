@@ -24,6 +24,7 @@ import org.mars_sim.msp.core.LifeSupportInterface;
 import org.mars_sim.msp.core.LogConsolidated;
 import org.mars_sim.msp.core.Unit;
 import org.mars_sim.msp.core.UnitEventType;
+import org.mars_sim.msp.core.UnitManager;
 import org.mars_sim.msp.core.equipment.EVASuit;
 import org.mars_sim.msp.core.location.LocationStateType;
 import org.mars_sim.msp.core.person.ai.Mind;
@@ -253,12 +254,15 @@ public class Person extends Unit implements VehicleOperator, MissionMember, Seri
 
 	/**
 	 * Must be synchronised to prevent duplicate ids being assigned via different
-	 * threads.
+	 * threads. Settlement work units take their ids in turn.
 	 * 
 	 * @return
 	 */
-	private static synchronized int getNextIdentifier() {
-		return uniqueCount++;
+	private static int getNextIdentifier() {
+		UnitManager.awaitTurn();
+		synchronized (Person.class) {
+			return uniqueCount++;
+		}
 	}
 	
 	/**
@@ -82,6 +82,8 @@ public class Preference implements Serializable {
 	private static final String META = "Meta";
 	/** The cache for mission sol. */
 	private int solCache = 0;
+	/** The number of changes to the preference scores and the tasks due. */
+	private int changeCount;
 
 	/** A list of MetaTasks. */
 //	private List<MetaTask> metaTaskList;
@@ -369,6 +371,8 @@ public class Preference implements Serializable {
 
 		Collections.sort(taskList);
 
+		changeCount++;
+
 		// Add metaMissionList (NOT READY to publish metaMissionList as preferences)
 //        Iterator<MetaMission> ii = metaMissionList.iterator();
 //		while (ii.hasNext()) {
@@ -586,8 +590,16 @@ public class Preference implements Serializable {
 	 * @param          true if it is due
 	 */
 	public void setTaskDue(Task task, boolean value) {
-		MetaTask mt = convertTask2MetaTask(task);
+		setTaskDue(convertTask2MetaTask(task), value);
+	}
 
+	/**
+	 * Flag this meta task as being due or not due
+	 * 
+	 * @param mt    the meta task
+	 * @param value true if it is due
+	 */
+	public void setTaskDue(MetaTask mt, boolean value) {
 		// if this accomplished meta task is once-a-day task, remove it.
 		if (value && onceADayMap.get(mt) != null && !onceADayMap.isEmpty())
 			if (onceADayMap.get(mt) != null && onceADayMap.get(mt)) {
@@ -601,6 +613,17 @@ public class Preference implements Serializable {
 			} else
 				taskAccomplishedMap.put(mt, value);
 
+		changeCount++;
+	}
+
+	/**
+	 * Gets the number of changes to the preference scores and the tasks due so
+	 * far. It tells the task manager when the preferences need to be read again.
+	 * 
+	 * @return the change count
+	 */
+	public int getChangeCount() {
+		return changeCount;
 	}
 
 	/**
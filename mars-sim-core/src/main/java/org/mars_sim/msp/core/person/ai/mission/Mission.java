@@ -166,12 +166,15 @@ public abstract class Mission implements Serializable {
 	
 	/**
 	 * Must be synchronised to prevent duplicate ids being assigned via different
-	 * threads.
+	 * threads. Settlement work units take their ids in turn.
 	 * 
 	 * @return
 	 */
-	private static synchronized int getNextIdentifier() {
-		return missionIdentifer++;
+	private static int getNextIdentifier() {
+		UnitManager.awaitTurn();
+		synchronized (Mission.class) {
+			return missionIdentifer++;
+		}
 	}
 
 	/**
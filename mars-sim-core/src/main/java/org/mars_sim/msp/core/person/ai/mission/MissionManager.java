@@ -55,17 +55,14 @@ public class MissionManager implements Serializable {
 	/** Mission listeners. */
 	private transient List<MissionManagerListener> listeners;
 
-	// Cache variables.
-	private transient double totalProbCache;
-	
 	/** The currently on-going missions in the simulation. */
 	private List<Mission> onGoingMissions;
 	/** A history of mission plans by sol. */
 	private Map<Integer, List<MissionPlanning>> historicalMissions;
 	
 	// Transient members
-	private transient MarsClock personTimeCache;
-	private transient Map<MetaMission, Double> missionProbCache;
+	/** The mission probabilities of the last person who planned a mission. */
+	private transient volatile MissionProbabilities probabilityCache;
 	private transient Map<MetaMission, Double> robotMissionProbCache;
 	
 	private static List<String> missionNames;
@@ -105,28 +102,26 @@ public class MissionManager implements Serializable {
 	 * Constructor.
 	 */
 	public MissionManager() {
-		// Initialize cache values.
-		personTimeCache = null;
-		totalProbCache = 0D;
-		
 		// Initialize data members
 		missionIdentifer = 0;
 		onGoingMissions = new CopyOnWriteArrayList<>();
 		historicalMissions = new HashMap<>();
 		settlementID = new HashMap<>();
 		listeners = new CopyOnWriteArrayList<>();//Collections.synchronizedList(new ArrayList<MissionManagerListener>(0));
-		missionProbCache = new HashMap<MetaMission, Double>(MetaMissionUtil.getNumMetaMissions());
 		robotMissionProbCache = new HashMap<MetaMission, Double>();
 	}
 
 	/**
 	 * Must be synchronised to prevent duplicate ids being assigned via different
-	 * threads.
+	 * threads. Settlement work units take their ids in turn.
 	 * 
 	 * @return
 	 */
-	private synchronized int getNextIdentifier() {
-		return missionIdentifer++;
+	private int getNextIdentifier() {
+		UnitManager.awaitTurn();
+		synchronized (this) {
+			return missionIdentifer++;
+		}
 	}
 	
 //	public static int getSettlementID(String name) {
@@ -316,8 +311,12 @@ public class MissionManager implements Serializable {
 			throw new IllegalArgumentException("newMission is null");
 		}
 
+		if (UnitManager.deferToBarrier(() -> addMission(newMission)))
+			return;
+
 		if (!onGoingMissions.contains(newMission)) {
 			onGoingMissions.add(newMission);
+			clearMissionContext(newMission);
 
 			// Update listeners.
 			if (listeners == null) {
@@ -343,9 +342,12 @@ public class MissionManager implements Serializable {
 	 * @param the mission to be removed
 	 */
 	public void removeMission(Mission oldMission) {
+		if (UnitManager.deferToBarrier(() -> removeMission(oldMission)))
+			return;
 
 		if (onGoingMissions.contains(oldMission)) {
 			onGoingMissions.remove(oldMission);
+			clearMissionContext(oldMission);
 
 			oldMission.fireMissionUpdate(MissionEventType.END_MISSION_EVENT);
 					
@@ -364,6 +366,18 @@ public class MissionManager implements Serializable {
 		}
 	}
 
+	/**
+	 * Drops the settlement-wide part of the mission scores of the settlement of a
+	 * mission, since its missions have changed.
+	 * 
+	 * @param mission the mission
+	 */
+	private void clearMissionContext(Mission mission) {
+		Settlement settlement = mission.getAssociatedSettlement();
+		if (settlement != null)
+			settlement.clearMissionContext();
+	}
+
 	/**
 	 * Determines the total probability weight for available potential missions for
 	 * a given person.
@@ -372,11 +386,7 @@ public class MissionManager implements Serializable {
 	 * @return total probability weight
 	 */
 	public double getTotalMissionProbability(Person person) {
-		// If cache is not current, calculate the probabilities.
-		if (!useCache(person)) {
-			calculateProbability(person);
-		}
-		return totalProbCache;
+		return getProbabilities(person).total;
 	}
 
 //	public double getTotalMissionProbability(Robot robot) {
@@ -396,18 +406,16 @@ public class MissionManager implements Serializable {
 	public Mission getNewMission(Person person) {
 		Mission result = null;
 		// If cache is not current, calculate the probabilities.
-		if (!useCache(person)) {
-			calculateProbability(person);
-		}
+		MissionProbabilities probabilities = getProbabilities(person);
 
 		// Get a random number from 0 to the total weight
-		double totalProbability = getTotalMissionProbability(person);
+		double totalProbability = probabilities.total;
 
 		if (totalProbability == 0D) {
 			//throw new IllegalStateException(person + " has zero total mission probability weight.");
 			logger.log(Level.FINEST, person + " has zero total mission probability weight. No mission selected.");
 			// Clear time cache.
-			personTimeCache = null;
+			probabilityCache = null;
 			
 			return null;
 		}
@@ -417,10 +425,10 @@ public class MissionManager implements Serializable {
 
 		// Determine which mission is selected.
 		MetaMission selectedMetaMission = null;
-		Iterator<MetaMission> i = missionProbCache.keySet().iterator();
+		Iterator<MetaMission> i = probabilities.probabilities.keySet().iterator();
 		while (i.hasNext() && (selectedMetaMission == null)) {
 			MetaMission metaMission = i.next();
-			double probWeight = missionProbCache.get(metaMission);
+			double probWeight = probabilities.probabilities.get(metaMission);
 			if (r <= probWeight && probWeight != 0) {
 				selectedMetaMission = metaMission;
 			} else {
@@ -436,7 +444,7 @@ public class MissionManager implements Serializable {
 		result = selectedMetaMission.constructInstance(person);
 
 		// Clear time cache.
-		personTimeCache = null;
+		probabilityCache = null;
 
 		return result;
 	}
@@ -684,17 +692,33 @@ public class MissionManager implements Serializable {
 	}
 
 	/**
-	 * Calculates and caches the probabilities.
+	 * Gets the mission probabilities of a person, calculating them unless they
+	 * were already calculated for the person at the current time.
 	 * 
 	 * @param person the person to check for.
+	 * @return the probabilities.
 	 */
-	private void calculateProbability(Person person) {
-		if (missionProbCache == null) {
-			missionProbCache = new HashMap<MetaMission, Double>(MetaMissionUtil.getNumMetaMissions());
+	private MissionProbabilities getProbabilities(Person person) {
+		MissionProbabilities result = probabilityCache;
+		if (result == null || !useCache(person, result)) {
+			result = calculateProbability(person);
+			probabilityCache = result;
 		}
+		return result;
+	}
 
-		// Clear total probabilities.
-		totalProbCache = 0D;
+	/**
+	 * Calculates the probabilities. The settlement-wide part of each of them is
+	 * shared by the people in the settlement, so only the personal modifiers are
+	 * worked out here.
+	 * 
+	 * @param person the person to check for.
+	 * @return the probabilities.
+	 */
+	private MissionProbabilities calculateProbability(Person person) {
+		Map<MetaMission, Double> probabilities = new HashMap<MetaMission, Double>(MetaMissionUtil.getNumMetaMissions());
+
+		double total = 0D;
 
 		// Determine probabilities.
 		Iterator<MetaMission> i = MetaMissionUtil.getMetaMissions().iterator();
@@ -702,10 +726,10 @@ public class MissionManager implements Serializable {
 			MetaMission metaMission = i.next();
 			double probability = metaMission.getProbability(person);
 			if ((probability >= 0D) && (!Double.isNaN(probability)) && (!Double.isInfinite(probability))) {
-				missionProbCache.put(metaMission, probability);
-				totalProbCache += probability;
+				probabilities.put(metaMission, probability);
+				total += probability;
 			} else {
-				missionProbCache.put(metaMission, 0D);
+				probabilities.put(metaMission, 0D);
 				logger.severe(person.getName() + " had bad mission probability on " + metaMission.getName() + " probability: "
 						+ probability);
 			}
@@ -714,7 +738,7 @@ public class MissionManager implements Serializable {
 		}
 
 		// Set the time cache to the current time.
-		personTimeCache = (MarsClock) marsClock.clone();
+		return new MissionProbabilities(person, (MarsClock) marsClock.clone(), probabilities, total);
 	}
 
 //	/**
@@ -754,10 +778,11 @@ public class MissionManager implements Serializable {
 	 * Checks if task probability cache should be used.
 	 * 
 	 * @param the person to check for.
+	 * @param the cached probabilities.
 	 * @return true if cache should be used.
 	 */
-	private boolean useCache(Person person) {
-		return marsClock.equals(personTimeCache);
+	private boolean useCache(Person person, MissionProbabilities cache) {
+		return cache.person == person && marsClock.equals(cache.time);
 	}
 
 //	/**
@@ -952,15 +977,30 @@ public class MissionManager implements Serializable {
 
 		marsClock = null;
 		// personCache = null;
-		personTimeCache = null;
+		probabilityCache = null;
 //		robotTimeCache = null;
-		if (missionProbCache != null) {
-			missionProbCache.clear();
-			missionProbCache = null;
-		}
 		if (robotMissionProbCache != null) {
 			robotMissionProbCache.clear();
 			robotMissionProbCache = null;
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * The mission probabilities of a person at a given time.
+	 */
+	private static final class MissionProbabilities {
+
+		private final Person person;
+		private final MarsClock time;
+		private final Map<MetaMission, Double> probabilities;
+		private final double total;
+
+		private MissionProbabilities(Person person, MarsClock time, Map<MetaMission, Double> probabilities,
+				double total) {
+			this.person = person;
+			this.time = time;
+			this.probabilities = probabilities;
+			this.total = total;
+		}
+	}
+}
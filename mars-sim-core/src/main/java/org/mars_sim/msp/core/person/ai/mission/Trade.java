@@ -73,10 +73,6 @@ public class Trade extends RoverMission implements Serializable {
 	// Static members
 	public static final double MAX_STARTING_PROBABILITY = 100D;
 
-	// Static cache for holding trade profit info.
-	public static final Map<Settlement, TradeProfitInfo> TRADE_PROFIT_CACHE = new HashMap<Settlement, TradeProfitInfo>();
-	public static final Map<Settlement, Settlement> TRADE_SETTLEMENT_CACHE = new HashMap<Settlement, Settlement>();
-
 	static final int MAX_MEMBERS = 2;
 
 	// Data members.
@@ -120,15 +116,13 @@ public class Trade extends RoverMission implements Serializable {
 			setStartingSettlement(s);
 
 			// Get trading settlement
-			tradingSettlement = TRADE_SETTLEMENT_CACHE.get(s);
+			tradingSettlement = TradeUtil.getBestTradeSettlement(s);
 			if (tradingSettlement != null && !tradingSettlement.equals(s)) {
 				addNavpoint(new NavPoint(tradingSettlement.getCoordinates(), tradingSettlement,
 						tradingSettlement.getName()));
 				setDescription(Msg.getString("Mission.description.trade.detail", tradingSettlement.getName())); // $NON-NLS-1$
-				TRADE_PROFIT_CACHE.remove(getStartingSettlement());
-				TRADE_PROFIT_CACHE.remove(tradingSettlement);
-				TRADE_SETTLEMENT_CACHE.remove(getStartingSettlement());
-				TRADE_SETTLEMENT_CACHE.remove(tradingSettlement);
+				TradeUtil.clearTradeEstimates(getStartingSettlement());
+				TradeUtil.clearTradeEstimates(tradingSettlement);
 			} else {
 				addMissionStatus(MissionStatus.NO_TRADING_SETTLEMENT);
 				endMission();
@@ -456,7 +450,7 @@ public class Trade extends RoverMission implements Serializable {
 			equipmentNeededCache = null;
 			addNavpoint(new NavPoint(getStartingSettlement().getCoordinates(), getStartingSettlement(),
 					getStartingSettlement().getName()));
-			TRADE_PROFIT_CACHE.remove(getStartingSettlement());
+			TradeUtil.clearTradeEstimates(getStartingSettlement());
 		}
 	}
 
@@ -1072,20 +1066,6 @@ public class Trade extends RoverMission implements Serializable {
 		negotiationTask = null;
 	}
 
-	/**
-	 * Inner class for storing trade profit info.
-	 */
-	public static class TradeProfitInfo {
-		
-		public double profit;
-		public MarsClock time;
-
-		public TradeProfitInfo(double profit, MarsClock time) {
-			this.profit = profit;
-			this.time = time;
-		}
-	}
-
 	@Override
 	public Map<Integer, Integer> getEquipmentNeededForRemainingMission(boolean useBuffer) {
 		if (equipmentNeededCache != null)
@@ -0,0 +1,338 @@
+/**
+ * Mars Simulation Project
+ * TradeMatrix.java
+ * @version 3.1.1 2026-10-18
+ * @author agent
+ */
+package org.mars_sim.msp.core.person.ai.mission;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.mars_sim.msp.core.Coordinates;
+import org.mars_sim.msp.core.structure.Settlement;
+import org.mars_sim.msp.core.structure.goods.Good;
+import org.mars_sim.msp.core.structure.goods.GoodsUtil;
+import org.mars_sim.msp.core.vehicle.Rover;
+
+/**
+ * The estimated trade profit between every pair of settlements. An estimate is
+ * kept until the goods values of either settlement drift beyond a threshold
+ * since it was made, the credit between them crosses a sell limit or another
+ * rover is used. Only those pairs are estimated again when the best trade of
+ * a settlement is looked up. They are estimated one after the other, as the
+ * goods values they ask for fill the demand caches of the goods managers.
+ */
+final class TradeMatrix {
+
+	/** The relative change of a good value that makes the estimates stale. */
+	private static final double VALUE_CHANGE_THRESHOLD = .1D;
+	/** The good values (VP) below which changes are not counted. */
+	private static final double MIN_VALUE = .01D;
+
+	// Data members
+	/** The source of the goods values, credits and profit estimates. */
+	private final Market market;
+	/** The goods values of each settlement when last found changed. */
+	private final Map<Settlement, ValueSnapshot> snapshots = new ConcurrentHashMap<>();
+	/** The trade estimates of each starting settlement. */
+	private final Map<Settlement, Row> rows = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructor for the trades of the simulation.
+	 */
+	TradeMatrix() {
+		this(new SimulationMarket());
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param market the source of the goods values, credits and estimates.
+	 */
+	TradeMatrix(Market market) {
+		this.market = market;
+	}
+
+	/**
+	 * Gets the best trade profit from a settlement, estimating again the pairs
+	 * that are stale.
+	 *
+	 * @param startingSettlement the settlement to trade from.
+	 * @param rover              the rover to carry the trade.
+	 * @param settlements        all the settlements.
+	 * @return the best profit (value points).
+	 */
+	double getBestTradeProfit(Settlement startingSettlement, Rover rover, Collection<Settlement> settlements) {
+		Set<Settlement> trading = getCurrentTradingSettlements(startingSettlement);
+		double range = rover.getRange(Trade.missionType) * .8D;
+
+		List<Settlement> partners = new ArrayList<>();
+		for (Settlement tradingSettlement : settlements) {
+			if (tradingSettlement != startingSettlement
+					&& tradingSettlement.isMissionDisable(Trade.DEFAULT_DESCRIPTION)
+					&& !trading.contains(tradingSettlement)
+					&& Coordinates.computeDistance(tradingSettlement.getCoordinates(),
+							startingSettlement.getCoordinates()) <= range) {
+				partners.add(tradingSettlement);
+			}
+		}
+
+		return getBestProfit(startingSettlement, rover, partners);
+	}
+
+	/**
+	 * Gets the best trade profit from a settlement with some partners,
+	 * estimating again the pairs that are stale.
+	 *
+	 * @param startingSettlement the settlement to trade from.
+	 * @param rover              the rover to carry the trade.
+	 * @param partners           the settlements to trade with.
+	 * @return the best profit (value points).
+	 */
+	double getBestProfit(Settlement startingSettlement, Rover rover, List<Settlement> partners) {
+		Row row = rows.computeIfAbsent(startingSettlement, s -> new Row());
+
+		synchronized (row) {
+			long startRevision = getRevision(startingSettlement);
+
+			// Find the partners whose estimate is missing or stale.
+			Map<Settlement, Long> stale = new HashMap<>();
+			for (Settlement tradingSettlement : partners) {
+				long tradeRevision = getRevision(tradingSettlement);
+				Estimate estimate = row.estimates.get(tradingSettlement);
+				if (estimate == null || !estimate.isValid(market, startingSettlement, tradingSettlement, rover,
+						startRevision, tradeRevision))
+					stale.put(tradingSettlement, tradeRevision);
+			}
+
+			for (Map.Entry<Settlement, Long> e : stale.entrySet()) {
+				row.estimates.put(e.getKey(),
+						new Estimate(market, startingSettlement, e.getKey(), rover, startRevision, e.getValue()));
+			}
+
+			double bestProfit = 0D;
+			Settlement bestSettlement = null;
+			for (Settlement tradingSettlement : partners) {
+				double profit = row.estimates.get(tradingSettlement).profit;
+				if (profit > bestProfit) {
+					bestProfit = profit;
+					bestSettlement = tradingSettlement;
+				}
+			}
+
+			row.bestSettlement = bestSettlement;
+			return bestProfit;
+		}
+	}
+
+	/**
+	 * Gets the settlement with the best trade profit found by the last lookup.
+	 *
+	 * @param startingSettlement the settlement to trade from.
+	 * @return the trading settlement, or null if none.
+	 */
+	Settlement getBestTradeSettlement(Settlement startingSettlement) {
+		Row row = rows.get(startingSettlement);
+		return (row != null) ? row.bestSettlement : null;
+	}
+
+	/**
+	 * Drops the estimates from and to a settlement, e.g. when a trade mission
+	 * has changed its stock.
+	 *
+	 * @param settlement the settlement.
+	 */
+	void invalidate(Settlement settlement) {
+		rows.remove(settlement);
+		for (Row row : rows.values()) {
+			row.estimates.remove(settlement);
+		}
+	}
+
+	/**
+	 * Gets the settlements that a settlement has a trade mission under way with.
+	 *
+	 * @param settlement the settlement.
+	 * @return the trading settlements.
+	 */
+	private static Set<Settlement> getCurrentTradingSettlements(Settlement settlement) {
+		Set<Settlement> result = new HashSet<>();
+		for (Mission mission : TradeUtil.missionManager.getMissions()) {
+			if (mission instanceof Trade) {
+				Trade tradeMission = (Trade) mission;
+				Settlement startingSettlement = tradeMission.getStartingSettlement();
+				Settlement tradingSettlement = tradeMission.getTradingSettlement();
+				if (settlement.equals(startingSettlement))
+					result.add(tradingSettlement);
+				else if (settlement.equals(tradingSettlement))
+					result.add(startingSettlement);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the revision of the goods values of a settlement, i.e. the number of
+	 * times a good value was found to have changed beyond the threshold.
+	 *
+	 * @param settlement the settlement.
+	 * @return revision.
+	 */
+	private long getRevision(Settlement settlement) {
+		return snapshots.compute(settlement, (s, snapshot) -> {
+			if (snapshot == null)
+				return new ValueSnapshot(market, s, 0L);
+			else if (snapshot.hasChanged(market, s))
+				return new ValueSnapshot(market, s, snapshot.revision + 1L);
+			else
+				return snapshot;
+		}).revision;
+	}
+
+	/**
+	 * The goods values, credits and trade profits that the estimates are based
+	 * on.
+	 */
+	interface Market {
+
+		/**
+		 * Gets the value of a good at a settlement.
+		 *
+		 * @param settlement the settlement.
+		 * @param good       the good.
+		 * @return the value per item (value points).
+		 */
+		double getGoodValue(Settlement settlement, Good good);
+
+		/**
+		 * Gets the credit of a settlement with another.
+		 *
+		 * @param startingSettlement the settlement to trade from.
+		 * @param tradingSettlement  the settlement to trade with.
+		 * @return the credit (value points).
+		 */
+		double getCredit(Settlement startingSettlement, Settlement tradingSettlement);
+
+		/**
+		 * Estimates the profit of a trade between two settlements.
+		 *
+		 * @param startingSettlement the settlement to trade from.
+		 * @param rover              the rover to carry the trade.
+		 * @param tradingSettlement  the settlement to trade with.
+		 * @return the profit (value points).
+		 */
+		double getEstimatedTradeProfit(Settlement startingSettlement, Rover rover, Settlement tradingSettlement);
+	}
+
+	/**
+	 * The market of the simulation.
+	 */
+	private static final class SimulationMarket implements Market {
+
+		@Override
+		public double getGoodValue(Settlement settlement, Good good) {
+			return settlement.getGoodsManager().getGoodValuePerItem(good);
+		}
+
+		@Override
+		public double getCredit(Settlement startingSettlement, Settlement tradingSettlement) {
+			return TradeUtil.creditManager.getCredit(startingSettlement, tradingSettlement);
+		}
+
+		@Override
+		public double getEstimatedTradeProfit(Settlement startingSettlement, Rover rover,
+				Settlement tradingSettlement) {
+			return TradeUtil.getEstimatedTradeProfit(startingSettlement, rover, tradingSettlement);
+		}
+	}
+
+	/**
+	 * The trade estimates from a starting settlement.
+	 */
+	private static final class Row {
+
+		/** The estimates, keyed by trading settlement. */
+		private final Map<Settlement, Estimate> estimates = new ConcurrentHashMap<>();
+		/** The best trading settlement of the last lookup. */
+		private volatile Settlement bestSettlement;
+	}
+
+	/**
+	 * The estimated trade profit between two settlements and what it was based
+	 * on.
+	 */
+	private static final class Estimate {
+
+		private final double profit;
+		private final Rover rover;
+		private final long startRevision;
+		private final long tradeRevision;
+		private final boolean canBuy;
+		private final boolean canSell;
+
+		Estimate(Market market, Settlement startingSettlement, Settlement tradingSettlement, Rover rover,
+				long startRevision, long tradeRevision) {
+			this.rover = rover;
+			this.startRevision = startRevision;
+			this.tradeRevision = tradeRevision;
+			double credit = market.getCredit(startingSettlement, tradingSettlement);
+			canBuy = TradeUtil.canBuy(credit);
+			canSell = TradeUtil.canSell(credit);
+			profit = market.getEstimatedTradeProfit(startingSettlement, rover, tradingSettlement);
+		}
+
+		/**
+		 * Checks if the estimate still holds.
+		 */
+		private boolean isValid(Market market, Settlement startingSettlement, Settlement tradingSettlement,
+				Rover rover, long startRevision, long tradeRevision) {
+			if (this.rover != rover || this.startRevision != startRevision || this.tradeRevision != tradeRevision)
+				return false;
+			double credit = market.getCredit(startingSettlement, tradingSettlement);
+			return canBuy == TradeUtil.canBuy(credit) && canSell == TradeUtil.canSell(credit);
+		}
+	}
+
+	/**
+	 * The goods values of a settlement at some time.
+	 */
+	private static final class ValueSnapshot {
+
+		/** The values, in the order of the goods list. */
+		private final double[] values;
+		private final long revision;
+
+		ValueSnapshot(Market market, Settlement settlement, long revision) {
+			List<Good> goods = GoodsUtil.getGoodsList();
+			values = new double[goods.size()];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = market.getGoodValue(settlement, goods.get(i));
+			}
+			this.revision = revision;
+		}
+
+		/**
+		 * Checks if a good value has changed beyond the threshold since the
+		 * snapshot.
+		 */
+		private boolean hasChanged(Market market, Settlement settlement) {
+			List<Good> goods = GoodsUtil.getGoodsList();
+			if (goods.size() != values.length)
+				return true;
+			for (int i = 0; i < values.length; i++) {
+				double value = market.getGoodValue(settlement, goods.get(i));
+				double old = values[i];
+				if (Math.abs(value - old) > VALUE_CHANGE_THRESHOLD * Math.max(Math.abs(old), MIN_VALUE))
+					return true;
+			}
+			return false;
+		}
+	}
+}
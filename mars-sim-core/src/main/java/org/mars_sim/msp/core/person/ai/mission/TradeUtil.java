@@ -11,6 +11,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 import org.mars_sim.msp.core.Coordinates;
@@ -64,14 +65,14 @@ public final class TradeUtil {
 	private static final int MIN_NUM_EQUIPMENT = 10;
 	
 	/** Performance cache for equipment goods. */
-	private final static Map<Class<? extends Equipment>, Equipment> equipmentGoodCache = new HashMap<Class<? extends Equipment>, Equipment>(
+	private final static Map<Class<? extends Equipment>, Equipment> equipmentGoodCache = new ConcurrentHashMap<Class<? extends Equipment>, Equipment>(
 			5);
 
-	/** Cache for the best trade settlement. */
-	public static Settlement bestTradeSettlementCache = null;
+	/** The estimated trade profits between the settlements. */
+	private final static TradeMatrix tradeMatrix = new TradeMatrix();
 
 	/** Cache for container types. */
-	private final static Map<Class<? extends Equipment>, Equipment> containerTypeCache = new HashMap<Class<? extends Equipment>, Equipment>(
+	private final static Map<Class<? extends Equipment>, Equipment> containerTypeCache = new ConcurrentHashMap<Class<? extends Equipment>, Equipment>(
 			3);
 
 	private static int oxygenID = ResourceUtil.oxygenID;
@@ -79,8 +80,8 @@ public final class TradeUtil {
 	private static int foodID = ResourceUtil.foodID;
 
 	private static Simulation sim = Simulation.instance();
-	private static MissionManager missionManager = sim.getMissionManager();
-	private static CreditManager creditManager = sim.getCreditManager();
+	static MissionManager missionManager = sim.getMissionManager();
+	static CreditManager creditManager = sim.getCreditManager();
 	private static UnitManager unitManager = sim.getUnitManager();
 
 			
@@ -91,7 +92,9 @@ public final class TradeUtil {
 	};
 
 	/**
-	 * Gets the best trade value for a given settlement.
+	 * Gets the best trade value for a given settlement. Only the settlements
+	 * whose goods values or credit have changed since their last estimate are
+	 * estimated again.
 	 * 
 	 * @param startingSettlement the settlement to trade from.
 	 * @param rover              the rover to carry the trade.
@@ -99,66 +102,47 @@ public final class TradeUtil {
 	 * @throws Exception if error while getting best trade profit.
 	 */
 	public static double getBestTradeProfit(Settlement startingSettlement, Rover rover) {
-		double bestProfit = 0D;
-		Settlement bestSettlement = null;
-
-		for (Settlement tradingSettlement : unitManager.getSettlements()) {
-			if (tradingSettlement != startingSettlement && tradingSettlement.isMissionDisable(Trade.DEFAULT_DESCRIPTION)) {
-
-				boolean hasCurrentTradeMission = hasCurrentTradeMission(startingSettlement, tradingSettlement);
-
-				double settlementRange = Coordinates.computeDistance(tradingSettlement.getCoordinates(), startingSettlement.getCoordinates());
-				boolean withinRange = (settlementRange <= (rover.getRange(Trade.missionType) * .8D));
-
-				if (!hasCurrentTradeMission && withinRange) {
-					// double startTime = System.currentTimeMillis();
-
-					double profit = getEstimatedTradeProfit(startingSettlement, rover, tradingSettlement);
-					// double endTime = System.currentTimeMillis();
-//					 logger.finest("getEstimatedTradeProfit " + (endTime - startTime));
-					if (profit > bestProfit) {
-						bestProfit = profit;
-						bestSettlement = tradingSettlement;
-					}
-				}
-			}
-		}
-
-		// Set settlement cache.
-		bestTradeSettlementCache = bestSettlement;
+		return tradeMatrix.getBestTradeProfit(startingSettlement, rover, unitManager.getSettlements());
+	}
 
-		return bestProfit;
+	/**
+	 * Gets the settlement with the best trade value found by the last call to
+	 * {@link #getBestTradeProfit(Settlement, Rover)}.
+	 * 
+	 * @param startingSettlement the settlement to trade from.
+	 * @return the trading settlement, or null if none.
+	 */
+	public static Settlement getBestTradeSettlement(Settlement startingSettlement) {
+		return tradeMatrix.getBestTradeSettlement(startingSettlement);
 	}
 
 	/**
-	 * Checks if there is currently a trade mission between two settlements.
+	 * Drops the trade estimates from and to a settlement.
 	 * 
-	 * @param settlement1 the first settlement.
-	 * @param settlement2 the second settlement.
-	 * @return true if current trade mission between settlements.
+	 * @param settlement the settlement.
 	 */
-	private static boolean hasCurrentTradeMission(Settlement settlement1, Settlement settlement2) {
-		boolean result = false;
+	public static void clearTradeEstimates(Settlement settlement) {
+		tradeMatrix.invalidate(settlement);
+	}
 
-		// MissionManager manager = Simulation.instance().getMissionManager();
-		Iterator<Mission> i = missionManager.getMissions().iterator();
-		while (i.hasNext()) {
-			Mission mission = i.next();
-			if (mission instanceof Trade) {
-				Trade tradeMission = (Trade) mission;
-				Settlement startingSettlement = tradeMission.getStartingSettlement();
-				Settlement tradingSettlement = tradeMission.getTradingSettlement();
-				if (startingSettlement.equals(settlement1) && tradingSettlement.equals(settlement2)) {
-					result = true;
-					break;
-				} else if (startingSettlement.equals(settlement2) && tradingSettlement.equals(settlement1)) {
-					result = true;
-					break;
-				}
-			}
-		}
+	/**
+	 * Checks if a settlement may buy from another given its credit.
+	 * 
+	 * @param credit the credit of the buyer with the seller.
+	 * @return true if under the credit limit.
+	 */
+	static boolean canBuy(double credit) {
+		return credit > (SELL_CREDIT_LIMIT * -1D);
+	}
 
-		return result;
+	/**
+	 * Checks if a settlement may sell to another given its credit.
+	 * 
+	 * @param credit the credit of the seller with the buyer.
+	 * @return true if under the credit limit.
+	 */
+	static boolean canSell(double credit) {
+		return credit < SELL_CREDIT_LIMIT;
 	}
 
 	/**
@@ -170,7 +154,7 @@ public final class TradeUtil {
 	 * @return the trade profit (value points)
 	 * @throws Exception if error getting the estimated trade profit.
 	 */
-	private static double getEstimatedTradeProfit(Settlement startingSettlement, Rover rover,
+	static double getEstimatedTradeProfit(Settlement startingSettlement, Rover rover,
 			Settlement tradingSettlement) {
 
 		// Determine estimated trade revenue.
@@ -199,7 +183,7 @@ public final class TradeUtil {
 		double credit = creditManager.getCredit(startingSettlement, tradingSettlement);
 
 		Map<Good, Integer> buyLoad = null;
-		if (credit > (TradeUtil.SELL_CREDIT_LIMIT * -1D)) {
+		if (canBuy(credit)) {
 			// Determine desired buy load,
 			buyLoad = TradeUtil.getDesiredBuyLoad(startingSettlement, rover, tradingSettlement);
 		} else {
@@ -208,7 +192,7 @@ public final class TradeUtil {
 		}
 
 		Map<Good, Integer> sellLoad = null;
-		if (credit < TradeUtil.SELL_CREDIT_LIMIT) {
+		if (canSell(credit)) {
 			// Determine sell load.
 			sellLoad = TradeUtil.determineBestSellLoad(startingSettlement, rover, tradingSettlement);
 		} else {
@@ -680,10 +664,9 @@ public final class TradeUtil {
 			result = remainingCapacity >= ItemResourceUtil.findItemResource(good.getID()).getMassPerItem();
 		else if (good.getCategory() == GoodType.EQUIPMENT) {
 			Class<? extends Equipment> type = good.getClassType();
-			if (!equipmentGoodCache.containsKey(type)) {
-				equipmentGoodCache.put(type, EquipmentFactory.createEquipment(type, new Coordinates(0D, 0D), true));
-			}
-			result = (remainingCapacity >= equipmentGoodCache.get(type).getBaseMass());
+			Equipment equipment = equipmentGoodCache.computeIfAbsent(type,
+					t -> EquipmentFactory.createEquipment(t, new Coordinates(0D, 0D), true));
+			result = (remainingCapacity >= equipment.getBaseMass());
 		} else if (good.getCategory() == GoodType.VEHICLE)
 			result = !hasVehicle;
 		return result;
@@ -815,13 +798,8 @@ public final class TradeUtil {
 
 		Class<? extends Equipment> containerType = ContainerUtil.getContainerTypeNeeded(resource.getPhase());
 
-		Equipment container = null;
-		if (containerTypeCache.containsKey(containerType))
-			container = containerTypeCache.get(containerType);
-		else { 
-			container = EquipmentFactory.createEquipment(containerType, new Coordinates(0, 0), true);
-			containerTypeCache.put(containerType, container);
-		}
+		Equipment container = containerTypeCache.computeIfAbsent(containerType,
+				t -> EquipmentFactory.createEquipment(t, new Coordinates(0, 0), true));
 
 		result = container.getInventory().getAmountResourceCapacity(resource, false);
 
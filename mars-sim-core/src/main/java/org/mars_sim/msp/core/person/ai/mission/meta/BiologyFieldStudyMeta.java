@@ -59,61 +59,39 @@ public class BiologyFieldStudyMeta implements MetaMission {
         if (person.isInSettlement()) {
             Settlement settlement = person.getSettlement();
 
-            missionProbability = settlement.getMissionBaseProbability(DEFAULT_DESCRIPTION);
-       		if (missionProbability <= 0)
+            double settlementProbability = settlement.getMissionContext().getScore(this, this::getSettlementProbability);
+    		if (settlementProbability <= 0)
     			return 0;
-       		
-			int numEmbarked = VehicleMission.numEmbarkingMissions(settlement);
-			int numThisMission = missionManager.numParticularMissions(DEFAULT_DESCRIPTION, settlement);
 
-	   		// Check for # of embarking missions.
-    		if (Math.max(1, settlement.getNumCitizens() / 8.0) < numEmbarked + numThisMission) {
-    			return 0;
-    		}
-    		
-            try {
-	            // Get available rover.
-	            Rover rover = (Rover) RoverMission.getVehicleWithGreatestRange(BiologyFieldStudy.missionType, settlement, false);
-	            if (rover != null) {
-	
-	                ScienceType biology = ScienceType.BIOLOGY;
-	
-	                // Add probability for researcher's primary study (if any).
-	                ScientificStudy primaryStudy = studyManager.getOngoingPrimaryStudy(person);
-	                if ((primaryStudy != null) && ScientificStudy.RESEARCH_PHASE.equals(primaryStudy.getPhase())) {
-	                    if (!primaryStudy.isPrimaryResearchCompleted()) {
-	                        if (biology == primaryStudy.getScience()) {
-	                            missionProbability += WEIGHT;
-	                        }
-	                    }
-	                }
-	
-	                // Add probability for each study researcher is collaborating on.
-	                Iterator<ScientificStudy> i = studyManager.getOngoingCollaborativeStudies(person).iterator();
-	                while (i.hasNext()) {
-	                    ScientificStudy collabStudy = i.next();
-	                    if (ScientificStudy.RESEARCH_PHASE.equals(collabStudy.getPhase())) {
-	                        if (!collabStudy.isCollaborativeResearchCompleted(person)) {
-	                            if (biology == collabStudy.getCollaborativeResearchers().get(person.getIdentifier())) {
-	                                missionProbability += WEIGHT/2D;
-	                            }
-	                        }
-	                    }
-	                }
-	            }
+            ScienceType biology = ScienceType.BIOLOGY;
+
+            // Start from the base probability of the settlement.
+            missionProbability = 1D;
+
+            // Add probability for researcher's primary study (if any).
+            ScientificStudy primaryStudy = studyManager.getOngoingPrimaryStudy(person);
+            if ((primaryStudy != null) && ScientificStudy.RESEARCH_PHASE.equals(primaryStudy.getPhase())) {
+                if (!primaryStudy.isPrimaryResearchCompleted()) {
+                    if (biology == primaryStudy.getScience()) {
+                        missionProbability += WEIGHT;
+                    }
+                }
             }
-            catch (Exception e) {
-                logger.log(Level.SEVERE, "Error determining rover.", e);
+
+            // Add probability for each study researcher is collaborating on.
+            Iterator<ScientificStudy> i = studyManager.getOngoingCollaborativeStudies(person).iterator();
+            while (i.hasNext()) {
+                ScientificStudy collabStudy = i.next();
+                if (ScientificStudy.RESEARCH_PHASE.equals(collabStudy.getPhase())) {
+                    if (!collabStudy.isCollaborativeResearchCompleted(person)) {
+                        if (biology == collabStudy.getCollaborativeResearchers().get(person.getIdentifier())) {
+                            missionProbability += WEIGHT/2D;
+                        }
+                    }
+                }
             }
 
-            int f1 = 2*numEmbarked + 1;
-			int f2 = 2*numThisMission + 1;
-			
-			missionProbability *= settlement.getNumCitizens() / f1 / f2 / 2D * ( 1 + settlement.getMissionDirectiveModifier(1));
-			
-            // Crowding modifier
-            int crowding = settlement.getIndoorPeopleCount() - settlement.getPopulationCapacity();
-            if (crowding > 0) missionProbability *= (crowding + 1);
+            missionProbability *= settlementProbability;
 
             // Job modifier.
             Job job = person.getMind().getJob();
@@ -144,6 +122,50 @@ public class BiologyFieldStudyMeta implements MetaMission {
         return missionProbability;
     }
 
+    /**
+     * Gets the part of the mission probability that is shared by everybody in a
+     * settlement.
+     * 
+     * @param settlement the settlement.
+     * @return probability, or zero if the mission is not feasible.
+     */
+    public double getSettlementProbability(Settlement settlement) {
+
+        double missionProbability = settlement.getMissionBaseProbability(DEFAULT_DESCRIPTION);
+		if (missionProbability <= 0)
+			return 0;
+
+		int numEmbarked = VehicleMission.numEmbarkingMissions(settlement);
+		int numThisMission = missionManager.numParticularMissions(DEFAULT_DESCRIPTION, settlement);
+
+		// Check for # of embarking missions.
+		if (Math.max(1, settlement.getNumCitizens() / 8.0) < numEmbarked + numThisMission) {
+			return 0;
+		}
+
+        try {
+            // Get available rover.
+            Rover rover = (Rover) RoverMission.getVehicleWithGreatestRange(BiologyFieldStudy.missionType, settlement, false);
+            if (rover == null)
+                return 0;
+        }
+        catch (Exception e) {
+            logger.log(Level.SEVERE, "Error determining rover.", e);
+            return 0;
+        }
+
+		int f1 = 2*numEmbarked + 1;
+		int f2 = 2*numThisMission + 1;
+
+		missionProbability *= settlement.getNumCitizens() / f1 / f2 / 2D * ( 1 + settlement.getMissionDirectiveModifier(1));
+
+        // Crowding modifier
+        int crowding = settlement.getIndoorPeopleCount() - settlement.getPopulationCapacity();
+        if (crowding > 0) missionProbability *= (crowding + 1);
+
+        return missionProbability;
+    }
+
 	@Override
 	public Mission constructInstance(Robot robot) {
 		// TODO Auto-generated method stub
@@ -65,34 +65,9 @@ public class BuildingConstructionMissionMeta implements MetaMission {
         if (person.isInSettlement()) {
             Settlement settlement = person.getSettlement();
 
-            int availablePeopleNum = 0;
-
-            Collection<Person> list = settlement.getIndoorPeople();
-            for (Person member : list) {
-                boolean noMission = !member.getMind().hasActiveMission();
-                boolean isFit = !member.getPhysicalCondition().hasSeriousMedicalProblems();
-                if (noMission && isFit)
-                	availablePeopleNum++;
-            }
-
-            // Check if available light utility vehicles.
-            if (!BuildingConstructionMission.isLUVAvailable(settlement))
-            	return 0;
-
-            // Check if enough available people at settlement for mission.
-            else if (!(availablePeopleNum >= BuildingConstructionMission.MIN_PEOPLE))
-            	return 0;
-
-            // Check if settlement has construction override flag set.
-            else if (settlement.getConstructionOverride())
-            	return 0;
+            if (settlement.getMissionContext().getScore(this, c -> isSettlementFeasible(c) ? 1D : 0D) <= 0)
+                return 0;
 
-            // Check if min number of EVA suits at settlement.
-        	else if (Mission.getNumberAvailableEVASuitsAtSettlement(settlement) <
-                    BuildingConstructionMission.MIN_PEOPLE) {
-        		return 0;
-            }
-            
             try {
                 int constructionSkill = person.getSkillManager().getEffectiveSkillLevel(SkillType.CONSTRUCTION);
                 ConstructionValues values =  settlement.getConstructionManager().getConstructionValues();
@@ -163,12 +138,25 @@ public class BuildingConstructionMissionMeta implements MetaMission {
 
         double result = 0D;
         
-//        if (marsClock == null)
-//        	marsClock = Simulation.instance().getMasterClock().getMarsClock();
-//        
+        if (!isSettlementFeasible(settlement))
+        	return 0;
+            
+        result = getProbability(settlement);
+        
+        return result;
+    }
+
+    /**
+     * Checks if the mission is feasible from a settlement, whoever starts it.
+     * 
+     * @param settlement the settlement.
+     * @return true if feasible.
+     */
+    private boolean isSettlementFeasible(Settlement settlement) {
+
         // No construction until after the x sols of the simulation.
         if (marsClock.getMissionSol() < BuildingConstructionMission.FIRST_AVAILABLE_SOL)
-        	return 0;
+        	return false;
         
         int availablePeopleNum = 0;
 
@@ -182,25 +170,23 @@ public class BuildingConstructionMissionMeta implements MetaMission {
 
         // Check if available light utility vehicles.
         if (!BuildingConstructionMission.isLUVAvailable(settlement))
-        	return 0;
+        	return false;
 
         // Check if enough available people at settlement for mission.
         else if (!(availablePeopleNum >= BuildingConstructionMission.MIN_PEOPLE))
-        	return 0;
+        	return false;
 
         // Check if settlement has construction override flag set.
         else if (settlement.getConstructionOverride())
-        	return 0;
+        	return false;
 
         // Check if min number of EVA suits at settlement.
     	else if (Mission.getNumberAvailableEVASuitsAtSettlement(settlement) <
                 BuildingConstructionMission.MIN_PEOPLE) {
-    		return 0;
+    		return false;
         }
-            
-        result = getProbability(settlement);
-        
-        return result;
+
+        return true;
     }
     
 	@Override
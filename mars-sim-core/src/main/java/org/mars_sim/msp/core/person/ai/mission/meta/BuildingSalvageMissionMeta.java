@@ -65,36 +65,9 @@ public class BuildingSalvageMissionMeta implements MetaMission {
         if (person.isInSettlement()) {
             Settlement settlement = person.getSettlement();
 
-            // Check if settlement has construction override flag set.
-            if (settlement.getConstructionOverride())
-            	return 0;
-
-
-            // Check if available light utility vehicles.
-            else if (!BuildingSalvageMission.isLUVAvailable(settlement))
+            if (settlement.getMissionContext().getScore(this, this::getSettlementProbability) <= 0)
                 return 0;
 
-            // Check if enough available people at settlement for mission.
-            int availablePeopleNum = 0;
-            Iterator<Person> i = settlement.getIndoorPeople().iterator();
-            while (i.hasNext()) {
-                Person member = i.next();
-                boolean noMission = !member.getMind().hasActiveMission();
-                boolean isFit = !member.getPhysicalCondition()
-                        .hasSeriousMedicalProblems();
-                if (noMission && isFit) {
-                    availablePeopleNum++;
-                }
-            }
-
-            if (availablePeopleNum < BuildingSalvageMission.MIN_PEOPLE)
-                return 0;
-
-            // Check if min number of EVA suits at settlement.
-            if (Mission.getNumberAvailableEVASuitsAtSettlement(settlement) < BuildingSalvageMission.MIN_PEOPLE) {
-            	return 0;
-            }
-
             try {
                 int constructionSkill = person.getSkillManager().getEffectiveSkillLevel(SkillType.CONSTRUCTION);
                 SalvageValues values = settlement.getConstructionManager()
@@ -134,6 +107,47 @@ public class BuildingSalvageMissionMeta implements MetaMission {
         return missionProbability;
     }
 
+    /**
+     * Gets the part of the mission probability that is shared by everybody in a
+     * settlement, i.e. whether the mission is feasible from the settlement.
+     * 
+     * @param settlement the settlement.
+     * @return one if the mission is feasible, zero otherwise.
+     */
+    public double getSettlementProbability(Settlement settlement) {
+
+        // Check if settlement has construction override flag set.
+        if (settlement.getConstructionOverride())
+        	return 0;
+
+        // Check if available light utility vehicles.
+        else if (!BuildingSalvageMission.isLUVAvailable(settlement))
+            return 0;
+
+        // Check if enough available people at settlement for mission.
+        int availablePeopleNum = 0;
+        Iterator<Person> i = settlement.getIndoorPeople().iterator();
+        while (i.hasNext()) {
+            Person member = i.next();
+            boolean noMission = !member.getMind().hasActiveMission();
+            boolean isFit = !member.getPhysicalCondition()
+                    .hasSeriousMedicalProblems();
+            if (noMission && isFit) {
+                availablePeopleNum++;
+            }
+        }
+
+        if (availablePeopleNum < BuildingSalvageMission.MIN_PEOPLE)
+            return 0;
+
+        // Check if min number of EVA suits at settlement.
+        if (Mission.getNumberAvailableEVASuitsAtSettlement(settlement) < BuildingSalvageMission.MIN_PEOPLE) {
+        	return 0;
+        }
+
+        return 1D;
+    }
+
 	@Override
 	public Mission constructInstance(Robot robot) {
         return null;//new BuildingSalvageMission(robot);
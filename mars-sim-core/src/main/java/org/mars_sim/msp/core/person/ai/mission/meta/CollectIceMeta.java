@@ -50,27 +50,10 @@ public class CollectIceMeta implements MetaMission {
 
 			Settlement settlement = person.getSettlement();
 
-			missionProbability = settlement.getMissionBaseProbability(DEFAULT_DESCRIPTION) / VALUE;
+			missionProbability = settlement.getMissionContext().getScore(this, this::getSettlementProbability);
     		if (missionProbability <= 0)
     			return 0;
     		
-//			missionProbability = getSettlementProbability(settlement);
-    		int numEmbarked = VehicleMission.numEmbarkingMissions(settlement);
-    		int numThisMission = missionManager.numParticularMissions(DEFAULT_DESCRIPTION, settlement);
-    	
-	   		// Check for # of embarking missions.
-    		if (Math.max(1, settlement.getNumCitizens() / 8.0) < numEmbarked + numThisMission) {
-    			return 0;
-    		}	
-    	
-    		if (numThisMission > 1)
-    			return 0;
-    		
-    		int f1 = 2*numEmbarked + 1;
-    		int f2 = 2*numThisMission + 1;
-    		
-    		missionProbability *= settlement.getNumCitizens() / f1 / f2 / 2D * ( 1 + settlement.getMissionDirectiveModifier(2));
-    		
 			// Job modifier.
 			Job job = person.getMind().getJob();
 			if (job != null) {
@@ -91,9 +74,38 @@ public class CollectIceMeta implements MetaMission {
 			if (missionProbability < 0)
 				missionProbability = 0;
 		}
-		
-//		if (missionProbability > 0)
-//			logger.info("CollectIceMeta's probability : " + Math.round(missionProbability*100D)/100D);
+
+		return missionProbability;
+	}
+
+	/**
+	 * Gets the part of the mission probability that is shared by everybody in a
+	 * settlement.
+	 * 
+	 * @param settlement the settlement.
+	 * @return probability, or zero if the mission is not feasible.
+	 */
+	public double getSettlementProbability(Settlement settlement) {
+
+		double missionProbability = settlement.getMissionBaseProbability(DEFAULT_DESCRIPTION) / VALUE;
+		if (missionProbability <= 0)
+			return 0;
+
+		int numEmbarked = VehicleMission.numEmbarkingMissions(settlement);
+		int numThisMission = missionManager.numParticularMissions(DEFAULT_DESCRIPTION, settlement);
+
+		// Check for # of embarking missions.
+		if (Math.max(1, settlement.getNumCitizens() / 8.0) < numEmbarked + numThisMission) {
+			return 0;
+		}
+
+		if (numThisMission > 1)
+			return 0;
+
+		int f1 = 2*numEmbarked + 1;
+		int f2 = 2*numThisMission + 1;
+
+		missionProbability *= settlement.getNumCitizens() / f1 / f2 / 2D * ( 1 + settlement.getMissionDirectiveModifier(2));
 
 		return missionProbability;
 	}
@@ -50,31 +50,15 @@ public class CollectRegolithMeta implements MetaMission {
 	@Override
 	public double getProbability(Person person) {
 
-		double missionProbability = 0;
+		double missionProbability = 0D;
 
 		if (person.isInSettlement()) {
 
 			Settlement settlement = person.getSettlement();
 
-			missionProbability = settlement.getMissionBaseProbability(DEFAULT_DESCRIPTION) / VALUE;
+			missionProbability = settlement.getMissionContext().getScore(this, this::getSettlementProbability);
     		if (missionProbability <= 0)
     			return 0;
-    	   		
-    		int numEmbarked = VehicleMission.numEmbarkingMissions(settlement);
-    		int numThisMission = missionManager.numParticularMissions(DEFAULT_DESCRIPTION, settlement);
-    	
-	   		// Check for # of embarking missions.
-    		if (Math.max(1, settlement.getNumCitizens() / 8.0) < numEmbarked + numThisMission) {
-    			return 0;
-    		}	
-    	
-    		if (numThisMission > 1)
-    			return 0;
-    		
-    		int f1 = 2*numEmbarked + 1;
-    		int f2 = 2*numThisMission + 1;
-    		
-    		missionProbability *= settlement.getNumCitizens() / f1 / f2 / 2D * ( 1 + settlement.getMissionDirectiveModifier(3));
     		
 			// Job modifier.
 			Job job = person.getMind().getJob();
@@ -83,7 +67,7 @@ public class CollectRegolithMeta implements MetaMission {
 				// If this town has a tourist objective, divided by bonus
 				missionProbability = missionProbability / settlement.getGoodsManager().getTourismFactor();
 			}
-			
+
 			if (missionProbability > LIMIT)
 				missionProbability = LIMIT;
 			
@@ -96,10 +80,38 @@ public class CollectRegolithMeta implements MetaMission {
 			if (missionProbability < 0)
 				missionProbability = 0;
 		}
-		
-//        if (missionProbability > 0)
-//        	logger.info("CollectRegolithMeta's probability : " +
-//				 Math.round(missionProbability*100D)/100D);
+
+		return missionProbability;
+	}
+
+	/**
+	 * Gets the part of the mission probability that is shared by everybody in a
+	 * settlement.
+	 * 
+	 * @param settlement the settlement.
+	 * @return probability, or zero if the mission is not feasible.
+	 */
+	public double getSettlementProbability(Settlement settlement) {
+
+		double missionProbability = settlement.getMissionBaseProbability(DEFAULT_DESCRIPTION) / VALUE;
+		if (missionProbability <= 0)
+			return 0;
+
+		int numEmbarked = VehicleMission.numEmbarkingMissions(settlement);
+		int numThisMission = missionManager.numParticularMissions(DEFAULT_DESCRIPTION, settlement);
+
+		// Check for # of embarking missions.
+		if (Math.max(1, settlement.getNumCitizens() / 8.0) < numEmbarked + numThisMission) {
+			return 0;
+		}
+
+		if (numThisMission > 1)
+			return 0;
+
+		int f1 = 2*numEmbarked + 1;
+		int f2 = 2*numThisMission + 1;
+
+		missionProbability *= settlement.getNumCitizens() / f1 / f2 / 2D * ( 1 + settlement.getMissionDirectiveModifier(3));
 
 		return missionProbability;
 	}
@@ -61,60 +61,11 @@ public class EmergencySupplyMissionMeta implements MetaMission {
 	            jobModifier = job.getStartMissionProbabilityModifier(EmergencySupply.class);
 	        }
 	
-	        // Check if person is in a settlement.
 	        if (jobModifier > 0D) {
 
-	            Rover rover = (Rover) RoverMission.getVehicleWithGreatestRange(EmergencySupply.missionType, settlement, false);
-	            if (rover != null) {
-	                Settlement targetSettlement = EmergencySupply.findSettlementNeedingEmergencySupplies(
-	                        settlement, rover);
-	                if (targetSettlement == null) {
-	                    return 0;
-	                }
-	            }
-	            
-	            int min_num = 0;
-	            int all = settlement.getNumCitizens();
-	            if (all == 2)
-	            	min_num = 0;
-	            else 
-	            	min_num = RoverMission.MIN_STAYING_MEMBERS;
-	    	    
-
-	            if (all == 2)
-	            	min_num = 1;
-	            else
-	            	min_num = RoverMission.MIN_GOING_MEMBERS;
-	    	    
-	            // Check if min number of EVA suits at settlement.
-	            if (Mission.getNumberAvailableEVASuitsAtSettlement(settlement) < min_num) {
-	    	        return 0;
-	    	    }
-	
-	            missionProbability = EmergencySupply.BASE_STARTING_PROBABILITY;
-	
-	    		int numEmbarked = VehicleMission.numEmbarkingMissions(settlement);	
-	    		int numThisMission = missionManager.numParticularMissions(DEFAULT_DESCRIPTION, settlement);
-	    		
-		   		// Check for # of embarking missions.
-	    		if (Math.max(1, settlement.getNumCitizens() / 8.0) < numEmbarked + numThisMission) {
-	    			return 0;
-	    		}	
-	    		
-	    		if (numThisMission > 1)
-	    			return 0;	
-
+	            missionProbability = settlement.getMissionContext().getScore(this, this::getSettlementProbability);
 	    		if (missionProbability <= 0)
 	    			return 0;
-	    		
-	    		int f1 = 2*numEmbarked + 1;
-	    		int f2 = 2*numThisMission + 1;
-	    		
-	    		missionProbability *= settlement.getNumCitizens() / f1 / f2 / 2D;
-	    		
-	            // Crowding modifier.
-	            int crowding = settlement.getIndoorPeopleCount() - settlement.getPopulationCapacity();
-	            if (crowding > 0) missionProbability *= (crowding + 1);
 	
 	            // Job modifier.
 	            missionProbability *= jobModifier;
@@ -130,6 +81,60 @@ public class EmergencySupplyMissionMeta implements MetaMission {
         return missionProbability;
     }
 
+    /**
+     * Gets the part of the mission probability that is shared by everybody in a
+     * settlement.
+     * 
+     * @param settlement the settlement.
+     * @return probability, or zero if the mission is not feasible.
+     */
+    public double getSettlementProbability(Settlement settlement) {
+
+        Rover rover = (Rover) RoverMission.getVehicleWithGreatestRange(EmergencySupply.missionType, settlement, false);
+        if (rover != null) {
+            Settlement targetSettlement = EmergencySupply.findSettlementNeedingEmergencySupplies(
+                    settlement, rover);
+            if (targetSettlement == null) {
+                return 0;
+            }
+        }
+
+        int min_num = 0;
+        if (settlement.getNumCitizens() == 2)
+        	min_num = 1;
+        else
+        	min_num = RoverMission.MIN_GOING_MEMBERS;
+
+        // Check if min number of EVA suits at settlement.
+        if (Mission.getNumberAvailableEVASuitsAtSettlement(settlement) < min_num) {
+	        return 0;
+	    }
+
+        double missionProbability = EmergencySupply.BASE_STARTING_PROBABILITY;
+
+		int numEmbarked = VehicleMission.numEmbarkingMissions(settlement);
+		int numThisMission = missionManager.numParticularMissions(DEFAULT_DESCRIPTION, settlement);
+
+		// Check for # of embarking missions.
+		if (Math.max(1, settlement.getNumCitizens() / 8.0) < numEmbarked + numThisMission) {
+			return 0;
+		}
+
+		if (numThisMission > 1)
+			return 0;
+
+		int f1 = 2*numEmbarked + 1;
+		int f2 = 2*numThisMission + 1;
+
+		missionProbability *= settlement.getNumCitizens() / f1 / f2 / 2D;
+
+        // Crowding modifier.
+        int crowding = settlement.getIndoorPeopleCount() - settlement.getPopulationCapacity();
+        if (crowding > 0) missionProbability *= (crowding + 1);
+
+        return missionProbability;
+    }
+
 	@Override
 	public Mission constructInstance(Robot robot) {
 		// TODO Auto-generated method stub
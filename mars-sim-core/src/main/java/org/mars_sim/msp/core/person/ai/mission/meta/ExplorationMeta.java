@@ -54,50 +54,9 @@ public class ExplorationMeta implements MetaMission {
 
 			Settlement settlement = person.getSettlement();
 			
-			// 1. Check if there are enough specimen containers at the settlement for
-			// collecting rock samples.
-			if (settlement.getInventory().findNumSpecimenBoxes(true, true) < Exploration.REQUIRED_SPECIMEN_CONTAINERS) {
-				return 0;
-			}
-			
-			missionProbability = settlement.getMissionBaseProbability(DEFAULT_DESCRIPTION);
+			missionProbability = settlement.getMissionContext().getScore(this, this::getSettlementProbability);
 	   		if (missionProbability <= 0)
     			return 0;
-	   		
-			int numEmbarked = VehicleMission.numEmbarkingMissions(settlement);
-			int numThisMission = missionManager.numParticularMissions(DEFAULT_DESCRIPTION, settlement);
-	
-//			if (numThisMission > 1)	System.out.println(settlement + "  " + NAME + "'s numThisMission : " + numThisMission);
-//			if (numEmbarked > 1) System.out.println(settlement + "  " + NAME + "'s numEmbarked : " + numEmbarked);
-			
-	   		// Check for # of embarking missions.
-    		if (Math.max(1, settlement.getNumCitizens() / 8.0) < numEmbarked + numThisMission) {
-    			return 0;
-    		}	
-    		
-    		if (numThisMission > 1)
-    			return 0;	
-    		
-    		missionProbability = 0;
-
-			try {
-				// Get available rover.
-				Rover rover = (Rover) RoverMission.getVehicleWithGreatestRange(Exploration.missionType, settlement, false);
-				if (rover != null) {
-					// Check if any mineral locations within rover range and obtain their concentration
-					missionProbability = settlement.getTotalMineralValue(rover) / VALUE;
-					if (missionProbability < 0)
-						missionProbability = 0;
-				}
-				
-			} catch (Exception e) {
-				logger.log(Level.SEVERE, "Error determining mineral locations.", e);
-			}
-
-			int f1 = 2*numEmbarked + 1;
-			int f2 = 2*numThisMission + 1;
-			
-			missionProbability *= settlement.getNumCitizens() / f1 / f2 * ( 1 + settlement.getMissionDirectiveModifier(4));
 			
 			// Job modifier.
 			Job job = person.getMind().getJob();
@@ -127,6 +86,60 @@ public class ExplorationMeta implements MetaMission {
 		return missionProbability;
 	}
 
+	/**
+	 * Gets the part of the mission probability that is shared by everybody in a
+	 * settlement.
+	 * 
+	 * @param settlement the settlement.
+	 * @return probability, or zero if the mission is not feasible.
+	 */
+	public double getSettlementProbability(Settlement settlement) {
+
+		// 1. Check if there are enough specimen containers at the settlement for
+		// collecting rock samples.
+		if (settlement.getInventory().findNumSpecimenBoxes(true, true) < Exploration.REQUIRED_SPECIMEN_CONTAINERS) {
+			return 0;
+		}
+
+		double missionProbability = settlement.getMissionBaseProbability(DEFAULT_DESCRIPTION);
+		if (missionProbability <= 0)
+			return 0;
+
+		int numEmbarked = VehicleMission.numEmbarkingMissions(settlement);
+		int numThisMission = missionManager.numParticularMissions(DEFAULT_DESCRIPTION, settlement);
+
+		// Check for # of embarking missions.
+		if (Math.max(1, settlement.getNumCitizens() / 8.0) < numEmbarked + numThisMission) {
+			return 0;
+		}
+
+		if (numThisMission > 1)
+			return 0;
+
+		missionProbability = 0;
+
+		try {
+			// Get available rover.
+			Rover rover = (Rover) RoverMission.getVehicleWithGreatestRange(Exploration.missionType, settlement, false);
+			if (rover != null) {
+				// Check if any mineral locations within rover range and obtain their concentration
+				missionProbability = settlement.getTotalMineralValue(rover) / VALUE;
+				if (missionProbability < 0)
+					missionProbability = 0;
+			}
+
+		} catch (Exception e) {
+			logger.log(Level.SEVERE, "Error determining mineral locations.", e);
+		}
+
+		int f1 = 2*numEmbarked + 1;
+		int f2 = 2*numThisMission + 1;
+
+		missionProbability *= settlement.getNumCitizens() / f1 / f2 * ( 1 + settlement.getMissionDirectiveModifier(4));
+
+		return missionProbability;
+	}
+
 	@Override
 	public Mission constructInstance(Robot robot) {
 		// TODO Auto-generated method stub
@@ -47,105 +47,10 @@ public class RescueSalvageVehicleMeta implements MetaMission {
 
             Settlement settlement = person.getSettlement();
 
-            Vehicle vehicleTarget = null;
-
-            // Check if there are any beacon vehicles within range that need help.
-            try {
-                Vehicle vehicle = RoverMission.getVehicleWithGreatestRange(RescueSalvageVehicle.missionType, settlement, true);
-                if (vehicle != null) {
-                    vehicleTarget = RescueSalvageVehicle.findBeaconVehicle(settlement,
-                            vehicle.getRange(RescueSalvageVehicle.missionType));
-                    if (vehicle == vehicleTarget)
-                        return 0;
-                    else if (vehicleTarget == null)
-                        return 0;
-                    else if (!RescueSalvageVehicle.isClosestCapableSettlement(settlement, vehicleTarget))
-                        return 0;  
-                    
-                    missionProbability = (1 + RescueSalvageVehicle.BASE_RESCUE_MISSION_WEIGHT)
-                    		* RescueSalvageVehicle.getRescuePeopleNum(vehicleTarget);                  
-                }
-            }
-            catch (Exception e) {
-    			e.printStackTrace();
-    			return 0;
-            }
-
-//            System.out.println("RescueSalvageVehicleMeta - vehicleTarget : " + vehicleTarget.getName()
-//            		+ "   missionProbability 1: " + missionProbability);
-            
-            // Check if available rover.
-            if (!RoverMission.areVehiclesAvailable(settlement, true)) {
-                return 0;
-            }
-    
-            int min_num = 0;
-            int all = settlement.getNumCitizens();
- 
-            if (all <= 3)
-            	min_num = 0;
-            else if (all > 3)	
-            	min_num = RescueSalvageVehicle.MIN_STAYING_MEMBERS;
-    	    
-            // FIXME : need to know how many extra EVA suits needed in the broken vehicle
-            
-//            System.out.println("RescueSalvageVehicleMeta - vehicleTarget : " + vehicleTarget.getName()
-//    		+ "   missionProbability 2: " + missionProbability);
-            
-            // Check if min number of EVA suits at settlement.
-            if (Mission.getNumberAvailableEVASuitsAtSettlement(settlement) < min_num) {
-    	        return 0;
-    	    }
-
-            // Check for embarking missions.
-            else if (!VehicleMission.hasEmbarkingMissions(settlement)) {
-                return missionProbability * 2;
-            }
-   
-            // Check if minimum number of people are available at the settlement.
-            if (!RoverMission.minAvailablePeopleAtSettlement(settlement, min_num)) {
-                return 0;
-            }
-
-            // Check if available backup rover.
-            else if (!RoverMission.hasBackupRover(settlement)) {
+            missionProbability = settlement.getMissionContext().getScore(this, this::getSettlementProbability);
+            if (missionProbability <= 0)
                 return 0;
-            }
 
-//            System.out.println("RescueSalvageVehicleMeta - vehicleTarget : " + vehicleTarget.getName()
-//    		+ "   missionProbability 3: " + missionProbability);
-            
-    		if (missionProbability <= 0)
-    			return 0;
-    		
-			int numEmbarked = VehicleMission.numEmbarkingMissions(settlement);
-			int numThisMission = missionManager.numParticularMissions(DEFAULT_DESCRIPTION, settlement);
-	
-//            System.out.println("RescueSalvageVehicleMeta - vehicleTarget : " + vehicleTarget.getName()
-//    		+ "   missionProbability 4: " + missionProbability);
-            
-	   		// Check for # of embarking missions.
-    		if (Math.max(1, settlement.getNumCitizens() / 8.0) < numThisMission + numEmbarked) {
-    			return 0;
-    		}	
-    		
-    		if (numThisMission > 0)
-    			return 0;	
-
-			int f1 = 2 * numEmbarked + 1;
-			int f2 = numThisMission + 1;
-			
-			missionProbability = (1 + missionProbability) * settlement.getNumCitizens() / f2 / f1;
-			
-            // Crowding modifier.
-            int crowding = settlement.getIndoorPeopleCount() - settlement.getPopulationCapacity();
-            if (crowding > 0) {
-                missionProbability *= (crowding + 1);
-            }
-
-//            System.out.println("RescueSalvageVehicleMeta - vehicleTarget : " + vehicleTarget.getName()
-//    		+ "   missionProbability 5: " + missionProbability);
-            
             // Job modifier.
             Job job = person.getMind().getJob();
             if (job != null) {
@@ -163,6 +68,103 @@ public class RescueSalvageVehicleMeta implements MetaMission {
         return missionProbability;
     }
 
+    /**
+     * Gets the part of the mission probability that is shared by everybody in a
+     * settlement.
+     * 
+     * @param settlement the settlement.
+     * @return probability, or zero if the mission is not feasible.
+     */
+    public double getSettlementProbability(Settlement settlement) {
+
+        double missionProbability = 0D;
+        Vehicle vehicleTarget = null;
+
+        // Check if there are any beacon vehicles within range that need help.
+        try {
+            Vehicle vehicle = RoverMission.getVehicleWithGreatestRange(RescueSalvageVehicle.missionType, settlement, true);
+            if (vehicle != null) {
+                vehicleTarget = RescueSalvageVehicle.findBeaconVehicle(settlement,
+                        vehicle.getRange(RescueSalvageVehicle.missionType));
+                if (vehicle == vehicleTarget)
+                    return 0;
+                else if (vehicleTarget == null)
+                    return 0;
+                else if (!RescueSalvageVehicle.isClosestCapableSettlement(settlement, vehicleTarget))
+                    return 0;  
+                
+                missionProbability = (1 + RescueSalvageVehicle.BASE_RESCUE_MISSION_WEIGHT)
+                		* RescueSalvageVehicle.getRescuePeopleNum(vehicleTarget);                  
+            }
+        }
+        catch (Exception e) {
+            e.printStackTrace();
+            return 0;
+        }
+
+        // Check if available rover.
+        if (!RoverMission.areVehiclesAvailable(settlement, true)) {
+            return 0;
+        }
+
+        int min_num = 0;
+        int all = settlement.getNumCitizens();
+ 
+        if (all <= 3)
+        	min_num = 0;
+        else if (all > 3)	
+        	min_num = RescueSalvageVehicle.MIN_STAYING_MEMBERS;
+	    
+        // FIXME : need to know how many extra EVA suits needed in the broken vehicle
+
+        // Check if min number of EVA suits at settlement.
+        if (Mission.getNumberAvailableEVASuitsAtSettlement(settlement) < min_num) {
+            return 0;
+        }
+
+        // Check for embarking missions.
+        else if (!VehicleMission.hasEmbarkingMissions(settlement)) {
+            return missionProbability * 2;
+        }
+
+        // Check if minimum number of people are available at the settlement.
+        if (!RoverMission.minAvailablePeopleAtSettlement(settlement, min_num)) {
+            return 0;
+        }
+
+        // Check if available backup rover.
+        else if (!RoverMission.hasBackupRover(settlement)) {
+            return 0;
+        }
+
+        if (missionProbability <= 0)
+            return 0;
+
+        int numEmbarked = VehicleMission.numEmbarkingMissions(settlement);
+        int numThisMission = missionManager.numParticularMissions(DEFAULT_DESCRIPTION, settlement);
+
+        // Check for # of embarking missions.
+        if (Math.max(1, settlement.getNumCitizens() / 8.0) < numThisMission + numEmbarked) {
+            return 0;
+        }
+
+        if (numThisMission > 0)
+            return 0;
+
+        int f1 = 2 * numEmbarked + 1;
+        int f2 = numThisMission + 1;
+
+        missionProbability = (1 + missionProbability) * settlement.getNumCitizens() / f2 / f1;
+
+        // Crowding modifier.
+        int crowding = settlement.getIndoorPeopleCount() - settlement.getPopulationCapacity();
+        if (crowding > 0) {
+            missionProbability *= (crowding + 1);
+        }
+
+        return missionProbability;
+    }
+
 	@Override
 	public Mission constructInstance(Robot robot) {
 		// TODO Auto-generated method stub
@@ -0,0 +1,67 @@
+/**
+ * Mars Simulation Project
+ * SettlementMissionContext.java
+ * @version 3.1.1 2026-10-18
+ * @author agent
+ */
+package org.mars_sim.msp.core.person.ai.mission.meta;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+
+import org.mars_sim.msp.core.structure.Settlement;
+
+/**
+ * The settlement-wide part of the mission scores of the people in a settlement,
+ * e.g. whether a rover, fuel and life support are available and how many
+ * missions are already under way. Each meta mission computes its part once,
+ * when first asked for, and then shares it with everybody in the settlement,
+ * who only apply their own modifiers on top. The settlement drops its context
+ * every few millisols and whenever one of its missions starts or ends.
+ */
+public final class SettlementMissionContext {
+
+	/** The settlement. */
+	private final Settlement settlement;
+	/** The settlement-wide part of the mission scores, keyed by meta mission. */
+	private final Map<MetaMission, Double> scores = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructor.
+	 *
+	 * @param settlement the settlement.
+	 */
+	public SettlementMissionContext(Settlement settlement) {
+		this.settlement = settlement;
+	}
+
+	/**
+	 * Gets the settlement.
+	 *
+	 * @return settlement.
+	 */
+	public Settlement getSettlement() {
+		return settlement;
+	}
+
+	/**
+	 * Gets the settlement-wide part of a mission score, computing it on the first
+	 * call. A score of zero means that the mission is not feasible from the
+	 * settlement.
+	 *
+	 * @param metaMission the meta mission.
+	 * @param scorer      computes the score for the settlement.
+	 * @return the score.
+	 */
+	public double getScore(MetaMission metaMission, ToDoubleFunction<Settlement> scorer) {
+		Double score = scores.get(metaMission);
+		if (score == null) {
+			score = scorer.applyAsDouble(settlement);
+			Double previous = scores.putIfAbsent(metaMission, score);
+			if (previous != null)
+				score = previous;
+		}
+		return score;
+	}
+}
@@ -16,12 +16,10 @@ import org.mars_sim.msp.core.person.ai.job.Trader;
 import org.mars_sim.msp.core.person.ai.mission.Mission;
 import org.mars_sim.msp.core.person.ai.mission.RoverMission;
 import org.mars_sim.msp.core.person.ai.mission.Trade;
-import org.mars_sim.msp.core.person.ai.mission.Trade.TradeProfitInfo;
 import org.mars_sim.msp.core.person.ai.mission.TradeUtil;
 import org.mars_sim.msp.core.person.ai.mission.VehicleMission;
 import org.mars_sim.msp.core.robot.Robot;
 import org.mars_sim.msp.core.structure.Settlement;
-import org.mars_sim.msp.core.time.MarsClock;
 import org.mars_sim.msp.core.vehicle.Rover;
 
 /**
@@ -37,9 +35,6 @@ public class TradeMeta implements MetaMission {
 
 //    private static final double LIMIT = 50D;
     
-	private Person person;
-	private Robot robot;
-
 	@Override
 	public String getName() {
 		return DEFAULT_DESCRIPTION;
@@ -66,7 +61,7 @@ public class TradeMeta implements MetaMission {
 					// TODO: checkMission() gives rise to a NULLPOINTEREXCEPTION that points to
 					// Inventory
 					// It happens only when this sim is a loaded saved sim.
-					missionProbability = getSettlementProbability(settlement);
+					missionProbability = settlement.getMissionContext().getScore(this, this::getSettlementProbability);
 
 				} catch (Exception e) {
 					logger.log(Level.SEVERE,
@@ -82,27 +77,7 @@ public class TradeMeta implements MetaMission {
 			
     		if (missionProbability <= 0)
     			return 0;
-    		
-			int numEmbarked = VehicleMission.numEmbarkingMissions(settlement);
-			int numThisMission = Simulation.instance().getMissionManager().numParticularMissions(DEFAULT_DESCRIPTION, settlement);
-	
-	   		// Check for # of embarking missions.
-    		if (Math.max(1, settlement.getNumCitizens()) / 8.0 < numEmbarked + numThisMission) {
-    			return 0;
-    		}		
-    		
-    		if (numThisMission > 1)
-    			return 0;	
-    		
-
-			int f1 = 2*numEmbarked + 1;
-			int f2 = 2*numThisMission + 1;
-			
-			missionProbability *= settlement.getNumCitizens() / f1 / f2 / 2D * ( 1 + settlement.getMissionDirectiveModifier(7));
-		
-			if (missionProbability > Trade.MAX_STARTING_PROBABILITY)
-				missionProbability = Trade.MAX_STARTING_PROBABILITY;
-			
+
 			// if introvert, score  0 to  50 --> -2 to 0
 			// if extrovert, score 50 to 100 -->  0 to 2
 			// Reduce probability if introvert
@@ -131,6 +106,13 @@ public class TradeMeta implements MetaMission {
 		return 0;
 	}
 
+	/**
+	 * Gets the part of the mission probability that is shared by everybody in a
+	 * settlement.
+	 * 
+	 * @param settlement the settlement.
+	 * @return probability, or zero if the mission is not feasible.
+	 */
 	public double getSettlementProbability(Settlement settlement) {
 
 		double missionProbability = settlement.getMissionBaseProbability(DEFAULT_DESCRIPTION);
@@ -145,41 +127,12 @@ public class TradeMeta implements MetaMission {
 		try {
 			Rover rover = (Rover) RoverMission.getVehicleWithGreatestRange(Trade.missionType, settlement, false);
 			if (rover != null) {
-				// Only check every couple of Sols, else use cache.
-				// Note: this method is very CPU intensive.
-				boolean useCache = false;
-
-				if (Trade.TRADE_PROFIT_CACHE.containsKey(settlement)) {
-					TradeProfitInfo profitInfo = Trade.TRADE_PROFIT_CACHE.get(settlement);
-					double timeDiff = MarsClock.getTimeDiff(marsClock, profitInfo.time);
-					if (timeDiff < 2000D) {
-						tradeProfit = profitInfo.profit;
-						useCache = true;
-					}
-				} else {
-					Trade.TRADE_PROFIT_CACHE.put(settlement,
-							new TradeProfitInfo(tradeProfit, (MarsClock) marsClock.clone()));
-					useCache = true;
-				}
-
-				if (!useCache) {
-//					double startTime = System.currentTimeMillis();
-					tradeProfit = TradeUtil.getBestTradeProfit(settlement, rover);
-//					double endTime = System.currentTimeMillis();
-//					logger.info("[" + settlement.getName() + "] " // getBestTradeProfit: " + (endTime - startTime)
-//					// + " milliseconds "
-//							+ " Profit: " + (int) tradeProfit + " VP");
-					Trade.TRADE_PROFIT_CACHE.put(settlement,
-							new TradeProfitInfo(tradeProfit, (MarsClock) marsClock.clone()));
-					Trade.TRADE_SETTLEMENT_CACHE.put(settlement, TradeUtil.bestTradeSettlementCache);
-				}
+				// Only the trading settlements whose goods values or credit have
+				// changed are estimated again.
+				tradeProfit = TradeUtil.getBestTradeProfit(settlement, rover);
 			}
 		} catch (Exception e) {
-			if (person != null)
-				logger.log(Level.SEVERE, person + "can't find vehicles at settlement.", e);
-			else if (robot != null)
-				logger.log(Level.SEVERE, robot + "can't find vehicles at settlement.", e);
-			e.printStackTrace();
+			logger.log(Level.SEVERE, "Can't find vehicles at " + settlement + ".", e);
 		}
 
 		// Determine mission probability.
@@ -213,6 +166,19 @@ public class TradeMeta implements MetaMission {
 			missionProbability *= (crowding + 1);
 		}
 
+		if (missionProbability <= 0)
+			return 0;
+
+		// Check for # of embarking missions.
+		if (Math.max(1, settlement.getNumCitizens()) / 8.0 < numEmbarked + numThisMission) {
+			return 0;
+		}
+
+		missionProbability *= settlement.getNumCitizens() / f1 / f2 / 2D * ( 1 + settlement.getMissionDirectiveModifier(7));
+
+		if (missionProbability > Trade.MAX_STARTING_PROBABILITY)
+			missionProbability = Trade.MAX_STARTING_PROBABILITY;
+
 		return missionProbability;
 	}
 
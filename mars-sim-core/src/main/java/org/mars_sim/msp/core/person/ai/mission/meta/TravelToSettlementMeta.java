@@ -104,12 +104,10 @@ public class TravelToSettlementMeta implements MetaMission {
     	Person person = null;
     	Robot robot = null;
 
-        double missionProbability = settlement.getMissionBaseProbability(DEFAULT_DESCRIPTION);
-		if (missionProbability == 0)
+        double settlementProbability = settlement.getMissionContext().getScore(this, this::getSettlementProbability);
+		if (settlementProbability <= 0)
 			return 0;
 		
-		missionProbability = 0;
-		
         // Check if there are any desirable settlements within range.
         double topSettlementDesirability = 0D;
         Vehicle vehicle = RoverMission.getVehicleWithGreatestRange(TravelToSettlement.missionType, settlement, false);
@@ -144,13 +142,31 @@ public class TravelToSettlementMeta implements MetaMission {
 
         // Determine mission probability.
 
-        missionProbability = TravelToSettlement.BASE_MISSION_WEIGHT
+        double missionProbability = TravelToSettlement.BASE_MISSION_WEIGHT
                 + (topSettlementDesirability / 100D);
 
+        missionProbability *= settlementProbability;
+
+        return missionProbability;
+    }
+
+    /**
+     * Gets the part of the mission probability that is shared by everybody in a
+     * settlement.
+     * 
+     * @param settlement the settlement.
+     * @return probability, or zero if the mission is not feasible.
+     */
+    public double getSettlementProbability(Settlement settlement) {
+
+        double missionProbability = settlement.getMissionBaseProbability(DEFAULT_DESCRIPTION);
+		if (missionProbability == 0)
+			return 0;
+
 		int numEmbarked = VehicleMission.numEmbarkingMissions(settlement);
 		int numThisMission = Simulation.instance().getMissionManager().numParticularMissions(DEFAULT_DESCRIPTION, settlement);
 
-   		// Check for # of embarking missions.
+		// Check for # of embarking missions.
 		if (Math.max(1, settlement.getNumCitizens() / 8.0) < numEmbarked + numThisMission) {
 			return 0;
 		}			
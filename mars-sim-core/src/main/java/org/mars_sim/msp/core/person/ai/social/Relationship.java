@@ -131,7 +131,7 @@ public class Relationship implements Serializable {
 	 * @throws IllegalArgumentException if person is not one of the two people in
 	 *                                  the relationship.
 	 */
-	public double getPersonOpinion(Person person) throws IllegalArgumentException {
+	public synchronized double getPersonOpinion(Person person) throws IllegalArgumentException {
 		if (person.getIdentifier() == person1)
 			return person1Opinion;
 		else if (person.getIdentifier() == person2)
@@ -149,7 +149,7 @@ public class Relationship implements Serializable {
 	 * @throws IllegalArgumentException if person is not one of the two people in
 	 *                                  the relationship.
 	 */
-	public void setPersonOpinion(Person person, double opinion) throws IllegalArgumentException {
+	public synchronized void setPersonOpinion(Person person, double opinion) throws IllegalArgumentException {
 		if (person.getIdentifier() == person1)
 			setPerson1Opinion(opinion);
 		else if (person.getIdentifier() == person2)
@@ -42,7 +42,8 @@ import com.phoenixst.plexus.Traverser;
  * The RelationshipManager class keeps track of all the social relationships
  * between people.<br/>
  * <br/>
- * The simulation instance has only one relationship manager.
+ * The simulation instance has only one relationship manager. People meet
+ * across settlements ticked in parallel, so the graph is guarded by the manager.
  */
 public class RelationshipManager implements Serializable {
 
@@ -117,7 +118,7 @@ public class RelationshipManager implements Serializable {
 	 * @param initialGroup the group that this person has existing relationships
 	 *                     with.
 	 */
-	private void addPerson(Person person, Collection<Person> initialGroup) {
+	private synchronized void addPerson(Person person, Collection<Person> initialGroup) {
 		if ((person == null) || (initialGroup == null))
 			throw new IllegalArgumentException("RelationshipManager.addPerson(): null parameter.");
 	
@@ -146,7 +147,7 @@ public class RelationshipManager implements Serializable {
 	 * @param relationshipType the type of relationship (see Relationship static
 	 *                         members)
 	 */
-	public void addRelationship(Person person1, Person person2, String relationshipType) {
+	public synchronized void addRelationship(Person person1, Person person2, String relationshipType) {
 		try {
 			Relationship relationship = new Relationship(person1, person2, relationshipType);
 //			if (relationshipType.equals(Relationship.EXISTING_RELATIONSHIP))
@@ -167,7 +168,7 @@ public class RelationshipManager implements Serializable {
 	 * @param person2 the second person (order isn't important)
 	 * @return true if the two people have a relationship
 	 */
-	public boolean hasRelationship(Person person1, Person person2) {
+	public synchronized boolean hasRelationship(Person person1, Person person2) {
 		EdgePredicate edgePredicate = EdgePredicateFactory.createEqualsNodes(person1.getIdentifier(), person2.getIdentifier(),
 				GraphUtils.UNDIRECTED_MASK);
 		return (relationshipGraph.getEdge(edgePredicate) != null);
@@ -180,7 +181,7 @@ public class RelationshipManager implements Serializable {
 	 * @param person2 the second person (order isn't important)
 	 * @return the relationship or null if none.
 	 */
-	public Relationship getRelationship(Person person1, Person person2) {
+	public synchronized Relationship getRelationship(Person person1, Person person2) {
 		Relationship result = null;
 		if (hasRelationship(person1, person2)) {
 			EdgePredicate edgePredicate = EdgePredicateFactory.createEqualsNodes(person1.getIdentifier(), person2.getIdentifier(),
@@ -196,7 +197,7 @@ public class RelationshipManager implements Serializable {
 	 * @param person the person
 	 * @return a list of the person's Relationship objects.
 	 */
-	public List<Relationship> getAllRelationships(Person person) {
+	public synchronized List<Relationship> getAllRelationships(Person person) {
 //		if (allRelationshipList == null) {
 		 List<Relationship> allRelationshipList = new ArrayList<Relationship>();
 			Traverser traverser = relationshipGraph.traverser(person.getIdentifier(), GraphUtils.UNDIRECTED_TRAVERSER_PREDICATE);
@@ -215,7 +216,7 @@ public class RelationshipManager implements Serializable {
 	 * @param person the person
 	 * @return a list of the people the person knows.
 	 */
-	public Collection<Person> getAllKnownPeople(Person person) {
+	public synchronized Collection<Person> getAllKnownPeople(Person person) {
 		Collection<Person> result = new ConcurrentLinkedQueue<Person>();
 		Traverser traverser = relationshipGraph.traverser(person.getIdentifier(), GraphUtils.UNDIRECTED_TRAVERSER_PREDICATE);
 		while (traverser.hasNext()) {
@@ -83,7 +83,7 @@ public class EnterAirlock extends Task implements Serializable {
 		super(NAME, person, false, false, STRESS_MODIFIER, false, 0D);
 		this.airlock = airlock;
 		LogConsolidated.log(Level.FINER, 0, sourceName, 
-				"[" + person.getLocationTag().getLocale() + "] " + person.getName() 
+				() -> "[" + person.getLocationTag().getLocale() + "] " + person.getName() 
 				+ " was starting to enter " + airlock.getEntityName());
 		// Initialize data members
 		setDescription(Msg.getString("Task.description.enterAirlock.detail", airlock.getEntityName())); // $NON-NLS-1$
@@ -134,7 +134,7 @@ public class EnterAirlock extends Task implements Serializable {
 
 		// Waiting to enter. But not allowed to enter yet.
 		LogConsolidated.log(Level.FINER, 0, sourceName, 
-				"[" + person.getLocationTag().getLocale() + "] " + person.getName() + 
+				() -> "[" + person.getLocationTag().getLocale() + "] " + person.getName() + 
 				" was waiting to enter airlock from " + person.getLocationTag().getImmediateLocation());
 		
 		if (!person.isOutside()) {
@@ -207,14 +207,14 @@ public class EnterAirlock extends Task implements Serializable {
 		}
 
 		LogConsolidated.log(Level.FINER, 0, sourceName, 
-				"[" + person.getLocationTag().getLocale() + "] " + person.getName() + 
+				() -> "[" + person.getLocationTag().getLocale() + "] " + person.getName() + 
 				" was in the entering airlock phase and about to enter the airlock from outside.");
 		
 		Point2D personLocation = new Point2D.Double(person.getXLocation(), person.getYLocation());
 
 		if (airlock.inAirlock(person)) {
 			LogConsolidated.log(Level.FINER, 0, sourceName, 
-					"[" + person.getLocationTag().getLocale() + "] " + person.getName() + 
+					() -> "[" + person.getLocationTag().getLocale() + "] " + person.getName() + 
 					" was found inside the airlock. Proceed to waiting inside the airlock phase.");
 			setPhase(WAITING_INSIDE_AIRLOCK);
 		} 
@@ -238,7 +238,7 @@ public class EnterAirlock extends Task implements Serializable {
 					airlock.activateAirlock(person);
 				}
 				LogConsolidated.log(Level.FINER, 0, sourceName, 
-						"[" + person.getLocationTag().getLocale() + "] " + person.getName() + 
+						() -> "[" + person.getLocationTag().getLocale() + "] " + person.getName() + 
 						" had entered the airlock in " + person.getLocationTag().getImmediateLocation()
 						+ " Proceed to waiting inside the airlock phase.");
 
@@ -299,7 +299,7 @@ public class EnterAirlock extends Task implements Serializable {
 
 		// waiting inside
 		LogConsolidated.log(Level.FINER, 0, sourceName,
-				"[" + person.getLocationTag().getLocale() + "] "
+				() -> "[" + person.getLocationTag().getLocale() + "] "
   						+ person + " was waiting inside airlock " + airlock.getEntityName());
 		
 
@@ -341,7 +341,7 @@ public class EnterAirlock extends Task implements Serializable {
 		else {
 			// at this point, the person should have already been 'stored' into the settlement's inventory. 
 			LogConsolidated.log(Level.FINER, 0, sourceName, 
-					"[" + person.getLocationTag().getLocale() + "] " + person.getName() 
+					() -> "[" + person.getLocationTag().getLocale() + "] " + person.getName() 
 					+ " was in " + person.getLocationTag().getImmediateLocation() + 
 					" and was exiting the airlock.");
 			
@@ -370,14 +370,14 @@ public class EnterAirlock extends Task implements Serializable {
 
 		// logger.finer(person + " exiting airlock inside.");
 		LogConsolidated.log(Level.FINER, 0, sourceName, 
-				"[" + person.getLocationTag().getLocale() + "] " + person.getName() 
+				() -> "[" + person.getLocationTag().getLocale() + "] " + person.getName() 
 				+ " was about to opening the inner door of an airlock.");
 
 		Point2D personLocation = new Point2D.Double(person.getXLocation(), person.getYLocation());
 		
 		if (LocalAreaUtil.areLocationsClose(personLocation, interiorAirlockPos)) {
 			LogConsolidated.log(Level.FINER, 0, sourceName, 
-					"[" + person.getLocationTag().getLocale() + "] " + person.getName() 
+					() -> "[" + person.getLocationTag().getLocale() + "] " + person.getName() 
 					+ " was going to store the EVA suit.");
 
 			setPhase(STORING_EVA_SUIT);
@@ -394,7 +394,7 @@ public class EnterAirlock extends Task implements Serializable {
 					Building startBuilding = BuildingManager.getBuilding(person);
 					if (startBuilding != null) {
 						LogConsolidated.log(Level.FINER, 0, sourceName, 
-								"[" + person.getLocationTag().getLocale() + "] " + person.getName() 
+								() -> "[" + person.getLocationTag().getLocale() + "] " + person.getName() 
 								+ " was walking from " + startBuilding + " toward the outer door of the airlock at " + airlockBuilding);
 						addSubTask(new WalkSettlementInterior(person, airlockBuilding, interiorAirlockPos.getX(),
 								interiorAirlockPos.getY(), 0));
@@ -416,7 +416,7 @@ public class EnterAirlock extends Task implements Serializable {
 
 				Rover airlockRover = (Rover) airlock.getEntity();
 				LogConsolidated.log(Level.FINER, 0, sourceName, 
-						"[" + person.getLocationTag().getLocale() + "] " + person.getName() 
+						() -> "[" + person.getLocationTag().getLocale() + "] " + person.getName() 
 						+ " was walking to an airlock in " + airlockRover);
 				addSubTask(new WalkRoverInterior(person, airlockRover, interiorAirlockPos.getX(),
 						interiorAirlockPos.getY()));
@@ -462,7 +462,7 @@ public class EnterAirlock extends Task implements Serializable {
 			else {
 				// Empty the EVA suit
 				LogConsolidated.log(Level.FINER, 0, sourceName, 
-						"[" + person.getLocationTag().getLocale() + "] " + person.getName() 
+						() -> "[" + person.getLocationTag().getLocale() + "] " + person.getName() 
 						+ " was going to retrieve the O2 and H2O in " + suit.getName());
 	
 				Inventory entityInv = airlock.getEntityInventory();
@@ -514,7 +514,7 @@ public class EnterAirlock extends Task implements Serializable {
 			
 					// Return suit to entity's inventory.
 					LogConsolidated.log(Level.FINER, 0, sourceName, 
-							"[" + person.getLocationTag().getLocale() + "] " + person.getName() 
+							() -> "[" + person.getLocationTag().getLocale() + "] " + person.getName() 
 							+ " in " + person.getLocationTag().getImmediateLocation() 
 							+ " had just stowed away "  + suit.getName() + ".");
 					
@@ -573,7 +573,7 @@ public class EnterAirlock extends Task implements Serializable {
 
 		if (person.isInside()) {
 			LogConsolidated.log(Level.FINER, 0, sourceName, 
-					"[" + person.getLocationTag().getLocale() + "] " + person.getName() 
+					() -> "[" + person.getLocationTag().getLocale() + "] " + person.getName() 
 					+ " could not enter airlock to " + airlock.getEntityName()
 					+ " due to not being outside.");
 			result = false;
@@ -103,7 +103,7 @@ public class ExitAirlock extends Task implements Serializable {
 		init();
 
 		LogConsolidated.log(Level.FINER, 0, sourceName, 
-				"[" + person.getLocationTag().getLocale() + "] " + person.getName() 
+				() -> "[" + person.getLocationTag().getLocale() + "] " + person.getName() 
 				+ " would be undergoing the procedure of exiting the airlock in " + airlock.getEntityName());
 	}
 
@@ -219,7 +219,7 @@ public class ExitAirlock extends Task implements Serializable {
 
 		// Waiting to enter but not allowed to enter yet
 		LogConsolidated.log(Level.FINER, 0, sourceName, 
-				"[" + person.getLocationTag().getLocale() + "] " + person.getName() + " in " 
+				() -> "[" + person.getLocationTag().getLocale() + "] " + person.getName() + " in " 
 						+ person.getLocationTag().getImmediateLocation() + " was waiting to enter the airlock.");
 
 		// If person is already outside, change to exit airlock phase.
@@ -286,14 +286,14 @@ public class ExitAirlock extends Task implements Serializable {
 		}
 
 		LogConsolidated.log(Level.FINER, 0, sourceName, 
-				"[" + person.getLocationTag().getLocale() + "] " + person.getName() + 
+				() -> "[" + person.getLocationTag().getLocale() + "] " + person.getName() + 
 				" was about to enter airlock.");
 		
 		Point2D personLocation = new Point2D.Double(person.getXLocation(), person.getYLocation());
 
 		if (airlock.inAirlock(person)) {
 			LogConsolidated.log(Level.FINER, 0, sourceName, 
-					"[" + person.getLocationTag().getLocale() + "] " + person.getName() + 
+					() -> "[" + person.getLocationTag().getLocale() + "] " + person.getName() + 
 					" was about to enter airlock, but found already in airlock.");
 			setPhase(WAITING_INSIDE_AIRLOCK);
 		} else if (person.isOutside()) {
@@ -305,7 +305,7 @@ public class ExitAirlock extends Task implements Serializable {
 			
 		} else if (LocalAreaUtil.areLocationsClose(personLocation, insideAirlockPos)) {
 			LogConsolidated.log(Level.FINER, 0, sourceName, 
-					"[" + person.getLocationTag().getLocale() + "] " + person.getName()
+					() -> "[" + person.getLocationTag().getLocale() + "] " + person.getName()
 					+ " has arrived at an airlock and ready to enter.");
 
 			// Enter airlock.
@@ -316,7 +316,7 @@ public class ExitAirlock extends Task implements Serializable {
 					airlock.activateAirlock(person);
 				}
 				LogConsolidated.log(Level.FINER, 0, sourceName, 
-						"[" + person.getLocationTag().getLocale() + "] " + person.getName()
+						() -> "[" + person.getLocationTag().getLocale() + "] " + person.getName()
 						+ " was waiting inside the airlock.");
 				
 				setPhase(WAITING_INSIDE_AIRLOCK);
@@ -359,7 +359,7 @@ public class ExitAirlock extends Task implements Serializable {
 					double distance = Point2D.distance(person.getXLocation(), person.getYLocation(),
 							insideAirlockPos.getX(), insideAirlockPos.getY());
 					LogConsolidated.log(Level.FINER, 0, sourceName, 
-							"[" + person.getLocationTag().getLocale() + "] " + person.getName()
+							() -> "[" + person.getLocationTag().getLocale() + "] " + person.getName()
 							+ " was walking toward an airlock within a distance of " + distance);
 					
 					Building airlockBuilding = (Building) airlock.getEntity();
@@ -407,7 +407,7 @@ public class ExitAirlock extends Task implements Serializable {
 					// If airlock has not been activated, activate it.
 					if (!airlock.isActivated()) {
 						LogConsolidated.log(Level.FINER, 0, sourceName, 
-								"[" + person.getLocationTag().getLocale() + "] " + person.getName() + 
+								() -> "[" + person.getLocationTag().getLocale() + "] " + person.getName() + 
 								" was the operator activating the airlock.");
 						airlock.activateAirlock(person);
 					}
@@ -433,7 +433,7 @@ public class ExitAirlock extends Task implements Serializable {
 				else {
 					// If person is not airlock operator, just wait.
 					LogConsolidated.log(Level.FINER, 0, sourceName, 
-							"[" + person.getLocationTag().getLocale() + "] " + person.getName() + 
+							() -> "[" + person.getLocationTag().getLocale() + "] " + person.getName() + 
 							" was not the operator and waiting inside an airlock for the completion of the air cycle.");
 					remainingTime = 0D;
 				}
@@ -442,7 +442,7 @@ public class ExitAirlock extends Task implements Serializable {
 			else {
 				// at this point, the person should have already been 'retrieved' from the settlement's inventory. 
 				LogConsolidated.log(Level.FINER, 0, sourceName, 
-						"[" + person.getLocationTag().getLocale() + "] " + person.getName() 
+						() -> "[" + person.getLocationTag().getLocale() + "] " + person.getName() 
 						+ " was in " + person.getLocationTag().getImmediateLocation()
 						+ " and was exiting the airlock.");
 				
@@ -467,7 +467,7 @@ public class ExitAirlock extends Task implements Serializable {
 		double remainingTime = time;
 
 		LogConsolidated.log(Level.FINER, 0, sourceName,
-				"[" + person.getLocationTag().getLocale() + "] " + person 
+				() -> "[" + person.getLocationTag().getLocale() + "] " + person 
 				+ " was about to open the outer door of the airlock going outside.");
 		
 		if (person.isInside()) {
@@ -488,7 +488,7 @@ public class ExitAirlock extends Task implements Serializable {
 			Point2D personLocation = new Point2D.Double(person.getXLocation(), person.getYLocation());
 			if (LocalAreaUtil.areLocationsClose(personLocation, exteriorAirlockPos)) {
 				LogConsolidated.log(Level.FINER, 0, sourceName,
-						"[" + person.getLocationTag().getLocale() + "] " + person + " had just left the airlock and going outside.");
+						() -> "[" + person.getLocationTag().getLocale() + "] " + person + " had just left the airlock and going outside.");
 				endTask();
 			}
 
@@ -855,7 +855,7 @@ public class ExitAirlock extends Task implements Serializable {
 
 			// Return suit to entity's inventory.
 			LogConsolidated.log(Level.FINER, 0, sourceName, 
-					"[" + person.getLocationTag().getLocale() + "] " + person.getName() 
+					() -> "[" + person.getLocationTag().getLocale() + "] " + person.getName() 
 					+ " in " + person.getLocationTag().getImmediateLocation() + " loaded up "  + suit.getName() + ".");
 		}
 	}
@@ -490,7 +490,7 @@ public class Maintenance extends Task implements Serializable {
 	 * @return true if enough parts.
 	 * @throws Exception if error checking parts availability.
 	 */
-	static boolean hasMaintenanceParts(Inventory inv, Malfunctionable malfunctionable) {
+	public static boolean hasMaintenanceParts(Inventory inv, Malfunctionable malfunctionable) {
 		boolean result = true;
 
 		Map<Integer, Integer> parts = malfunctionable.getMalfunctionManager().getMaintenanceParts();
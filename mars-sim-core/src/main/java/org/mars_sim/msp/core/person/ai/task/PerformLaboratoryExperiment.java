@@ -266,10 +266,7 @@ implements ResearchScientificStudy, Serializable {
     private static Lab getSettlementLab(Person person, ScienceType science) {
         Lab result = null;
 
-        BuildingManager manager = person.getSettlement().getBuildingManager();
-        List<Building> labBuildings = manager.getBuildings(FunctionType.RESEARCH);
-        labBuildings = getSettlementLabsWithSpecialty(science, labBuildings);
-        labBuildings = BuildingManager.getNonMalfunctioningBuildings(labBuildings);
+        List<Building> labBuildings = person.getSettlement().getTaskContext().getLabs(science);
         labBuildings = getSettlementLabsWithAvailableSpace(labBuildings);
         labBuildings = BuildingManager.getLeastCrowdedBuildings(labBuildings);
 
@@ -304,30 +301,6 @@ implements ResearchScientificStudy, Serializable {
         return result;
     }
 
-    /**
-     * Gets a list of research buildings with a given science specialty from a list of
-     * buildings with the research function.
-     * @param science the science specialty.
-     * @param buildingList list of buildings with research function.
-     * @return research buildings with science specialty.
-     * @throws BuildingException if building list contains buildings without research function.
-     */
-    private static List<Building> getSettlementLabsWithSpecialty(ScienceType science,
-            List<Building> buildingList) {
-        List<Building> result = new ArrayList<Building>();
-
-        Iterator<Building> i = buildingList.iterator();
-        while (i.hasNext()) {
-            Building building = i.next();
-            Research lab = (Research) building.getFunction(FunctionType.RESEARCH);
-            if (lab.hasSpecialty(science)) {
-                result.add(building);
-            }
-        }
-
-        return result;
-    }
-
     /**
      * Gets an available lab in a vehicle.
      * Returns null if no lab is currently available.
@@ -218,10 +218,7 @@ implements ResearchScientificStudy, Serializable {
     private static Lab getSettlementLab(Person person) {
         Lab result = null;
 
-        //BuildingManager manager = person.getSettlement().getBuildingManager();
-        List<Building> labBuildings = person.getSettlement().getBuildingManager().getBuildings(FunctionType.RESEARCH);
-        labBuildings = getSettlementLabsWithMathematicsSpeciality(labBuildings);
-        labBuildings = BuildingManager.getNonMalfunctioningBuildings(labBuildings);
+        List<Building> labBuildings = person.getSettlement().getTaskContext().getLabs(ScienceType.MATHEMATICS);
         labBuildings = getSettlementLabsWithAvailableSpace(labBuildings);
         labBuildings = BuildingManager.getLeastCrowdedBuildings(labBuildings);
 
@@ -255,28 +252,6 @@ implements ResearchScientificStudy, Serializable {
         return result;
     }
 
-    /**
-     * Gets a list of research buildings with mathematics specialty from a list of
-     * buildings with the research function.
-     * @param buildingList list of buildings with research function.
-     * @return research buildings with mathematics specialty.
-     */
-    private static List<Building> getSettlementLabsWithMathematicsSpeciality(
-            List<Building> buildingList) {
-        List<Building> result = new ArrayList<Building>();
-
-        //ScienceType mathematics = ScienceType.MATHEMATICS;
-
-        for (Building building : buildingList) {
-            Research lab = building.getResearch();
-            if (lab.hasSpecialty(mathematics)) {
-                result.add(building);
-            }
-        }
-
-        return result;
-    }
-
     /**
      * Gets an available lab in a vehicle.
      * Returns null if no lab is currently available.
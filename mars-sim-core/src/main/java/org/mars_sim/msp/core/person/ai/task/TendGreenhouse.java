@@ -479,18 +479,16 @@ public class TendGreenhouse extends Task implements Serializable {
 		Building result = null;
 		Person person = null;
 		Robot robot = null;
-		BuildingManager buildingManager;
 
 		if (unit instanceof Person) {
 			person = (Person) unit;
 			if (person.isInSettlement()) {
-				buildingManager = person.getSettlement().getBuildingManager();
 				// List<Building> farmBuildings =
 				// buildingManager.getBuildings(BuildingFunction.FARMING);
 				// farmBuildings = BuildingManager.getNonMalfunctioningBuildings(farmBuildings);
 				// farmBuildings = BuildingManager.getFarmsNeedingWork(farmBuildings);
 				// farmBuildings = BuildingManager.getLeastCrowdedBuildings(farmBuildings);
-				List<Building> farmBuildings = buildingManager.getFarmsNeedingWork();
+				List<Building> farmBuildings = person.getSettlement().getTaskContext().getFarmsNeedingWork();
 
 				if (farmBuildings != null) {
 					if (!farmBuildings.isEmpty()) {
@@ -507,8 +505,7 @@ public class TendGreenhouse extends Task implements Serializable {
 		else if (unit instanceof Robot) {
 			robot = (Robot) unit;
 			if (robot.isInSettlement()) {
-				buildingManager = robot.getSettlement().getBuildingManager();
-				List<Building> farmBuildings = buildingManager.getFarmsNeedingWork();
+				List<Building> farmBuildings = robot.getSettlement().getTaskContext().getFarmsNeedingWork();
 
 				// Choose the building the robot is at.
 				if (farmBuildings != null) {
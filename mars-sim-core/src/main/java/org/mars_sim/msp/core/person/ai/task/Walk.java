@@ -724,7 +724,7 @@ public class Walk extends Task implements Serializable {
 		
 		if (person != null) {
 			LogConsolidated.log(Level.FINER, 0, sourceName,
-      				"[" + person.getLocationTag().getLocale() + "] "
+      				() -> "[" + person.getLocationTag().getLocale() + "] "
 					+ person + " was in " + person.getLocationTag().getImmediateLocation()
 					+ " and walking inside the settlement.");
 
@@ -775,7 +775,7 @@ public class Walk extends Task implements Serializable {
 
 		} else if (robot != null) {
 			LogConsolidated.log(Level.FINER, 0, sourceName,
-      				"[" + robot.getLocationTag().getLocale() + "] "
+      				() -> "[" + robot.getLocationTag().getLocale() + "] "
 					+ robot + " was in " + robot.getLocationTag().getImmediateLocation()
 					+ " and walking inside the settlement.");
 			
@@ -840,7 +840,7 @@ public class Walk extends Task implements Serializable {
 		
 		if (person != null) {
 			LogConsolidated.log(Level.FINER, 0, sourceName,
-      				"[" + person.getLocationTag().getLocale() + "] "
+      				() -> "[" + person.getLocationTag().getLocale() + "] "
 					+ person + " was in " + person.getLocationTag().getImmediateLocation()
 					+ " and walking inside the rover.");
 			
@@ -891,7 +891,7 @@ public class Walk extends Task implements Serializable {
 
 				if (person.isInVehicle() || person.isInVehicleInGarage()) {
 					LogConsolidated.log(Level.FINER, 0, sourceName,
-		      				"[" + person.getLocationTag().getLocale() + "] "
+		      				() -> "[" + person.getLocationTag().getLocale() + "] "
 							+ person + " was in " + person.getLocationTag().getImmediateLocation()
 							+ " and starting WalkRoverInterior.");
 					addSubTask(new WalkRoverInterior(person, step.rover, x, y));
@@ -911,7 +911,7 @@ public class Walk extends Task implements Serializable {
 
 		} else if (robot != null) {
 			LogConsolidated.log(Level.FINER, 0, sourceName,
-      				"[" + robot.getLocationTag().getLocale() + "] "
+      				() -> "[" + robot.getLocationTag().getLocale() + "] "
 					+ robot + " was in " + robot.getLocationTag().getImmediateLocation()
 					+ " and walking inside the rover.");
 			
@@ -948,7 +948,7 @@ public class Walk extends Task implements Serializable {
 			} else {
 //				logger.finest("Starting walk rover interior from Walk.walkingRoverInteriorPhase.");
 				LogConsolidated.log(Level.FINER, 0, sourceName,
-	      				"[" + robot.getLocationTag().getLocale() + "] "
+	      				() -> "[" + robot.getLocationTag().getLocale() + "] "
 						+ robot + " was in " + robot.getLocationTag().getImmediateLocation()
 						+ " and starting WalkRoverInterior.");
 				addSubTask(new WalkRoverInterior(robot, step.rover, x, y));
@@ -975,7 +975,7 @@ public class Walk extends Task implements Serializable {
 
 //			logger.finer(person + " walking exterior phase.");
 			LogConsolidated.log(Level.FINER, 0, sourceName,
-      				"[" + person.getLocationTag().getLocale() + "] "
+      				() -> "[" + person.getLocationTag().getLocale() + "] "
 					+ person + " was in " + person.getLocationTag().getImmediateLocation()
 					+ " and in walkingExteriorPhase().");
 			
@@ -1004,7 +1004,7 @@ public class Walk extends Task implements Serializable {
 				if (person.isOutside()) {
 //					logger.finer(person + " starting walk outside task.");
 					LogConsolidated.log(Level.FINER, 0, sourceName,
-		      				"[" + person.getLocationTag().getLocale() + "] "
+		      				() -> "[" + person.getLocationTag().getLocale() + "] "
 							+ person + " was in " + person.getLocationTag().getImmediateLocation()
 							+ " and starting WalkOutside task.");
 					// setDescription("Walking Outside from (" + x + ", " + y + ") to (" + xx + ", "
@@ -1024,7 +1024,7 @@ public class Walk extends Task implements Serializable {
 
 //			logger.finer(robot + " walking exterior phase.");
 			LogConsolidated.log(Level.FINER, 0, sourceName,
-      				"[" + robot.getLocationTag().getLocale() + "] "
+      				() -> "[" + robot.getLocationTag().getLocale() + "] "
 					+ robot + " was in " + robot.getLocationTag().getImmediateLocation()
 					+ " and in walkingExteriorPhase().");
 			
@@ -1051,7 +1051,7 @@ public class Walk extends Task implements Serializable {
 				if (robot.isOutside()) {
 //					logger.finer(robot + " starting walk outside task.");
 					LogConsolidated.log(Level.FINER, 0, sourceName,
-		      				"[" + robot.getLocationTag().getLocale() + "] "
+		      				() -> "[" + robot.getLocationTag().getLocale() + "] "
 							+ robot + " was in " + robot.getLocationTag().getImmediateLocation()
 							+ " and starting WalkOutside subtask.");
 					// setDescription("Walking Outside from (" + x + ", " + y + ") to (" + xx + ", "
@@ -1087,7 +1087,7 @@ public class Walk extends Task implements Serializable {
 		if (person != null) {
 //			logger.finer(person + " in exitingAirlockPhase()");
 			LogConsolidated.log(Level.FINER, 0, sourceName,
-      				"[" + person.getLocationTag().getLocale() + "] "
+      				() -> "[" + person.getLocationTag().getLocale() + "] "
 					+ person + " was in " + person.getLocationTag().getImmediateLocation()
 					+ " and in exitingAirlockPhase().");
 			// Check if person has reached the outside of the airlock.
@@ -1111,7 +1111,7 @@ public class Walk extends Task implements Serializable {
 				if (ExitAirlock.canExitAirlock(person, airlock)) {
 //					logger.finer(person + " to add ExitAirlock as a subTask");
 					LogConsolidated.log(Level.FINER, 0, sourceName,
-		      				"[" + person.getLocationTag().getLocale() + "] "
+		      				() -> "[" + person.getLocationTag().getLocale() + "] "
 							+ person + " was in " + person.getLocationTag().getImmediateLocation()
 							+ " and can exit the airlock. Starting ExitAirlock subTask.");
 					addSubTask(new ExitAirlock(person, airlock));
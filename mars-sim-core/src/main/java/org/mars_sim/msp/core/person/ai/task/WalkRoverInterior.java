@@ -189,7 +189,7 @@ implements Serializable {
                     person.setYLocation(destYLoc);
 //                    logger.finer(person.getName() + " walked to new location in " + rover.getName());
         			LogConsolidated.log(Level.FINER, 5000, sourceName,
-        					"[" + person.getLocationTag().getLocale() + "] "
+        					() -> "[" + person.getLocationTag().getLocale() + "] "
               						+ person + " was in " + person.getLocationTag().getImmediateLocation()
         					+ " and walked to new location in " + rover.getName() + ".", null);
             	}
@@ -199,7 +199,7 @@ implements Serializable {
                     robot.setYLocation(destYLoc);
 //                    logger.finer(robot.getName() + " walked to new location in " + rover.getName());
         			LogConsolidated.log(Level.FINER, 5000, sourceName,
-        					"[" + robot.getLocationTag().getLocale() + "] "
+        					() -> "[" + robot.getLocationTag().getLocale() + "] "
               						+ robot + " was in " + robot.getLocationTag().getImmediateLocation()
         					+ " and walked to new location in " + rover.getName() + ".", null);
             	}
@@ -217,7 +217,7 @@ implements Serializable {
                 person.setYLocation(destYLoc);
 //                logger.finer(person.getName() + " walked to new location in " + rover.getName());
     			LogConsolidated.log(Level.FINER, 5000, sourceName,
-    					"[" + person.getLocationTag().getLocale() + "] "
+    					() -> "[" + person.getLocationTag().getLocale() + "] "
           						+ person + " was in " + person.getLocationTag().getImmediateLocation()
     					+ " and walked to new location in " + rover.getName() + ".", null);
             }
@@ -227,7 +227,7 @@ implements Serializable {
                 robot.setYLocation(destYLoc);
 //              logger.finer(robot.getName() + " walked to new location in " + rover.getName());
     			LogConsolidated.log(Level.FINER, 5000, sourceName,
-    					"[" + robot.getLocationTag().getLocale() + "] "
+    					() -> "[" + robot.getLocationTag().getLocale() + "] "
           						+ robot + " was in " + robot.getLocationTag().getImmediateLocation()
     					+ " and walked to new location in " + rover.getName() + ".", null);
             }
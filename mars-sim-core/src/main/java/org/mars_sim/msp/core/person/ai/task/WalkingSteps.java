@@ -166,7 +166,7 @@ implements Serializable {
             result = new WalkState(WalkState.OUTSIDE_LOC);
             
 			LogConsolidated.log(Level.FINER, 0, sourceName,
-					"[" 
+					() -> "[" 
 					+ person.getLocationTag().getLocale()
 //					+ person.getLocationStateType().getName() 
 					+ "] "  + person.getName() +
@@ -190,7 +190,7 @@ implements Serializable {
             result.building = building;
             
 			LogConsolidated.log(Level.FINER, 0, sourceName,
-					"[" 
+					() -> "[" 
 					+ person.getLocationTag().getLocale()
 					+ "] " 
 					+ person.getName()
@@ -227,7 +227,7 @@ implements Serializable {
                 result.rover = (Rover) vehicle;
                 
     			LogConsolidated.log(Level.FINER, 0, sourceName,
-    					"[" 
+    					() -> "[" 
     					+ person.getLocationTag().getLocale()
     					+ "] " 
     					+ person.getName()
@@ -256,7 +256,7 @@ implements Serializable {
                 result = new WalkState(WalkState.OUTSIDE_LOC);
   
     			LogConsolidated.log(Level.FINER, 0, sourceName,
-    					"[" 
+    					() -> "[" 
     					+ person.getLocationTag().getLocale()
     					+ "] " 
     					+ person.getName()
@@ -7,6 +7,9 @@
 package org.mars_sim.msp.core.person.ai.task.meta;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 
 import org.mars_sim.msp.core.Msg;
 import org.mars_sim.msp.core.person.Person;
@@ -15,6 +18,7 @@ import org.mars_sim.msp.core.person.ai.role.RoleType;
 import org.mars_sim.msp.core.person.ai.task.ConnectWithEarth;
 import org.mars_sim.msp.core.person.ai.task.utils.MetaTask;
 import org.mars_sim.msp.core.person.ai.task.utils.Task;
+import org.mars_sim.msp.core.person.ai.task.utils.TaskInput;
 import org.mars_sim.msp.core.robot.Robot;
 import org.mars_sim.msp.core.structure.building.Building;
 import org.mars_sim.msp.core.vehicle.Vehicle;
@@ -31,6 +35,11 @@ public class ConnectWithEarthMeta implements MetaTask, Serializable {
     private static final String NAME = Msg.getString(
             "Task.description.connectWithEarth"); //$NON-NLS-1$
 
+    /** The inputs of the probability. */
+    private static final Set<TaskInput> INPUTS = Collections.unmodifiableSet(
+            EnumSet.of(TaskInput.LOCATION, TaskInput.CONDITION, TaskInput.SURROUNDINGS,
+                    TaskInput.PREFERENCE));
+
     public RoleType roleType;
 
     @Override
@@ -106,6 +115,11 @@ public class ConnectWithEarthMeta implements MetaTask, Serializable {
         return result;
     }
 
+    @Override
+    public Set<TaskInput> getInputs() {
+        return INPUTS;
+    }
+
 	@Override
 	public Task constructInstance(Robot robot) {
 		// TODO Auto-generated method stub
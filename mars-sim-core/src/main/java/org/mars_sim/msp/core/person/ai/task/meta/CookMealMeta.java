@@ -9,6 +9,9 @@ package org.mars_sim.msp.core.person.ai.task.meta;
 //import java.util.logging.Logger;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 
 import org.mars_sim.msp.core.Msg;
 import org.mars_sim.msp.core.person.FavoriteType;
@@ -18,6 +21,7 @@ import org.mars_sim.msp.core.person.ai.job.Job;
 import org.mars_sim.msp.core.person.ai.task.CookMeal;
 import org.mars_sim.msp.core.person.ai.task.utils.MetaTask;
 import org.mars_sim.msp.core.person.ai.task.utils.Task;
+import org.mars_sim.msp.core.person.ai.task.utils.TaskInput;
 import org.mars_sim.msp.core.robot.Robot;
 import org.mars_sim.msp.core.robot.ai.job.Chefbot;
 import org.mars_sim.msp.core.structure.building.Building;
@@ -36,6 +40,11 @@ public class CookMealMeta implements MetaTask, Serializable {
     private static final String NAME = Msg.getString(
             "Task.description.cookMeal"); //$NON-NLS-1$
 
+    /** The inputs of the probability. */
+    private static final Set<TaskInput> INPUTS = Collections.unmodifiableSet(
+            EnumSet.of(TaskInput.LOCATION, TaskInput.ROLE, TaskInput.CONDITION,
+                    TaskInput.SURROUNDINGS, TaskInput.PREFERENCE, TaskInput.TIME));
+
     /** default logger. */
     //private static Logger logger = Logger.getLogger(CookMealMeta.class.getName());
 
@@ -138,6 +147,11 @@ public class CookMealMeta implements MetaTask, Serializable {
         return result;
     }
 
+    @Override
+    public Set<TaskInput> getInputs() {
+        return INPUTS;
+    }
+
 	@Override
 	public Task constructInstance(Robot robot) {
         return new CookMeal(robot);
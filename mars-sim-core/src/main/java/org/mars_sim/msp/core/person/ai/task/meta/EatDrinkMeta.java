@@ -7,6 +7,9 @@
 package org.mars_sim.msp.core.person.ai.task.meta;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 import java.util.logging.Logger;
 
 import org.mars_sim.msp.core.Inventory;
@@ -18,8 +21,10 @@ import org.mars_sim.msp.core.person.ai.task.CookMeal;
 import org.mars_sim.msp.core.person.ai.task.EatDrink;
 import org.mars_sim.msp.core.person.ai.task.utils.MetaTask;
 import org.mars_sim.msp.core.person.ai.task.utils.Task;
+import org.mars_sim.msp.core.person.ai.task.utils.TaskInput;
 import org.mars_sim.msp.core.resource.ResourceUtil;
 import org.mars_sim.msp.core.robot.Robot;
+import org.mars_sim.msp.core.structure.Settlement;
 import org.mars_sim.msp.core.structure.building.Building;
 import org.mars_sim.msp.core.structure.building.function.cooking.Cooking;
 
@@ -40,6 +45,11 @@ public class EatDrinkMeta implements MetaTask, Serializable {
 	/** Task name */
 	private static final String NAME = Msg.getString("Task.description.eatDrink"); //$NON-NLS-1$
 
+	/** The inputs of the probability. */
+	private static final Set<TaskInput> INPUTS = Collections.unmodifiableSet(
+			EnumSet.of(TaskInput.LOCATION, TaskInput.CONDITION, TaskInput.SURROUNDINGS,
+					TaskInput.PREFERENCE, TaskInput.TIME));
+
 	@Override
 	public String getName() {
 		return NAME;
@@ -62,7 +72,11 @@ public class EatDrinkMeta implements MetaTask, Serializable {
 			inv = container.getInventory();	
 			// Take preserved food from inventory if it is available.
 //			foodAmount = inv.getAmountResourceStored(ResourceUtil.foodID, false);
-			waterAmount = inv.getAmountResourceStored(ResourceUtil.waterID, false);
+			if (container instanceof Settlement)
+				// Looked up once per pulse for everybody inside
+				waterAmount = ((Settlement) container).getTaskContext().getAmountResourceStored(ResourceUtil.waterID);
+			else
+				waterAmount = inv.getAmountResourceStored(ResourceUtil.waterID, false);
 		}
 		
 		PhysicalCondition pc = person.getPhysicalCondition();
@@ -198,6 +212,11 @@ public class EatDrinkMeta implements MetaTask, Serializable {
 		return result;
 	}
 
+	@Override
+	public Set<TaskInput> getInputs() {
+		return INPUTS;
+	}
+
 	@Override
 	public Task constructInstance(Robot robot) {
 		// TODO Auto-generated method stub
@@ -7,6 +7,9 @@
 package org.mars_sim.msp.core.person.ai.task.meta;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -18,6 +21,7 @@ import org.mars_sim.msp.core.person.ai.task.ListenToMusic;
 import org.mars_sim.msp.core.person.ai.task.Sleep;
 import org.mars_sim.msp.core.person.ai.task.utils.MetaTask;
 import org.mars_sim.msp.core.person.ai.task.utils.Task;
+import org.mars_sim.msp.core.person.ai.task.utils.TaskInput;
 import org.mars_sim.msp.core.robot.Robot;
 import org.mars_sim.msp.core.structure.building.Building;
 import org.mars_sim.msp.core.tool.RandomUtil;
@@ -35,6 +39,11 @@ public class ListenToMusicMeta implements MetaTask, Serializable {
     private static final String NAME = Msg.getString(
             "Task.description.listenToMusic"); //$NON-NLS-1$
 
+    /** The inputs of the probability. */
+    private static final Set<TaskInput> INPUTS = Collections.unmodifiableSet(
+            EnumSet.of(TaskInput.LOCATION, TaskInput.ROLE, TaskInput.CONDITION,
+                    TaskInput.SURROUNDINGS, TaskInput.PREFERENCE, TaskInput.TIME));
+
     /** Modifier if during person's work shift. */
     private static final double WORK_SHIFT_MODIFIER = .2D;
 
@@ -123,6 +132,11 @@ public class ListenToMusicMeta implements MetaTask, Serializable {
         return result;
     }
 
+    @Override
+    public Set<TaskInput> getInputs() {
+        return INPUTS;
+    }
+
 	@Override
 	public Task constructInstance(Robot robot) {
         return null;
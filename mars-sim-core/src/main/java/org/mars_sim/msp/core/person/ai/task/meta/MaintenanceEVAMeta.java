@@ -7,10 +7,15 @@
 package org.mars_sim.msp.core.person.ai.task.meta;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Iterator;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.mars_sim.msp.core.Inventory;
 import org.mars_sim.msp.core.Msg;
 import org.mars_sim.msp.core.malfunction.MalfunctionFactory;
 import org.mars_sim.msp.core.malfunction.MalfunctionManager;
@@ -24,6 +29,7 @@ import org.mars_sim.msp.core.person.ai.task.Maintenance;
 import org.mars_sim.msp.core.person.ai.task.MaintenanceEVA;
 import org.mars_sim.msp.core.person.ai.task.utils.MetaTask;
 import org.mars_sim.msp.core.person.ai.task.utils.Task;
+import org.mars_sim.msp.core.person.ai.task.utils.TaskInput;
 import org.mars_sim.msp.core.robot.Robot;
 import org.mars_sim.msp.core.structure.Settlement;
 import org.mars_sim.msp.core.structure.Structure;
@@ -46,6 +52,11 @@ public class MaintenanceEVAMeta implements MetaTask, Serializable {
     private static final String NAME = Msg.getString(
             "Task.description.maintenanceEVA"); //$NON-NLS-1$
 
+    /** The inputs of the probability. */
+    private static final Set<TaskInput> INPUTS = Collections.unmodifiableSet(
+            EnumSet.of(TaskInput.LOCATION, TaskInput.ROLE, TaskInput.CONDITION,
+                    TaskInput.SURROUNDINGS, TaskInput.PREFERENCE, TaskInput.TIME));
+
 	private static final double FACTOR = 1D;
 
     @Override
@@ -100,28 +111,12 @@ public class MaintenanceEVAMeta implements MetaTask, Serializable {
 
             try {
                 // Total probabilities for all malfunctionable entities in person's local.
-                Iterator<Malfunctionable> i = MalfunctionFactory.getMalfunctionables(person).iterator();
-
-                while (i.hasNext()) {
-                    Malfunctionable entity = i.next();
-                    boolean isStructure = (entity instanceof Structure);
-                    boolean uninhabitableBuilding = false;
-                    if (entity instanceof Building)
-                        uninhabitableBuilding = !((Building) entity).hasFunction(FunctionType.LIFE_SUPPORT);
-
-                    MalfunctionManager manager = entity.getMalfunctionManager();
-                    boolean hasMalfunction = manager.hasMalfunction();
-                    boolean hasParts = Maintenance.hasMaintenanceParts(person, entity);
-                    double effectiveTime = manager.getEffectiveTimeSinceLastMaintenance();
-                    boolean minTime = (effectiveTime >= 1000D);
-                    if ((isStructure || uninhabitableBuilding) && !hasMalfunction && minTime && hasParts) {
-                        double entityProb = manager.getEffectiveTimeSinceLastMaintenance() / 1000D;
-                        if (entityProb > 100D) {
-                            entityProb = 100D;
-                        }
-                        result += entityProb * FACTOR;
-                    }
-                }
+                // The settlement's entities are scored once per pulse for everybody inside.
+                Inventory inv = settlement.getInventory();
+                result = settlement.getTaskContext().getScore(this,
+                        c -> getEntitiesProbability(c.getMalfunctionables(), inv));
+                result += getEntitiesProbability(MalfunctionFactory.getCarriedMalfunctionables(person), inv);
+                result *= FACTOR;
             }
             catch (Exception e) {
                 logger.log(Level.SEVERE,"getProbability()",e);
@@ -169,28 +164,8 @@ public class MaintenanceEVAMeta implements MetaTask, Serializable {
 
         try {
             // Total probabilities for all malfunctionable entities in person's local.
-            Iterator<Malfunctionable> i = MalfunctionFactory.getMalfunctionables(settlement).iterator();
-
-            while (i.hasNext()) {
-                Malfunctionable entity = i.next();
-                boolean isStructure = (entity instanceof Structure);
-                boolean uninhabitableBuilding = false;
-                if (entity instanceof Building)
-                    uninhabitableBuilding = !((Building) entity).hasFunction(FunctionType.LIFE_SUPPORT);
-
-                MalfunctionManager manager = entity.getMalfunctionManager();
-                boolean hasMalfunction = manager.hasMalfunction();
-                boolean hasParts = Maintenance.hasMaintenanceParts(settlement, entity);
-                double effectiveTime = manager.getEffectiveTimeSinceLastMaintenance();
-                boolean minTime = (effectiveTime >= 1000D);
-                if ((isStructure || uninhabitableBuilding) && !hasMalfunction && minTime && hasParts) {
-                    double entityProb = manager.getEffectiveTimeSinceLastMaintenance() / 1000D;
-                    if (entityProb > 100D) {
-                        entityProb = 100D;
-                    }
-                    result += entityProb;
-                }
-            }
+            result = getEntitiesProbability(MalfunctionFactory.getMalfunctionables(settlement),
+                    settlement.getInventory());
         }
         catch (Exception e) {
             logger.log(Level.SEVERE,"getProbability()",e);
@@ -198,7 +173,47 @@ public class MaintenanceEVAMeta implements MetaTask, Serializable {
 
 		return result;
 	}
+
+    /**
+     * Gets the total probability of maintaining the structures and uninhabitable
+     * buildings among some entities.
+     * 
+     * @param entities the malfunctionable entities.
+     * @param inv      the inventory holding the maintenance parts.
+     * @return probability.
+     */
+    private double getEntitiesProbability(Collection<Malfunctionable> entities, Inventory inv) {
+        double result = 0D;
+        Iterator<Malfunctionable> i = entities.iterator();
+
+        while (i.hasNext()) {
+            Malfunctionable entity = i.next();
+            boolean isStructure = (entity instanceof Structure);
+            boolean uninhabitableBuilding = false;
+            if (entity instanceof Building)
+                uninhabitableBuilding = !((Building) entity).hasFunction(FunctionType.LIFE_SUPPORT);
+
+            MalfunctionManager manager = entity.getMalfunctionManager();
+            boolean hasMalfunction = manager.hasMalfunction();
+            boolean hasParts = Maintenance.hasMaintenanceParts(inv, entity);
+            double effectiveTime = manager.getEffectiveTimeSinceLastMaintenance();
+            boolean minTime = (effectiveTime >= 1000D);
+            if ((isStructure || uninhabitableBuilding) && !hasMalfunction && minTime && hasParts) {
+                double entityProb = manager.getEffectiveTimeSinceLastMaintenance() / 1000D;
+                if (entityProb > 100D) {
+                    entityProb = 100D;
+                }
+                result += entityProb;
+            }
+        }
+        return result;
+    }
 	
+    @Override
+    public Set<TaskInput> getInputs() {
+        return INPUTS;
+    }
+
 	@Override
 	public Task constructInstance(Robot robot) {
         return null;
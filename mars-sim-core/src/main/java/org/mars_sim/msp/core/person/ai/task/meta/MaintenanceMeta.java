@@ -7,10 +7,15 @@
 package org.mars_sim.msp.core.person.ai.task.meta;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Iterator;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.mars_sim.msp.core.Inventory;
 import org.mars_sim.msp.core.Msg;
 import org.mars_sim.msp.core.malfunction.MalfunctionFactory;
 import org.mars_sim.msp.core.malfunction.MalfunctionManager;
@@ -22,6 +27,7 @@ import org.mars_sim.msp.core.person.ai.job.Job;
 import org.mars_sim.msp.core.person.ai.task.Maintenance;
 import org.mars_sim.msp.core.person.ai.task.utils.MetaTask;
 import org.mars_sim.msp.core.person.ai.task.utils.Task;
+import org.mars_sim.msp.core.person.ai.task.utils.TaskInput;
 import org.mars_sim.msp.core.robot.Robot;
 import org.mars_sim.msp.core.robot.ai.job.Repairbot;
 import org.mars_sim.msp.core.structure.Settlement;
@@ -44,6 +50,11 @@ public class MaintenanceMeta implements MetaTask, Serializable {
 	/** Task name */
 	private static final String NAME = Msg.getString("Task.description.maintenance"); //$NON-NLS-1$
 
+	/** The inputs of the probability. */
+	private static final Set<TaskInput> INPUTS = Collections.unmodifiableSet(
+			EnumSet.of(TaskInput.LOCATION, TaskInput.ROLE, TaskInput.CONDITION,
+					TaskInput.SURROUNDINGS, TaskInput.PREFERENCE));
+
 	private static final double FACTOR = 1D;
 	
 
@@ -74,27 +85,12 @@ public class MaintenanceMeta implements MetaTask, Serializable {
             
 			try {
 				// Total probabilities for all malfunctionable entities in person's local.
-				Iterator<Malfunctionable> i = MalfunctionFactory.getMalfunctionables(person).iterator();
-				while (i.hasNext()) {
-					Malfunctionable entity = i.next();
-					boolean isVehicle = (entity instanceof Vehicle);
-					boolean uninhabitableBuilding = false;
-					if (entity instanceof Building) {
-						uninhabitableBuilding = !((Building) entity).hasFunction(FunctionType.LIFE_SUPPORT);
-					}
-					MalfunctionManager manager = entity.getMalfunctionManager();
-					boolean hasMalfunction = manager.hasMalfunction();
-					boolean hasParts = Maintenance.hasMaintenanceParts(person, entity);
-					double effectiveTime = manager.getEffectiveTimeSinceLastMaintenance();
-					boolean minTime = (effectiveTime >= 1000D);
-					if (!hasMalfunction && !isVehicle && !uninhabitableBuilding && hasParts && minTime) {
-						double entityProb = effectiveTime / 1000D;
-						if (entityProb > 100D) {
-							entityProb = 100D;
-						}
-						result += entityProb * FACTOR;
-					}
-				}
+				// The settlement's entities are scored once per pulse for everybody inside.
+				Settlement settlement = person.getSettlement();
+				Inventory inv = settlement.getInventory();
+				result = settlement.getTaskContext().getScore(this,
+						c -> getEntitiesProbability(c.getMalfunctionables(), inv));
+				result += getEntitiesProbability(MalfunctionFactory.getCarriedMalfunctionables(person), inv);
 			} catch (Exception e) {
 				logger.log(Level.SEVERE, "getProbability()", e);
 			}
@@ -132,27 +128,8 @@ public class MaintenanceMeta implements MetaTask, Serializable {
 
 		try {
 			// Total probabilities for all malfunctionable entities in person's local.
-			Iterator<Malfunctionable> i = MalfunctionFactory.getMalfunctionables(settlement).iterator();
-			while (i.hasNext()) {
-				Malfunctionable entity = i.next();
-				boolean isVehicle = (entity instanceof Vehicle);
-				boolean uninhabitableBuilding = false;
-				if (entity instanceof Building) {
-					uninhabitableBuilding = !((Building) entity).hasFunction(FunctionType.LIFE_SUPPORT);
-				}
-				MalfunctionManager manager = entity.getMalfunctionManager();
-				boolean hasMalfunction = manager.hasMalfunction();
-				boolean hasParts = Maintenance.hasMaintenanceParts(settlement, entity);
-				double effectiveTime = manager.getEffectiveTimeSinceLastMaintenance();
-				boolean minTime = (effectiveTime >= 1000D);
-				if (!hasMalfunction && !isVehicle && !uninhabitableBuilding && hasParts && minTime) {
-					double entityProb = effectiveTime / 1000D;
-					if (entityProb > 100D) {
-						entityProb = 100D;
-					}
-					result += entityProb * FACTOR;
-				}
-			}
+			result = getEntitiesProbability(MalfunctionFactory.getMalfunctionables(settlement),
+					settlement.getInventory());
 		} catch (Exception e) {
 			logger.log(Level.SEVERE, "getProbability()", e);
 		}
@@ -160,7 +137,45 @@ public class MaintenanceMeta implements MetaTask, Serializable {
 
 		return result;
 	}
+
+	/**
+	 * Gets the total probability of maintaining some entities.
+	 * 
+	 * @param entities the malfunctionable entities.
+	 * @param inv      the inventory holding the maintenance parts.
+	 * @return probability.
+	 */
+	private double getEntitiesProbability(Collection<Malfunctionable> entities, Inventory inv) {
+		double result = 0D;
+		Iterator<Malfunctionable> i = entities.iterator();
+		while (i.hasNext()) {
+			Malfunctionable entity = i.next();
+			boolean isVehicle = (entity instanceof Vehicle);
+			boolean uninhabitableBuilding = false;
+			if (entity instanceof Building) {
+				uninhabitableBuilding = !((Building) entity).hasFunction(FunctionType.LIFE_SUPPORT);
+			}
+			MalfunctionManager manager = entity.getMalfunctionManager();
+			boolean hasMalfunction = manager.hasMalfunction();
+			boolean hasParts = Maintenance.hasMaintenanceParts(inv, entity);
+			double effectiveTime = manager.getEffectiveTimeSinceLastMaintenance();
+			boolean minTime = (effectiveTime >= 1000D);
+			if (!hasMalfunction && !isVehicle && !uninhabitableBuilding && hasParts && minTime) {
+				double entityProb = effectiveTime / 1000D;
+				if (entityProb > 100D) {
+					entityProb = 100D;
+				}
+				result += entityProb * FACTOR;
+			}
+		}
+		return result;
+	}
 	
+	@Override
+	public Set<TaskInput> getInputs() {
+		return INPUTS;
+	}
+
 	@Override
 	public Task constructInstance(Robot robot) {
 		return new Maintenance(robot);
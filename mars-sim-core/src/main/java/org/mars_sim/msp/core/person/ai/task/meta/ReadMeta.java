@@ -7,6 +7,9 @@
 package org.mars_sim.msp.core.person.ai.task.meta;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 
 import org.mars_sim.msp.core.Msg;
 import org.mars_sim.msp.core.person.FavoriteType;
@@ -15,6 +18,7 @@ import org.mars_sim.msp.core.person.PhysicalCondition;
 import org.mars_sim.msp.core.person.ai.task.Read;
 import org.mars_sim.msp.core.person.ai.task.utils.MetaTask;
 import org.mars_sim.msp.core.person.ai.task.utils.Task;
+import org.mars_sim.msp.core.person.ai.task.utils.TaskInput;
 import org.mars_sim.msp.core.robot.Robot;
 import org.mars_sim.msp.core.vehicle.Vehicle;
 
@@ -31,6 +35,11 @@ public class ReadMeta implements MetaTask, Serializable {
     /** Task name */
     private static final String NAME = Msg.getString(
             "Task.description.read"); //$NON-NLS-1$
+
+    /** The inputs of the probability. */
+    private static final Set<TaskInput> INPUTS = Collections.unmodifiableSet(
+            EnumSet.of(TaskInput.LOCATION, TaskInput.CONDITION, TaskInput.SURROUNDINGS,
+                    TaskInput.PREFERENCE));
     @Override
     public String getName() {
         return NAME;
@@ -119,6 +128,11 @@ public class ReadMeta implements MetaTask, Serializable {
         return result;
     }
 
+    @Override
+    public Set<TaskInput> getInputs() {
+        return INPUTS;
+    }
+
 	@Override
 	public Task constructInstance(Robot robot) {
 		// TODO Auto-generated method stub
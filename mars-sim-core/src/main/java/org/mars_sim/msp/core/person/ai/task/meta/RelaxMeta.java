@@ -7,6 +7,9 @@
 package org.mars_sim.msp.core.person.ai.task.meta;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -16,6 +19,7 @@ import org.mars_sim.msp.core.person.PhysicalCondition;
 import org.mars_sim.msp.core.person.ai.task.Relax;
 import org.mars_sim.msp.core.person.ai.task.utils.MetaTask;
 import org.mars_sim.msp.core.person.ai.task.utils.Task;
+import org.mars_sim.msp.core.person.ai.task.utils.TaskInput;
 import org.mars_sim.msp.core.robot.Robot;
 import org.mars_sim.msp.core.structure.building.Building;
 
@@ -31,6 +35,11 @@ public class RelaxMeta implements MetaTask, Serializable {
     private static final String NAME = Msg.getString(
             "Task.description.relax"); //$NON-NLS-1$
 
+    /** The inputs of the probability. */
+    private static final Set<TaskInput> INPUTS = Collections.unmodifiableSet(
+            EnumSet.of(TaskInput.LOCATION, TaskInput.ROLE, TaskInput.CONDITION,
+                    TaskInput.SURROUNDINGS, TaskInput.PREFERENCE, TaskInput.TIME));
+
     /** Modifier if during person's work shift. */
     private static final double WORK_SHIFT_MODIFIER = .5D;
 
@@ -97,6 +106,11 @@ public class RelaxMeta implements MetaTask, Serializable {
         return result;
     }
 
+    @Override
+    public Set<TaskInput> getInputs() {
+        return INPUTS;
+    }
+
 	@Override
 	public Task constructInstance(Robot robot) {
     	return null;
@@ -8,7 +8,11 @@ package org.mars_sim.msp.core.person.ai.task.meta;
 
 import java.awt.geom.Point2D;
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Iterator;
+import java.util.Set;
 
 import org.mars_sim.msp.core.CollectionUtils;
 import org.mars_sim.msp.core.Msg;
@@ -25,6 +29,7 @@ import org.mars_sim.msp.core.person.ai.task.EVAOperation;
 import org.mars_sim.msp.core.person.ai.task.RepairEVAMalfunction;
 import org.mars_sim.msp.core.person.ai.task.utils.MetaTask;
 import org.mars_sim.msp.core.person.ai.task.utils.Task;
+import org.mars_sim.msp.core.person.ai.task.utils.TaskInput;
 import org.mars_sim.msp.core.robot.Robot;
 import org.mars_sim.msp.core.structure.Settlement;
 
@@ -36,6 +41,11 @@ public class RepairEVAMalfunctionMeta implements MetaTask, Serializable {
 	/** Task name */
 	private static final String NAME = Msg.getString("Task.description.repairEVAMalfunction"); //$NON-NLS-1$
 
+	/** The inputs of the probability. */
+	private static final Set<TaskInput> INPUTS = Collections.unmodifiableSet(
+			EnumSet.of(TaskInput.LOCATION, TaskInput.ROLE, TaskInput.CONDITION,
+					TaskInput.SURROUNDINGS, TaskInput.PREFERENCE));
+
 	private static final double WEIGHT = 300D;
 	
 	@Override
@@ -111,7 +121,9 @@ public class RepairEVAMalfunctionMeta implements MetaTask, Serializable {
 			// Even if it's night time, technicians/engineers are assigned to man that work shift 
 			// to take care of the the repair.
 			
-			result = getSettlementProbability(settlement);
+			// The malfunctions are scored once per pulse for everybody inside
+			result = settlement.getTaskContext().getScore(this,
+					c -> getSettlementProbability(c.getMalfunctionables(), settlement));
 
 
 			if (exposed[0]) {
@@ -152,10 +164,21 @@ public class RepairEVAMalfunctionMeta implements MetaTask, Serializable {
 	}
 
 	public double getSettlementProbability(Settlement settlement) {
+		return getSettlementProbability(MalfunctionFactory.getMalfunctionables(settlement), settlement);
+	}
+
+	/**
+	 * Gets the probability of repairing the EVA malfunctions of some entities.
+	 * 
+	 * @param entities   the malfunctionable entities of the settlement.
+	 * @param settlement the settlement holding the repair parts.
+	 * @return probability.
+	 */
+	private double getSettlementProbability(Collection<Malfunctionable> entities, Settlement settlement) {
 		double result = 0D;
 
 		// Add probability for all malfunctionable entities in person's local.
-		Iterator<Malfunctionable> i = MalfunctionFactory.getMalfunctionables(settlement).iterator();
+		Iterator<Malfunctionable> i = entities.iterator();
 		while (i.hasNext()) {
 			Malfunctionable entity = i.next();
 //			MalfunctionManager manager = entity.getMalfunctionManager();
@@ -197,6 +220,11 @@ public class RepairEVAMalfunctionMeta implements MetaTask, Serializable {
 
 		return result;
 	}
+	@Override
+	public Set<TaskInput> getInputs() {
+		return INPUTS;
+	}
+
 	@Override
 	public Task constructInstance(Robot robot) {
 		return null;// new RepairEVAMalfunction(robot);
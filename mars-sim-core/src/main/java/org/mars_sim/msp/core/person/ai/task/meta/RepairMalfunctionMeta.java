@@ -7,7 +7,11 @@
 package org.mars_sim.msp.core.person.ai.task.meta;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Iterator;
+import java.util.Set;
 
 import org.mars_sim.msp.core.Msg;
 import org.mars_sim.msp.core.Unit;
@@ -22,6 +26,7 @@ import org.mars_sim.msp.core.person.ai.job.Job;
 import org.mars_sim.msp.core.person.ai.task.RepairMalfunction;
 import org.mars_sim.msp.core.person.ai.task.utils.MetaTask;
 import org.mars_sim.msp.core.person.ai.task.utils.Task;
+import org.mars_sim.msp.core.person.ai.task.utils.TaskInput;
 import org.mars_sim.msp.core.robot.Robot;
 import org.mars_sim.msp.core.structure.Settlement;
 import org.mars_sim.msp.core.vehicle.Vehicle;
@@ -38,6 +43,11 @@ public class RepairMalfunctionMeta implements MetaTask, Serializable {
     private static final String NAME = Msg.getString(
             "Task.description.repairMalfunction"); //$NON-NLS-1$
 
+    /** The inputs of the probability. */
+    private static final Set<TaskInput> INPUTS = Collections.unmodifiableSet(
+            EnumSet.of(TaskInput.LOCATION, TaskInput.ROLE, TaskInput.CONDITION,
+                    TaskInput.SURROUNDINGS, TaskInput.PREFERENCE));
+
 	private static final double WEIGHT = 300D;
 	
     @Override
@@ -66,8 +76,12 @@ public class RepairMalfunctionMeta implements MetaTask, Serializable {
             if (fatigue > 1000 || stress > 50 || hunger > 500)
             	return 0;
             
-            if (person.isInSettlement()) 
-            	result = computeProbability(person.getSettlement(), person);
+            if (person.isInSettlement()) {
+            	// The malfunctions are scored once per pulse for everybody inside
+            	Settlement settlement = person.getSettlement();
+            	result = settlement.getTaskContext().getScore(this,
+            			c -> computeProbability(c.getMalfunctionables(), settlement, person));
+            }
             else {
             	// Get the malfunctioning entity.
             	Malfunctionable entity = RepairMalfunction.getMalfunctionEntity(person);
@@ -161,10 +175,22 @@ public class RepairMalfunctionMeta implements MetaTask, Serializable {
     }
     
     public double computeProbability(Settlement settlement, Unit unit) {
+        return computeProbability(MalfunctionFactory.getMalfunctionables(settlement), settlement, unit);
+    }
+
+    /**
+     * Computes the probability of repairing the malfunctions of some entities.
+     * 
+     * @param entities   the malfunctionable entities of the settlement.
+     * @param settlement the settlement holding the repair parts.
+     * @param unit       the person or robot.
+     * @return probability.
+     */
+    private double computeProbability(Collection<Malfunctionable> entities, Settlement settlement, Unit unit) {
 
         double result = 0D;
         // Add probability for all malfunctionable entities in person's local.
-        Iterator<Malfunctionable> i = MalfunctionFactory.getMalfunctionables(settlement).iterator();
+        Iterator<Malfunctionable> i = entities.iterator();
         while (i.hasNext()) {
             Malfunctionable entity = i.next();
             
@@ -209,6 +235,11 @@ public class RepairMalfunctionMeta implements MetaTask, Serializable {
         return result;
     }
     
+    @Override
+    public Set<TaskInput> getInputs() {
+        return INPUTS;
+    }
+
 	@Override
 	public Task constructInstance(Robot robot) {
         return new RepairMalfunction(robot);
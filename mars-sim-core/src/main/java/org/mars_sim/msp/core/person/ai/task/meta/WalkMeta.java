@@ -7,12 +7,14 @@
 package org.mars_sim.msp.core.person.ai.task.meta;
 
 import java.io.Serializable;
+import java.util.Set;
 
 import org.mars_sim.msp.core.Msg;
 import org.mars_sim.msp.core.person.Person;
 import org.mars_sim.msp.core.person.ai.task.Walk;
 import org.mars_sim.msp.core.person.ai.task.utils.MetaTask;
 import org.mars_sim.msp.core.person.ai.task.utils.Task;
+import org.mars_sim.msp.core.person.ai.task.utils.TaskInput;
 import org.mars_sim.msp.core.robot.Robot;
 
 /**
@@ -68,6 +70,11 @@ public class WalkMeta implements MetaTask, Serializable {
 		return result;
 	}
 
+	@Override
+	public Set<TaskInput> getInputs() {
+		return TaskInput.NONE;
+	}
+
 	@Override
 	public Task constructInstance(Robot robot) {
 //      Walk walk = robot.getWalk();
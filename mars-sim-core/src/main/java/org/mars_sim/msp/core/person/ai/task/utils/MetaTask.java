@@ -6,6 +6,8 @@
  */
 package org.mars_sim.msp.core.person.ai.task.utils;
 
+import java.util.Set;
+
 import org.mars_sim.msp.core.Simulation;
 import org.mars_sim.msp.core.UnitManager;
 import org.mars_sim.msp.core.events.HistoricalEventManager;
@@ -67,4 +69,14 @@ public interface MetaTask {
 	public double getProbability(Person person);
 
 	public double getProbability(Robot robot);
+
+	/**
+	 * Gets the inputs that the probability of a person depends on. The task
+	 * manager reuses the last probability until one of them has changed.
+	 *
+	 * @return set of inputs.
+	 */
+	public default Set<TaskInput> getInputs() {
+		return TaskInput.ALL;
+	}
 }
\ No newline at end of file
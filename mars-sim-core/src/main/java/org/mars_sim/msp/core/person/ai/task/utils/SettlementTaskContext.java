@@ -0,0 +1,142 @@
+/**
+ * Mars Simulation Project
+ * SettlementTaskContext.java
+ * @version 3.1.1 2026-10-18
+ * @author agent
+ */
+package org.mars_sim.msp.core.person.ai.task.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+
+import org.mars_sim.msp.core.malfunction.MalfunctionFactory;
+import org.mars_sim.msp.core.malfunction.Malfunctionable;
+import org.mars_sim.msp.core.science.ScienceType;
+import org.mars_sim.msp.core.structure.Settlement;
+import org.mars_sim.msp.core.structure.building.Building;
+import org.mars_sim.msp.core.structure.building.BuildingManager;
+import org.mars_sim.msp.core.structure.building.function.FunctionType;
+
+/**
+ * The settlement-wide facts that the meta tasks need when scoring the tasks of
+ * the people inside a settlement. Each fact is computed once, when first asked
+ * for, and then shared by everybody in the settlement. The settlement drops its
+ * context at the start of each pulse, so the facts are a snapshot of the
+ * settlement at the time the people of the pulse score their tasks.
+ */
+public final class SettlementTaskContext {
+
+	/** The settlement. */
+	private final Settlement settlement;
+	/** The malfunctionable entities of the settlement. */
+	private volatile List<Malfunctionable> malfunctionables;
+	/** The farms of the settlement that need work. */
+	private volatile List<Building> farmsNeedingWork;
+	/** The working labs of the settlement, keyed by their specialty. */
+	private final Map<ScienceType, List<Building>> labs = new ConcurrentHashMap<>();
+	/** The stored amount of the resources asked for, keyed by resource id. */
+	private final Map<Integer, Double> amountsStored = new ConcurrentHashMap<>();
+	/** The settlement-wide part of the task scores, keyed by their owner. */
+	private final Map<Object, Double> scores = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructor.
+	 *
+	 * @param settlement the settlement.
+	 */
+	public SettlementTaskContext(Settlement settlement) {
+		this.settlement = settlement;
+	}
+
+	/**
+	 * Gets the settlement.
+	 *
+	 * @return settlement.
+	 */
+	public Settlement getSettlement() {
+		return settlement;
+	}
+
+	/**
+	 * Gets the malfunctionable entities of the settlement, i.e. its buildings and
+	 * the malfunctionable units in its inventory.
+	 *
+	 * @return unmodifiable list of entities.
+	 */
+	public List<Malfunctionable> getMalfunctionables() {
+		List<Malfunctionable> result = malfunctionables;
+		if (result == null) {
+			Collection<Malfunctionable> entities = MalfunctionFactory.getMalfunctionables(settlement);
+			result = Collections.unmodifiableList(new ArrayList<>(entities));
+			malfunctionables = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the farms of the settlement that need work.
+	 *
+	 * @return unmodifiable list of farm buildings.
+	 */
+	public List<Building> getFarmsNeedingWork() {
+		List<Building> result = farmsNeedingWork;
+		if (result == null) {
+			result = Collections.unmodifiableList(new ArrayList<>(settlement.getBuildingManager().getFarmsNeedingWork()));
+			farmsNeedingWork = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the labs of the settlement with a science specialty that are not
+	 * malfunctioning. The space left in the labs changes as people take them
+	 * during the pulse, so it is left to the callers to check.
+	 *
+	 * @param science the science specialty.
+	 * @return unmodifiable list of research buildings.
+	 */
+	public List<Building> getLabs(ScienceType science) {
+		return labs.computeIfAbsent(science, s -> {
+			List<Building> result = new ArrayList<>();
+			for (Building building : settlement.getBuildingManager().getBuildings(FunctionType.RESEARCH)) {
+				if (building.getResearch().hasSpecialty(s))
+					result.add(building);
+			}
+			return Collections.unmodifiableList(BuildingManager.getNonMalfunctioningBuildings(result));
+		});
+	}
+
+	/**
+	 * Gets the amount of a resource stored in the settlement.
+	 *
+	 * @param resource the resource id.
+	 * @return amount (kg).
+	 */
+	public double getAmountResourceStored(int resource) {
+		return amountsStored.computeIfAbsent(resource,
+				id -> settlement.getInventory().getAmountResourceStored(id, false));
+	}
+
+	/**
+	 * Gets a settlement-wide score, computing it on the first call.
+	 *
+	 * @param key    the owner of the score, typically the meta task.
+	 * @param scorer computes the score from this context.
+	 * @return the score.
+	 */
+	public double getScore(Object key, ToDoubleFunction<SettlementTaskContext> scorer) {
+		Double score = scores.get(key);
+		if (score == null) {
+			score = scorer.applyAsDouble(this);
+			Double previous = scores.putIfAbsent(key, score);
+			if (previous != null)
+				score = previous;
+		}
+		return score;
+	}
+}
@@ -0,0 +1,51 @@
+/**
+ * Mars Simulation Project
+ * TaskInput.java
+ * @version 3.1.1 2026-10-18
+ * @author agent
+ */
+package org.mars_sim.msp.core.person.ai.task.utils;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The inputs that a meta task probability may depend on. The task manager
+ * only recomputes a probability when one of the inputs declared by its meta
+ * task may have changed. A change of work shift recomputes all of them.
+ */
+public enum TaskInput {
+
+	/** The location state, the container unit and the building of the person. */
+	LOCATION,
+	/** The job, the role and the shift type of the person. */
+	ROLE,
+	/** The mission of the person. */
+	MISSION,
+	/** The health problems of the person. */
+	HEALTH,
+	/**
+	 * The fatigue, hunger, thirst, stress and performance of the person. Since
+	 * they drift at every pulse, only a move to another band counts as a change.
+	 */
+	CONDITION,
+	/**
+	 * The state of the settlement or vehicle around the person, e.g. resources,
+	 * buildings, malfunctions and other people. It is taken as changed every
+	 * few millisols.
+	 */
+	SURROUNDINGS,
+	/** The preference scores and the tasks due of the person. */
+	PREFERENCE,
+	/**
+	 * The time of day, e.g. for the work shift hours, meal times and darkness. It
+	 * is taken as changed every millisol.
+	 */
+	TIME;
+
+	/** Every input, for meta tasks that have not declared their inputs. */
+	public static final Set<TaskInput> ALL = Collections.unmodifiableSet(EnumSet.allOf(TaskInput.class));
+	/** No input, for meta tasks with a constant probability. */
+	public static final Set<TaskInput> NONE = Collections.unmodifiableSet(EnumSet.noneOf(TaskInput.class));
+}
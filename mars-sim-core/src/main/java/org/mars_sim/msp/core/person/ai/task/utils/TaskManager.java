@@ -8,26 +8,30 @@ package org.mars_sim.msp.core.person.ai.task.utils;
 
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.mars_sim.msp.core.LogConsolidated;
 import org.mars_sim.msp.core.Simulation;
 import org.mars_sim.msp.core.UnitEventType;
+import org.mars_sim.msp.core.location.LocationStateType;
 import org.mars_sim.msp.core.person.CircadianClock;
 import org.mars_sim.msp.core.person.Person;
 import org.mars_sim.msp.core.person.PhysicalCondition;
 import org.mars_sim.msp.core.person.ShiftType;
 import org.mars_sim.msp.core.person.ai.Mind;
+import org.mars_sim.msp.core.person.ai.job.Job;
+import org.mars_sim.msp.core.person.ai.mission.Mission;
 import org.mars_sim.msp.core.person.ai.mission.MissionManager;
 import org.mars_sim.msp.core.person.ai.task.EnterAirlock;
 import org.mars_sim.msp.core.person.ai.task.ExitAirlock;
 import org.mars_sim.msp.core.person.ai.task.RepairEmergencyMalfunction;
 import org.mars_sim.msp.core.person.ai.task.RepairEmergencyMalfunctionEVA;
 import org.mars_sim.msp.core.person.ai.task.Walk;
+import org.mars_sim.msp.core.person.ai.role.Role;
+import org.mars_sim.msp.core.person.ai.role.RoleType;
 import org.mars_sim.msp.core.structure.building.Building;
 import org.mars_sim.msp.core.time.MarsClock;
 import org.mars_sim.msp.core.tool.RandomUtil;
@@ -55,6 +59,20 @@ public class TaskManager implements Serializable {
 //	private static final String WALK = "walk";
 
 	private static final int MAX_TASK_PROBABILITY = 20000;
+	/** The number of millisols after which the surroundings of a person are taken as changed. */
+	static final int SURROUNDINGS_PERIOD = 5;
+	/** The width of a fatigue band. */
+	private static final double FATIGUE_BAND = 50D;
+	/** The width of a hunger band. */
+	private static final double HUNGER_BAND = 50D;
+	/** The width of a thirst band. */
+	private static final double THIRST_BAND = 25D;
+	/** The width of a stress band. */
+	private static final double STRESS_BAND = 5D;
+	/** The width of a performance band. */
+	private static final double PERFORMANCE_BAND = .05D;
+	/** The number of task inputs. */
+	private static final int NUM_INPUTS = TaskInput.values().length;
 	/** A decimal number a little bigger than zero for comparing doubles. */
 //	private static final double SMALL_AMOUNT = 0.001;
 	
@@ -91,8 +109,33 @@ public class TaskManager implements Serializable {
 	/** The TaskSchedule reference */ 
 	private transient TaskSchedule taskSchedule;
 
-	private transient Map<MetaTask, Double> taskProbCache;
 	private transient List<MetaTask> mtListCache;
+	/** The probability of each meta task in mtListCache. */
+	private transient double[] taskProbCache;
+	/** The running total of the probabilities, for picking a task with a binary search. */
+	private transient double[] cumulativeProbCache;
+	/** The inputs of each meta task as a bit mask of task input ordinals. */
+	private transient int[] inputMasks;
+	/** The refresh at which each probability was last computed. */
+	private transient long[] computedAt;
+	/** The refresh at which each task input last changed. */
+	private transient long[] inputChangedAt;
+	/** The number of refreshes of the probabilities. */
+	private transient long refreshCount;
+	
+	/** The last seen values of the task inputs. */
+	private transient LocationStateType locationStateCache;
+	private transient int containerIDCache;
+	private transient Building buildingCache;
+	private transient Job jobCache;
+	private transient RoleType roleTypeCache;
+	private transient ShiftType shiftTypeCache;
+	private transient Mission missionCache;
+	private transient int numProblemsCache = -1;
+	private transient int[] conditionBandsCache;
+	private transient int surroundingsPeriodCache = -1;
+	private transient int timeCache = -1;
+	private transient int preferenceCache = -1;
 
 	private List<String> pendingTasks;
 	
@@ -121,7 +164,6 @@ public class TaskManager implements Serializable {
 		currentTask = null;
 
 		// Initialize cache values.
-		taskProbCache = new HashMap<MetaTask, Double>();
 		totalProbCache = 0D;
 		
 		pendingTasks = new ArrayList<>();
@@ -652,20 +694,12 @@ public class TaskManager implements Serializable {
 			List<MetaTask> list = MetaTaskUtil.getNonWorkHourMetaTasks();
 			selectedMetaTask = list.get(RandomUtil.getRandomInt(list.size() - 1));
 
-		} else if (taskProbCache != null && !taskProbCache.isEmpty()) {
+		} else if (cumulativeProbCache != null) {
 
 			double r = RandomUtil.getRandomDouble(totalProbability);
 
 			// Determine which task is selected.
-			for (MetaTask mt : taskProbCache.keySet()) {
-				double probWeight = taskProbCache.get(mt);
-				if (r <= probWeight) {
-					// Select this task
-					selectedMetaTask = mt;
-				} else {
-					r -= probWeight;
-				}
-			}
+			selectedMetaTask = mtListCache.get(findTaskIndex(r));
 		}
 
 		if (selectedMetaTask == null) {
@@ -705,7 +739,8 @@ public class TaskManager implements Serializable {
 	}
 
 	/**
-	 * Calculates and caches the probabilities.
+	 * Calculates and caches the probabilities. Only the probabilities whose
+	 * inputs have changed since they were last computed are recomputed.
 	 */
 	private void calculateProbability() {
 
@@ -746,52 +781,200 @@ public class TaskManager implements Serializable {
 
 				// Use new mtList
 				mtListCache = mtList;
-				// Create new taskProbCache
-				taskProbCache = new HashMap<MetaTask, Double>(mtList.size());
+				// Create new caches, so that every probability is computed
+				int size = mtList.size();
+				taskProbCache = new double[size];
+				cumulativeProbCache = new double[size];
+				computedAt = new long[size];
+				Arrays.fill(computedAt, -1L);
+				inputMasks = new int[size];
+				for (int i = 0; i < size; i++) {
+					for (TaskInput input : mtList.get(i).getInputs())
+						inputMasks[i] |= 1 << input.ordinal();
+				}
 			}
 
+			refreshCount++;
+			updateInputs();
+
 			// Clear total probabilities.
 			totalProbCache = 0D;
 			// Determine probabilities.
-			for (MetaTask mt : mtListCache) {
-				double probability = mt.getProbability(person);
-				if ((probability >= 0D) && (!Double.isNaN(probability)) && (!Double.isInfinite(probability))) {
-					if (probability > MAX_TASK_PROBABILITY) {
-						if (mt.getName().equalsIgnoreCase("sleepmeta")) {
-							LogConsolidated.log(Level.WARNING, 10_000, sourceName, mind.getPerson().getName() + " - "
-									+ mt.getName() + " felt very sleepy (" + Math.round(probability * 10.0) / 10.0 + ").");
-						}
-						else 
-							LogConsolidated.log(Level.WARNING, 10_000, sourceName, mind.getPerson().getName() + " - "
-								+ mt.getName() + "'s probability is at all time high : " + Math.round(probability * 10.0) / 10.0 + ".");
-						// If the person has a strong desire to eat, stop here and go to eat
-						// The person has a strong desire to sleep, stop here and go to sleep
-//						if (person.isInside() && mt.getName().contains("sleep")) { 
-//							addTask(new Sleep(person), false);
-//						}
-//						else {
-//							if (mt.getName().contains("eat")) 
-//								goEat();
-//							else
-//								probability = MAX_TASK_PROBABILITY;
-//						}
-						probability = MAX_TASK_PROBABILITY;
-					}
-//					if (person.getName().contains("Enrique")) // && mt.getName().contains("Review"))
-//						System.out.println(person + " " + mt.getName() + " " + Math.round(probability*10.0)/10.0);
-					taskProbCache.put(mt, probability);
-					totalProbCache += probability;
-//					System.out.println(person + " totalProbCache : " + Math.round(totalProbCache*10.0)/10.0);
+			for (int i = 0; i < taskProbCache.length; i++) {
+				if (isStale(i)) {
+					taskProbCache[i] = computeProbability(mtListCache.get(i));
+					computedAt[i] = refreshCount;
 				}
+				totalProbCache += taskProbCache[i];
+				cumulativeProbCache[i] = totalProbCache;
+			}
+		}
+	}
 
-				else {
-					taskProbCache.put(mt, 0D);
-					LogConsolidated.log(Level.SEVERE, 5_000, sourceName,
-							mind.getPerson().getName() + " has invalid probability when calculating " + mt.getName()
-									+ " : Probability is " + probability + ".");
+	/**
+	 * Computes the probability of a meta task.
+	 * 
+	 * @param mt the meta task
+	 * @return the probability weight
+	 */
+	private double computeProbability(MetaTask mt) {
+		double probability = mt.getProbability(person);
+		if ((probability >= 0D) && (!Double.isNaN(probability)) && (!Double.isInfinite(probability))) {
+			if (probability > MAX_TASK_PROBABILITY) {
+				if (mt.getName().equalsIgnoreCase("sleepmeta")) {
+					LogConsolidated.log(Level.WARNING, 10_000, sourceName, mind.getPerson().getName() + " - "
+							+ mt.getName() + " felt very sleepy (" + Math.round(probability * 10.0) / 10.0 + ").");
 				}
+				else 
+					LogConsolidated.log(Level.WARNING, 10_000, sourceName, mind.getPerson().getName() + " - "
+						+ mt.getName() + "'s probability is at all time high : " + Math.round(probability * 10.0) / 10.0 + ".");
+				probability = MAX_TASK_PROBABILITY;
 			}
+			return probability;
 		}
+
+		LogConsolidated.log(Level.SEVERE, 5_000, sourceName,
+				mind.getPerson().getName() + " has invalid probability when calculating " + mt.getName()
+						+ " : Probability is " + probability + ".");
+		return 0D;
+	}
+
+	/**
+	 * Checks if any input of a meta task has changed since its probability was
+	 * computed.
+	 * 
+	 * @param index the index of the meta task in mtListCache
+	 * @return true if the probability must be recomputed
+	 */
+	private boolean isStale(int index) {
+		long computed = computedAt[index];
+		if (computed < 0)
+			return true;
+		int mask = inputMasks[index];
+		for (int i = 0; i < NUM_INPUTS; i++) {
+			if ((mask & (1 << i)) != 0 && inputChangedAt[i] > computed)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Compares the task inputs with their last seen values and records the ones
+	 * that have changed.
+	 */
+	private void updateInputs() {
+		if (inputChangedAt == null)
+			inputChangedAt = new long[NUM_INPUTS];
+
+		LocationStateType locationState = person.getLocationStateType();
+		int containerID = person.getContainerID();
+		Building building = person.getBuildingLocation();
+		if (locationState != locationStateCache || containerID != containerIDCache || building != buildingCache) {
+			locationStateCache = locationState;
+			containerIDCache = containerID;
+			buildingCache = building;
+			inputChanged(TaskInput.LOCATION);
+		}
+
+		Job job = mind.getJob();
+		Role role = person.getRole();
+		RoleType roleType = (role == null) ? null : role.getType();
+		ShiftType shiftType = taskSchedule.getShiftType();
+		if (job != jobCache || roleType != roleTypeCache || shiftType != shiftTypeCache) {
+			jobCache = job;
+			roleTypeCache = roleType;
+			shiftTypeCache = shiftType;
+			inputChanged(TaskInput.ROLE);
+		}
+
+		Mission mission = mind.getMission();
+		if (mission != missionCache) {
+			missionCache = mission;
+			inputChanged(TaskInput.MISSION);
+		}
+
+		int numProblems = health.getProblems().size();
+		if (numProblems != numProblemsCache) {
+			numProblemsCache = numProblems;
+			inputChanged(TaskInput.HEALTH);
+		}
+
+		if (conditionBandsCache == null)
+			conditionBandsCache = new int[5];
+		int fatigue = (int) (health.getFatigue() / FATIGUE_BAND);
+		int hunger = (int) (health.getHunger() / HUNGER_BAND);
+		int thirst = (int) (health.getThirst() / THIRST_BAND);
+		int stress = (int) (health.getStress() / STRESS_BAND);
+		int performance = (int) (health.getPerformanceFactor() / PERFORMANCE_BAND);
+		if (refreshCount == 1 || fatigue != conditionBandsCache[0] || hunger != conditionBandsCache[1]
+				|| thirst != conditionBandsCache[2] || stress != conditionBandsCache[3]
+				|| performance != conditionBandsCache[4]) {
+			conditionBandsCache[0] = fatigue;
+			conditionBandsCache[1] = hunger;
+			conditionBandsCache[2] = thirst;
+			conditionBandsCache[3] = stress;
+			conditionBandsCache[4] = performance;
+			inputChanged(TaskInput.CONDITION);
+		}
+
+		int time = marsClock.getMissionSol() * 1000 + marsClock.getMillisolInt();
+		if (time != timeCache) {
+			timeCache = time;
+			inputChanged(TaskInput.TIME);
+		}
+
+		int surroundingsPeriod = time / SURROUNDINGS_PERIOD;
+		if (surroundingsPeriod != surroundingsPeriodCache) {
+			surroundingsPeriodCache = surroundingsPeriod;
+			inputChanged(TaskInput.SURROUNDINGS);
+		}
+
+		int preference = person.getPreference().getChangeCount();
+		if (preference != preferenceCache) {
+			preferenceCache = preference;
+			inputChanged(TaskInput.PREFERENCE);
+		}
+	}
+
+	private void inputChanged(TaskInput input) {
+		inputChangedAt[input.ordinal()] = refreshCount;
+	}
+
+	/**
+	 * Checks if the probability of a meta task was computed at the last refresh.
+	 * 
+	 * @param mt the meta task
+	 * @return true if it was computed at the last refresh
+	 */
+	boolean isComputedAtLastRefresh(MetaTask mt) {
+		int index = (mtListCache == null) ? -1 : mtListCache.indexOf(mt);
+		return index >= 0 && computedAt[index] == refreshCount;
+	}
+
+	/**
+	 * Finds the meta task picked by a random number, i.e. the first one whose
+	 * running total of probabilities exceeds it.
+	 * 
+	 * @param r a random number from 0 to the total probability
+	 * @return the index of the meta task in mtListCache
+	 */
+	private int findTaskIndex(double r) {
+		int low = 0;
+		int high = cumulativeProbCache.length - 1;
+		if (r >= cumulativeProbCache[high]) {
+			// Rounding error : pick the last task with a non zero probability
+			while (high > 0 && taskProbCache[high] == 0D)
+				high--;
+			return high;
+		}
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (cumulativeProbCache[mid] > r)
+				high = mid;
+			else
+				low = mid + 1;
+		}
+		return low;
 	}
 
 //	public void goEat() {
@@ -917,9 +1100,8 @@ public class TaskManager implements Serializable {
 		circadian = null;
 		taskSchedule = null;
 		marsClock = null;
-		if (taskProbCache != null) {
-			taskProbCache.clear();
-			taskProbCache = null;
-		}
+		taskProbCache = null;
+		cumulativeProbCache = null;
+		mtListCache = null;
 	}
 }
\ No newline at end of file
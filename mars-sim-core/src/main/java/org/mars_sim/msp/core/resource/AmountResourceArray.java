@@ -0,0 +1,87 @@
+/**
+ * Mars Simulation Project
+ * AmountResourceArray.java
+ * @version 3.1.1 2026-10-18
+ * @author agent
+ */
+package org.mars_sim.msp.core.resource;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * A double value for each amount resource. Amount resource ids are small dense
+ * integers starting from {@link ResourceUtil#FIRST_AMOUNT_RESOURCE_ID}, so the
+ * values are held in an array indexed by id rather than in a map of boxed keys
+ * and values. The array grows as needed up to the highest id set. Values that
+ * have never been set are zero.
+ */
+public class AmountResourceArray implements Serializable {
+
+	/** default serial id. */
+	private static final long serialVersionUID = 1L;
+
+	private static final double[] EMPTY = new double[0];
+
+	private double[] values = EMPTY;
+
+	/**
+	 * Gets the value for an amount resource.
+	 * 
+	 * @param resource the amount resource id
+	 * @return the value or zero if never set
+	 */
+	public double get(int resource) {
+		int i = resource - ResourceUtil.FIRST_AMOUNT_RESOURCE_ID;
+		if (i >= 0 && i < values.length)
+			return values[i];
+		return 0D;
+	}
+
+	/**
+	 * Sets the value for an amount resource.
+	 * 
+	 * @param resource the amount resource id
+	 * @param value    the new value
+	 */
+	public void set(int resource, double value) {
+		int i = resource - ResourceUtil.FIRST_AMOUNT_RESOURCE_ID;
+		if (i < 0)
+			throw new IllegalArgumentException("Not an amount resource id: " + resource);
+		if (i >= values.length) {
+			if (value == 0D)
+				return;
+			values = Arrays.copyOf(values, Math.max(i + 1, values.length * 2));
+		}
+		values[i] = value;
+	}
+
+	/**
+	 * Gets the sum of all the values.
+	 * 
+	 * @return the sum
+	 */
+	public double sum() {
+		double result = 0D;
+		for (double v : values)
+			result += v;
+		return result;
+	}
+
+	/**
+	 * Gets the highest amount resource id that may have a value, plus one. Used for
+	 * iterating over the ids.
+	 * 
+	 * @return the upper bound (exclusive) of the ids
+	 */
+	public int getIDBound() {
+		return ResourceUtil.FIRST_AMOUNT_RESOURCE_ID + values.length;
+	}
+
+	/**
+	 * Resets all the values to zero.
+	 */
+	public void clear() {
+		Arrays.fill(values, 0D);
+	}
+}
@@ -9,11 +9,11 @@ package org.mars_sim.msp.core.resource;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.BitSet;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 
@@ -25,16 +25,28 @@ class AmountResourceTypeStorage implements Serializable {
 	/** default serial id. */
 	private static final long serialVersionUID = 1L;
 
+	/**
+	 * The serialized fields. The capacity and stored amounts used to be saved as
+	 * maps of {@link ResourceAmount} in typeCapacities and typeStored. Those two
+	 * are still declared so that older saves can be converted on load.
+	 */
+	private static final ObjectStreamField[] serialPersistentFields = {
+			new ObjectStreamField("capacities", AmountResourceArray.class),
+			new ObjectStreamField("capacityIDs", BitSet.class),
+			new ObjectStreamField("stored", AmountResourceArray.class),
+			new ObjectStreamField("typeCapacities", Map.class),
+			new ObjectStreamField("typeStored", Map.class) };
+
 	// Data members
 
 	/** Capacity for each type of amount resource. */
-	// private Map<AmountResource, ResourceAmount> amountResourceTypeCapacities =
-	// null;
-	private Map<Integer, ResourceAmount> typeCapacities = null;
+	private AmountResourceArray capacities = null;
+
+	/** The ids of the amount resources with a type capacity. */
+	private BitSet capacityIDs = null;
 
 	/** Stored resources by type. */
-	// private Map<AmountResource, ResourceAmount> amountResourceTypeStored = null;
-	private Map<Integer, ResourceAmount> typeStored = null;
+	private AmountResourceArray stored = null;
 
 	/** Cache value for the total amount of resources stored. */
 	private transient double totalAmountCache = 0D;
@@ -62,16 +74,13 @@ class AmountResourceTypeStorage implements Serializable {
 			throw new IllegalStateException("Cannot add negative type capacity: " + capacity);
 		}
 
-		if (typeCapacities == null) {
-			typeCapacities = new HashMap<Integer, ResourceAmount>();
+		if (capacities == null) {
+			capacities = new AmountResourceArray();
+			capacityIDs = new BitSet();
 		}
 
-		if (hasARTypeCapacity(resource)) {
-			ResourceAmount existingCapacity = typeCapacities.get(resource);
-			existingCapacity.setAmount(existingCapacity.getAmount() + capacity);
-		} else {
-			typeCapacities.put(resource, new ResourceAmount(capacity));
-		}
+		capacities.set(resource, capacities.get(resource) + capacity);
+		capacityIDs.set(resource);
 	}
 
 	/**
@@ -96,21 +105,19 @@ class AmountResourceTypeStorage implements Serializable {
 			throw new IllegalStateException("Cannot remove negative type capacity: " + capacity);
 		}
 
-		if (typeCapacities == null) {
-			typeCapacities = new HashMap<Integer, ResourceAmount>();
+		if (capacities == null) {
+			capacities = new AmountResourceArray();
+			capacityIDs = new BitSet();
 		}
 
 		double existingCapacity = getAmountResourceTypeCapacity(resource);
 		double newCapacity = existingCapacity - capacity;
 		if (newCapacity > 0D) {
-			if (hasARTypeCapacity(resource)) {
-				ResourceAmount existingCapacityAmount = typeCapacities.get(resource);
-				existingCapacityAmount.setAmount(newCapacity);
-			} else {
-				typeCapacities.put(resource, new ResourceAmount(newCapacity));
-			}
+			capacities.set(resource, newCapacity);
+			capacityIDs.set(resource);
 		} else if (newCapacity == 0D) {
-			typeCapacities.remove(resource);
+			capacities.set(resource, 0D);
+			capacityIDs.clear(resource);
 		} else {
 			throw new IllegalStateException("Insufficient existing resource type capacity to remove - existing: "
 					+ existingCapacity + ", removed: " + capacity);
@@ -137,11 +144,8 @@ class AmountResourceTypeStorage implements Serializable {
 
 		boolean result = false;
 
-//      if (amountResourceTypeCapacities != null) {
-//   	   result = amountResourceTypeCapacities.containsKey(resource);
-//  	}
-		if (typeCapacities != null) {
-			result = typeCapacities.containsKey(resource);
+		if (capacityIDs != null) {
+			result = capacityIDs.get(resource);
 		}
 
 		return result;
@@ -167,8 +171,8 @@ class AmountResourceTypeStorage implements Serializable {
 
 		double result = 0D;
 
-		if (hasARTypeCapacity(resource)) {
-			result = (typeCapacities.get(resource)).getAmount();
+		if (capacities != null) {
+			result = capacities.get(resource);
 		}
 
 		return result;
@@ -181,15 +185,7 @@ class AmountResourceTypeStorage implements Serializable {
 	 * @return stored amount (kg).
 	 */
 	double getAmountResourceTypeStored(AmountResource resource) {
-
-		double result = 0D;
-
-		ResourceAmount storedAmount = getARTypeStoredObject(resource.getID());// getAmountResourceTypeStoredObject(resource);
-		if (storedAmount != null) {
-			result = storedAmount.getAmount();
-		}
-
-		return result;
+		return getAmountResourceTypeStored(resource.getID());
 	}
 
 	/**
@@ -202,46 +198,8 @@ class AmountResourceTypeStorage implements Serializable {
 
 		double result = 0D;
 
-		ResourceAmount storedAmount = getARTypeStoredObject(resource);
-		if (storedAmount != null) {
-			result = storedAmount.getAmount();
-		}
-
-		return result;
-	}
-
-	/**
-	 * Gets the amount of a resource type stored.
-	 * 
-	 * @param resource the resource.
-	 * @return stored amount as ResourceAmount object.
-	 */
-	private ResourceAmount getAmountResourceTypeStoredObject(AmountResource resource) {
-
-		ResourceAmount result = null;
-
-//        if (amountResourceTypeStored != null) {
-//            result = amountResourceTypeStored.get(resource);
-//        }
-		if (typeStored != null) {
-			result = typeStored.get(resource.getID());
-		}
-
-		return result;
-	}
-
-	/**
-	 * Gets the amount of a resource type stored.
-	 * 
-	 * @param resource the resource.
-	 * @return stored amount as ResourceAmount object.
-	 */
-	private ResourceAmount getARTypeStoredObject(int resource) {
-
-		ResourceAmount result = null;
-
-		if (typeStored != null) {
-			result = typeStored.get(resource);
+		if (stored != null) {
+			result = stored.get(resource);
 		}
 
 		return result;
@@ -283,27 +241,7 @@ class AmountResourceTypeStorage implements Serializable {
 	 * Updates the total amount of resources stored.
 	 */
 	private void updateTotalAmountResourceTypesStored() {
-
-		double totalAmount = 0D;
-
-//        if (amountResourceTypeStored != null) {
-//            Map<AmountResource, ResourceAmount> tempMap = Collections.unmodifiableMap(amountResourceTypeStored);
-//            Iterator<AmountResource> i = tempMap.keySet().iterator();
-//            while (i.hasNext()) {
-//                totalAmount += tempMap.get(i.next()).getAmount();
-//            }
-//        }
-
-		if (typeStored != null) {
-			Map<Integer, ResourceAmount> tempMap = Collections.unmodifiableMap(typeStored);
-			Iterator<Integer> i = tempMap.keySet().iterator();
-			while (i.hasNext()) {
-				totalAmount += tempMap.get(i.next()).getAmount();
-			}
-		}
-
-		totalAmountCache = totalAmount;
-		totalAmountCacheDirty = false;
+		updateTotalARTypesStored();
 	}
 
 	/**
@@ -313,12 +251,8 @@ class AmountResourceTypeStorage implements Serializable {
 
 		double totalAmount = 0D;
 
-		if (typeStored != null) {
-			Map<Integer, ResourceAmount> tempMap = Collections.unmodifiableMap(typeStored);
-			Iterator<Integer> i = tempMap.keySet().iterator();
-			while (i.hasNext()) {
-				totalAmount += tempMap.get(i.next()).getAmount();
-			}
+		if (stored != null) {
+			totalAmount = stored.sum();
 		}
 
 		totalAmountCache = totalAmount;
@@ -365,12 +299,11 @@ class AmountResourceTypeStorage implements Serializable {
 
 		Set<Integer> result = null;
 
-		if (typeStored != null) {
-			result = new HashSet<Integer>(typeStored.size());
-			Iterator<Integer> i = typeStored.keySet().iterator();
-			while (i.hasNext()) {
-				Integer resource = i.next();
-				if (getAmountResourceTypeStored(resource) > 0D) {
+		if (stored != null) {
+			result = new HashSet<Integer>();
+			int bound = stored.getIDBound();
+			for (int resource = ResourceUtil.FIRST_AMOUNT_RESOURCE_ID; resource < bound; resource++) {
+				if (stored.get(resource) > 0D) {
 					result.add(resource);
 				}
 			}
@@ -443,16 +376,11 @@ class AmountResourceTypeStorage implements Serializable {
 				// Set total amount cache to dirty since value is changing.
 				totalAmountCacheDirty = true;
 
-				if (typeStored == null) {
-					typeStored = new HashMap<Integer, ResourceAmount>();
+				if (stored == null) {
+					stored = new AmountResourceArray();
 				}
 
-				ResourceAmount stored = getARTypeStoredObject(resource);
-				if (stored != null) {
-					stored.setAmount(stored.getAmount() + amount);
-				} else {
-					typeStored.put(resource, new ResourceAmount(amount));
-				}
+				stored.set(resource, stored.get(resource) + amount);
 			} else
 				throw new IllegalStateException("Amount resource could not be added in type storage.");
 		}
@@ -476,8 +404,7 @@ class AmountResourceTypeStorage implements Serializable {
 				// Set total amount cache to dirty since value is changing.
 				totalAmountCacheDirty = true;
 
-				ResourceAmount stored = getAmountResourceTypeStoredObject(resource);
-				stored.setAmount(stored.getAmount() - amount);
+				stored.set(resource.getID(), stored.get(resource.getID()) - amount);
 			} else {
 				throw new IllegalStateException("Amount resource (" + resource.getName() + ":" + amount
 						+ ") could not be retrieved from type storage");
@@ -503,8 +430,7 @@ class AmountResourceTypeStorage implements Serializable {
 				// Set total amount cache to dirty since value is changing.
 				totalAmountCacheDirty = true;
 
-				ResourceAmount stored = getARTypeStoredObject(resource);
-				stored.setAmount(stored.getAmount() - amount);
+				stored.set(resource, stored.get(resource) - amount);
 			} else {
 				throw new IllegalStateException(
 						"Amount resource (" + resource + ":" + amount + ") could not be retrieved from type storage");
@@ -512,29 +438,6 @@ class AmountResourceTypeStorage implements Serializable {
 		}
 	}
 
-	/**
-	 * Internal class for storing type resource amounts.
-	 */
-	private static class ResourceAmount implements Serializable {
-
-		/** default serial id. */
-		private static final long serialVersionUID = 1L;
-		
-		private double amount;
-
-		private ResourceAmount(double amount) {
-			this.amount = amount;
-		}
-
-		private void setAmount(double amount) {
-			this.amount = amount;
-		}
-
-		private double getAmount() {
-			return amount;
-		}
-	}
-
 	public void restoreARs(AmountResource[] ars) {
 //    	if (amountResourceTypeCapacities != null && !amountResourceTypeCapacities.isEmpty()) {
 //	    	for (AmountResource r : amountResourceTypeCapacities.keySet()) {
@@ -599,8 +502,9 @@ class AmountResourceTypeStorage implements Serializable {
 //        if (amountResourceTypeStored != null) amountResourceTypeStored.clear();
 //        amountResourceTypeStored = null;
 
-		typeCapacities = null;
-		typeStored = null;
+		capacities = null;
+		capacityIDs = null;
+		stored = null;
 	}
 
 	/**
@@ -612,9 +516,63 @@ class AmountResourceTypeStorage implements Serializable {
 	 */
 	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
 
-		in.defaultReadObject();
+		ObjectInputStream.GetField fields = in.readFields();
+		capacities = (AmountResourceArray) fields.get("capacities", null);
+		capacityIDs = (BitSet) fields.get("capacityIDs", null);
+		stored = (AmountResourceArray) fields.get("stored", null);
+
+		// Convert the amounts of an older save.
+		Map<?, ?> oldCapacities = (Map<?, ?>) fields.get("typeCapacities", null);
+		if (oldCapacities != null) {
+			capacities = new AmountResourceArray();
+			capacityIDs = new BitSet();
+			for (Map.Entry<?, ?> e : oldCapacities.entrySet()) {
+				int resource = (Integer) e.getKey();
+				capacities.set(resource, ((ResourceAmount) e.getValue()).getAmount());
+				capacityIDs.set(resource);
+			}
+		}
+
+		Map<?, ?> oldStored = (Map<?, ?>) fields.get("typeStored", null);
+		if (oldStored != null) {
+			stored = new AmountResourceArray();
+			for (Map.Entry<?, ?> e : oldStored.entrySet()) {
+				stored.set((Integer) e.getKey(), ((ResourceAmount) e.getValue()).getAmount());
+			}
+		}
 
 		// Initialize transient variables that need it.
 		totalAmountCacheDirty = true;
 	}
+
+	/**
+	 * Implementing writeObject method for serialization.
+	 * 
+	 * @param out the output stream.
+	 * @throws IOException if error writing to output stream.
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException {
+
+		ObjectOutputStream.PutField fields = out.putFields();
+		fields.put("capacities", capacities);
+		fields.put("capacityIDs", capacityIDs);
+		fields.put("stored", stored);
+		out.writeFields();
+	}
+
+	/**
+	 * The amount of a resource type as saved by older versions. Only used to
+	 * convert older saves on load.
+	 */
+	private static class ResourceAmount implements Serializable {
+
+		/** default serial id. */
+		private static final long serialVersionUID = 1L;
+
+		private double amount;
+
+		private double getAmount() {
+			return amount;
+		}
+	}
 }
\ No newline at end of file
@@ -234,9 +234,9 @@ public class ItemResourceUtil implements Serializable {
 	 * @return
 	 */
 	public static List<Part> getSortedParts() {
-		sortedParts = new ArrayList<>(partSet);
-		Collections.sort(sortedParts);
-		return sortedParts;
+		List<Part> parts = new ArrayList<>(partSet);
+		Collections.sort(parts);
+		return parts;
 	}
 
 	
@@ -15,6 +15,7 @@ import java.util.logging.Logger;
 
 import org.mars_sim.msp.core.SimulationConfig;
 import org.mars_sim.msp.core.Unit;
+import org.mars_sim.msp.core.UnitManager;
 import org.mars_sim.msp.core.equipment.Equipment;
 import org.mars_sim.msp.core.location.LocationStateType;
 import org.mars_sim.msp.core.malfunction.MalfunctionManager;
@@ -141,12 +142,15 @@ public class Robot extends Equipment implements Salvagable, Malfunctionable, Mis
 
 	/**
 	 * Must be synchronised to prevent duplicate ids being assigned via different
-	 * threads.
+	 * threads. Settlement work units take their ids in turn.
 	 * 
 	 * @return
 	 */
-	private static synchronized int getNextIdentifier() {
-		return uniqueCount++;
+	private static int getNextIdentifier() {
+		UnitManager.awaitTurn();
+		synchronized (Robot.class) {
+			return uniqueCount++;
+		}
 	}
 	
 	/**
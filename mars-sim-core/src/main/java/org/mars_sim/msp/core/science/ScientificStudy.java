@@ -291,6 +291,15 @@ public class ScientificStudy implements Serializable, Comparable<ScientificStudy
 		return unitManager.getPersonByID(primaryResearcher);
 	}
 
+	/**
+	 * Gets the id of the study's primary researcher.
+	 * 
+	 * @return person id.
+	 */
+	int getPrimaryResearcherID() {
+		return primaryResearcher;
+	}
+
 	/**
 	 * Gets the total amount of proposal work time required for the study.
 	 * 
@@ -364,12 +373,17 @@ public class ScientificStudy implements Serializable, Comparable<ScientificStudy
 
 	
 	/**
-	 * Adds a collaborative researcher to the study.
+	 * Adds a collaborative researcher to the study. The collaborators are read by
+	 * the researchers of every settlement, so the change is deferred until after
+	 * the barrier when the settlements are ticked in parallel.
 	 * 
 	 * @param researcher the collaborative researcher.
 	 * @param science    the scientific field to collaborate with.
 	 */
 	public void addCollaborativeResearcher(Person researcher, ScienceType science) {
+		if (UnitManager.deferToBarrier(() -> addCollaborativeResearcher(researcher, science)))
+			return;
+
 		Integer id = researcher.getIdentifier();
 		collaborativeResearchers.put(id, science);
 		collaborativeResearchWorkTime.put(id, 0D);
@@ -382,11 +396,15 @@ public class ScientificStudy implements Serializable, Comparable<ScientificStudy
 	}
 
 	/**
-	 * Removes a collaborative researcher from a study.
+	 * Removes a collaborative researcher from a study. The change is deferred like
+	 * {@link #addCollaborativeResearcher(Person, ScienceType)}.
 	 * 
 	 * @param researcher the collaborative researcher.
 	 */
 	public void removeCollaborativeResearcher(Person researcher) { 
+		if (UnitManager.deferToBarrier(() -> removeCollaborativeResearcher(researcher)))
+			return;
+
 		Integer id = researcher.getIdentifier();
 		collaborativeResearchers.remove(id);
 		collaborativeResearchWorkTime.remove(id);
@@ -451,11 +469,15 @@ public class ScientificStudy implements Serializable, Comparable<ScientificStudy
 
 	/**
 	 * Adds a researcher to the list of researchers invited to collaborate on this
-	 * study.
+	 * study. The change is deferred like
+	 * {@link #addCollaborativeResearcher(Person, ScienceType)}.
 	 * 
 	 * @param researcher the invited researcher.
 	 */
 	public void addInvitedResearcher(Person researcher) {
+		if (UnitManager.deferToBarrier(() -> addInvitedResearcher(researcher)))
+			return;
+
 		if (!invitedResearchers.containsKey(researcher.getIdentifier()))
 			invitedResearchers.put(researcher.getIdentifier(), false);
 	}
@@ -841,6 +863,15 @@ public class ScientificStudy implements Serializable, Comparable<ScientificStudy
 		return unitManager.getSettlementByID(primarySettlement);
 	}
 
+	/**
+	 * Gets the id of the settlement where primary research is conducted.
+	 * 
+	 * @return settlement id.
+	 */
+	int getPrimarySettlementID() {
+		return primarySettlement;
+	}
+
 	/**
 	 * Gets the last time primary research work was done on the study.
 	 * 
@@ -0,0 +1,201 @@
+/**
+ * Mars Simulation Project
+ * ScientificStudyIndex.java
+ * @version 3.1.1 2026-10-18
+ * @author agent
+ */
+package org.mars_sim.msp.core.science;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * The secondary indexes of the scientific studies, by state, primary
+ * researcher, collaborative researcher, primary settlement and science. The
+ * state of an ongoing study is its phase and the state of a completed study is
+ * its completion state. The index listens to the studies and moves them
+ * between the buckets on each phase change, completion or change of
+ * collaborators. It is not saved but rebuilt from the studies after loading.
+ */
+final class ScientificStudyIndex implements ScientificStudyListener {
+
+	// Data members
+	/** The ongoing studies, in the order they were added. */
+	private final Set<ScientificStudy> ongoing = new LinkedHashSet<>();
+	/** The state each study is filed under. */
+	private final Map<ScientificStudy, String> states = new HashMap<>();
+	/** The studies keyed by state. */
+	private final Map<String, Set<ScientificStudy>> byState = new HashMap<>();
+	/** The studies keyed by the id of their primary researcher. */
+	private final Map<Integer, Set<ScientificStudy>> byPrimaryResearcher = new HashMap<>();
+	/** The studies keyed by the id of their collaborative researchers. */
+	private final Map<Integer, Set<ScientificStudy>> byCollaborator = new HashMap<>();
+	/** The studies keyed by the id of their primary settlement. */
+	private final Map<Integer, Set<ScientificStudy>> bySettlement = new HashMap<>();
+	/** The studies keyed by their primary science. */
+	private final Map<ScienceType, Set<ScientificStudy>> byScience = new HashMap<>();
+
+	/**
+	 * Adds a study to the index.
+	 *
+	 * @param study the study.
+	 */
+	void add(ScientificStudy study) {
+		// Listen first, outside the lock, as the study fires its events under its
+		// own lock.
+		study.addScientificStudyListener(this);
+
+		synchronized (this) {
+			if (states.containsKey(study))
+				return;
+			file(byPrimaryResearcher, study.getPrimaryResearcherID(), study);
+			file(bySettlement, study.getPrimarySettlementID(), study);
+			file(byScience, study.getScience(), study);
+			for (Integer id : study.getCollaborativeResearchers().keySet())
+				file(byCollaborator, id, study);
+			updateState(study);
+		}
+	}
+
+	/**
+	 * Removes all the studies from the index.
+	 */
+	synchronized void clear() {
+		ongoing.clear();
+		states.clear();
+		byState.clear();
+		byPrimaryResearcher.clear();
+		byCollaborator.clear();
+		bySettlement.clear();
+		byScience.clear();
+	}
+
+	@Override
+	public synchronized void scientificStudyUpdate(ScientificStudyEvent event) {
+		ScientificStudy study = event.getStudy();
+		if (!states.containsKey(study))
+			return;
+
+		String type = event.getType();
+		if (ScientificStudyEvent.PHASE_CHANGE_EVENT.equals(type)
+				|| ScientificStudyEvent.STUDY_COMPLETION_EVENT.equals(type))
+			updateState(study);
+		else if (ScientificStudyEvent.ADD_COLLABORATOR_EVENT.equals(type) && event.getResearcher() != null)
+			file(byCollaborator, event.getResearcher().getIdentifier(), study);
+		else if (ScientificStudyEvent.REMOVE_COLLABORATOR_EVENT.equals(type) && event.getResearcher() != null)
+			unfile(byCollaborator, event.getResearcher().getIdentifier(), study);
+	}
+
+	/**
+	 * Gets the ongoing studies.
+	 *
+	 * @return list of studies.
+	 */
+	synchronized List<ScientificStudy> getOngoingStudies() {
+		return new ArrayList<>(ongoing);
+	}
+
+	/**
+	 * Gets the studies in a state.
+	 *
+	 * @param state a phase or a completion state.
+	 * @return list of studies.
+	 */
+	synchronized List<ScientificStudy> getStudies(String state) {
+		return select(byState.get(state), s -> true);
+	}
+
+	/**
+	 * Gets the studies of a primary researcher.
+	 *
+	 * @param researcherID the id of the researcher.
+	 * @param completed    true for the completed studies, false for the ongoing.
+	 * @return list of studies.
+	 */
+	synchronized List<ScientificStudy> getPrimaryStudies(int researcherID, boolean completed) {
+		return select(byPrimaryResearcher.get(researcherID), s -> s.isCompleted() == completed);
+	}
+
+	/**
+	 * Gets the studies of a collaborative researcher.
+	 *
+	 * @param researcherID the id of the researcher.
+	 * @param completed    true for the completed studies, false for the ongoing.
+	 * @return list of studies.
+	 */
+	synchronized List<ScientificStudy> getCollaborativeStudies(int researcherID, boolean completed) {
+		return select(byCollaborator.get(researcherID), s -> s.isCompleted() == completed);
+	}
+
+	/**
+	 * Gets the studies of a primary settlement in a science.
+	 *
+	 * @param settlementID the id of the settlement.
+	 * @param science      the science, or null for all.
+	 * @param filter       the condition on the studies.
+	 * @return list of studies.
+	 */
+	synchronized List<ScientificStudy> getSettlementStudies(int settlementID, ScienceType science,
+			Predicate<ScientificStudy> filter) {
+		Set<ScientificStudy> atSettlement = bySettlement.get(settlementID);
+		if (science == null)
+			return select(atSettlement, filter);
+
+		// Walk the smaller of the two buckets.
+		Set<ScientificStudy> inScience = byScience.get(science);
+		if (atSettlement == null || inScience == null)
+			return new ArrayList<>(0);
+		if (inScience.size() < atSettlement.size())
+			return select(inScience, s -> s.getPrimarySettlementID() == settlementID && filter.test(s));
+		else
+			return select(atSettlement, s -> s.getScience() == science && filter.test(s));
+	}
+
+	/**
+	 * Files a study under its current state.
+	 */
+	private void updateState(ScientificStudy study) {
+		String state = study.isCompleted() ? study.getCompletionState() : study.getPhase();
+		String old = states.put(study, state);
+		if (old != null)
+			unfile(byState, old, study);
+		file(byState, state, study);
+
+		if (study.isCompleted())
+			ongoing.remove(study);
+		else
+			ongoing.add(study);
+	}
+
+	private static List<ScientificStudy> select(Collection<ScientificStudy> studies,
+			Predicate<ScientificStudy> filter) {
+		if (studies == null)
+			return new ArrayList<>(0);
+		List<ScientificStudy> result = new ArrayList<>();
+		for (ScientificStudy study : studies) {
+			if (filter.test(study))
+				result.add(study);
+		}
+		return result;
+	}
+
+	private static <K> void file(Map<K, Set<ScientificStudy>> buckets, K key, ScientificStudy study) {
+		if (key != null)
+			buckets.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(study);
+	}
+
+	private static <K> void unfile(Map<K, Set<ScientificStudy>> buckets, K key, ScientificStudy study) {
+		Set<ScientificStudy> bucket = buckets.get(key);
+		if (bucket != null) {
+			bucket.remove(study);
+			if (bucket.isEmpty())
+				buckets.remove(key);
+		}
+	}
+}
@@ -40,6 +40,8 @@ public class ScientificStudyManager // extends Thread
 	
 	// Data members
 	private List<ScientificStudy> studies;
+	/** The indexes of the studies, rebuilt after loading. */
+	private transient volatile ScientificStudyIndex index;
 
 	private static Simulation sim = Simulation.instance();
 	private static MarsClock marsClock = sim.getMasterClock().getMarsClock();
@@ -61,7 +63,7 @@ public class ScientificStudyManager // extends Thread
 	 * @param difficultyLevel the difficulty level of the study.
 	 * @return the created study.
 	 */
-	public ScientificStudy createScientificStudy(Person researcher, ScienceType science, int difficultyLevel) {
+	public synchronized ScientificStudy createScientificStudy(Person researcher, ScienceType science, int difficultyLevel) {
 		if (researcher == null)
 			throw new IllegalArgumentException("Researcher cannot be null");
 		if (science == null)
@@ -71,26 +73,41 @@ public class ScientificStudyManager // extends Thread
 
 		ScientificStudy study = new ScientificStudy(researcher, science, difficultyLevel);
 		studies.add(study);
+		getIndex().add(study);
 
 		logger.fine(researcher.getName() + " began writing proposal for new " + study.toString());
 
 		return study;
 	}
 
+	/**
+	 * Gets the indexes of the studies, building them first if needed.
+	 * 
+	 * @return the indexes.
+	 */
+	private ScientificStudyIndex getIndex() {
+		ScientificStudyIndex result = index;
+		if (result == null) {
+			synchronized (this) {
+				result = index;
+				if (result == null) {
+					result = new ScientificStudyIndex();
+					for (ScientificStudy study : studies)
+						result.add(study);
+					index = result;
+				}
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * Gets all ongoing scientific studies.
 	 * 
 	 * @return list of studies.
 	 */
 	public List<ScientificStudy> getOngoingStudies() {
-		List<ScientificStudy> result = new ArrayList<ScientificStudy>();
-		Iterator<ScientificStudy> i = studies.iterator();
-		while (i.hasNext()) {
-			ScientificStudy study = i.next();
-			if (!study.isCompleted())
-				result.add(study);
-		}
-		return result;
+		return getIndex().getOngoingStudies();
 	}
 
 	/**
@@ -99,13 +116,10 @@ public class ScientificStudyManager // extends Thread
 	 * @return list of studies.
 	 */
 	public List<ScientificStudy> getCompletedStudies() {
-		List<ScientificStudy> result = new ArrayList<ScientificStudy>();
-		Iterator<ScientificStudy> i = studies.iterator();
-		while (i.hasNext()) {
-			ScientificStudy study = i.next();
-			if (study.isCompleted())
-				result.add(study);
-		}
+		ScientificStudyIndex studyIndex = getIndex();
+		List<ScientificStudy> result = studyIndex.getStudies(ScientificStudy.SUCCESSFUL_COMPLETION);
+		result.addAll(studyIndex.getStudies(ScientificStudy.FAILED_COMPLETION));
+		result.addAll(studyIndex.getStudies(ScientificStudy.CANCELED));
 		return result;
 	}
 
@@ -115,14 +129,7 @@ public class ScientificStudyManager // extends Thread
 	 * @return list of studies.
 	 */
 	public List<ScientificStudy> getSuccessfulStudies() {
-		List<ScientificStudy> result = new ArrayList<ScientificStudy>();
-		Iterator<ScientificStudy> i = studies.iterator();
-		while (i.hasNext()) {
-			ScientificStudy study = i.next();
-			if (study.isCompleted() && study.getCompletionState().equals(ScientificStudy.SUCCESSFUL_COMPLETION))
-				result.add(study);
-		}
-		return result;
+		return getIndex().getStudies(ScientificStudy.SUCCESSFUL_COMPLETION);
 	}
 
 	/**
@@ -131,14 +138,7 @@ public class ScientificStudyManager // extends Thread
 	 * @return list of studies.
 	 */
 	public List<ScientificStudy> getFailedStudies() {
-		List<ScientificStudy> result = new ArrayList<ScientificStudy>();
-		Iterator<ScientificStudy> i = studies.iterator();
-		while (i.hasNext()) {
-			ScientificStudy study = i.next();
-			if (study.isCompleted() && study.getCompletionState().equals(ScientificStudy.FAILED_COMPLETION))
-				result.add(study);
-		}
-		return result;
+		return getIndex().getStudies(ScientificStudy.FAILED_COMPLETION);
 	}
 
 	/**
@@ -147,14 +147,7 @@ public class ScientificStudyManager // extends Thread
 	 * @return list of studies.
 	 */
 	public List<ScientificStudy> getCanceledStudies() {
-		List<ScientificStudy> result = new ArrayList<ScientificStudy>();
-		Iterator<ScientificStudy> i = studies.iterator();
-		while (i.hasNext()) {
-			ScientificStudy study = i.next();
-			if (study.isCompleted() && study.getCompletionState().equals(ScientificStudy.CANCELED))
-				result.add(study);
-		}
-		return result;
+		return getIndex().getStudies(ScientificStudy.CANCELED);
 	}
 
 	/**
@@ -164,14 +157,10 @@ public class ScientificStudyManager // extends Thread
 	 * @return primary research scientific study or null if none.
 	 */
 	public ScientificStudy getOngoingPrimaryStudy(Person researcher) {
-		ScientificStudy result = null;
-		Iterator<ScientificStudy> i = studies.iterator();
-		while (i.hasNext()) {
-			ScientificStudy study = i.next();
-			if (!study.isCompleted() && (study.getPrimaryResearcher().equals(researcher)))
-				result = study;
-		}
-		return result;
+		List<ScientificStudy> ongoing = getIndex().getPrimaryStudies(researcher.getIdentifier(), false);
+		if (ongoing.isEmpty())
+			return null;
+		return ongoing.get(ongoing.size() - 1);
 	}
 
 	/**
@@ -182,14 +171,7 @@ public class ScientificStudyManager // extends Thread
 	 * @return the number of studies.
 	 */
 	public int getNumCompletedPrimaryStudies(Person researcher) {
-		int result = 0;
-		Iterator<ScientificStudy> i = studies.iterator();
-		while (i.hasNext()) {
-			ScientificStudy study = i.next();
-			if (study.isCompleted() && (study.getPrimaryResearcher().equals(researcher)))
-				result++;
-		}
-		return result;
+		return getIndex().getPrimaryStudies(researcher.getIdentifier(), true).size();
 	}
 	
 	/**
@@ -200,14 +182,7 @@ public class ScientificStudyManager // extends Thread
 	 * @return list of studies.
 	 */
 	public List<ScientificStudy> getCompletedPrimaryStudies(Person researcher) {
-		List<ScientificStudy> result = new ArrayList<ScientificStudy>();
-		Iterator<ScientificStudy> i = studies.iterator();
-		while (i.hasNext()) {
-			ScientificStudy study = i.next();
-			if (study.isCompleted() && (study.getPrimaryResearcher().equals(researcher)))
-				result.add(study);
-		}
-		return result;
+		return getIndex().getPrimaryStudies(researcher.getIdentifier(), true);
 	}
 
 	/**
@@ -218,14 +193,7 @@ public class ScientificStudyManager // extends Thread
 	 * @return list of studies.
 	 */
 	public List<ScientificStudy> getOngoingCollaborativeStudies(Person researcher) {
-		List<ScientificStudy> result = new ArrayList<ScientificStudy>();
-		Iterator<ScientificStudy> i = studies.iterator();
-		while (i.hasNext()) {
-			ScientificStudy study = i.next();
-			if (!study.isCompleted() && (study.getCollaborativeResearchers().containsKey(researcher.getIdentifier())))
-				result.add(study);
-		}
-		return result;
+		return getIndex().getCollaborativeStudies(researcher.getIdentifier(), false);
 	}
 
 	/**
@@ -236,24 +204,7 @@ public class ScientificStudyManager // extends Thread
 	 * @return list of studies.
 	 */
 	public List<ScientificStudy> getOngoingCollaborativeStudies(Settlement settlement, ScienceType type) {
-		boolean allSubject = false;
-		if (type == null)
-			allSubject = true;
-		List<ScientificStudy> result = new ArrayList<ScientificStudy>();
-
-		List<Person> pList = new ArrayList<>(settlement.getAllAssociatedPeople());
-
-		for (Person p : pList) {
-			Iterator<ScientificStudy> i = studies.iterator();
-			while (i.hasNext()) {
-				ScientificStudy study = i.next();
-				if (allSubject || type == study.getScience()) {
-					if (!study.isCompleted() && (study.getCollaborativeResearchers().containsKey(p.getIdentifier())))
-						result.add(study);
-				}
-			}
-		}
-		return result;
+		return getCollaborativeStudies(settlement, type, false);
 	}
 
 	/**
@@ -264,14 +215,7 @@ public class ScientificStudyManager // extends Thread
 	 * @return a number
 	 */
 	public int getNumCompletedCollaborativeStudies(Person researcher) {
-		int result = 0;
-		Iterator<ScientificStudy> i = studies.iterator();
-		while (i.hasNext()) {
-			ScientificStudy study = i.next();
-			if (study.isCompleted() && (study.getCollaborativeResearchers().containsKey(researcher.getIdentifier())))
-				result++;
-		}
-		return result;
+		return getIndex().getCollaborativeStudies(researcher.getIdentifier(), true).size();
 	}
 	
 	/**
@@ -282,14 +226,7 @@ public class ScientificStudyManager // extends Thread
 	 * @return list of studies.
 	 */
 	public List<ScientificStudy> getCompletedCollaborativeStudies(Person researcher) {
-		List<ScientificStudy> result = new ArrayList<ScientificStudy>();
-		Iterator<ScientificStudy> i = studies.iterator();
-		while (i.hasNext()) {
-			ScientificStudy study = i.next();
-			if (study.isCompleted() && (study.getCollaborativeResearchers().containsKey(researcher.getIdentifier())))
-				result.add(study);
-		}
-		return result;
+		return getIndex().getCollaborativeStudies(researcher.getIdentifier(), true);
 	}
 
 	/**
@@ -300,22 +237,25 @@ public class ScientificStudyManager // extends Thread
 	 * @return list of studies.
 	 */
 	public List<ScientificStudy> getCompletedCollaborativeStudies(Settlement settlement, ScienceType type) {
-		boolean allSubject = false;
-		if (type == null)
-			allSubject = true;
-		
-		List<ScientificStudy> result = new ArrayList<ScientificStudy>();
-
-		List<Person> pList = new ArrayList<>(settlement.getAllAssociatedPeople());
+		return getCollaborativeStudies(settlement, type, true);
+	}
 
-		for (Person p : pList) {
-			Iterator<ScientificStudy> i = studies.iterator();
-			while (i.hasNext()) {
-				ScientificStudy study = i.next();
-				if (allSubject || type == study.getScience()) {
-					if (study.isCompleted() && (study.getCollaborativeResearchers().containsKey(p.getIdentifier())))
-						result.add(study);
-				}
+	/**
+	 * Gets the scientific studies where the people of a settlement are
+	 * collaborative researchers. A study is listed once per such researcher.
+	 * 
+	 * @param settlement the settlement.
+	 * @param type       the science, or null for all.
+	 * @param completed  true for the completed studies, false for the ongoing.
+	 * @return list of studies.
+	 */
+	private List<ScientificStudy> getCollaborativeStudies(Settlement settlement, ScienceType type, boolean completed) {
+		ScientificStudyIndex studyIndex = getIndex();
+		List<ScientificStudy> result = new ArrayList<ScientificStudy>();
+		for (Person p : settlement.getAllAssociatedPeople()) {
+			for (ScientificStudy study : studyIndex.getCollaborativeStudies(p.getIdentifier(), completed)) {
+				if (type == null || type == study.getScience())
+					result.add(study);
 			}
 		}
 		return result;
@@ -328,20 +268,7 @@ public class ScientificStudyManager // extends Thread
 	 * @return list of studies.
 	 */
 	public List<ScientificStudy> getOngoingPrimaryStudies(Settlement settlement, ScienceType type) {
-		boolean allSubject = false;
-		if (type == null)
-			allSubject = true;
-		
-		List<ScientificStudy> result = new ArrayList<ScientificStudy>();
-		Iterator<ScientificStudy> i = studies.iterator();
-		while (i.hasNext()) {
-			ScientificStudy study = i.next();
-			if (allSubject || type == study.getScience()) {
-				if (!study.isCompleted() && settlement.equals(study.getPrimarySettlement()))
-					result.add(study);
-			}
-		}
-		return result;
+		return getIndex().getSettlementStudies(settlement.getIdentifier(), type, study -> !study.isCompleted());
 	}
 
 	/**
@@ -351,20 +278,7 @@ public class ScientificStudyManager // extends Thread
 	 * @return list of studies.
 	 */
 	public List<ScientificStudy> getCompletedPrimaryStudies(Settlement settlement, ScienceType type) {
-		boolean allSubject = false;
-		if (type == null)
-			allSubject = true;
-		
-		List<ScientificStudy> result = new ArrayList<ScientificStudy>();
-		Iterator<ScientificStudy> i = studies.iterator();
-		while (i.hasNext()) {
-			ScientificStudy study = i.next();
-			if (allSubject || type == study.getScience()) {
-				if (study.isCompleted() && settlement.equals(study.getPrimarySettlement()))
-					result.add(study);
-			}
-		}
-		return result;
+		return getIndex().getSettlementStudies(settlement.getIdentifier(), type, study -> study.isCompleted());
 	}
 
 	/**
@@ -374,21 +288,8 @@ public class ScientificStudyManager // extends Thread
 	 * @return list of studies.
 	 */
 	public List<ScientificStudy> getAllFailedStudies(Settlement settlement, ScienceType type) {
-		boolean allSubject = false;
-		if (type == null)
-			allSubject = true;
-		
-		List<ScientificStudy> result = new ArrayList<ScientificStudy>();
-		Iterator<ScientificStudy> i = studies.iterator();
-		while (i.hasNext()) {
-			ScientificStudy study = i.next();
-			if (allSubject || type == study.getScience()) {
-				if (study.isCompleted() && study.getCompletionState().equals(ScientificStudy.FAILED_COMPLETION)
-						&& settlement.equals(study.getPrimarySettlement()))
-					result.add(study);
-			}
-		}
-		return result;
+		return getIndex().getSettlementStudies(settlement.getIdentifier(), type,
+				study -> ScientificStudy.FAILED_COMPLETION.equals(study.getCompletionState()));
 	}
 
 	/**
@@ -398,21 +299,8 @@ public class ScientificStudyManager // extends Thread
 	 * @return list of studies.
 	 */
 	public List<ScientificStudy> getAllSuccessfulStudies(Settlement settlement, ScienceType type) {
-		boolean allSubject = false;
-		if (type == null)
-			allSubject = true;
-		
-		List<ScientificStudy> result = new ArrayList<ScientificStudy>();
-		Iterator<ScientificStudy> i = studies.iterator();
-		while (i.hasNext()) {
-			ScientificStudy study = i.next();
-			if (allSubject || type == study.getScience()) {
-				if (study.isCompleted() && study.getCompletionState().equals(ScientificStudy.SUCCESSFUL_COMPLETION)
-						&& settlement.equals(study.getPrimarySettlement()))
-					result.add(study);
-			}
-		}
-		return result;
+		return getIndex().getSettlementStudies(settlement.getIdentifier(), type,
+				study -> ScientificStudy.SUCCESSFUL_COMPLETION.equals(study.getCompletionState()));
 	}
 
 	/**
@@ -422,21 +310,8 @@ public class ScientificStudyManager // extends Thread
 	 * @return list of studies.
 	 */
 	public List<ScientificStudy> getAllCanceledStudies(Settlement settlement, ScienceType type) {
-		boolean allSubject = false;
-		if (type == null)
-			allSubject = true;
-		
-		List<ScientificStudy> result = new ArrayList<ScientificStudy>();
-		Iterator<ScientificStudy> i = studies.iterator();
-		while (i.hasNext()) {
-			ScientificStudy study = i.next();
-			if (allSubject || type == study.getScience()) {
-				if (study.isCompleted() && study.getCompletionState().equals(ScientificStudy.CANCELED)
-						&& settlement.equals(study.getPrimarySettlement()))
-					result.add(study);
-			}
-		}
-		return result;
+		return getIndex().getSettlementStudies(settlement.getIdentifier(), type,
+				study -> ScientificStudy.CANCELED.equals(study.getCompletionState()));
 	}
 	
 	/**
@@ -448,14 +323,10 @@ public class ScientificStudyManager // extends Thread
 	 */
 	public List<ScientificStudy> getOpenInvitationStudies(Person collaborativeResearcher) {
 		List<ScientificStudy> result = new ArrayList<ScientificStudy>();
-		Iterator<ScientificStudy> i = studies.iterator();
-		while (i.hasNext()) {
-			ScientificStudy study = i.next();
-			if (!study.isCompleted() && study.getPhase().equals(ScientificStudy.INVITATION_PHASE)) {
-				if (study.hasResearcherBeenInvited(collaborativeResearcher)) {
-					if (!study.hasInvitedResearcherResponded(collaborativeResearcher))
-						result.add(study);
-				}
+		for (ScientificStudy study : getIndex().getStudies(ScientificStudy.INVITATION_PHASE)) {
+			if (study.hasResearcherBeenInvited(collaborativeResearcher)) {
+				if (!study.hasInvitedResearcherResponded(collaborativeResearcher))
+					result.add(study);
 			}
 		}
 		return result;
@@ -514,7 +385,8 @@ public class ScientificStudyManager // extends Thread
 	 * Update all of the studies.
 	 */
 	public void updateStudies() {
-		Iterator<ScientificStudy> i = studies.iterator();
+		// Only the ongoing studies, as a copy since the loop completes some.
+		Iterator<ScientificStudy> i = getIndex().getOngoingStudies().iterator();
 		while (i.hasNext()) {
 			ScientificStudy study = i.next();
 			if (!study.isCompleted()) {
@@ -951,5 +823,9 @@ public class ScientificStudyManager // extends Thread
 		}
 		studies.clear();
 		studies = null;
+		if (index != null) {
+			index.clear();
+			index = null;
+		}
 	}
 }
\ No newline at end of file
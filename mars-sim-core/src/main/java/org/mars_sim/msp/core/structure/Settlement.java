@@ -67,6 +67,7 @@ import org.mars_sim.msp.core.person.ai.mission.VehicleMission;
 import org.mars_sim.msp.core.person.ai.mission.meta.BuildingConstructionMissionMeta;
 import org.mars_sim.msp.core.person.ai.mission.meta.CollectIceMeta;
 import org.mars_sim.msp.core.person.ai.mission.meta.CollectRegolithMeta;
+import org.mars_sim.msp.core.person.ai.mission.meta.SettlementMissionContext;
 import org.mars_sim.msp.core.person.ai.task.EatDrink;
 import org.mars_sim.msp.core.person.ai.task.HaveConversation;
 import org.mars_sim.msp.core.person.ai.task.Maintenance;
@@ -78,6 +79,7 @@ import org.mars_sim.msp.core.person.ai.task.meta.MaintenanceEVAMeta;
 import org.mars_sim.msp.core.person.ai.task.meta.MaintenanceMeta;
 import org.mars_sim.msp.core.person.ai.task.meta.RepairEVAMalfunctionMeta;
 import org.mars_sim.msp.core.person.ai.task.meta.RepairMalfunctionMeta;
+import org.mars_sim.msp.core.person.ai.task.utils.SettlementTaskContext;
 import org.mars_sim.msp.core.person.ai.task.utils.Task;
 import org.mars_sim.msp.core.person.ai.task.utils.TaskSchedule;
 import org.mars_sim.msp.core.person.health.RadiationExposure;
@@ -201,6 +203,10 @@ public class Settlement extends Structure implements Serializable, LifeSupportIn
 	private boolean[] exposed = { false, false, false };
 	/** The cache for the number of building connectors. */
 	private transient int numConnectorsCache = 0;
+	/** The settlement-wide facts shared by the people scoring their tasks in this pulse. */
+	private transient volatile SettlementTaskContext taskContext;
+	/** The settlement-wide part of the mission scores of the people in this settlement. */
+	private transient volatile SettlementMissionContext missionContext;
 
 	/** The settlement objective type string array. */
 	private final static String[] objectiveArray;
@@ -451,12 +457,15 @@ public class Settlement extends Structure implements Serializable, LifeSupportIn
 	
 	/**
 	 * Must be synchronised to prevent duplicate ids being assigned via different
-	 * threads.
+	 * threads. Settlement work units take their ids in turn.
 	 * 
 	 * @return
 	 */
-	private static synchronized int getNextIdentifier() {
-		return uniqueCount++;
+	private static int getNextIdentifier() {
+		UnitManager.awaitTurn();
+		synchronized (Settlement.class) {
+			return uniqueCount++;
+		}
 	}
 	
 	/**
@@ -1044,9 +1053,7 @@ public class Settlement extends Structure implements Serializable, LifeSupportIn
 	 * @return the number of robots
 	 */
 	public int getIndoorRobotsCount() {
-		return Math.toIntExact(getInventory().getAllContainedUnitIDs()
-				.stream().filter(id -> unitManager.getRobotByID(id) instanceof Robot)
-				.collect(Collectors.counting()));
+		return getInventory().getNumContainedRobots();
 		
 		
 //		int n = 0;
@@ -1385,6 +1392,9 @@ public class Settlement extends Structure implements Serializable, LifeSupportIn
 	 * @throws Exception error during time passing.
 	 */
 	public void timePassing(double time) {
+		// Start a new task context for this pulse
+		taskContext = null;
+		
 		// If settlement is overcrowded, increase inhabitant's stress.
 		// TODO: should the number of robots be accounted for here?
 
@@ -1439,6 +1449,7 @@ public class Settlement extends Structure implements Serializable, LifeSupportIn
 				// Reset the mission probability back to 1
 				missionProbability = -1;
 				mineralValue = -1;
+				missionContext = null;
 			}
 
 			remainder = millisols % SAMPLING_FREQ;
@@ -2134,6 +2145,46 @@ public class Settlement extends Structure implements Serializable, LifeSupportIn
 		return false;
 	}
 	
+	/**
+	 * Gets the settlement-wide facts for scoring the tasks of the people inside
+	 * the settlement in the current pulse. Two threads racing to create it may
+	 * both compute the same facts, which is harmless.
+	 *
+	 * @return the task context
+	 */
+	public SettlementTaskContext getTaskContext() {
+		SettlementTaskContext context = taskContext;
+		if (context == null) {
+			context = new SettlementTaskContext(this);
+			taskContext = context;
+		}
+		return context;
+	}
+
+	/**
+	 * Gets the settlement-wide part of the mission scores of the people in this
+	 * settlement. It is dropped every few millisols and whenever a mission of the
+	 * settlement starts or ends.
+	 *
+	 * @return the mission context
+	 */
+	public SettlementMissionContext getMissionContext() {
+		SettlementMissionContext context = missionContext;
+		if (context == null) {
+			context = new SettlementMissionContext(this);
+			missionContext = context;
+		}
+		return context;
+	}
+
+	/**
+	 * Drops the settlement-wide part of the mission scores, so that it is computed
+	 * again on the next mission planning.
+	 */
+	public void clearMissionContext() {
+		missionContext = null;
+	}
+
 	/**
 	 * Gets the settlement's building manager.
 	 *
@@ -3124,6 +3175,7 @@ public class Settlement extends Structure implements Serializable, LifeSupportIn
 	 */
 	public void setConstructionOverride(boolean constructionOverride) {
 		this.constructionOverride = constructionOverride;
+		missionContext = null;
 	}
 
 	/**
@@ -4489,6 +4541,7 @@ public class Settlement extends Structure implements Serializable, LifeSupportIn
 				missionsDisable[i] = disable;
 			}
 		}
+		missionContext = null;
 	}
 	
 	public boolean isMissionDisable(String missionName) {
@@ -4706,6 +4759,7 @@ public class Settlement extends Structure implements Serializable, LifeSupportIn
 	 */
 	public void setMissionDirectiveModifiers(int index, double value) {
 		missionModifiers[index] = value;
+		missionContext = null;
 	}
 	
 	public double getMissionDirectiveModifier(int index) {
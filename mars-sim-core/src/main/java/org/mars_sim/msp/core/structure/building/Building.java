@@ -254,12 +254,15 @@ public class Building extends Structure implements Malfunctionable, Indoor, // C
 	
 	/**
 	 * Must be synchronised to prevent duplicate ids being assigned via different
-	 * threads.
+	 * threads. Settlement work units take their ids in turn.
 	 * 
 	 * @return
 	 */
-	private static synchronized int getNextIdentifier() {
-		return uniqueCount++;
+	private static int getNextIdentifier() {
+		UnitManager.awaitTurn();
+		synchronized (Building.class) {
+			return uniqueCount++;
+		}
 	}
 	
 	
@@ -40,7 +40,6 @@ import org.mars_sim.msp.core.structure.BuildingTemplate;
 import org.mars_sim.msp.core.structure.Settlement;
 import org.mars_sim.msp.core.structure.SettlementConfig;
 import org.mars_sim.msp.core.structure.building.connection.BuildingConnectorManager;
-import org.mars_sim.msp.core.structure.building.connection.InsideBuildingPath;
 import org.mars_sim.msp.core.structure.building.function.Administration;
 import org.mars_sim.msp.core.structure.building.function.AstronomicalObservation;
 import org.mars_sim.msp.core.structure.building.function.BuildingConnection;
@@ -1328,11 +1327,7 @@ public class BuildingManager implements Serializable {
 				BuildingConnectorManager connectorManager = person.getSettlement().getBuildingConnectorManager();
 
 				for (Building building : buildingList) {
-					InsideBuildingPath validPath = connectorManager.determineShortestPath(currentBuilding,
-							currentBuilding.getXLocation(), currentBuilding.getYLocation(), building,
-							building.getXLocation(), building.getYLocation());
-
-					if (validPath != null) {
+					if (connectorManager.hasValidPath(currentBuilding, building)) {
 						result.add(building);
 					}
 				}
@@ -1344,11 +1339,7 @@ public class BuildingManager implements Serializable {
 				BuildingConnectorManager connectorManager = robot.getSettlement().getBuildingConnectorManager();
 
 				for (Building building : buildingList) {
-					InsideBuildingPath validPath = connectorManager.determineShortestPath(currentBuilding,
-							currentBuilding.getXLocation(), currentBuilding.getYLocation(), building,
-							building.getXLocation(), building.getYLocation());
-
-					if (validPath != null) {
+					if (connectorManager.hasValidPath(currentBuilding, building)) {
 						result.add(building);
 					}
 				}
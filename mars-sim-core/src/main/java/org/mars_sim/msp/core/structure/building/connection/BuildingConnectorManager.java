@@ -67,6 +67,8 @@ public class BuildingConnectorManager implements Serializable {
 	private Settlement settlement;
 	
 	private Set<BuildingConnector> buildingConnections;
+	/** The shortest routes between buildings. Rebuilt when null. */
+	private transient volatile BuildingRoutingTable routingTable;
 	
 	private static SettlementConfig settlementConfig = SimulationConfig.instance().getSettlementConfiguration();
 	
@@ -227,6 +229,7 @@ public class BuildingConnectorManager implements Serializable {
 
 		if (!buildingConnections.contains(buildingConnector)) {
 			buildingConnections.add(buildingConnector);
+			clearRoutingTable();
 		} else {
 			throw new IllegalArgumentException("BuildingConnector already exists.");
 		}
@@ -241,6 +244,7 @@ public class BuildingConnectorManager implements Serializable {
 
 		if (buildingConnections.contains(buildingConnector)) {
 			buildingConnections.remove(buildingConnector);
+			clearRoutingTable();
 		} else {
 			throw new IllegalArgumentException("BuildingConnector does not exists.");
 		}
@@ -342,10 +346,7 @@ public class BuildingConnectorManager implements Serializable {
 			throw new IllegalArgumentException("Building arguments cannot be null");
 		}
 
-		InsideBuildingPath validPath = determineShortestPath(building1, building1.getXLocation(),
-				building1.getYLocation(), building2, building2.getXLocation(), building2.getYLocation());
-
-		if (validPath != null) {
+		if (getRoutingTable().isReachable(building1, building2)) {
 			result = true;
 		} else if (logger.isLoggable(Level.FINEST)) {
 			LogConsolidated.log(logger, Level.FINEST, 10000, sourceName,
@@ -376,16 +377,14 @@ public class BuildingConnectorManager implements Serializable {
 		BuildingLocation startingLocation = new BuildingLocation(building1, building1XLoc, building1YLoc);
 		BuildingLocation endingLocation = new BuildingLocation(building2, building2XLoc, building2YLoc);
 
-		InsideBuildingPath startingPath = new InsideBuildingPath();
-		startingPath.addPathLocation(startingLocation);
-
 		InsideBuildingPath finalPath = null;
 		if (!building1.equals(building2)) {
 			// Check shortest path to target building from this building.
 //			logger.config(building1.getNickName() + " " + building2.getNickName());
-			finalPath = determineShortestPath(startingPath, building1, building2, endingLocation);
+			finalPath = getRoutingTable().findPath(startingLocation, endingLocation);
 		} else {
-			finalPath = startingPath;
+			finalPath = new InsideBuildingPath();
+			finalPath.addPathLocation(startingLocation);
 			finalPath.addPathLocation(endingLocation);
 		}
 
@@ -398,91 +397,32 @@ public class BuildingConnectorManager implements Serializable {
 	}
 
 	/**
-	 * Recursive method to determine the shortest path between two buildings.
+	 * Gets the routing table, building it from the current connectors if needed.
 	 * 
-	 * @param existingPath    the current path.
-	 * @param currentBuilding the current building.
-	 * @param targetBuilding  the target building.
-	 * @param endingLocation  the end building location.
-	 * @return shortest path or null if none found.
+	 * @return routing table.
 	 */
-	private InsideBuildingPath determineShortestPath(InsideBuildingPath existingPath, Building currentBuilding,
-			Building targetBuilding, BuildingLocation endingLocation) {
-
-		InsideBuildingPath result = null;
-
-		// Try each building connection from current building.
-		Iterator<BuildingConnector> i = getConnectionsToBuilding(currentBuilding).iterator();
-		while (i.hasNext()) {
-			BuildingConnector connector = i.next();
-
-			Building connectionBuilding = null;
-			Hatch nearHatch = null;
-			Hatch farHatch = null;
-			if (connector.getBuilding1().equals(currentBuilding)) {
-				connectionBuilding = connector.getBuilding2();
-				nearHatch = connector.getHatch1();
-				farHatch = connector.getHatch2();
-			} else {
-				connectionBuilding = connector.getBuilding1();
-				nearHatch = connector.getHatch2();
-				farHatch = connector.getHatch1();
-			}
-
-			// Make sure building or connection is not already in existing path.
-			boolean inExistingPath = false;
-			if (existingPath.containsPathLocation(connectionBuilding)) {
-				inExistingPath = true;
-			}
-			if (existingPath.containsPathLocation(connector)) {
-				inExistingPath = true;
-			}
-			if (existingPath.containsPathLocation(nearHatch)) {
-				inExistingPath = true;
-			}
-			if (existingPath.containsPathLocation(farHatch)) {
-				inExistingPath = true;
-			}
-			if (inExistingPath) {
-				continue;
-			}
-
-			// Copy existing path to create new path.
-			InsideBuildingPath newPath = (InsideBuildingPath) existingPath.clone();
-
-			// Add building connector to new path.
-			if (connector.isSplitConnection()) {
-				newPath.addPathLocation(nearHatch);
-				newPath.addPathLocation(connector);
-				newPath.addPathLocation(farHatch);
-			} else {
-				newPath.addPathLocation(connector);
-			}
-
-			InsideBuildingPath bestPath = null;
-			if (connectionBuilding.equals(targetBuilding)) {
-				// Add ending location within connection building.
-				newPath.addPathLocation(endingLocation);
-				bestPath = newPath;
-			} else {
-				// Add connection building to new path.
-				newPath.addPathLocation(connectionBuilding);
-
-				// Recursively call this method with new path and connection building.
-				// TODO: how to avoid StackOverflow ?
-//				logger.config(connectionBuilding.getNickName() + " -> " + targetBuilding.getNickName() 
-//					+ " (" + endingLocation.getXLocation() + ", " + endingLocation.getYLocation() + ")");
-				bestPath = determineShortestPath(newPath, connectionBuilding, targetBuilding, endingLocation);
-			}
-
-			if (bestPath != null) {
-				if ((result == null) || (bestPath.getPathLength() < result.getPathLength())) {
-					result = bestPath;
+	private BuildingRoutingTable getRoutingTable() {
+		BuildingRoutingTable table = routingTable;
+		if (table == null) {
+			// Build under the connections lock so a concurrent change cannot be missed
+			synchronized (buildingConnections) {
+				table = routingTable;
+				if (table == null) {
+					table = new BuildingRoutingTable(new ArrayList<BuildingConnector>(buildingConnections));
+					routingTable = table;
 				}
 			}
 		}
+		return table;
+	}
 
-		return result;
+	/**
+	 * Discards the routing table after the connectors have changed.
+	 */
+	private void clearRoutingTable() {
+		synchronized (buildingConnections) {
+			routingTable = null;
+		}
 	}
 
 	/**
@@ -829,6 +769,7 @@ public class BuildingConnectorManager implements Serializable {
 		}
 		// buildingConnections.clear();
 		buildingConnections = null;
+		routingTable = null;
 	}
 
 	/**
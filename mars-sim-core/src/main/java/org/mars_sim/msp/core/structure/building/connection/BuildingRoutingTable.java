@@ -0,0 +1,257 @@
+/**
+ * Mars Simulation Project
+ * BuildingRoutingTable.java
+ * @version 3.1.1 2026-10-18
+ * @author agent
+ */
+package org.mars_sim.msp.core.structure.building.connection;
+
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.mars_sim.msp.core.structure.building.Building;
+
+/**
+ * The shortest interior walking routes between every pair of connected
+ * buildings at a settlement. The table is computed once from the building
+ * connectors with the Floyd-Warshall algorithm and is immutable, so it can
+ * be shared between threads and is replaced as a whole when the connectors
+ * change.
+ */
+class BuildingRoutingTable {
+
+	private static final double NO_ROUTE = Double.POSITIVE_INFINITY;
+
+	/** The index of each connected building in the tables. */
+	private final Map<Building, Integer> indices = new IdentityHashMap<>();
+	/** The connected buildings by index. */
+	private final List<Building> buildings = new ArrayList<>();
+	/** The connectors leading out of each building. */
+	private final List<List<BuildingConnector>> exits = new ArrayList<>();
+	/** The shortest walking distance between the centers of two buildings. */
+	private final double[][] distances;
+	/** The first connector on the shortest route between two buildings. */
+	private final BuildingConnector[][] firstConnectors;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param connectors all the building connectors at the settlement.
+	 */
+	BuildingRoutingTable(Collection<BuildingConnector> connectors) {
+
+		for (BuildingConnector connector : connectors) {
+			exits.get(getIndex(connector.getBuilding1())).add(connector);
+			exits.get(getIndex(connector.getBuilding2())).add(connector);
+		}
+
+		int size = buildings.size();
+		distances = new double[size][size];
+		firstConnectors = new BuildingConnector[size][size];
+		for (int x = 0; x < size; x++) {
+			Arrays.fill(distances[x], NO_ROUTE);
+			distances[x][x] = 0D;
+		}
+
+		// The direct hops between neighbouring buildings
+		for (int x = 0; x < size; x++) {
+			Building from = buildings.get(x);
+			for (BuildingConnector connector : exits.get(x)) {
+				Building to = getOtherBuilding(connector, from);
+				int y = indices.get(to);
+				double distance = getDistance(from, getEntry(connector, from)) + getCrossing(connector, from)
+						+ getDistance(getExit(connector, from), to);
+				if (distance < distances[x][y]) {
+					distances[x][y] = distance;
+					firstConnectors[x][y] = connector;
+				}
+			}
+		}
+
+		// Floyd-Warshall
+		for (int k = 0; k < size; k++) {
+			double[] viaK = distances[k];
+			for (int x = 0; x < size; x++) {
+				double toK = distances[x][k];
+				if (toK == NO_ROUTE)
+					continue;
+				double[] fromX = distances[x];
+				for (int y = 0; y < size; y++) {
+					double distance = toK + viaK[y];
+					if (distance < fromX[y]) {
+						fromX[y] = distance;
+						firstConnectors[x][y] = firstConnectors[x][k];
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Checks if there is an interior walking route between two buildings.
+	 *
+	 * @param building1 the first building.
+	 * @param building2 the second building.
+	 * @return true if the buildings are the same or connected.
+	 */
+	boolean isReachable(Building building1, Building building2) {
+		if (building1 == building2)
+			return true;
+		Integer x = indices.get(building1);
+		Integer y = indices.get(building2);
+		return (x != null) && (y != null) && (distances[x][y] != NO_ROUTE);
+	}
+
+	/**
+	 * Finds the shortest path between two locations in different buildings.
+	 *
+	 * @param start the starting location.
+	 * @param end   the ending location.
+	 * @return shortest path or null if the buildings are not connected.
+	 */
+	InsideBuildingPath findPath(BuildingLocation start, BuildingLocation end) {
+
+		Building building1 = start.getBuilding();
+		Building building2 = end.getBuilding();
+		Integer startIndex = indices.get(building1);
+		Integer endIndex = indices.get(building2);
+		if ((startIndex == null) || (endIndex == null) || (distances[startIndex][endIndex] == NO_ROUTE))
+			return null;
+
+		// Pick the best connector out of the first building and into the last one.
+		double best = NO_ROUTE;
+		BuildingConnector bestFirst = null;
+		BuildingConnector bestLast = null;
+		for (BuildingConnector first : exits.get(startIndex)) {
+			Building next = getOtherBuilding(first, building1);
+			double head = getDistance(start, getEntry(first, building1)) + getCrossing(first, building1);
+			if (next == building2) {
+				double distance = head + getDistance(getExit(first, building1), end);
+				if (distance < best) {
+					best = distance;
+					bestFirst = first;
+					bestLast = null;
+				}
+				continue;
+			}
+
+			int x = indices.get(next);
+			double toNext = head + getDistance(getExit(first, building1), next);
+			for (BuildingConnector last : exits.get(endIndex)) {
+				Building previous = getOtherBuilding(last, building2);
+				int y = indices.get(previous);
+				double distance = toNext + distances[x][y] + getDistance(previous, getEntry(last, previous))
+						+ getCrossing(last, previous) + getDistance(getExit(last, previous), end);
+				if (distance < best) {
+					best = distance;
+					bestFirst = first;
+					bestLast = last;
+				}
+			}
+		}
+
+		if (bestFirst == null)
+			return null;
+
+		InsideBuildingPath path = new InsideBuildingPath();
+		path.addPathLocation(start);
+		addHop(path, bestFirst, building1);
+
+		if (bestLast != null) {
+			Building current = getOtherBuilding(bestFirst, building1);
+			Building previous = getOtherBuilding(bestLast, building2);
+			addLocation(path, current);
+			int y = indices.get(previous);
+			while (current != previous) {
+				BuildingConnector connector = firstConnectors[indices.get(current)][y];
+				addHop(path, connector, current);
+				current = getOtherBuilding(connector, current);
+				addLocation(path, current);
+			}
+			addHop(path, bestLast, previous);
+		}
+
+		path.addPathLocation(end);
+		return path;
+	}
+
+	/**
+	 * Gets the table index of a building, adding it if needed.
+	 */
+	private int getIndex(Building building) {
+		Integer index = indices.get(building);
+		if (index == null) {
+			index = buildings.size();
+			indices.put(building, index);
+			buildings.add(building);
+			exits.add(new ArrayList<>());
+		}
+		return index;
+	}
+
+	/**
+	 * Adds the locations passed when walking through a connector.
+	 */
+	private static void addHop(InsideBuildingPath path, BuildingConnector connector, Building from) {
+		if (connector.isSplitConnection()) {
+			addLocation(path, getNearHatch(connector, from));
+			addLocation(path, connector);
+			addLocation(path, getFarHatch(connector, from));
+		} else {
+			addLocation(path, connector);
+		}
+	}
+
+	private static void addLocation(InsideBuildingPath path, InsidePathLocation location) {
+		// Only equal length alternatives could revisit a location
+		if (!path.containsPathLocation(location))
+			path.addPathLocation(location);
+	}
+
+	private static Building getOtherBuilding(BuildingConnector connector, Building building) {
+		return (connector.getBuilding1() == building) ? connector.getBuilding2() : connector.getBuilding1();
+	}
+
+	private static Hatch getNearHatch(BuildingConnector connector, Building from) {
+		return (connector.getBuilding1() == from) ? connector.getHatch1() : connector.getHatch2();
+	}
+
+	private static Hatch getFarHatch(BuildingConnector connector, Building from) {
+		return (connector.getBuilding1() == from) ? connector.getHatch2() : connector.getHatch1();
+	}
+
+	/**
+	 * Gets the first location reached when walking into a connector.
+	 */
+	private static InsidePathLocation getEntry(BuildingConnector connector, Building from) {
+		return connector.isSplitConnection() ? getNearHatch(connector, from) : connector;
+	}
+
+	/**
+	 * Gets the last location passed when walking out of a connector.
+	 */
+	private static InsidePathLocation getExit(BuildingConnector connector, Building from) {
+		return connector.isSplitConnection() ? getFarHatch(connector, from) : connector;
+	}
+
+	/**
+	 * Gets the distance walked from the entry to the exit of a connector.
+	 */
+	private static double getCrossing(BuildingConnector connector, Building from) {
+		if (connector.isSplitConnection()) {
+			return getDistance(getNearHatch(connector, from), connector)
+					+ getDistance(connector, getFarHatch(connector, from));
+		}
+		return 0D;
+	}
+
+	private static double getDistance(InsidePathLocation location1, InsidePathLocation location2) {
+		return Point2D.Double.distance(location1.getXLocation(), location1.getYLocation(),
+				location2.getXLocation(), location2.getYLocation());
+	}
+}
@@ -84,12 +84,15 @@ implements Serializable, LocalBoundedObject {
 
 	/**
 	 * Must be synchronised to prevent duplicate ids being assigned via different
-	 * threads.
+	 * threads. Settlement work units take their ids in turn.
 	 * 
 	 * @return
 	 */
-	private static synchronized int getNextIdentifier() {
-		return uniqueCount++;
+	private static int getNextIdentifier() {
+		UnitManager.awaitTurn();
+		synchronized (ConstructionSite.class) {
+			return uniqueCount++;
+		}
 	}
 	
 	/**
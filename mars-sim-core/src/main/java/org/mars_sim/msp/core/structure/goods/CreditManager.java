@@ -15,6 +15,7 @@ import java.util.Iterator;
 import java.util.List;
 
 import org.mars_sim.msp.core.Simulation;
+import org.mars_sim.msp.core.UnitManager;
 import org.mars_sim.msp.core.structure.Settlement;
 
 import com.phoenixst.plexus.DefaultGraph;
@@ -26,7 +27,8 @@ import com.phoenixst.plexus.GraphUtils;
 
 /**
  * The CreditManager class keeps track of all credits/debts between settlements.
- * The simulation instance has only one credit manager.
+ * The simulation instance has only one credit manager. It is shared by the
+ * settlements ticked in parallel, so the credit graph is guarded by the manager.
  */
 public class CreditManager implements Serializable {
 
@@ -74,24 +76,30 @@ public class CreditManager implements Serializable {
 	 */
 	public void setCredit(Settlement settlement1, Settlement settlement2, double amount) {
 
-		// Check that settlements are in graph.
-		if (!creditGraph.containsNode(settlement1.getIdentifier()))
-			throw new IllegalArgumentException("settlement: " + settlement1 + " is invalid");
-		if (!creditGraph.containsNode(settlement2.getIdentifier()))
-			throw new IllegalArgumentException("settlement: " + settlement2 + " is invalid");
-
-		// Remove existing edge between settlements if any.
-		EdgePredicate edgePredicate = EdgePredicateFactory.createEqualsNodes(settlement1.getIdentifier(), settlement2.getIdentifier(),
-				GraphUtils.ANY_DIRECTION_MASK);
-		Edge existingEdge = creditGraph.getEdge(edgePredicate);
-		if (existingEdge != null)
-			creditGraph.removeEdge(existingEdge);
-
-		// Add edge for credit.
-		if (amount >= 0D)
-			creditGraph.addEdge(Math.abs(amount), settlement1.getIdentifier(), settlement2.getIdentifier(), true);
-		else
-			creditGraph.addEdge(Math.abs(amount), settlement2.getIdentifier(), settlement1.getIdentifier(), true);
+		// Change the credits in the same order as in a serial tick, before taking
+		// the lock so that a work unit waiting for its turn never holds it
+		UnitManager.awaitTurn();
+
+		synchronized (this) {
+			// Check that settlements are in graph.
+			if (!creditGraph.containsNode(settlement1.getIdentifier()))
+				throw new IllegalArgumentException("settlement: " + settlement1 + " is invalid");
+			if (!creditGraph.containsNode(settlement2.getIdentifier()))
+				throw new IllegalArgumentException("settlement: " + settlement2 + " is invalid");
+	
+			// Remove existing edge between settlements if any.
+			EdgePredicate edgePredicate = EdgePredicateFactory.createEqualsNodes(settlement1.getIdentifier(), settlement2.getIdentifier(),
+					GraphUtils.ANY_DIRECTION_MASK);
+			Edge existingEdge = creditGraph.getEdge(edgePredicate);
+			if (existingEdge != null)
+				creditGraph.removeEdge(existingEdge);
+	
+			// Add edge for credit.
+			if (amount >= 0D)
+				creditGraph.addEdge(Math.abs(amount), settlement1.getIdentifier(), settlement2.getIdentifier(), true);
+			else
+				creditGraph.addEdge(Math.abs(amount), settlement2.getIdentifier(), settlement1.getIdentifier(), true);
+		}
 
 		// Update listeners.
 		synchronized (getListeners()) {
@@ -111,7 +119,7 @@ public class CreditManager implements Serializable {
 	 *         settlement).
 	 * @throws Exception if error getting the credit between the settlements.
 	 */
-	public double getCredit(Settlement settlement1, Settlement settlement2) {
+	public synchronized double getCredit(Settlement settlement1, Settlement settlement2) {
 
 		double result = 0D;
 
@@ -134,7 +142,7 @@ public class CreditManager implements Serializable {
 	 * 
 	 * @param newSettlement the new settlement.
 	 */
-	public void addSettlement(Settlement newSettlement) {
+	public synchronized void addSettlement(Settlement newSettlement) {
 		if (newSettlement == null) {
 			throw new IllegalArgumentException("Settlement is null");
 		}
@@ -150,7 +158,7 @@ public class CreditManager implements Serializable {
 	 * 
 	 * @return list of credit listeners.
 	 */
-	private List<CreditListener> getListeners() {
+	private synchronized List<CreditListener> getListeners() {
 		if (listeners == null)
 			listeners = Collections.synchronizedList(new ArrayList<CreditListener>());
 		return listeners;
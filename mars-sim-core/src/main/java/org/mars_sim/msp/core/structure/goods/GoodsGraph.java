@@ -0,0 +1,453 @@
+/**
+ * Mars Simulation Project
+ * GoodsGraph.java
+ * @version 3.1.1 2026-10-18
+ * @author agent
+ */
+package org.mars_sim.msp.core.structure.goods;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import org.mars_sim.msp.core.equipment.EquipmentFactory;
+import org.mars_sim.msp.core.equipment.EquipmentType;
+import org.mars_sim.msp.core.foodProduction.FoodProductionProcessInfo;
+import org.mars_sim.msp.core.foodProduction.FoodProductionProcessItem;
+import org.mars_sim.msp.core.foodProduction.FoodProductionUtil;
+import org.mars_sim.msp.core.manufacture.ManufactureProcessInfo;
+import org.mars_sim.msp.core.manufacture.ManufactureProcessItem;
+import org.mars_sim.msp.core.manufacture.ManufactureUtil;
+import org.mars_sim.msp.core.manufacture.SalvageProcessInfo;
+import org.mars_sim.msp.core.resource.AmountResource;
+import org.mars_sim.msp.core.resource.ItemResource;
+import org.mars_sim.msp.core.resource.ItemResourceUtil;
+import org.mars_sim.msp.core.resource.ItemType;
+import org.mars_sim.msp.core.resource.ResourceUtil;
+import org.mars_sim.msp.core.structure.construction.ConstructionStageInfo;
+import org.mars_sim.msp.core.structure.construction.ConstructionUtil;
+import org.mars_sim.msp.core.vehicle.VehicleType;
+
+/**
+ * The dependencies between goods and the processes and construction stages
+ * that consume or produce them. It is built once from the manufacturing and
+ * food production configurations, when first used, and lets the goods manager
+ * and the tasks visit only the processes that involve a good, by name or by
+ * id, and find the goods whose value depends on another good.
+ */
+public final class GoodsGraph {
+
+	private static final List<ManufactureProcessInfo> NO_MANUFACTURE = Collections.emptyList();
+	private static final List<FoodProductionProcessInfo> NO_FOOD_PRODUCTION = Collections.emptyList();
+	private static final List<Object> NO_PROCESSES = Collections.emptyList();
+	private static final Set<Integer> NO_GOODS = Collections.emptySet();
+
+	/** The manufacturing processes keyed by their inputs and outputs. */
+	private static ProcessIndex<ManufactureProcessInfo> manufactureIndex;
+	/** The food production processes keyed by their inputs and outputs. */
+	private static ProcessIndex<FoodProductionProcessInfo> foodProductionIndex;
+	/** The manufacturing and food production processes involving a good, keyed by good id. */
+	private static Map<Integer, List<Object>> processesByGood;
+	/** The good ids of the process items, keyed by item. */
+	private static Map<Object, Integer> itemGoods;
+	/** The goods consumed by the processes producing a good, keyed by the produced good id. */
+	private static volatile Map<Integer, Set<Integer>> upstreamGoods;
+	/** The goods needed by a construction stage and its prerequisite stages. */
+	private static Map<ConstructionStageInfo, Set<Integer>> constructionInputs = new ConcurrentHashMap<>();
+	/** The manufacturing processes within a tech and skill level, keyed by both levels. */
+	private static Map<Long, List<ManufactureProcessInfo>> manufactureByLevel = new ConcurrentHashMap<>();
+	/** The food production processes within a tech and skill level, keyed by both levels. */
+	private static Map<Long, List<FoodProductionProcessInfo>> foodProductionByLevel = new ConcurrentHashMap<>();
+	/** The salvage processes within a tech and skill level, keyed by both levels. */
+	private static Map<Long, List<SalvageProcessInfo>> salvageByLevel = new ConcurrentHashMap<>();
+
+	/**
+	 * Private constructor for utility class.
+	 */
+	private GoodsGraph() {
+	}
+
+	/**
+	 * Builds the process maps from the manufacturing and food production
+	 * configurations. The goods are looked up by id only, as a good being
+	 * created asks for the processes producing it.
+	 */
+	private static synchronized void build() {
+		if (upstreamGoods != null)
+			return;
+
+		ProcessIndex<ManufactureProcessInfo> manufacture = new ProcessIndex<>();
+		ProcessIndex<FoodProductionProcessInfo> foodProduction = new ProcessIndex<>();
+		Map<Integer, List<Object>> processes = new HashMap<>();
+		Map<Object, Integer> items = new IdentityHashMap<>();
+		Map<Integer, Set<Integer>> upstream = new HashMap<>();
+
+		for (ManufactureProcessInfo process : ManufactureUtil.getAllManufactureProcesses()) {
+			Set<Integer> inputs = new HashSet<>();
+			for (ManufactureProcessItem item : process.getInputList()) {
+				int id = findGoodID(item.getType(), item.getName());
+				items.put(item, id);
+				manufacture.add(process, item.getName(), id, false);
+				if (id >= 0) {
+					inputs.add(id);
+					addProcess(processes, id, process);
+				}
+			}
+			for (ManufactureProcessItem item : process.getOutputList()) {
+				int id = findGoodID(item.getType(), item.getName());
+				items.put(item, id);
+				manufacture.add(process, item.getName(), id, true);
+				if (id >= 0) {
+					upstream.computeIfAbsent(id, i -> new HashSet<>()).addAll(inputs);
+					addProcess(processes, id, process);
+				}
+			}
+		}
+
+		for (FoodProductionProcessInfo process : FoodProductionUtil.getAllFoodProductionProcesses()) {
+			Set<Integer> inputs = new HashSet<>();
+			for (FoodProductionProcessItem item : process.getInputList()) {
+				int id = findGoodID(item.getType(), item.getName());
+				items.put(item, id);
+				foodProduction.add(process, item.getName(), id, false);
+				if (id >= 0) {
+					inputs.add(id);
+					addProcess(processes, id, process);
+				}
+			}
+			for (FoodProductionProcessItem item : process.getOutputList()) {
+				int id = findGoodID(item.getType(), item.getName());
+				items.put(item, id);
+				foodProduction.add(process, item.getName(), id, true);
+				if (id >= 0) {
+					upstream.computeIfAbsent(id, i -> new HashSet<>()).addAll(inputs);
+					addProcess(processes, id, process);
+				}
+			}
+		}
+
+		manufactureIndex = manufacture;
+		foodProductionIndex = foodProduction;
+		processesByGood = processes;
+		itemGoods = items;
+		upstreamGoods = upstream;
+	}
+
+	private static void addProcess(Map<Integer, List<Object>> processes, int id, Object process) {
+		List<Object> list = processes.computeIfAbsent(id, i -> new ArrayList<>());
+		if (!list.contains(process))
+			list.add(process);
+	}
+
+	/**
+	 * Finds the id of the good for a process item without creating the good.
+	 *
+	 * @param type the item type.
+	 * @param name the item name.
+	 * @return the good id, or -1 if none.
+	 */
+	private static int findGoodID(ItemType type, String name) {
+		if (ItemType.AMOUNT_RESOURCE == type) {
+			AmountResource resource = ResourceUtil.findAmountResource(name);
+			return (resource != null) ? resource.getID() : -1;
+		} else if (ItemType.PART == type) {
+			ItemResource part = ItemResourceUtil.findItemResource(name);
+			return (part != null) ? part.getID() : -1;
+		} else if (ItemType.EQUIPMENT == type) {
+			return EquipmentType.convertClass2ID(EquipmentFactory.getEquipmentClass(name));
+		} else if (ItemType.VEHICLE == type) {
+			return VehicleType.convertName2ID(name);
+		}
+		return -1;
+	}
+
+	/**
+	 * Gets the id of the good for a manufacturing process item.
+	 *
+	 * @param item the process item.
+	 * @return the good id, or -1 if none.
+	 */
+	public static int getGoodID(ManufactureProcessItem item) {
+		if (upstreamGoods == null)
+			build();
+		Integer id = itemGoods.get(item);
+		return (id != null) ? id : findGoodID(item.getType(), item.getName());
+	}
+
+	/**
+	 * Gets the id of the good for a food production process item.
+	 *
+	 * @param item the process item.
+	 * @return the good id, or -1 if none.
+	 */
+	public static int getGoodID(FoodProductionProcessItem item) {
+		if (upstreamGoods == null)
+			build();
+		Integer id = itemGoods.get(item);
+		return (id != null) ? id : findGoodID(item.getType(), item.getName());
+	}
+
+	/**
+	 * Gets the manufacturing processes that take an item of the given name as an
+	 * input.
+	 *
+	 * @param name the name of the resource, part, equipment or vehicle.
+	 * @return list of processes in configuration order.
+	 */
+	public static List<ManufactureProcessInfo> getManufactureProcessesWithInput(String name) {
+		if (upstreamGoods == null)
+			build();
+		return manufactureIndex.consumersByName.getOrDefault(name.toLowerCase(), NO_MANUFACTURE);
+	}
+
+	/**
+	 * Gets the manufacturing processes that take a good as an input.
+	 *
+	 * @param id the good id.
+	 * @return list of processes in configuration order.
+	 */
+	public static List<ManufactureProcessInfo> getManufactureProcessesWithInput(int id) {
+		if (upstreamGoods == null)
+			build();
+		return manufactureIndex.consumers.getOrDefault(id, NO_MANUFACTURE);
+	}
+
+	/**
+	 * Gets the manufacturing processes that produce an item of the given name.
+	 *
+	 * @param name the name of the resource, part, equipment or vehicle.
+	 * @return list of processes in configuration order.
+	 */
+	public static List<ManufactureProcessInfo> getManufactureProcessesWithOutput(String name) {
+		if (upstreamGoods == null)
+			build();
+		return manufactureIndex.producersByName.getOrDefault(name.toLowerCase(), NO_MANUFACTURE);
+	}
+
+	/**
+	 * Gets the manufacturing processes that produce a good.
+	 *
+	 * @param id the good id.
+	 * @return list of processes in configuration order.
+	 */
+	public static List<ManufactureProcessInfo> getManufactureProcessesWithOutput(int id) {
+		if (upstreamGoods == null)
+			build();
+		return manufactureIndex.producers.getOrDefault(id, NO_MANUFACTURE);
+	}
+
+	/**
+	 * Gets the food production processes that take an item of the given name as
+	 * an input.
+	 *
+	 * @param name the name of the resource, part or equipment.
+	 * @return list of processes in configuration order.
+	 */
+	public static List<FoodProductionProcessInfo> getFoodProductionProcessesWithInput(String name) {
+		if (upstreamGoods == null)
+			build();
+		return foodProductionIndex.consumersByName.getOrDefault(name.toLowerCase(), NO_FOOD_PRODUCTION);
+	}
+
+	/**
+	 * Gets the food production processes that take a good as an input.
+	 *
+	 * @param id the good id.
+	 * @return list of processes in configuration order.
+	 */
+	public static List<FoodProductionProcessInfo> getFoodProductionProcessesWithInput(int id) {
+		if (upstreamGoods == null)
+			build();
+		return foodProductionIndex.consumers.getOrDefault(id, NO_FOOD_PRODUCTION);
+	}
+
+	/**
+	 * Gets the food production processes that produce an item of the given name.
+	 *
+	 * @param name the name of the resource, part or equipment.
+	 * @return list of processes in configuration order.
+	 */
+	public static List<FoodProductionProcessInfo> getFoodProductionProcessesWithOutput(String name) {
+		if (upstreamGoods == null)
+			build();
+		return foodProductionIndex.producersByName.getOrDefault(name.toLowerCase(), NO_FOOD_PRODUCTION);
+	}
+
+	/**
+	 * Gets the food production processes that produce a good.
+	 *
+	 * @param id the good id.
+	 * @return list of processes in configuration order.
+	 */
+	public static List<FoodProductionProcessInfo> getFoodProductionProcessesWithOutput(int id) {
+		if (upstreamGoods == null)
+			build();
+		return foodProductionIndex.producers.getOrDefault(id, NO_FOOD_PRODUCTION);
+	}
+
+	/**
+	 * Gets the manufacturing and food production processes that consume or
+	 * produce a good.
+	 *
+	 * @param id the good id.
+	 * @return list of processes.
+	 */
+	public static List<Object> getProcessesInvolving(int id) {
+		if (upstreamGoods == null)
+			build();
+		return processesByGood.getOrDefault(id, NO_PROCESSES);
+	}
+
+	/**
+	 * Gets the manufacturing processes within the capability of a tech level and
+	 * a skill level.
+	 *
+	 * @param techLevel  the tech level.
+	 * @param skillLevel the skill level.
+	 * @return unmodifiable list of processes in configuration order.
+	 */
+	public static List<ManufactureProcessInfo> getManufactureProcesses(int techLevel, int skillLevel) {
+		return manufactureByLevel.computeIfAbsent(getLevelKey(techLevel, skillLevel),
+				k -> selectProcesses(ManufactureUtil.getAllManufactureProcesses(),
+						p -> p.getTechLevelRequired() <= techLevel && p.getSkillLevelRequired() <= skillLevel));
+	}
+
+	/**
+	 * Gets the food production processes within the capability of a tech level
+	 * and a skill level.
+	 *
+	 * @param techLevel  the tech level.
+	 * @param skillLevel the skill level.
+	 * @return unmodifiable list of processes in configuration order.
+	 */
+	public static List<FoodProductionProcessInfo> getFoodProductionProcesses(int techLevel, int skillLevel) {
+		return foodProductionByLevel.computeIfAbsent(getLevelKey(techLevel, skillLevel),
+				k -> selectProcesses(FoodProductionUtil.getAllFoodProductionProcesses(),
+						p -> p.getTechLevelRequired() <= techLevel && p.getSkillLevelRequired() <= skillLevel));
+	}
+
+	/**
+	 * Gets the salvage processes within the capability of a tech level and a
+	 * skill level.
+	 *
+	 * @param techLevel  the tech level.
+	 * @param skillLevel the skill level.
+	 * @return unmodifiable list of salvage processes in configuration order.
+	 */
+	public static List<SalvageProcessInfo> getSalvageProcesses(int techLevel, int skillLevel) {
+		return salvageByLevel.computeIfAbsent(getLevelKey(techLevel, skillLevel),
+				k -> selectProcesses(ManufactureUtil.getAllSalvageProcesses(),
+						p -> p.getTechLevelRequired() <= techLevel && p.getSkillLevelRequired() <= skillLevel));
+	}
+
+	private static long getLevelKey(int techLevel, int skillLevel) {
+		return ((long) techLevel << 32) | (skillLevel & 0xFFFFFFFFL);
+	}
+
+	private static <P> List<P> selectProcesses(List<P> processes, Predicate<P> filter) {
+		List<P> result = new ArrayList<>();
+		for (P process : processes) {
+			if (filter.test(process))
+				result.add(process);
+		}
+		return Collections.unmodifiableList(result);
+	}
+
+	/**
+	 * Gets the goods whose demand depends on the value of a good, i.e. the
+	 * inputs of the processes that produce it.
+	 *
+	 * @param id the good id.
+	 * @return set of good ids.
+	 */
+	public static Set<Integer> getUpstreamGoods(int id) {
+		if (upstreamGoods == null)
+			build();
+		return upstreamGoods.getOrDefault(id, NO_GOODS);
+	}
+
+	/**
+	 * Checks if a good is needed to build a construction stage, including its
+	 * prerequisite stages.
+	 *
+	 * @param stage the construction stage.
+	 * @param id    the resource or part id.
+	 * @return true if the good is required.
+	 */
+	public static boolean isConstructionInput(ConstructionStageInfo stage, int id) {
+		return constructionInputs.computeIfAbsent(stage, GoodsGraph::getConstructionInputs).contains(id);
+	}
+
+	/**
+	 * Gets the resources and parts required by a stage and its prerequisite
+	 * stages.
+	 *
+	 * @param stage the construction stage.
+	 * @return set of resource and part ids.
+	 */
+	private static Set<Integer> getConstructionInputs(ConstructionStageInfo stage) {
+		Set<Integer> result = new HashSet<>();
+		ConstructionStageInfo s = stage;
+		// The stage itself plus up to two prerequisite stages
+		for (int i = 0; i < 3 && s != null; i++) {
+			result.addAll(s.getResources().keySet());
+			result.addAll(s.getParts().keySet());
+			s = ConstructionUtil.getPrerequisiteStage(s);
+		}
+		return result;
+	}
+
+	/**
+	 * Clears the graph so it is rebuilt from the current configuration.
+	 */
+	public static synchronized void destroy() {
+		upstreamGoods = null;
+		manufactureIndex = null;
+		foodProductionIndex = null;
+		processesByGood = null;
+		itemGoods = null;
+		constructionInputs.clear();
+		manufactureByLevel.clear();
+		foodProductionByLevel.clear();
+		salvageByLevel.clear();
+	}
+
+	/**
+	 * The processes of one kind keyed by the lower case names and the good ids of
+	 * their inputs and outputs.
+	 */
+	private static final class ProcessIndex<P> {
+
+		private final Map<String, List<P>> consumersByName = new HashMap<>();
+		private final Map<String, List<P>> producersByName = new HashMap<>();
+		private final Map<Integer, List<P>> consumers = new HashMap<>();
+		private final Map<Integer, List<P>> producers = new HashMap<>();
+
+		/**
+		 * Adds a process under one of its inputs or outputs.
+		 *
+		 * @param process  the process.
+		 * @param name     the item name.
+		 * @param id       the good id of the item, or -1 if none.
+		 * @param isOutput true if the item is an output.
+		 */
+		private void add(P process, String name, int id, boolean isOutput) {
+			add(isOutput ? producersByName : consumersByName, name.toLowerCase(), process);
+			if (id >= 0)
+				add(isOutput ? producers : consumers, id, process);
+		}
+
+		private static <K, T> void add(Map<K, List<T>> map, K key, T process) {
+			List<T> list = map.computeIfAbsent(key, k -> new ArrayList<>());
+			if (!list.contains(process))
+				list.add(process);
+		}
+	}
+}
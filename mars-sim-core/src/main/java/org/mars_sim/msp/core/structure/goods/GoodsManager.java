@@ -8,6 +8,7 @@ package org.mars_sim.msp.core.structure.goods;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -15,6 +16,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -24,7 +27,9 @@ import org.mars_sim.msp.core.LifeSupportInterface;
 import org.mars_sim.msp.core.Simulation;
 import org.mars_sim.msp.core.SimulationConfig;
 import org.mars_sim.msp.core.Unit;
+import org.mars_sim.msp.core.UnitEvent;
 import org.mars_sim.msp.core.UnitEventType;
+import org.mars_sim.msp.core.UnitListener;
 import org.mars_sim.msp.core.UnitManager;
 import org.mars_sim.msp.core.equipment.Bag;
 import org.mars_sim.msp.core.equipment.Barrel;
@@ -33,6 +38,7 @@ import org.mars_sim.msp.core.equipment.ContainerUtil;
 import org.mars_sim.msp.core.equipment.EVASuit;
 import org.mars_sim.msp.core.equipment.Equipment;
 import org.mars_sim.msp.core.equipment.EquipmentFactory;
+import org.mars_sim.msp.core.equipment.EquipmentType;
 import org.mars_sim.msp.core.equipment.LargeBag;
 import org.mars_sim.msp.core.equipment.SpecimenBox;
 import org.mars_sim.msp.core.foodProduction.FoodProductionProcess;
@@ -65,6 +71,7 @@ import org.mars_sim.msp.core.resource.ItemResourceUtil;
 import org.mars_sim.msp.core.resource.ItemType;
 import org.mars_sim.msp.core.resource.Part;
 import org.mars_sim.msp.core.resource.PhaseType;
+import org.mars_sim.msp.core.resource.Resource;
 import org.mars_sim.msp.core.resource.ResourceUtil;
 import org.mars_sim.msp.core.robot.Robot;
 import org.mars_sim.msp.core.science.ScienceType;
@@ -97,7 +104,7 @@ import org.mars_sim.msp.core.vehicle.VehicleType;
 /**
  * A manager for computing the values of goods at a settlement.
  */
-public class GoodsManager implements Serializable {
+public class GoodsManager implements Serializable, UnitListener {
 
 	/** default serial id. */
 	private static final long serialVersionUID = 12L;
@@ -155,6 +162,11 @@ public class GoodsManager implements Serializable {
 	// Value multiplier factors for certain goods.
 	private static final int EVA_SUIT_FACTOR = 1;
 
+	/** The number of goods value updates between two full revaluations. */
+	private static final int FULL_REVALUATION_INTERVAL = 8;
+	/** The relative demand change that makes the goods upstream of a good dirty. */
+	private static final double DEMAND_CHANGE_THRESHOLD = .01;
+
 	private static double repairMod = OUTSTANDING_REPAIR_PART_MODIFIER;
 	private static double maintenanceMod = OUTSTANDING_MAINT_PART_MODIFIER;
 	// Value multiplier factors for certain goods.
@@ -223,6 +235,16 @@ public class GoodsManager implements Serializable {
 	
 	// Data members
 	private boolean initialized = false;
+	/** True if this manager listens to its settlement for changes. */
+	private transient boolean listening = false;
+	/** The number of goods value updates since the last full revaluation. */
+	private int updatesSinceFullRevaluation = 0;
+	/** Ids of the goods to revaluate on the next update. Null forces a full revaluation. */
+	private transient BitSet dirtyGoods;
+	/** The goods value of the manufacturing and food production processes, keyed by process. */
+	private transient volatile Map<Object, Double> processValues;
+	/** The number of times some process values were dropped. */
+	private transient long processValuesRevision = 0;
 	// Add modifiers due to Settlement Development Objectives
 	private double cropFarm_factor = 1;
 	private double manufacturing_factor = 1;
@@ -303,8 +325,8 @@ public class GoodsManager implements Serializable {
 		partsDemandCache = new HashMap<>(ItemResourceUtil.getItemIDs().size());
 
 		// Create vehicle caches.
-		vehicleBuyValueCache = new HashMap<String, Double>();
-		vehicleSellValueCache = new HashMap<String, Double>();
+		vehicleBuyValueCache = new ConcurrentHashMap<String, Double>();
+		vehicleSellValueCache = new ConcurrentHashMap<String, Double>();
 	}
 
 	/**
@@ -438,6 +460,7 @@ public class GoodsManager implements Serializable {
 				good.setGoodValue(newValue);
 				// Save the newValue in the goodsValues map
 				goodsValues.put(good, newValue);
+				clearProcessValues(good.getID());
 				
 //				logger.info(good.getName() + " +ve oldDelta : " + Math.round(oldDelta*1000.0)/1000.0
 //						+ "   newDelta : " + Math.round(newDelta*1000.0)/1000.0	
@@ -465,6 +488,7 @@ public class GoodsManager implements Serializable {
 				good.setGoodValue(newValue);
 				// Save the newValue in the goodsValues map
 				goodsValues.put(good, newValue);
+				clearProcessValues(good.getID());
 				
 //				logger.info(good.getName() + " -ve oldDelta : " + Math.round(oldDelta*1000.0)/1000.0
 //						+ "   newDelta : " + Math.round(newDelta*1000.0)/1000.0	
@@ -486,15 +510,208 @@ public class GoodsManager implements Serializable {
 		vehicleBuyValueCache.clear();
 		vehicleSellValueCache.clear();
 
+		if (!listening) {
+			// Listeners are not saved so register again after loading
+			settlement.addUnitListener(this);
+			listening = true;
+		}
+
+		BitSet toUpdate = takeDirtyGoods();
+		boolean fullUpdate = !initialized || (toUpdate == null)
+				|| (++updatesSinceFullRevaluation >= FULL_REVALUATION_INTERVAL);
+		if (fullUpdate) {
+			updatesSinceFullRevaluation = 0;
+			toUpdate = new BitSet();
+		}
+		BitSet updated = new BitSet();
+
 		Iterator<Good> i = goodsValues.keySet().iterator();
-		while (i.hasNext())
-			updateGoodValue(i.next(), true);
+		while (i.hasNext()) {
+			Good good = i.next();
+			int id = good.getID();
+			if (fullUpdate || toUpdate.get(id)) {
+				double oldDemand = getGoodsDemandValue(good);
+				updateGoodValue(good, true);
+				updated.set(id);
+				double newDemand = getGoodsDemandValue(good);
+				if (Math.abs(newDemand - oldDemand) > DEMAND_CHANGE_THRESHOLD * oldDemand) {
+					// The inputs of the processes producing this good are valued by its demand
+					for (int input : GoodsGraph.getUpstreamGoods(id)) {
+						if (!updated.get(input))
+							toUpdate.set(input);
+						else
+							markGoodDirty(input);
+					}
+				}
+			}
+		}
  
 		settlement.fireUnitUpdate(UnitEventType.GOODS_VALUE_EVENT);
 
 		initialized = true;
 	}
 
+	/**
+	 * Catches the settlement changes that affect the value of its goods.
+	 * 
+	 * @param event the unit event.
+	 */
+	@Override
+	public void unitUpdate(UnitEvent event) {
+		UnitEventType type = event.getType();
+		Object target = event.getTarget();
+		
+		switch (type) {
+		case INVENTORY_RESOURCE_EVENT:
+			if (target instanceof Integer)
+				markGoodDirty((Integer) target);
+			else if (target instanceof Resource)
+				markGoodDirty(((Resource) target).getID());
+			break;
+			
+		case INVENTORY_STORING_UNIT_EVENT:
+		case INVENTORY_RETRIEVING_UNIT_EVENT:
+			if (target instanceof Equipment)
+				markGoodDirty(EquipmentType.convertClass2ID(target.getClass()));
+			else if (target instanceof Vehicle)
+				markGoodDirty(VehicleType.convertName2ID(((Vehicle) target).getVehicleType()));
+			break;
+			
+		case MALFUNCTION_EVENT:
+			// The repair parts of a malfunction starting or fixed
+			if (target instanceof Malfunction) {
+				for (int part : ((Malfunction) target).getRepairParts().keySet())
+					markGoodDirty(part);
+			}
+			break;
+			
+		case MAINTENANCE_PARTS_EVENT:
+			if (target instanceof Collection) {
+				for (Object part : (Collection<?>) target) {
+					if (part instanceof Integer)
+						markGoodDirty((Integer) part);
+				}
+			}
+			break;
+			
+		case ADD_ASSOCIATED_PERSON_EVENT:
+		case REMOVE_ASSOCIATED_PERSON_EVENT:
+		case ADD_ASSOCIATED_ROBOT_EVENT:
+		case REMOVE_ASSOCIATED_ROBOT_EVENT:
+		case ADD_BUILDING_EVENT:
+		case REMOVE_BUILDING_EVENT:
+		case START_CONSTRUCTION_SITE_EVENT:
+		case FINISH_CONSTRUCTION_BUILDING_EVENT:
+		case FINISH_CONSTRUCTION_SALVAGE_EVENT:
+			// The population, the processes and the construction demand have changed
+			markAllGoodsDirty();
+			break;
+			
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * Marks a good to be revaluated on the next update.
+	 * 
+	 * @param id the good id.
+	 */
+	public synchronized void markGoodDirty(int id) {
+		if (dirtyGoods != null && id >= 0)
+			dirtyGoods.set(id);
+	}
+
+	/**
+	 * Marks all the goods to be revaluated on the next update.
+	 */
+	public synchronized void markAllGoodsDirty() {
+		dirtyGoods = null;
+		clearProcessValues();
+	}
+
+	/**
+	 * Gets the goods value of a manufacturing or food production process at the
+	 * settlement, i.e. the value of its outputs minus the value of its inputs,
+	 * computing it on the first call. It is kept until the value of one of the
+	 * goods involved changes. The stock is not part of it, as it changes on
+	 * every store and retrieve.
+	 * 
+	 * @param process the process.
+	 * @param valuer  computes the goods value of the process.
+	 * @return goods value (VP).
+	 */
+	public <P> double getProcessGoodsValue(P process, ToDoubleFunction<P> valuer) {
+		Map<Object, Double> values = getProcessValues();
+		Double value = values.get(process);
+		if (value == null) {
+			long revision;
+			synchronized (this) {
+				revision = processValuesRevision;
+			}
+			value = valuer.applyAsDouble(process);
+			synchronized (this) {
+				// Do not keep a value computed while the goods involved were changing
+				if (revision == processValuesRevision)
+					values.putIfAbsent(process, value);
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Gets the process values, creating the map after loading.
+	 * 
+	 * @return map of process values.
+	 */
+	private Map<Object, Double> getProcessValues() {
+		Map<Object, Double> values = processValues;
+		if (values == null) {
+			synchronized (this) {
+				values = processValues;
+				if (values == null) {
+					values = new ConcurrentHashMap<>();
+					processValues = values;
+				}
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Drops the values of the processes that consume or produce a good.
+	 * 
+	 * @param id the good id.
+	 */
+	private synchronized void clearProcessValues(int id) {
+		processValuesRevision++;
+		if (processValues != null && !processValues.isEmpty()) {
+			for (Object process : GoodsGraph.getProcessesInvolving(id)) {
+				processValues.remove(process);
+			}
+		}
+	}
+
+	/**
+	 * Drops the values of all the processes.
+	 */
+	private synchronized void clearProcessValues() {
+		processValuesRevision++;
+		if (processValues != null)
+			processValues.clear();
+	}
+
+	/**
+	 * Takes the goods marked dirty since the last update.
+	 * 
+	 * @return the dirty good ids, or null if all goods need revaluating.
+	 */
+	private synchronized BitSet takeDirtyGoods() {
+		BitSet result = dirtyGoods;
+		dirtyGoods = new BitSet();
+		return result;
+	}
+
 	/**
 	 * Updates the value of a good at the settlement.
 	 * 
@@ -534,6 +751,7 @@ public class GoodsManager implements Serializable {
 				good.setGoodValue(newValue);
 				// Save it in the goodsValues map
 				goodsValues.put(good, newValue);
+				clearProcessValues(good.getID());
 			}
 			
 			if (!collectiveUpdate)
@@ -1128,7 +1346,7 @@ public class GoodsManager implements Serializable {
 	 */
 	private Collection<Vehicle> getAssociatedVehicles() {
 		// Start with parked vehicles at settlement.
-		Collection<Vehicle> vehicles = settlement.getParkedVehicles();
+		Collection<Vehicle> vehicles = new ArrayList<>(settlement.getParkedVehicles());
 
 		// Add associated vehicles out on missions.
 		Iterator<Mission> i = missionManager.getMissionsForSettlement(settlement).iterator();
@@ -1377,11 +1595,12 @@ public class GoodsManager implements Serializable {
 		// Get highest manufacturing tech level in settlement.
 		if (ManufactureUtil.doesSettlementHaveManufacturing(settlement)) {
 			int techLevel = ManufactureUtil.getHighestManufacturingTechLevel(settlement);
-			Iterator<ManufactureProcessInfo> i = ManufactureUtil.getManufactureProcessesForTechLevel(techLevel)
-					.iterator();
-			while (i.hasNext()) {
-				double manufacturingDemand = getResourceManufacturingProcessDemand(resource, i.next());
-				demand += manufacturingDemand;
+			// Only the processes taking the resource as an input have a demand for it
+			for (ManufactureProcessInfo process : GoodsGraph.getManufactureProcessesWithInput(resource)) {
+				if (process.getTechLevelRequired() <= techLevel) {
+					double manufacturingDemand = getResourceManufacturingProcessDemand(resource, process);
+					demand += manufacturingDemand;
+				}
 			}
 		}
 
@@ -1401,11 +1620,11 @@ public class GoodsManager implements Serializable {
 		// Get highest Food Production tech level in settlement.
 		if (FoodProductionUtil.doesSettlementHaveFoodProduction(settlement)) {
 			int techLevel = FoodProductionUtil.getHighestFoodProductionTechLevel(settlement);
-			Iterator<FoodProductionProcessInfo> i = FoodProductionUtil.getFoodProductionProcessesForTechLevel(techLevel)
-					.iterator();
-			while (i.hasNext()) {
-				double FoodProductionDemand = getResourceFoodProductionProcessDemand(resource, i.next());
-				demand += FoodProductionDemand;
+			for (FoodProductionProcessInfo process : GoodsGraph.getFoodProductionProcessesWithInput(resource)) {
+				if (process.getTechLevelRequired() <= techLevel) {
+					double FoodProductionDemand = getResourceFoodProductionProcessDemand(resource, process);
+					demand += FoodProductionDemand;
+				}
 			}
 		}
 
@@ -1421,13 +1640,12 @@ public class GoodsManager implements Serializable {
 	 */
 	private double getResourceManufacturingProcessDemand(int resource, ManufactureProcessInfo process) {
 		double demand = 0D;
-		String r = ResourceUtil.findAmountResourceName(resource).toLowerCase();
 
 		ManufactureProcessItem resourceInput = null;
 		Iterator<ManufactureProcessItem> i = process.getInputList().iterator();
 		while ((resourceInput == null) && i.hasNext()) {
 			ManufactureProcessItem item = i.next();
-			if (ItemType.AMOUNT_RESOURCE.equals(item.getType()) && r.equals(item.getName())) {
+			if (ItemType.AMOUNT_RESOURCE.equals(item.getType()) && GoodsGraph.getGoodID(item) == resource) {
 				resourceInput = item;
 				break;
 			}
@@ -1482,8 +1700,7 @@ public class GoodsManager implements Serializable {
 		Iterator<FoodProductionProcessItem> i = process.getInputList().iterator();
 		while ((resourceInput == null) && i.hasNext()) {
 			FoodProductionProcessItem item = i.next();
-			if (ItemType.AMOUNT_RESOURCE.equals(item.getType())
-					&& ResourceUtil.findAmountResourceName(resource).equalsIgnoreCase(item.getName())) {
+			if (ItemType.AMOUNT_RESOURCE.equals(item.getType()) && GoodsGraph.getGoodID(item) == resource) {
 				resourceInput = item;
 				break;
 			}
@@ -1643,7 +1860,7 @@ public class GoodsManager implements Serializable {
 			ConstructionStageInfo stage = i.next();
 			double stageValue = stageValues.get(stage);
 			if (stageValue > 0D && ConstructionStageInfo.BUILDING.equals(stage.getType())
-					&& isLocallyConstructable(stage)) {
+					&& GoodsGraph.isConstructionInput(stage, resource) && isLocallyConstructable(stage)) {
 				double constructionDemand = getResourceConstructionStageDemand(resource, stage, stageValue);
 				if (constructionDemand > 0D) {
 					demand += constructionDemand;
@@ -2365,11 +2582,11 @@ public class GoodsManager implements Serializable {
 		// Get highest manufacturing tech level in settlement.
 		if (ManufactureUtil.doesSettlementHaveManufacturing(settlement)) {
 			int techLevel = ManufactureUtil.getHighestManufacturingTechLevel(settlement);
-			Iterator<ManufactureProcessInfo> i = ManufactureUtil.getManufactureProcessesForTechLevel(techLevel)
-					.iterator();
-			while (i.hasNext()) {
-				double manufacturingDemand = getPartManufacturingProcessDemand(part, i.next());
-				demand += manufacturingDemand;
+			for (ManufactureProcessInfo process : GoodsGraph.getManufactureProcessesWithInput(part.getID())) {
+				if (process.getTechLevelRequired() <= techLevel) {
+					double manufacturingDemand = getPartManufacturingProcessDemand(part, process);
+					demand += manufacturingDemand;
+				}
 			}
 		}
 		return demand;
@@ -2504,11 +2721,11 @@ public class GoodsManager implements Serializable {
 		// Get highest Food Production tech level in settlement.
 		if (FoodProductionUtil.doesSettlementHaveFoodProduction(settlement)) {
 			int techLevel = FoodProductionUtil.getHighestFoodProductionTechLevel(settlement);
-			Iterator<FoodProductionProcessInfo> i = FoodProductionUtil.getFoodProductionProcessesForTechLevel(techLevel)
-					.iterator();
-			while (i.hasNext()) {
-				double FoodProductionDemand = getPartFoodProductionProcessDemand(part, i.next());
-				demand += FoodProductionDemand;
+			for (FoodProductionProcessInfo process : GoodsGraph.getFoodProductionProcessesWithInput(part.getID())) {
+				if (process.getTechLevelRequired() <= techLevel) {
+					double FoodProductionDemand = getPartFoodProductionProcessDemand(part, process);
+					demand += FoodProductionDemand;
+				}
 			}
 		}
 
@@ -2607,7 +2824,7 @@ public class GoodsManager implements Serializable {
 			ConstructionStageInfo stage = i.next();
 			double stageValue = stageValues.get(stage);
 			if (stageValue > 0D && ConstructionStageInfo.BUILDING.equals(stage.getType())
-					&& isLocallyConstructable(stage)) {
+					&& GoodsGraph.isConstructionInput(stage, id) && isLocallyConstructable(stage)) {
 				double constructionStageDemand = getPartConstructionStageDemand(id, stage, stageValue);
 				if (constructionStageDemand > 0D) {
 					demand += constructionStageDemand;
@@ -2915,22 +3132,24 @@ public class GoodsManager implements Serializable {
 		}
 
 		if (vehicleBuyValueCache == null) {
-			vehicleBuyValueCache = new HashMap<String, Double>();
+			vehicleBuyValueCache = new ConcurrentHashMap<String, Double>();
 		}
 		if (vehicleSellValueCache == null) {
-			vehicleSellValueCache = new HashMap<String, Double>();
+			vehicleSellValueCache = new ConcurrentHashMap<String, Double>();
 		}
 
 		if (useCache) {
 			if (buy) {
-				if (vehicleBuyValueCache.containsKey(vehicleType)) {
-					value = vehicleBuyValueCache.get(vehicleType);
+				Double cached = vehicleBuyValueCache.get(vehicleType);
+				if (cached != null) {
+					value = cached;
 				} else {
 					value = determineVehicleGoodValue(vehicleGood, supply, false);
 				}
 			} else {
-				if (vehicleSellValueCache.containsKey(vehicleType)) {
-					value = vehicleSellValueCache.get(vehicleType);
+				Double cached = vehicleSellValueCache.get(vehicleType);
+				if (cached != null) {
+					value = cached;
 				} else {
 					value = determineVehicleGoodValue(vehicleGood, supply, false);
 				}
@@ -3499,7 +3718,11 @@ public class GoodsManager implements Serializable {
 			partsDemandCache = null;
 		}
 
+		dirtyGoods = null;
+		processValues = null;
+
 		// Destroy goods list in GoodsUtil.
 		GoodsUtil.destroyGoods();
+		GoodsGraph.destroy();
 	}
 }
\ No newline at end of file
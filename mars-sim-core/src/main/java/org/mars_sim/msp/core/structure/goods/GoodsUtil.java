@@ -34,8 +34,8 @@ public class GoodsUtil {
 	private static Logger logger = Logger.getLogger(GoodsUtil.class.getName());
 	
 	// Data members
-	private static List<Good> goodsList;
-	private static Map<Integer, Good> goodsMap;
+	private static volatile List<Good> goodsList;
+	private static volatile Map<Integer, Good> goodsMap;
 	
 	private static VehicleConfig vehicleConfig = SimulationConfig.instance().getVehicleConfiguration();
 	
@@ -53,11 +53,8 @@ public class GoodsUtil {
 	 * @return list of goods
 	 */
 	public static List<Good> getGoodsList() {
-		if (goodsList == null || goodsMap == null) {
-			goodsList = new ArrayList<Good>();
-			goodsMap = new HashMap<>();
+		if (goodsMap == null)
 			populateGoods();
-		}
 
 		return Collections.unmodifiableList(goodsList);
 	}
@@ -68,19 +65,16 @@ public class GoodsUtil {
 	 * @return list of goods
 	 */
 	public static Map<Integer, Good> getGoodsMap() {
-		if (goodsList == null || goodsMap == null) {
-			goodsList = new ArrayList<Good>();
-			goodsMap = new HashMap<>();
+		if (goodsMap == null)
 			populateGoods();
-		}
-		
+
 		return goodsMap;
 	}
 	
 	/**
 	 * Destroys the current goods list and maps.
 	 */
-	public static void destroyGoods() {
+	public static synchronized void destroyGoods() {
 		if (goodsList != null) {
 			goodsList.clear();
 		}
@@ -91,7 +85,7 @@ public class GoodsUtil {
 			goodsMap.clear();
 		}
 
-		goodsList = null;
+		goodsMap = null;
 	}
 	
 	public static Good createResourceGood(Resource resource) {
@@ -266,81 +260,91 @@ public class GoodsUtil {
 	}
 	
 	/**
-	 * Populates the goods list with all goods.
+	 * Populates the goods list with all goods. The list and map are published once
+	 * complete, as the settlements ticked in parallel may ask for them at once.
 	 */
-	private static void populateGoods() {
+	private static synchronized void populateGoods() {
+		if (goodsMap != null)
+			return;
+
+		List<Good> list = new ArrayList<Good>();
+		Map<Integer, Good> map = new HashMap<>();
+
 		// Populate amount resources.
-		populateAmountResources();
+		populateAmountResources(list, map);
 
 		// Populate item resources.
-		populateItemResources();
+		populateItemResources(list, map);
 
 		// Populate equipment.
-		populateEquipment();
+		populateEquipment(list, map);
 
 		// Populate vehicles.
-		populateVehicles();
+		populateVehicles(list, map);
 
 		// Sort goods by name.
-		Collections.sort(goodsList);
+		Collections.sort(list);
+
+		goodsList = list;
+		goodsMap = map;
 	}
 
 	
 	/**
 	 * Populates the goods list with all amount resources.
 	 */
-	private static void populateAmountResources() {
+	private static void populateAmountResources(List<Good> list, Map<Integer, Good> map) {
 //		Iterator<Integer> i = ResourceUtil.getInstance().getARIDs().iterator();
 		Iterator<AmountResource> i = ResourceUtil.getAmountResources().iterator();
 		while (i.hasNext()) {
 			AmountResource ar = i.next();
 			Good g = createResourceGood(ar);
-			goodsList.add(g);
-			goodsMap.put(ar.getID(), g);
+			list.add(g);
+			map.put(ar.getID(), g);
 		}		
 	}
 	
 	/**
 	 * Populates the goods list with all item resources.
 	 */
-	private static void populateItemResources() {
+	private static void populateItemResources(List<Good> list, Map<Integer, Good> map) {
 //		Iterator<Integer> i = ItemResourceUtil.getItemIDs().iterator();
 		Iterator<Part> i = ItemResourceUtil.getItemResources().iterator();
 		while (i.hasNext()) {
 			Part p = i.next();
 			Good g = createResourceGood(p);
-			goodsList.add(g);
-			goodsMap.put(p.getID(), g);
+			list.add(g);
+			map.put(p.getID(), g);
 		}		
 	}
 	
 	/**
 	 * Populates the goods list with all equipment.
 	 */
-	private static void populateEquipment() {
+	private static void populateEquipment(List<Good> list, Map<Integer, Good> map) {
 		List<String> equipmentNames = new ArrayList<String>(EquipmentFactory.getEquipmentNames());
 		Iterator<String> i = equipmentNames.iterator();
 		while (i.hasNext()) {
 			String name = i.next();
 			int id = EquipmentType.convertName2ID(name);
 			Good g = new Good(name, id, GoodType.EQUIPMENT);
-			goodsList.add(g);
-			goodsMap.put(id, g);
+			list.add(g);
+			map.put(id, g);
 		}
 	}
 	
 	/**
 	 * Populates the goods list with all vehicles.
 	 */
-	private static void populateVehicles() {
+	private static void populateVehicles(List<Good> list, Map<Integer, Good> map) {
 		try {
 			Iterator<String> i = vehicleConfig.getVehicleTypes().iterator();
 			while (i.hasNext()) {
 				String name = i.next();
 				int id = VehicleType.convertName2ID(name);
 				Good g = new Good(name, id, GoodType.VEHICLE);
-				goodsList.add(g);
-				goodsMap.put(id, g);
+				list.add(g);
+				map.put(id, g);
 			}
 		} catch (Exception e) {
 			e.printStackTrace(System.err);
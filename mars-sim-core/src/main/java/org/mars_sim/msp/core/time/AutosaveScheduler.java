@@ -52,6 +52,12 @@ public class AutosaveScheduler {
         	if (masterClock == null)
         		masterClock = sim.getMasterClock();
         	
+        	if (sim.isWritingSave()) {
+        		// Skip this autosave rather than holding a second snapshot in memory
+        		logger.config("The previous save is still being written. Skipping this autosave.");
+        		return;
+        	}
+        	
         	if (sim.getAutosaveDefault()) {
         		// Autosave as default
         		masterClock.setSaveSim(SaveType.AUTOSAVE_AS_DEFAULT, null);
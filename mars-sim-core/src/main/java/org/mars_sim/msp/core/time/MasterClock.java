@@ -15,10 +15,16 @@ import java.util.Collections;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -42,6 +48,10 @@ public class MasterClock implements Serializable {
 	private static String sourceName = loggerName.substring(loggerName.lastIndexOf(".") + 1, loggerName.length());
 	
 	private static final int FACTOR = 4;
+	/** The maximum number of pulses waiting for the sim stage before new pulses are merged into the last one. */
+	static final int MAX_QUEUED_PULSES = 4;
+	/** The maximum length of a pulse handed to the sim stage [in millisols]. */
+	static final double MAX_PULSE = 10D;
 	
 //	private static final double SMALL_NUMBER = 0.0028;
 	
@@ -92,15 +102,11 @@ public class MasterClock implements Serializable {
 	private long residualTime;
 	/** The last uptime in terms of number of pulses. */
 	private transient long tLast;
-	/** The cache for accumulating millisols up to a limit before sending out a clock pulse. */
-	private transient double timeCache;
 
 	private static boolean justReloaded = false;
 	
 //	/** The time between two ui pulses. */	
 //	private float pulseTime = .5F;
-	/** The counts for ui pulses. */	
-	private transient int count;
 	/** The total number of counts between two ui pulses. */
 	private transient int totalCount = 40;
 	/** The average of the last working millis and the current one. */
@@ -128,6 +134,19 @@ public class MasterClock implements Serializable {
 	/** For Command Mode, the sim will pause every x millisols. */
 	private double pausingMillisols = 1000;
 
+	/** True if the clock runs fixed-length pulses back-to-back without pacing to the wall clock. */
+	private transient volatile boolean batchMode = false;
+	/** True if the program is to be saved and exited once the target sol is reached. */
+	private transient boolean exitAtTargetSol = false;
+	/** The mission sol at which the batch mode stops, or 0 for none. */
+	private transient int targetSol = 0;
+	/** The wall-clock time at the start of the batch mode [in nanoseconds]. */
+	private transient long batchStartTime;
+	/** The fixed length of each pulse in batch mode [in millisols]. */
+	private transient double fixedPulse = 1D;
+	/** The total amount of millisols simulated in batch mode. */
+	private transient double batchMillisols;
+	
 	/** The file to save or load the simulation. */
 	private transient volatile File file;
 	/** The thread for running the clock listeners. */
@@ -140,6 +159,33 @@ public class MasterClock implements Serializable {
 	/** A list of past UI refresh rate. */
 	private static List<Float> timeIntervals;
 	
+	/** The thread for notifying the views of the pulses completed by the sim stage. */
+	private transient ExecutorService uiExecutor;
+	/** The number of pulses fired but not yet started by the sim stage. */
+	private transient AtomicInteger queuedPulses;
+	/** The last pulse handed to the sim stage. */
+	private transient volatile QueuedPulse lastQueuedPulse;
+	/** True if a view notification is waiting to run. */
+	private transient AtomicBoolean uiNotificationScheduled;
+	/** Guards the time published to the views. */
+	private transient Object viewLock;
+	/** The millisols completed by the sim stage since the last view notification. */
+	private transient double viewTimeCache;
+	/** The millisols completed by the sim stage since the last ui pulse. */
+	private transient double uiTimeCache;
+	/** The number of pulses completed by the sim stage since the last ui pulse. */
+	private transient int uiPulseCount;
+	/** True if the next view notification is to send out a ui pulse. */
+	private transient boolean uiPulseDue;
+	/** The number of pulses completed by the sim stage. */
+	private transient LongAdder completedPulses;
+	/** The number of pulses merged into a queued pulse because the sim stage fell behind. */
+	private transient LongAdder mergedPulses;
+	/** The number of view notifications merged into a pending one because the views fell behind. */
+	private transient LongAdder mergedUINotifications;
+	/** The millisols left out of the clock because the pulse queue was full. */
+	private transient DoubleAdder stretchedTime;
+	
 	
 	/** The martian Clock. */
 	private MarsClock marsClock;
@@ -568,6 +614,7 @@ public class MasterClock implements Serializable {
 		
 		// Re-instantiate clockListenerExecutor
 		clockExecutor = Executors.newSingleThreadExecutor();
+		startPulsePipeline();
 		// Re-instantiate clockListeners
 		clockListeners = Collections.synchronizedList(new CopyOnWriteArrayList<ClockListener>());
 
@@ -697,7 +744,11 @@ public class MasterClock implements Serializable {
 			// Keep running until told not to by calling stop()
 			keepRunning = true;
 
-			if (sim.isDoneInitializing() && !isFXGL) {
+			if (sim.isDoneInitializing() && !isFXGL && batchMode) {
+				runBatch();
+			}
+			
+			else if (sim.isDoneInitializing() && !isFXGL) {
 
 				long t1 = 0;
 				long t2 = 0;
@@ -830,6 +881,7 @@ public class MasterClock implements Serializable {
 					// Exit program if exitProgram flag is true.
 					if (exitProgram) {
 						AutosaveScheduler.cancel();
+						sim.awaitPendingSaves();
 						System.exit(0);
 					}
 					
@@ -851,6 +903,133 @@ public class MasterClock implements Serializable {
 				} // end of while
 			} // if fxgl is not used
 		} // end of run
+		
+		/**
+		 * Runs fixed-length pulses back-to-back without sleeping until the clock is
+		 * stopped or the target sol is reached.
+		 */
+		private void runBatch() {
+			batchStartTime = System.nanoTime();
+			batchMillisols = 0;
+			int lastSol = marsClock.getMissionSol();
+			
+			logger.config("Running in batch mode with a fixed pulse of " + fixedPulse + " millisols"
+					+ (targetSol > 0 ? " until sol " + targetSol : "") + ".");
+			
+			while (keepRunning) {
+				if (isPaused) {
+					try {
+						TimeUnit.NANOSECONDS.sleep(currentTBU_ns);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+				else {
+					addFixedTime();
+				}
+				
+				int sol = marsClock.getMissionSol();
+				if (sol != lastSol) {
+					lastSol = sol;
+					logger.config("Sol " + sol + " - " + Math.round(getSolsPerSecond() * 1000.0) / 1000.0 
+							+ " sols per second");
+				}
+				
+				if (targetSol > 0 && sol >= targetSol) {
+					finishBatch();
+					break;
+				}
+				
+				if (exitProgram) {
+					AutosaveScheduler.cancel();
+					sim.awaitPendingSaves();
+					System.exit(0);
+				}
+				
+				checkSave();
+			}
+		}
+	}
+
+	/**
+	 * Reports the batch run once the target sol is reached and, if requested,
+	 * saves the simulation and exits.
+	 */
+	private void finishBatch() {
+		keepRunning = false;
+		
+		double secs = (System.nanoTime() - batchStartTime) / 1_000_000_000D;
+		logger.config("Reached the target sol " + targetSol + " : simulated " 
+				+ Math.round(batchMillisols) / 1000.0 + " sols in " 
+				+ Math.round(secs * 100.0) / 100.0 + " secs (" 
+				+ Math.round(getSolsPerSecond() * 1000.0) / 1000.0 + " sols per second).");
+		
+		if (exitAtTargetSol) {
+			AutosaveScheduler.cancel();
+			setSaveSim(SaveType.AUTOSAVE, null);
+			checkSave();
+			sim.awaitPendingSaves();
+			System.exit(0);
+		}
+	}
+	
+	/**
+	 * Adds a fixed-length pulse to earth time and mars time. The sim stage is
+	 * run on the calling thread so that the next pulse only starts once the
+	 * current one has been fully processed.
+	 */
+	private void addFixedTime() {
+		long earthMillis = (long) (fixedPulse * MILLISECONDS_PER_MILLISOL);
+		
+		totalPulses++;
+		
+		earthClock.addTime(earthMillis);
+		marsClock.addTime(fixedPulse);
+		
+		runPulse(fixedPulse);
+		
+		batchMillisols += fixedPulse;
+	}
+	
+	/**
+	 * Sets the clock to run fixed-length pulses back-to-back without pacing to
+	 * the wall clock. Takes effect when the clock thread is (re)started.
+	 * 
+	 * @param millisolsPerPulse the length of each pulse [in millisols]
+	 * @param sol the mission sol at which to stop, or 0 for none
+	 * @param exit true if the simulation is to be saved and exited at the target sol
+	 */
+	public void setBatchMode(double millisolsPerPulse, int sol, boolean exit) {
+		if (millisolsPerPulse <= 0 || millisolsPerPulse > MAX_PULSE)
+			throw new IllegalArgumentException("The fixed pulse is out of bounds. Must be greater than 0 and at most "
+					+ MAX_PULSE + " millisols");
+		if (sol < 0)
+			throw new IllegalArgumentException("The target sol cannot be negative");
+		batchMode = true;
+		fixedPulse = millisolsPerPulse;
+		targetSol = sol;
+		exitAtTargetSol = exit;
+	}
+	
+	/**
+	 * Checks if the clock is running in batch mode.
+	 * 
+	 * @return true if in batch mode
+	 */
+	public boolean isBatchMode() {
+		return batchMode;
+	}
+	
+	/**
+	 * Gets the number of sols simulated per wall-clock second in batch mode.
+	 * 
+	 * @return sols per second
+	 */
+	public double getSolsPerSecond() {
+		double secs = (System.nanoTime() - batchStartTime) / 1_000_000_000D;
+		if (!batchMode || secs <= 0)
+			return 0;
+		return batchMillisols / 1000D / secs;
 	}
 
 	public void setCommandPause(boolean value0, double value1) {
@@ -900,19 +1079,13 @@ public class MasterClock implements Serializable {
 					&& !clockExecutor.isTerminated()
 					&& !clockExecutor.isShutdown()) {	
 					
-					// Add time to the Earth clock.
-					earthClock.addTime(earthMillis);
-					
-					// Add time pulse to Mars clock.
-					marsClock.addTime(timePulse);
-					
 //					long t0 = System.nanoTime();
-					// Run the clock listener tasks that are in other package
-					fireClockPulse(timePulse);
+					// Add the time to the clocks and run the clock listener tasks that are in other package
+					double added = addClockPulse(timePulse);
 					
 //					long t1 = System.nanoTime();
 									
-					millisols += timePulse;
+					millisols += added;
 					if (millisols > MAX_SOLS)
 						millisols = millisols - MAX_SOLS;
 //					logger.info("dt : " + (t1- t0)/1_000 + " us");
@@ -946,6 +1119,37 @@ public class MasterClock implements Serializable {
 //		}
 //	}
 		   
+	/**
+	 * Takes a snapshot of the simulation at a pulse boundary and lets it be
+	 * written in the background. The clock thread waits only for the snapshot.
+	 * 
+	 * @param type the save type
+	 * @param file the file to save to or null if default file
+	 * @throws Exception
+	 */
+	private void saveSnapshot(SaveType type, File file) throws Exception {
+		Callable<Void> snapshot = () -> {
+			sim.snapshotSimulation(type, file);
+			return null;
+		};
+		
+		if (batchMode || clockExecutor == null || clockExecutor.isShutdown()) {
+			// The clock listeners run on this thread, so no pulse is in progress
+			snapshot.call();
+		}
+		else {
+			// Queue behind the pulses already fired so that the snapshot is taken 
+			// in between two pulses
+			try {
+				clockExecutor.submit(snapshot).get();
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof Exception)
+					throw (Exception) e.getCause();
+				throw e;
+			}
+		}
+	}
+	
 	/**
 	 * Checks if it is on pause or a saving process has been requested. Keeps track
 	 * of the time pulse
@@ -959,7 +1163,10 @@ public class MasterClock implements Serializable {
 //			logger.config("checkSave() is on " + Thread.currentThread().getName());
 //			logger.config("2. checkSave() : saveType is " + saveType + "     file is " + file); 
 			try {
-				sim.saveSimulation(saveType, file);
+				if (Simulation.isSnapshotSave())
+					saveSnapshot(saveType, file);
+				else
+					sim.saveSimulation(saveType, file);
 			} catch (NullPointerException e) {
 				logger.log(Level.SEVERE,
 						"NullPointerException. Could not save the simulation.", e);// as " + (file == null ? "null" : file.getPath()), e);
@@ -1046,96 +1253,36 @@ public class MasterClock implements Serializable {
 			return time;
 		}
 		
+		/**
+		 * Checks if the listener is updated in the sim stage rather than notified
+		 * in the ui stage.
+		 * 
+		 * @return true if the listener is the simulation
+		 */
+		private boolean isSimStage() {
+			return listener == sim;
+		}
+		
 		@Override
 		public void run() {
 			if (sim.isDoneInitializing()) {
 				try {
-					// The most important job for CLockListener is to send a clock pulse to
-					// 1. Simulation
-	
-					// so that 
-					// 1. UpTimer,
-					// 2. Mars, 
-					// 3. MissionManager,
-					// 4. UnitManager, 
-					// 5. ScientificStudyManager, 
-					// 6. TransportManager,
-				
-					// gets updated.
 					listener.clockPulse(time);
-					timeCache += time;
-					count++;
-	//				long t02 = System.currentTimeMillis();//.nanoTime();
-	//				// Discard the very first pulseTime since it's not invalid
-	//				// at the start of the sim
-	//				if (t01 != 0) {
-	//					timeIntervals.add((t02-t01)/1_000F);
-	//				}
-	//				t01 = t02;
-	//				if (timeIntervals.size() > 15)
-	//					timeIntervals.remove(0);
-					
-					// period is in seconds
-	//				double period = timeCache / currentTR * MarsClock.SECONDS_PER_MILLISOL;
-	
-					if (count > FACTOR) {
-	//					int speed = getCurrentSpeed();
-	//					if (speed == 0)
-	//						speed = 1;
-	//					totalCount = speed * speed / FACTOR ;
-	//					System.out.println(totalCount);
-	//					if (totalCount < 4)
-	//						totalCount = 4;
-	//					totalCount = (int) (3D/computePulsesPerSecond());
-						count = 0;
-						
-	//					long t02 = System.nanoTime();
-						long t02 = System.currentTimeMillis();//.nanoTime();
-						// Discard the very first pulseTime since it's not invalid
-						// at the start of the sim
-						if (t01 != 0) {
-							timeIntervals.add((t02-t01)/1_000F);
-						}
-						t01 = t02;
-	
-						if (timeIntervals.size() > 30)
-							timeIntervals.remove(0);
-	
-	//					System.out.println(
-	//							"time : " + Math.round(time*100.0)/100.0 
-	//							+ "   timeCache : " + Math.round(timeCache*100.0)/100.0 
-	//							  "   r : " + Math.round(r*100.0)/100.0 
-	//							+ "   refresh : " + Math.round(getRefresh()*100.0)/100.0 
-	//							"   time between pulses : " + pulseTime
-	//							+ "   currentTR : " + currentTR
-	//							+ "   Period : " + Math.round(period*1000.0)/1000.0
-	//							);
-	
-						// The secondary job of CLockListener is to send uiPulse() out to
-						// 0. MainDesktopPane,
-						// which in terms sends a clock pulse out to update all unit windows and tool
-						// windows
-						//
-						// It also sends an ui pulse out to the following class and map related panels:
-	
-						// 1. MarsTerminal
-						// 2. AudioPlayer
-						// 3. MainDesktopPane
-						// 4. GlobeDisplay
-						// 5. MapPanel (2x)
-						// 6. TimeWindow
-						// 7. SettlementMapPanel
-						// 8. NotificationWindow
-						// 9. ResupplyDetailPanel
-						//10. ArrivingSettlementDetailPanel
-						
-						
-						// Note: on a typical PC, approximately one ui pulse is sent out each second
-						listener.uiPulse(timeCache);
-						timeCache = 0;
-	
-					}
-	
+				} catch (ConcurrentModificationException e) {
+					e.printStackTrace();
+				}
+			}
+		}
+		
+		/**
+		 * Sends an ui pulse to the listener.
+		 * 
+		 * @param uiTime the millisols since the last ui pulse
+		 */
+		private void runUIPulse(double uiTime) {
+			if (sim.isDoneInitializing()) {
+				try {
+					listener.uiPulse(uiTime);
 				} catch (ConcurrentModificationException e) {
 					e.printStackTrace();
 				}
@@ -1143,6 +1290,56 @@ public class MasterClock implements Serializable {
 		}
 	}
 
+	/**
+	 * A pulse waiting for the sim stage. Pulses fired while it waits may be
+	 * merged into it.
+	 */
+	private static final class QueuedPulse {
+
+		private double time;
+		private boolean started;
+
+		private QueuedPulse(double time) {
+			this.time = time;
+		}
+
+		/**
+		 * Adds time to the pulse if the sim stage has not taken it yet, without
+		 * making it longer than the maximum pulse.
+		 * 
+		 * @param more the millisols to add
+		 * @return the millisols added
+		 */
+		private synchronized double merge(double more) {
+			if (started)
+				return 0;
+			double added = Math.min(more, MAX_PULSE - time);
+			if (added <= 0)
+				return 0;
+			time += added;
+			return added;
+		}
+
+		/**
+		 * Gets the millisols that can still be merged into the pulse.
+		 * 
+		 * @return the millisols
+		 */
+		private synchronized double getRoom() {
+			return started ? 0 : MAX_PULSE - time;
+		}
+		
+		/**
+		 * Takes the pulse for the sim stage.
+		 * 
+		 * @return the length of the pulse [in millisols]
+		 */
+		private synchronized double start() {
+			started = true;
+			return time;
+		}
+	}
+
 	   /**
      * Gets the simulation speed
      * 
@@ -1162,21 +1359,240 @@ public class MasterClock implements Serializable {
     }
     
 	/**
-	 * Fires the clock pulse to each clock listener
+	 * Adds a pulse to earth time and mars time and fires it through the pulse
+	 * pipeline. If the sim stage has fallen so far behind that the queue is
+	 * full and its last pulse has reached the maximum, the time that does not
+	 * fit is left out : the clock is stretched instead of the queue growing.
+	 * 
+	 * @param time the length of the pulse [in millisols]
+	 * @return the millisols added to the clocks
+	 */
+	public double addClockPulse(double time) {
+		double added = Math.min(time, getPulseCapacity());
+		if (added < time)
+			stretchedTime.add(time - added);
+		if (added <= 0)
+			return 0;
+		
+		earthClock.addTime((long) (added * MILLISECONDS_PER_MILLISOL));
+		marsClock.addTime(added);
+		fireClockPulse(added);
+		return added;
+	}
+	
+	/**
+	 * Gets the millisols the pulse queue can take : the free slots at the
+	 * maximum pulse each and the room left in the last queued pulse. It only
+	 * grows as the sim stage takes pulses.
+	 * 
+	 * @return the millisols
+	 */
+	private double getPulseCapacity() {
+		double result = (MAX_QUEUED_PULSES - queuedPulses.get()) * MAX_PULSE;
+		QueuedPulse last = lastQueuedPulse;
+		if (last != null)
+			result += last.getRoom();
+		return Math.max(result, 0);
+	}
+	
+	/**
+	 * Fires the clock pulse through the pulse pipeline. The pulse is queued for
+	 * the sim stage on the clock listener executor without waiting for it, as
+	 * pulses of at most the maximum length. Once the queue is full, the rest is
+	 * merged into the last queued pulse, up to the maximum pulse.
+	 * 
+	 * @param time the length of the pulse [in millisols]
+	 */
+	private void fireClockPulse(double time) {
+		double rest = time;
+		while (rest > 0) {
+			if (queuedPulses.get() < MAX_QUEUED_PULSES) {
+				double length = Math.min(rest, MAX_PULSE);
+				rest -= length;
+				queuePulse(length);
+			}
+			else {
+				double merged = lastQueuedPulse.merge(rest);
+				if (merged > 0) {
+					mergedPulses.increment();
+					rest -= merged;
+				}
+				else if (queuedPulses.get() >= MAX_QUEUED_PULSES) {
+					// Not reached as the time was checked against the capacity
+					break;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Queues a pulse for the sim stage on the clock listener executor.
+	 * 
+	 * @param time the length of the pulse [in millisols]
+	 */
+	private void queuePulse(double time) {
+		QueuedPulse pulse = new QueuedPulse(time);
+		lastQueuedPulse = pulse;
+		queuedPulses.incrementAndGet();
+		clockExecutor.execute(() -> {
+			queuedPulses.decrementAndGet();
+			runPulse(pulse.start());
+		});
+	}
+	
+	/**
+	 * Runs a pulse through the pipeline stages on the calling thread : the sim
+	 * update, then the publishing of the completed pulse. The view notification
+	 * is handed over to the ui executor so that the sim never waits on
+	 * rendering.
 	 * 
-	 * @param time
+	 * @param time the length of the pulse [in millisols]
 	 */
-	public void fireClockPulse(double time) {
+	private void runPulse(double time) {
+		// 1. Sim stage : update the simulation
 		for (ClockListenerTask task : clockListenerTasks) {
-			if (task != null) {
+			if (task.isSimStage()) {
 				task.insertTime(time);
-				clockExecutor.execute(task);
+				task.run();
+			}
+		}
+		
+		if (!sim.isDoneInitializing())
+			return;
+		
+		// 2. Publish stage : make the completed pulse visible to the views
+		synchronized (viewLock) {
+			viewTimeCache += time;
+			uiTimeCache += time;
+			if (++uiPulseCount > FACTOR) {
+				uiPulseCount = 0;
+				uiPulseDue = true;
 			}
+		}
+		completedPulses.increment();
+		
+		// 3. UI stage : notify the views, merging with a pending notification if any
+		if (uiExecutor == null || uiExecutor.isShutdown())
+			return;
+		if (uiNotificationScheduled.compareAndSet(false, true))
+			uiExecutor.execute(this::notifyViews);
+		else
+			mergedUINotifications.increment();
+	}
+	
+	/**
+	 * Notifies the views of the time completed by the sim stage since the last
+	 * notification. Runs on the ui executor.
+	 */
+	private void notifyViews() {
+		uiNotificationScheduled.set(false);
+		
+		double viewTime;
+		double uiTime = 0;
+		boolean sendUIPulse;
+		synchronized (viewLock) {
+			viewTime = viewTimeCache;
+			viewTimeCache = 0;
+			sendUIPulse = uiPulseDue;
+			if (sendUIPulse) {
+				uiTime = uiTimeCache;
+				uiTimeCache = 0;
+				uiPulseDue = false;
+			}
+		}
+		
+		if (viewTime > 0) {
+			for (ClockListenerTask task : clockListenerTasks) {
+				if (!task.isSimStage()) {
+					task.insertTime(viewTime);
+					task.run();
+				}
+			}
+		}
+		
+		if (sendUIPulse) {
+			long t02 = System.currentTimeMillis();
+			// Discard the very first pulseTime since it's not invalid
+			// at the start of the sim
+			if (t01 != 0) {
+				timeIntervals.add((t02-t01)/1_000F);
+			}
+			t01 = t02;
 
-			else
-				return;
+			if (timeIntervals.size() > 30)
+				timeIntervals.remove(0);
+			
+			// The secondary job of CLockListener is to send uiPulse() out to
+			// 0. MainDesktopPane,
+			// which in terms sends a clock pulse out to update all unit windows and tool
+			// windows
+			//
+			// It also sends an ui pulse out to the following class and map related panels:
+
+			// 1. MarsTerminal
+			// 2. AudioPlayer
+			// 3. MainDesktopPane
+			// 4. GlobeDisplay
+			// 5. MapPanel (2x)
+			// 6. TimeWindow
+			// 7. SettlementMapPanel
+			// 8. NotificationWindow
+			// 9. ResupplyDetailPanel
+			//10. ArrivingSettlementDetailPanel
+			
+			// Note: on a typical PC, approximately one ui pulse is sent out each second
+			for (ClockListenerTask task : clockListenerTasks) {
+				task.runUIPulse(uiTime);
+			}
 		}
 	}
+	
+	/**
+	 * Gets the number of pulses waiting for the sim stage.
+	 * 
+	 * @return the queue depth
+	 */
+	public int getPulseQueueDepth() {
+		return (queuedPulses == null) ? 0 : queuedPulses.get();
+	}
+	
+	/**
+	 * Gets the number of pulses completed by the sim stage.
+	 * 
+	 * @return the number of pulses
+	 */
+	public long getCompletedPulses() {
+		return (completedPulses == null) ? 0 : completedPulses.sum();
+	}
+	
+	/**
+	 * Gets the number of pulses merged into a queued pulse because the sim stage
+	 * fell behind.
+	 * 
+	 * @return the number of merged pulses
+	 */
+	public long getMergedPulses() {
+		return (mergedPulses == null) ? 0 : mergedPulses.sum();
+	}
+	
+	/**
+	 * Gets the millisols left out of the clock because the pulse queue was full.
+	 * 
+	 * @return the millisols
+	 */
+	public double getStretchedMillisols() {
+		return (stretchedTime == null) ? 0 : stretchedTime.sum();
+	}
+	
+	/**
+	 * Gets the number of view notifications merged into a pending one because
+	 * the views fell behind.
+	 * 
+	 * @return the number of merged notifications
+	 */
+	public long getMergedUINotifications() {
+		return (mergedUINotifications == null) ? 0 : mergedUINotifications.sum();
+	}
 
 	/**
 	 * Stop the clock
@@ -1292,6 +1708,7 @@ public class MasterClock implements Serializable {
 	public void startClockListenerExecutor() {
 		if (clockExecutor == null)
 			clockExecutor = Executors.newSingleThreadExecutor(); //(ThreadPoolExecutor) Executors.newFixedThreadPool(1);
+		startPulsePipeline();
 	}
 
 	/**
@@ -1300,6 +1717,31 @@ public class MasterClock implements Serializable {
 	public void endClockListenerExecutor() {
 		if (clockExecutor != null)
 			clockExecutor.shutdownNow();
+		if (uiExecutor != null)
+			uiExecutor.shutdownNow();
+	}
+	
+	/**
+	 * Sets up the ui executor and the state shared between the pipeline stages.
+	 */
+	private void startPulsePipeline() {
+		if (uiExecutor == null || uiExecutor.isShutdown())
+			uiExecutor = Executors.newSingleThreadExecutor();
+		if (queuedPulses == null) {
+			queuedPulses = new AtomicInteger();
+			uiNotificationScheduled = new AtomicBoolean();
+			viewLock = new Object();
+			completedPulses = new LongAdder();
+			mergedPulses = new LongAdder();
+			mergedUINotifications = new LongAdder();
+			stretchedTime = new DoubleAdder();
+		}
+		else {
+			// Pulses queued on a dead executor will never run
+			queuedPulses.set(0);
+			lastQueuedPulse = null;
+			uiNotificationScheduled.set(false);
+		}
 	}
 
 
@@ -1351,9 +1793,7 @@ public class MasterClock implements Serializable {
 //						&& !clockExecutor.isTerminating()
 						&& !clockExecutor.isShutdown()) {
 					// Add time pulse length to Earth and Mars clocks.
-					earthClock.addTime((int)(1000 * t));
-					marsClock.addTime(timePulse);
-					fireClockPulse(timePulse);
+					addClockPulse(timePulse);
 				}
 
 				// Set tpfCache back to zero
@@ -1377,6 +1817,7 @@ public class MasterClock implements Serializable {
 			// Exit program if exitProgram flag is true.
 			if (exitProgram) {
 				AutosaveScheduler.cancel();
+				sim.awaitPendingSaves();
 				System.exit(0);
 			}
 		}
@@ -1469,5 +1910,7 @@ public class MasterClock implements Serializable {
 
 		clockListeners = null;
 		clockExecutor = null;
+		uiExecutor = null;
+		lastQueuedPulse = null;
 	}
 }
\ No newline at end of file
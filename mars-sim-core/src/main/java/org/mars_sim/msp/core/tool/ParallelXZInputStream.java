@@ -0,0 +1,165 @@
+/**
+ * Mars Simulation Project
+ * ParallelXZInputStream.java
+ * @version 3.1.1 2026-10-18
+ * @author agent
+ */
+package org.mars_sim.msp.core.tool;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.tukaani.xz.SeekableFileInputStream;
+import org.tukaani.xz.SeekableXZInputStream;
+
+/**
+ * An input stream that decompresses the blocks of an xz file on a thread pool
+ * and hands them out in order. Only a bounded number of blocks are decompressed
+ * ahead of the reader, so the memory in use does not grow with the file size.
+ * A file written as a single block is simply read on one thread.
+ */
+public class ParallelXZInputStream extends InputStream {
+
+	/** The memory limit of each decoder in KiB. */
+	private static final int MEMORY_LIMIT = 256 * 1024;
+
+	/** The number of blocks in the file. */
+	private int blockCount;
+	/** The index of the next block to be submitted. */
+	private int nextBlock;
+	/** The maximum number of blocks decompressed ahead of the reader. */
+	private int window;
+	/** The position in the current block. */
+	private int pos;
+	/** The current block. */
+	private byte[] current;
+	/** The xz file. */
+	private File file;
+	/** The decompressed blocks in file order. */
+	private Deque<Future<byte[]>> pending = new ArrayDeque<>();
+	/** The threads decompressing the blocks. */
+	private ExecutorService executor;
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param file    the xz file
+	 * @param threads the number of decompressing threads
+	 * @throws IOException if the file is not a valid xz file
+	 */
+	public ParallelXZInputStream(File file, int threads) throws IOException {
+		this.file = file;
+		try (SeekableXZInputStream in = new SeekableXZInputStream(new SeekableFileInputStream(file), MEMORY_LIMIT)) {
+			blockCount = in.getBlockCount();
+		}
+		int n = Math.max(1, Math.min(threads, blockCount));
+		window = n * 2;
+		executor = Executors.newFixedThreadPool(n);
+		submitBlocks();
+	}
+
+	/**
+	 * Gets the number of blocks in the file.
+	 * 
+	 * @return number of blocks
+	 */
+	public int getBlockCount() {
+		return blockCount;
+	}
+
+	private void submitBlocks() {
+		while (pending.size() < window && nextBlock < blockCount) {
+			final int block = nextBlock++;
+			pending.add(executor.submit(() -> decompressBlock(block)));
+		}
+	}
+
+	/**
+	 * Decompresses a block with its own decoder.
+	 * 
+	 * @param block the index of the block
+	 * @return the uncompressed bytes
+	 * @throws IOException
+	 */
+	private byte[] decompressBlock(int block) throws IOException {
+		try (SeekableXZInputStream in = new SeekableXZInputStream(new SeekableFileInputStream(file), MEMORY_LIMIT)) {
+			in.seekToBlock(block);
+			byte[] buf = new byte[(int) in.getBlockSize(block)];
+			int off = 0;
+			while (off < buf.length) {
+				int n = in.read(buf, off, buf.length - off);
+				if (n < 0)
+					throw new EOFException("Truncated block " + block + " in " + file);
+				off += n;
+			}
+			return buf;
+		}
+	}
+
+	/**
+	 * Moves on to the next block if the current one has been consumed.
+	 * 
+	 * @return false if the end of the file is reached
+	 * @throws IOException
+	 */
+	private boolean nextBlock() throws IOException {
+		while (current == null || pos >= current.length) {
+			Future<byte[]> f = pending.poll();
+			if (f == null)
+				return false;
+			try {
+				current = f.get();
+			} catch (ExecutionException e) {
+				throw new IOException(e.getCause());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException();
+			}
+			pos = 0;
+			submitBlocks();
+		}
+		return true;
+	}
+
+	@Override
+	public int read() throws IOException {
+		if (!nextBlock())
+			return -1;
+		return current[pos++] & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0)
+			return 0;
+		if (!nextBlock())
+			return -1;
+		int n = Math.min(len, current.length - pos);
+		System.arraycopy(current, pos, b, off, n);
+		pos += n;
+		return n;
+	}
+
+	@Override
+	public int available() {
+		if (current == null)
+			return 0;
+		return current.length - pos;
+	}
+
+	@Override
+	public void close() {
+		executor.shutdownNow();
+		pending.clear();
+		current = null;
+	}
+}
@@ -43,6 +43,55 @@ public final class RandomUtil {
 	// private final static SFMT19937 random = new SFMT19937();
 	// private final static SFMT19937j random = new SFMT19937j();
 
+	/**
+	 * The generator a thread uses in place of the shared one while it is ticking a
+	 * settlement work unit, so that parallel work units never share a stream.
+	 */
+	private final static ThreadLocal<MersenneTwisterFast> localRandom = new ThreadLocal<>();
+
+	/**
+	 * Gets the generator for the calling thread.
+	 * 
+	 * @return the thread's own generator if one is set, or the shared one
+	 */
+	private static MersenneTwisterFast getRandom() {
+		MersenneTwisterFast r = localRandom.get();
+		if (r == null)
+			return random;
+		return r;
+	}
+
+	/**
+	 * Sets the seed of the shared generator. Runs with the same seed produce the
+	 * same sequence of random numbers.
+	 * 
+	 * @param seed the seed
+	 */
+	public static void setSeed(long seed) {
+		random.setSeed(seed);
+	}
+
+	/**
+	 * Sets a generator to be used by the calling thread instead of the shared one.
+	 * 
+	 * @param r the generator or null to revert to the shared one
+	 */
+	public static void setLocalRandom(MersenneTwisterFast r) {
+		if (r == null)
+			localRandom.remove();
+		else
+			localRandom.set(r);
+	}
+
+	/**
+	 * Returns a random long number.
+	 * 
+	 * @return the random number
+	 */
+	public static long getRandomLong() {
+		return getRandom().nextLong();
+	}
+
 	/**
 	 * Returns true if given number is less than a random percentage.
 	 * 
@@ -50,7 +99,7 @@ public final class RandomUtil {
 	 * @return true if random percent is less than percentage limit
 	 */
 	public static boolean lessThanRandPercent(int randomLimit) {
-		int rand = random.nextInt(100) + 1;
+		int rand = getRandom().nextInt(100) + 1;
 		return rand < randomLimit;
 	}
 
@@ -61,7 +110,7 @@ public final class RandomUtil {
 	 * @return true if random percent is less than percentage limit
 	 */
 	public static boolean lessThanRandPercent(double randomLimit) {
-		double rand = random.nextDouble() * 100D;
+		double rand = getRandom().nextDouble() * 100D;
 		return rand < randomLimit;
 	}
 
@@ -74,7 +123,7 @@ public final class RandomUtil {
 	public static int getRandomInt(int ceiling) {
 		if (ceiling < 0)
 			throw new IllegalArgumentException(Msg.getString("RandomUtil.log.ceilingMustBePositive") + ceiling); //$NON-NLS-1$
-		return random.nextInt(ceiling + 1);
+		return getRandom().nextInt(ceiling + 1);
 	}
 
 	/**
@@ -88,7 +137,7 @@ public final class RandomUtil {
 	public static int getRandomInt(int base, int ceiling) {
 		if (ceiling < base)
 			throw new IllegalArgumentException(Msg.getString("RandomUtil.log.ceilingMustGreaterBase")); //$NON-NLS-1$
-		return random.nextInt(ceiling - base + 1) + base;
+		return getRandom().nextInt(ceiling - base + 1) + base;
 	}
 
 	/**
@@ -98,7 +147,7 @@ public final class RandomUtil {
 	 * @return the random number
 	 */
 	public static double getRandomDouble(double ceiling) {
-		return random.nextDouble() * ceiling;
+		return getRandom().nextDouble() * ceiling;
 	}
 
 	/**
@@ -109,7 +158,7 @@ public final class RandomUtil {
 	 * @return the random number
 	 */
 	public static double getGaussianDouble() {
-		return random.nextGaussian();
+		return getRandom().nextGaussian();
 	}
 
 	/**
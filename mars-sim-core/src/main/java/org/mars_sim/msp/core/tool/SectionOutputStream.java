@@ -0,0 +1,31 @@
+/**
+ * Mars Simulation Project
+ * SectionOutputStream.java
+ * @version 3.1.1 2026-10-18
+ * @author agent
+ */
+package org.mars_sim.msp.core.tool;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * An output stream that keeps count of the bytes written and that can be told
+ * where one section of the data ends and the next one begins.
+ */
+public abstract class SectionOutputStream extends OutputStream {
+
+	/**
+	 * Ends the current section. The data written afterwards starts a new section.
+	 * 
+	 * @throws IOException
+	 */
+	public abstract void endSection() throws IOException;
+
+	/**
+	 * Gets the total number of bytes written.
+	 * 
+	 * @return number of bytes
+	 */
+	public abstract long getCount();
+}
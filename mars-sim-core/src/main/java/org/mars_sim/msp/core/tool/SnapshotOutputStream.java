@@ -0,0 +1,106 @@
+/**
+ * Mars Simulation Project
+ * SnapshotOutputStream.java
+ * @version 3.1.1 2026-10-18
+ * @author agent
+ */
+package org.mars_sim.msp.core.tool;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An in-memory output stream for holding a snapshot of the simulation. The data
+ * is kept in fixed-size chunks so that a large snapshot never has to be copied
+ * into one contiguous array, and the section boundaries are recorded so that
+ * the snapshot can later be replayed into a {@link SectionOutputStream} with
+ * the same sections.
+ */
+public class SnapshotOutputStream extends SectionOutputStream {
+
+	/** The size of a chunk in bytes. */
+	private static final int CHUNK_SIZE = 1024 * 1024;
+
+	/** The filled chunks plus the current one. */
+	private List<byte[]> chunks = new ArrayList<>();
+	/** The offsets at which the sections end. */
+	private List<Long> sections = new ArrayList<>();
+	/** The current chunk. */
+	private byte[] chunk;
+	/** The number of bytes used in the current chunk. */
+	private int pos = CHUNK_SIZE;
+	/** The total number of bytes written. */
+	private long count;
+
+	@Override
+	public void write(int b) {
+		if (pos == CHUNK_SIZE)
+			nextChunk();
+		chunk[pos++] = (byte) b;
+		count++;
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) {
+		while (len > 0) {
+			if (pos == CHUNK_SIZE)
+				nextChunk();
+			int n = Math.min(len, CHUNK_SIZE - pos);
+			System.arraycopy(b, off, chunk, pos, n);
+			pos += n;
+			off += n;
+			len -= n;
+			count += n;
+		}
+	}
+
+	private void nextChunk() {
+		chunk = new byte[CHUNK_SIZE];
+		chunks.add(chunk);
+		pos = 0;
+	}
+
+	@Override
+	public void endSection() {
+		if (sections.isEmpty() || sections.get(sections.size() - 1) != count)
+			sections.add(count);
+	}
+
+	@Override
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Writes the snapshot to the given stream, ending a section on it wherever a
+	 * section was ended on this stream.
+	 * 
+	 * @param out the stream to write to
+	 * @throws IOException
+	 */
+	public void writeTo(SectionOutputStream out) throws IOException {
+		long written = 0;
+		int next = 0;
+		for (byte[] c : chunks) {
+			int off = 0;
+			int len = (int) Math.min(CHUNK_SIZE, count - written);
+			while (len > 0) {
+				while (next < sections.size() && sections.get(next) <= written) {
+					out.endSection();
+					next++;
+				}
+				int n = len;
+				if (next < sections.size())
+					n = (int) Math.min(n, sections.get(next) - written);
+				out.write(c, off, n);
+				off += n;
+				len -= n;
+				written += n;
+			}
+		}
+		
+		if (next < sections.size())
+			out.endSection();
+	}
+}
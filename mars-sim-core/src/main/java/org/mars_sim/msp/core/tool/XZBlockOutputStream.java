@@ -0,0 +1,108 @@
+/**
+ * Mars Simulation Project
+ * XZBlockOutputStream.java
+ * @version 3.1.1 2026-10-18
+ * @author agent
+ */
+package org.mars_sim.msp.core.tool;
+
+import java.io.IOException;
+
+import org.tukaani.xz.XZOutputStream;
+
+/**
+ * An output stream that splits the data written to an {@link XZOutputStream}
+ * into independently compressed XZ blocks. A block is closed whenever a section
+ * ends or whenever it reaches the maximum block size. The XZ index at the end
+ * of the file then records the offset of every block, so that the blocks can
+ * later be decompressed in parallel by {@link ParallelXZInputStream}.
+ */
+public class XZBlockOutputStream extends SectionOutputStream {
+
+	/** The underlying xz stream. */
+	private XZOutputStream out;
+	/** The maximum number of uncompressed bytes in a block. */
+	private long maxBlockSize;
+	/** The number of bytes written to the current block. */
+	private long blockCount;
+	/** The total number of bytes written. */
+	private long count;
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param out          the xz stream to write to
+	 * @param maxBlockSize the maximum number of uncompressed bytes in a block
+	 */
+	public XZBlockOutputStream(XZOutputStream out, long maxBlockSize) {
+		this.out = out;
+		this.maxBlockSize = maxBlockSize;
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		out.write(b);
+		count++;
+		if (++blockCount >= maxBlockSize)
+			endBlock();
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		while (len > 0) {
+			int n = (int) Math.min(len, maxBlockSize - blockCount);
+			out.write(b, off, n);
+			off += n;
+			len -= n;
+			count += n;
+			blockCount += n;
+			if (blockCount >= maxBlockSize)
+				endBlock();
+		}
+	}
+
+	/**
+	 * Ends the current section. The data written afterwards starts a new block.
+	 * 
+	 * @throws IOException
+	 */
+	@Override
+	public void endSection() throws IOException {
+		if (blockCount > 0)
+			endBlock();
+	}
+
+	private void endBlock() throws IOException {
+		out.endBlock();
+		blockCount = 0;
+	}
+
+	/**
+	 * Gets the total number of uncompressed bytes written.
+	 * 
+	 * @return number of bytes
+	 */
+	@Override
+	public long getCount() {
+		return count;
+	}
+
+	@Override
+	public void flush() throws IOException {
+		out.flush();
+	}
+
+	/**
+	 * Finishes the xz stream, writing its index, without closing the file.
+	 * 
+	 * @throws IOException
+	 */
+	public void finish() throws IOException {
+		out.finish();
+	}
+
+	@Override
+	public void close() throws IOException {
+		out.close();
+	}
+}
@@ -28,25 +28,38 @@ public class AllJUnitTests extends TestCase {
 		
 		suite.addTestSuite(org.mars_sim.msp.core.TestCoordinates.class);
 //		suite.addTestSuite(org.mars_sim.msp.core.TestInventory.class);
+		suite.addTestSuite(org.mars_sim.msp.core.TestInventoryContainedUnits.class);
 		suite.addTestSuite(org.mars_sim.msp.core.TestLocalAreaUtil.class);
+		suite.addTestSuite(org.mars_sim.msp.core.TestLocalObstacleIndex.class);
+		suite.addTestSuite(org.mars_sim.msp.core.TestLogConsolidated.class);
+		suite.addTestSuite(org.mars_sim.msp.core.TestParallelTick.class);
+		suite.addTestSuite(org.mars_sim.msp.core.TestUnitEventBus.class);
 		suite.addTestSuite(org.mars_sim.msp.core.equipment.JUnitTests.class);
 		suite.addTestSuite(org.mars_sim.msp.core.events.JUnitTests.class);
+		suite.addTestSuite(org.mars_sim.msp.core.mars.SurfaceFieldTest.class);
+		suite.addTestSuite(org.mars_sim.msp.core.mars.MineralConcentrationIndexTest.class);
 //		suite.addTestSuite(org.mars_sim.msp.core.malfunction.TestMalfunctionManager.class);
 		suite.addTestSuite(org.mars_sim.msp.core.person.JUnitTests.class);
 		suite.addTestSuite(org.mars_sim.msp.core.person.ai.JUnitTests.class);
 		suite.addTestSuite(org.mars_sim.msp.core.person.ai.mission.JUnitTests.class);
+		suite.addTestSuite(org.mars_sim.msp.core.person.ai.mission.TradeMatrixTest.class);
 		suite.addTest(org.mars_sim.msp.core.person.ai.task.JUnitTests.suite());
+		suite.addTestSuite(org.mars_sim.msp.core.person.ai.task.utils.TaskManagerInputTest.class);
 		suite.addTestSuite(org.mars_sim.msp.core.person.medical.JUnitTests.class);
+		suite.addTestSuite(org.mars_sim.msp.core.resource.TestAmountResourceArray.class);
 		suite.addTestSuite(org.mars_sim.msp.core.resource.TestAmountResourceStorage.class);
 		suite.addTestSuite(org.mars_sim.msp.core.resource.TestAmountResourcePhaseStorage.class);
 		suite.addTestSuite(org.mars_sim.msp.core.resource.TestAmountResourceTypeStorage.class);
 		suite.addTestSuite(org.mars_sim.msp.core.resource.TestItemResource.class);
+		suite.addTestSuite(org.mars_sim.msp.core.science.ScientificStudyIndexTest.class);
 		suite.addTestSuite(org.mars_sim.msp.core.structure.JUnitTests.class);
 		suite.addTestSuite(org.mars_sim.msp.core.structure.building.JUnitTests.class);
 		suite.addTest(org.mars_sim.msp.core.structure.building.connection.JUnitTests.suite());
 		suite.addTest(org.mars_sim.msp.core.structure.construction.JUnitTests.suite());
 		suite.addTestSuite(org.mars_sim.msp.core.structure.goods.TestGoods.class);
 		suite.addTestSuite(org.mars_sim.msp.core.structure.goods.TestCreditManager.class);
+		suite.addTestSuite(org.mars_sim.msp.core.structure.goods.TestGoodsManager.class);
+		suite.addTestSuite(org.mars_sim.msp.core.time.MasterClockTest.class);
 		suite.addTestSuite(org.mars_sim.msp.core.vehicle.JUnitTests.class);
 
 		return suite;
@@ -0,0 +1,195 @@
+package org.mars_sim.msp.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.mars_sim.msp.core.equipment.Bag;
+import org.mars_sim.msp.core.equipment.EVASuit;
+import org.mars_sim.msp.core.person.Person;
+import org.mars_sim.msp.core.robot.Robot;
+import org.mars_sim.msp.core.structure.Settlement;
+import org.mars_sim.msp.core.structure.SettlementConfig;
+import org.mars_sim.msp.core.vehicle.Vehicle;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit test suite for the typed lookups of the contained units of an
+ * Inventory. The lookups are compared with a scan of all the contained units.
+ */
+public class TestInventoryContainedUnits extends TestCase {
+
+	private static final String TEMPLATE = "Mars Direct Base (Phase 1)";
+	private static final String SPONSOR = "Mars Society (MS)";
+	private static final int NUM_BAGS = 20;
+	private static final int NUM_ROUNDS = 200;
+
+	private Settlement settlement;
+	private Inventory inventory;
+
+	@Override
+	public void setUp() throws Exception {
+		SimulationConfig simulationConfig = SimulationConfig.instance();
+		simulationConfig.loadConfig();
+		SettlementConfig settlementConfig = simulationConfig.getSettlementConfiguration();
+		settlementConfig.clearInitialSettlements();
+		settlementConfig.addInitialSettlement("Base A", TEMPLATE, 4, 0, SPONSOR, "0.0 N", "0.0 E");
+
+		Simulation sim = Simulation.instance();
+		sim.createNewSimulation(-1, false);
+		settlement = sim.getUnitManager().getSettlements().iterator().next();
+		inventory = settlement.getInventory();
+	}
+
+	/**
+	 * Test that the typed lookups and counts match the contained units as units
+	 * are stored and retrieved.
+	 */
+	public void testStoreAndRetrieve() {
+		assertMatchesContainedUnits();
+
+		List<Bag> bags = new ArrayList<>();
+		for (int i = 0; i < NUM_BAGS; i++) {
+			Bag bag = new Bag(settlement.getCoordinates());
+			assertTrue(inventory.storeUnit(bag));
+			bags.add(bag);
+		}
+		EVASuit suit = new EVASuit(settlement.getCoordinates());
+		assertTrue(inventory.storeUnit(suit));
+		assertMatchesContainedUnits();
+		assertTrue(inventory.getContainedBags().containsAll(bags));
+		assertTrue(inventory.getContainedEVASuits().contains(suit));
+		assertNotNull(inventory.findAnEVAsuit());
+
+		for (Bag bag : bags.subList(0, NUM_BAGS / 2))
+			inventory.retrieveUnit(bag);
+		assertMatchesContainedUnits();
+		assertFalse(inventory.getContainedBags().contains(bags.get(0)));
+		assertTrue(inventory.getContainedBags().contains(bags.get(NUM_BAGS - 1)));
+
+		Person person = inventory.getContainedPeople().iterator().next();
+		inventory.retrieveUnit(person);
+		assertFalse(inventory.getContainedPeople().contains(person));
+		assertMatchesContainedUnits();
+		assertTrue(inventory.storeUnit(person));
+		assertTrue(inventory.getContainedPeople().contains(person));
+		assertMatchesContainedUnits();
+	}
+
+	/**
+	 * Test that the lookups are read-only and are not changed by a later store.
+	 */
+	public void testReadOnlyCopies() {
+		Collection<Bag> bags = inventory.getContainedBags();
+		Collection<Person> people = inventory.getContainedPeople();
+		int numBags = bags.size();
+
+		Bag bag = new Bag(settlement.getCoordinates());
+		assertTrue(inventory.storeUnit(bag));
+		assertEquals(numBags, bags.size());
+		assertFalse(bags.contains(bag));
+		assertTrue(inventory.getContainedBags().contains(bag));
+
+		assertUnmodifiable(inventory.getContainedBags(), bag);
+		assertUnmodifiable(people, people.iterator().next());
+		assertUnmodifiable(inventory.getContainedRobots(), null);
+		assertUnmodifiable(inventory.getContainedVehicles(), null);
+	}
+
+	/**
+	 * Test that the lookups can be iterated while units are stored and retrieved
+	 * on another thread.
+	 */
+	public void testIterateWhileStoring() throws Exception {
+		AtomicBoolean done = new AtomicBoolean();
+		AtomicReference<Throwable> error = new AtomicReference<>();
+		Thread reader = new Thread(() -> {
+			try {
+				while (!done.get()) {
+					for (Bag b : inventory.getContainedBags())
+						assertNotNull(b);
+				}
+			} catch (Throwable e) {
+				error.set(e);
+			}
+		});
+		reader.start();
+
+		try {
+			List<Bag> bags = new ArrayList<>();
+			for (int i = 0; i < NUM_BAGS; i++)
+				bags.add(new Bag(settlement.getCoordinates()));
+			for (int round = 0; round < NUM_ROUNDS; round++) {
+				for (Bag bag : bags)
+					assertTrue(inventory.storeUnit(bag));
+				for (Bag bag : bags)
+					inventory.retrieveUnit(bag);
+			}
+		} finally {
+			done.set(true);
+			reader.join();
+		}
+
+		assertNull(error.get());
+		assertMatchesContainedUnits();
+	}
+
+	/**
+	 * Compares the typed lookups and counts with a scan of the contained units.
+	 */
+	private void assertMatchesContainedUnits() {
+		List<Person> people = new ArrayList<>();
+		List<Bag> bags = new ArrayList<>();
+		List<EVASuit> suits = new ArrayList<>();
+		int robots = 0;
+		int vehicles = 0;
+		for (Unit unit : inventory.getContainedUnits()) {
+			if (unit instanceof Person)
+				people.add((Person) unit);
+			else if (unit instanceof Robot)
+				robots++;
+			else if (unit instanceof Vehicle)
+				vehicles++;
+			else if (unit.getClass() == Bag.class)
+				bags.add((Bag) unit);
+			else if (unit.getClass() == EVASuit.class)
+				suits.add((EVASuit) unit);
+		}
+
+		assertEquals(people, new ArrayList<>(inventory.getContainedPeople()));
+		assertEquals(people.size(), inventory.getNumContainedPeople());
+		assertEquals(robots, inventory.getContainedRobots().size());
+		assertEquals(robots, inventory.getNumContainedRobots());
+		assertEquals(vehicles, inventory.getContainedVehicles().size());
+		assertEquals(vehicles, inventory.getNumContainedVehicles());
+		assertEquals(bags, new ArrayList<>(inventory.getContainedBags()));
+		assertEquals(suits, new ArrayList<>(inventory.getContainedEVASuits()));
+	}
+
+	private static <T> void assertUnmodifiable(Collection<T> collection, T element) {
+		try {
+			collection.add(element);
+			fail("Could add to " + collection);
+		} catch (UnsupportedOperationException e) {
+			// Expected.
+		}
+		try {
+			collection.clear();
+			if (!collection.isEmpty())
+				fail("Could clear " + collection);
+		} catch (UnsupportedOperationException e) {
+			// Expected.
+		}
+		if (element != null) {
+			try {
+				collection.remove(element);
+				fail("Could remove from " + collection);
+			} catch (UnsupportedOperationException e) {
+				// Expected.
+			}
+		}
+	}
+}
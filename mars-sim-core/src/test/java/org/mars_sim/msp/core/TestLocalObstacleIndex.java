@@ -0,0 +1,231 @@
+package org.mars_sim.msp.core;
+
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Area;
+import java.awt.geom.Line2D;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit test suite for the LocalObstacleIndex class. The oriented rectangles
+ * are checked against the java.awt.geom.Area shapes they replaced.
+ */
+public class TestLocalObstacleIndex extends TestCase {
+
+	private static final long SEED = 20200220L;
+	private static final int NUM_CASES = 10_000;
+	private static final int NUM_OBSTACLES = 40;
+	/** The distance within which a point or an overlap counts as on the edge. */
+	private static final double EDGE = .000001D;
+	/** The largest share of the cases that may fall on an edge. */
+	private static final double MAX_EDGE_SHARE = .001D;
+
+	/**
+	 * Test that two rectangles overlap exactly when their areas do.
+	 */
+	public void testIntersectsMatchesArea() {
+		Random random = new Random(SEED);
+		int overlaps = 0;
+		int edges = 0;
+		for (int i = 0; i < NUM_CASES; i++) {
+			MockObject a = randomObject(random, 20D);
+			MockObject b = randomObject(random, 20D);
+
+			boolean expected = intersects(getArea(a, 0D), getArea(b, 0D));
+			boolean actual = new LocalObstacleIndex.Obstacle(a).intersects(new LocalObstacleIndex.Obstacle(b));
+			if (expected != actual) {
+				// Only allowed when the rectangles touch within rounding
+				assertTrue(a + " " + b,
+						intersects(getArea(a, EDGE), getArea(b, EDGE)) && !intersects(getArea(a, -EDGE), getArea(b, -EDGE)));
+				edges++;
+			}
+			if (expected)
+				overlaps++;
+		}
+
+		// Both outcomes are well represented
+		assertTrue(overlaps > NUM_CASES / 10);
+		assertTrue(overlaps < NUM_CASES * 9 / 10);
+		assertTrue(edges <= NUM_CASES * MAX_EDGE_SHARE);
+	}
+
+	/**
+	 * Test that a point is inside a rectangle exactly when it is inside its area.
+	 */
+	public void testContainsMatchesArea() {
+		Random random = new Random(SEED);
+		int inside = 0;
+		int edges = 0;
+		for (int i = 0; i < NUM_CASES; i++) {
+			MockObject a = randomObject(random, 5D);
+			double x = random.nextDouble() * 20D - 10D;
+			double y = random.nextDouble() * 20D - 10D;
+
+			boolean expected = getArea(a, 0D).contains(x, y);
+			boolean actual = new LocalObstacleIndex.Obstacle(a).contains(x, y);
+			if (expected != actual) {
+				assertTrue(a + " " + x + " " + y, getArea(a, EDGE).contains(x, y) && !getArea(a, -EDGE).contains(x, y));
+				edges++;
+			}
+			if (expected)
+				inside++;
+		}
+
+		assertTrue(inside > NUM_CASES / 10);
+		assertTrue(inside < NUM_CASES * 9 / 10);
+		assertTrue(edges <= NUM_CASES * MAX_EDGE_SHARE);
+	}
+
+	/**
+	 * Test that a rectangle is collision free in the index exactly when its area
+	 * overlaps none of the obstacle areas, as the obstacles move between
+	 * refreshes.
+	 */
+	public void testIndexMatchesArea() {
+		Random random = new Random(SEED);
+		List<LocalBoundedObject> objects = new ArrayList<>();
+		for (int i = 0; i < NUM_OBSTACLES; i++) {
+			objects.add(randomObject(random, 100D));
+		}
+
+		LocalObstacleIndex index = new LocalObstacleIndex();
+		index.refresh(objects, 1, 0D);
+
+		int free = 0;
+		for (int i = 0; i < NUM_CASES; i++) {
+			if (i % 1000 == 999) {
+				// Move, replace or drop some of the obstacles
+				objects.set(random.nextInt(objects.size()), randomObject(random, 100D));
+				((MockObject) objects.get(random.nextInt(objects.size()))).move(random, 100D);
+				objects.remove(random.nextInt(objects.size()));
+				objects.add(randomObject(random, 100D));
+				index.refresh(objects, 1, i);
+			}
+
+			MockObject query = randomObject(random, 100D);
+			Object exclude = (i % 3 == 0) ? objects.get(random.nextInt(objects.size())) : null;
+
+			boolean expected = isFree(query, objects, exclude, 0D);
+			boolean actual = index.isCollisionFree(exclude, new LocalObstacleIndex.Obstacle(query, query.x, query.y,
+					query.width, query.length, query.facing));
+			if (expected != actual) {
+				// Only allowed when the query touches an obstacle within rounding
+				assertTrue("Case " + i + " : " + query,
+						!isFree(query, objects, exclude, EDGE) && isFree(query, objects, exclude, -EDGE));
+			}
+			if (actual)
+				free++;
+		}
+
+		assertTrue(free > NUM_CASES / 10);
+		assertTrue(free < NUM_CASES * 9 / 10);
+	}
+
+	/**
+	 * Test that only the most recently used obstacle indexes are kept.
+	 */
+	public void testObstacleIndexesBounded() {
+		SimulationConfig.instance().loadConfig();
+		Simulation.instance().testRun();
+		LocalAreaUtil.clearObstacleCache();
+
+		for (int i = 0; i < 500; i++) {
+			Coordinates location = new Coordinates(Math.PI * i / 1000D, Math.PI * i / 500D);
+			LocalAreaUtil.checkLinePathCollision(new Line2D.Double(0D, 0D, 10D, 10D), location, true);
+		}
+		assertEquals(LocalAreaUtil.MAX_OBSTACLE_INDEXES, LocalAreaUtil.getNumObstacleIndexes());
+
+		LocalAreaUtil.destroy();
+		assertEquals(0, LocalAreaUtil.getNumObstacleIndexes());
+	}
+
+	/**
+	 * Checks if the area of a query, grown by a given distance, overlaps none of
+	 * the grown areas of the objects.
+	 */
+	private static boolean isFree(MockObject query, List<LocalBoundedObject> objects, Object exclude, double grow) {
+		Area area = getArea(query, grow);
+		for (LocalBoundedObject o : objects) {
+			if (o != exclude && intersects(area, getArea((MockObject) o, grow)))
+				return false;
+		}
+		return true;
+	}
+
+	private static MockObject randomObject(Random random, double range) {
+		MockObject result = new MockObject();
+		result.move(random, range);
+		result.width = 1D + random.nextDouble() * 14D;
+		result.length = 1D + random.nextDouble() * 14D;
+		return result;
+	}
+
+	/**
+	 * Gets the area of an object, grown on every side by a given distance.
+	 */
+	private static Area getArea(MockObject o, double grow) {
+		Rectangle2D rect = new Rectangle2D.Double(o.x - o.width / 2D - grow, o.y - o.length / 2D - grow,
+				o.width + 2D * grow, o.length + 2D * grow);
+		AffineTransform at = AffineTransform.getRotateInstance(Math.toRadians(o.facing), o.x, o.y);
+		return new Area(new Path2D.Double(rect, at));
+	}
+
+	private static boolean intersects(Area a, Area b) {
+		Area result = new Area(a);
+		result.intersect(b);
+		return !result.isEmpty();
+	}
+
+	/**
+	 * A local bounded object that can be moved.
+	 */
+	private static class MockObject implements LocalBoundedObject {
+
+		private double x;
+		private double y;
+		private double width;
+		private double length;
+		private double facing;
+
+		void move(Random random, double range) {
+			x = (random.nextDouble() - .5D) * range;
+			y = (random.nextDouble() - .5D) * range;
+			facing = random.nextDouble() * 360D;
+		}
+
+		@Override
+		public double getXLocation() {
+			return x;
+		}
+
+		@Override
+		public double getYLocation() {
+			return y;
+		}
+
+		@Override
+		public double getWidth() {
+			return width;
+		}
+
+		@Override
+		public double getLength() {
+			return length;
+		}
+
+		@Override
+		public double getFacing() {
+			return facing;
+		}
+
+		@Override
+		public String toString() {
+			return "(" + x + ", " + y + ", " + width + " x " + length + ", " + facing + ")";
+		}
+	}
+}
@@ -0,0 +1,102 @@
+package org.mars_sim.msp.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit test suite for the LogConsolidated class.
+ */
+public class TestLogConsolidated extends TestCase {
+
+	private static final String SOURCE_NAME = "org.mars_sim.msp.core.TestLogConsolidated";
+
+	private Logger logger;
+	private List<String> messages;
+
+	@Override
+	public void setUp() {
+		messages = new ArrayList<>();
+		logger = Logger.getAnonymousLogger();
+		logger.setUseParentHandlers(false);
+		logger.setLevel(Level.ALL);
+		logger.addHandler(new Handler() {
+			@Override
+			public void publish(LogRecord record) {
+				messages.add(record.getMessage());
+			}
+
+			@Override
+			public void flush() {
+			}
+
+			@Override
+			public void close() {
+			}
+		});
+	}
+
+	/**
+	 * Test that repeats from the same call site are suppressed.
+	 */
+	public void testRateLimitPerCallSite() {
+		for (int x = 0; x < 3; x++)
+			LogConsolidated.log(logger, Level.INFO, 60_000, SOURCE_NAME, "first", null);
+		LogConsolidated.log(logger, Level.INFO, 60_000, SOURCE_NAME, "second", null);
+
+		assertEquals(2, messages.size());
+		assertEquals("[x1] TestLogConsolidated : first", messages.get(0));
+		assertEquals("[x1] TestLogConsolidated : second", messages.get(1));
+	}
+
+	/**
+	 * Test that a suppressed message is not built.
+	 */
+	public void testSuppressedMessageNotBuilt() {
+		LogConsolidated.CallSite site = LogConsolidated.callSite();
+		int[] built = new int[1];
+		for (int x = 0; x < 5; x++) {
+			LogConsolidated.log(site, logger, Level.INFO, 60_000, SOURCE_NAME, () -> {
+				built[0]++;
+				return "message";
+			}, null);
+		}
+
+		assertEquals(1, built[0]);
+		assertEquals(1, messages.size());
+	}
+
+	/**
+	 * Test that messages below the logger level are not built.
+	 */
+	public void testDisabledLevelNotBuilt() {
+		logger.setLevel(Level.INFO);
+		int[] built = new int[1];
+		LogConsolidated.log(logger, Level.FINE, 0, SOURCE_NAME, () -> {
+			built[0]++;
+			return "message";
+		}, null);
+
+		assertEquals(0, built[0]);
+		assertEquals(0, messages.size());
+	}
+
+	/**
+	 * Test that skipped repeats are counted once the time between logs passed.
+	 */
+	public void testSkippedCount() {
+		LogConsolidated.CallSite site = LogConsolidated.callSite();
+		for (int x = 0; x < 4; x++)
+			LogConsolidated.log(site, logger, Level.INFO, 60_000, SOURCE_NAME, () -> "message", null);
+		// A zero wait lets the next repeat through with the count of the skipped ones
+		LogConsolidated.log(site, logger, Level.INFO, 0, SOURCE_NAME, () -> "message", null);
+
+		assertEquals(2, messages.size());
+		assertEquals("[x4] TestLogConsolidated : message", messages.get(1));
+	}
+}
@@ -0,0 +1,171 @@
+package org.mars_sim.msp.core;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.mars_sim.msp.core.equipment.Bag;
+import org.mars_sim.msp.core.person.Person;
+import org.mars_sim.msp.core.person.PhysicalCondition;
+import org.mars_sim.msp.core.resource.ResourceUtil;
+import org.mars_sim.msp.core.robot.Robot;
+import org.mars_sim.msp.core.structure.Settlement;
+import org.mars_sim.msp.core.structure.SettlementConfig;
+import org.mars_sim.msp.core.time.MarsClock;
+import org.mars_sim.msp.core.tool.RandomUtil;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit test suite for the settlement work units of UnitManager.
+ */
+public class TestParallelTick extends TestCase {
+
+	private static final long SEED = 20200220L;
+	private static final int NUM_PULSES = 100;
+	private static final double PULSE = 1D;
+	private static final String TEMPLATE = "Mars Direct Base (Phase 1)";
+	private static final String SPONSOR = "Mars Society (MS)";
+	private static final int NUM_THREADS = 4;
+
+	/**
+	 * Test that a seeded run ticked in parallel gives the same result on one
+	 * thread as on several.
+	 */
+	public void testParallelTickIndependentOfThreads() {
+		Map<String, String> oneThread = run(1);
+		Map<String, String> threads = run(NUM_THREADS);
+
+		assertFalse(oneThread.isEmpty());
+		assertEquals(oneThread, threads);
+	}
+
+	/**
+	 * Test that the changes to the shared state apply at once in a serial tick
+	 * and after the barrier in a parallel tick.
+	 */
+	public void testDeferOnlyWhenParallel() {
+		boolean parallelTick = UnitManager.isParallelTick();
+		try {
+			UnitManager.setParallelTick(false);
+			ProbeBag serial = tick();
+			assertEquals(Boolean.FALSE, serial.deferred);
+			assertFalse(serial.applied);
+
+			UnitManager.setParallelTick(true);
+			ProbeBag parallel = tick();
+			assertEquals(Boolean.TRUE, parallel.deferred);
+			assertTrue(parallel.applied);
+		} finally {
+			UnitManager.setParallelTick(parallelTick);
+		}
+	}
+
+	/**
+	 * Ticks a new simulation once with a probe in one of its settlements.
+	 *
+	 * @return the probe
+	 */
+	private ProbeBag tick() {
+		Simulation sim = createSimulation();
+		Settlement settlement = sim.getUnitManager().getSettlements().iterator().next();
+		ProbeBag probe = new ProbeBag(settlement.getCoordinates());
+		settlement.getInventory().storeUnit(probe);
+
+		sim.getMasterClock().getMarsClock().addTime(PULSE);
+		sim.getUnitManager().timePassing(PULSE);
+		return probe;
+	}
+
+	/**
+	 * Creates a seeded simulation with three settlements and ticks it in parallel.
+	 *
+	 * @param threads the number of threads ticking the work units
+	 * @return the state of the simulation
+	 */
+	private Map<String, String> run(int threads) {
+		boolean parallelTick = UnitManager.isParallelTick();
+		UnitManager.setParallelTick(true);
+		UnitManager.setTickThreads(threads);
+		try {
+			RandomUtil.setSeed(SEED);
+			Simulation sim = createSimulation();
+
+			UnitManager unitManager = sim.getUnitManager();
+			MarsClock marsClock = sim.getMasterClock().getMarsClock();
+			for (int i = 0; i < NUM_PULSES; i++) {
+				marsClock.addTime(PULSE);
+				unitManager.timePassing(PULSE);
+			}
+
+			return getState(unitManager);
+		} finally {
+			UnitManager.setParallelTick(parallelTick);
+			UnitManager.setTickThreads(Simulation.NUM_THREADS);
+		}
+	}
+
+	/**
+	 * Creates a simulation with three settlements.
+	 */
+	private static Simulation createSimulation() {
+		SimulationConfig simulationConfig = SimulationConfig.instance();
+		simulationConfig.loadConfig();
+		SettlementConfig settlementConfig = simulationConfig.getSettlementConfiguration();
+		settlementConfig.clearInitialSettlements();
+		settlementConfig.addInitialSettlement("Base A", TEMPLATE, 4, 0, SPONSOR, "0.0 N", "0.0 E");
+		settlementConfig.addInitialSettlement("Base B", TEMPLATE, 4, 0, SPONSOR, "10.0 N", "10.0 E");
+		settlementConfig.addInitialSettlement("Base C", TEMPLATE, 4, 0, SPONSOR, "20.0 S", "20.0 W");
+
+		Simulation sim = Simulation.instance();
+		sim.createNewSimulation(-1, false);
+		return sim;
+	}
+
+	/**
+	 * Gets the stored resources of the settlements and the whereabouts and
+	 * condition of the people and robots.
+	 */
+	private static Map<String, String> getState(UnitManager unitManager) {
+		Map<String, String> state = new TreeMap<>();
+		for (Settlement s : unitManager.getSettlements()) {
+			Inventory inv = s.getInventory();
+			for (int resource : inv.getAllARStored(false)) {
+				state.put(s.getName() + " : " + ResourceUtil.findAmountResourceName(resource),
+						String.valueOf(inv.getAmountResourceStored(resource, false)));
+			}
+		}
+		for (Person p : unitManager.getPeople()) {
+			PhysicalCondition c = p.getPhysicalCondition();
+			state.put(p.getName(), p.getIdentifier() + " " + p.getContainerID() + " " + p.getTaskDescription()
+					+ " " + p.getXLocation() + " " + p.getYLocation() + " " + c.getFatigue() + " " + c.getHunger()
+					+ " " + c.getStress());
+		}
+		for (Robot r : unitManager.getRobots()) {
+			state.put(r.getName(), r.getIdentifier() + " " + r.getContainerID() + " " + r.getTaskDescription()
+					+ " " + r.getXLocation() + " " + r.getYLocation());
+		}
+		return state;
+	}
+
+	/**
+	 * A bag that tries to defer a change the first time it is ticked.
+	 */
+	private static class ProbeBag extends Bag {
+
+		private static final long serialVersionUID = 1L;
+
+		private Boolean deferred;
+		private boolean applied;
+
+		ProbeBag(Coordinates location) {
+			super(location);
+		}
+
+		@Override
+		public void timePassing(double time) {
+			super.timePassing(time);
+			if (deferred == null)
+				deferred = UnitManager.deferToBarrier(() -> applied = true);
+		}
+	}
+}
@@ -0,0 +1,211 @@
+package org.mars_sim.msp.core;
+
+import java.awt.EventQueue;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit test suite for the UnitEventBus.
+ */
+public class TestUnitEventBus extends TestCase {
+
+	private static final int NUM_FLOOD_EVENTS = 10_000;
+
+	/** The deliveries handed to the dispatcher and not run yet. */
+	private List<Runnable> dispatched;
+
+	@Override
+	public void setUp() throws Exception {
+		SimulationConfig.instance().loadConfig();
+		dispatched = new ArrayList<>();
+		UnitEventBus.setDispatcher(dispatched::add);
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		runDispatched();
+		UnitEventBus.setDispatcher(EventQueue::invokeLater);
+	}
+
+	/**
+	 * Test that an event repeated before delivery is delivered once, at the
+	 * position of its first occurrence.
+	 */
+	public void testRepeatedEventCoalesced() {
+		MockUnit1 unit = new MockUnit1();
+		RecordingListener listener = new RecordingListener(null);
+		unit.addUnitListener(listener);
+
+		unit.fireUnitUpdate(UnitEventType.NAME_EVENT);
+		unit.fireUnitUpdate(UnitEventType.MASS_EVENT);
+		unit.fireUnitUpdate(UnitEventType.NAME_EVENT);
+		unit.fireUnitUpdate(UnitEventType.NAME_EVENT);
+
+		// Nothing is delivered on the posting thread
+		assertTrue(listener.events.isEmpty());
+		assertEquals(1, dispatched.size());
+		assertEquals(2, UnitEventBus.getPendingEvents());
+
+		runDispatched();
+		assertEquals(2, listener.events.size());
+		assertEquals(UnitEventType.NAME_EVENT, listener.events.get(0).getType());
+		assertEquals(UnitEventType.MASS_EVENT, listener.events.get(1).getType());
+		assertEquals(0, UnitEventBus.getPendingEvents());
+	}
+
+	/**
+	 * Test that a flood of repeated events keeps one pending event per unit,
+	 * type and target.
+	 */
+	public void testFloodBounded() {
+		MockUnit1 unit1 = new MockUnit1();
+		MockUnit1 unit2 = new MockUnit1();
+		RecordingListener listener = new RecordingListener(null);
+		unit1.addUnitListener(listener);
+		unit2.addUnitListener(listener);
+
+		for (int i = 0; i < NUM_FLOOD_EVENTS; i++) {
+			unit1.fireUnitUpdate(UnitEventType.NAME_EVENT);
+			unit1.fireUnitUpdate(UnitEventType.MASS_EVENT, i % 3);
+			unit2.fireUnitUpdate(UnitEventType.NAME_EVENT);
+			assertTrue(UnitEventBus.getPendingEvents() <= 5);
+		}
+		assertEquals(5, UnitEventBus.getPendingEvents());
+
+		runDispatched();
+		assertEquals(5, listener.events.size());
+		assertEquals(0, UnitEventBus.getPendingEvents());
+	}
+
+	/**
+	 * Test that events are only coalesced for the same unit, type and target.
+	 */
+	public void testCoalescingPerUnitAndType() {
+		MockUnit1 unit1 = new MockUnit1();
+		MockUnit1 unit2 = new MockUnit1();
+		RecordingListener listener = new RecordingListener(null);
+		unit1.addUnitListener(listener);
+		unit2.addUnitListener(listener);
+
+		unit1.fireUnitUpdate(UnitEventType.NAME_EVENT);
+		unit2.fireUnitUpdate(UnitEventType.NAME_EVENT);
+		unit1.fireUnitUpdate(UnitEventType.MASS_EVENT);
+		unit1.fireUnitUpdate(UnitEventType.NAME_EVENT, "target");
+		unit1.fireUnitUpdate(UnitEventType.NAME_EVENT);
+		unit2.fireUnitUpdate(UnitEventType.NAME_EVENT);
+
+		runDispatched();
+		assertEquals(4, listener.events.size());
+		assertEvent(listener.events.get(0), unit1, UnitEventType.NAME_EVENT, null);
+		assertEvent(listener.events.get(1), unit2, UnitEventType.NAME_EVENT, null);
+		assertEvent(listener.events.get(2), unit1, UnitEventType.MASS_EVENT, null);
+		assertEvent(listener.events.get(3), unit1, UnitEventType.NAME_EVENT, "target");
+	}
+
+	/**
+	 * Test that an event posted after a delivery starts a new delivery.
+	 */
+	public void testNextBatch() {
+		MockUnit1 unit = new MockUnit1();
+		RecordingListener listener = new RecordingListener(null);
+		unit.addUnitListener(listener);
+
+		unit.fireUnitUpdate(UnitEventType.NAME_EVENT);
+		runDispatched();
+		unit.fireUnitUpdate(UnitEventType.NAME_EVENT);
+		assertEquals(1, dispatched.size());
+		runDispatched();
+		assertEquals(2, listener.events.size());
+	}
+
+	/**
+	 * Test that only the event types a listener wants are queued and delivered.
+	 */
+	public void testWantedTypes() {
+		MockUnit1 unit = new MockUnit1();
+		RecordingListener listener = new RecordingListener(EnumSet.of(UnitEventType.MASS_EVENT));
+		unit.addUnitListener(listener);
+
+		unit.fireUnitUpdate(UnitEventType.NAME_EVENT);
+		assertTrue(dispatched.isEmpty());
+
+		unit.fireUnitUpdate(UnitEventType.MASS_EVENT);
+		runDispatched();
+		assertEquals(1, listener.events.size());
+		assertEquals(UnitEventType.MASS_EVENT, listener.events.get(0).getType());
+	}
+
+	/**
+	 * Test that the events are delivered on the thread of the dispatcher.
+	 */
+	public void testDeliveryOnExecutor() throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "test-dispatcher"));
+		try {
+			UnitEventBus.setDispatcher(executor::execute);
+			MockUnit1 unit = new MockUnit1();
+			CountDownLatch delivered = new CountDownLatch(1);
+			List<String> threads = new ArrayList<>();
+			unit.addUnitListener(new AsyncUnitListener() {
+				@Override
+				public void unitUpdate(UnitEvent event) {
+					threads.add(Thread.currentThread().getName());
+					delivered.countDown();
+				}
+			});
+
+			unit.fireUnitUpdate(UnitEventType.NAME_EVENT);
+			assertTrue(delivered.await(10, TimeUnit.SECONDS));
+			assertEquals(1, threads.size());
+			assertEquals("test-dispatcher", threads.get(0));
+		} finally {
+			executor.shutdown();
+			executor.awaitTermination(10, TimeUnit.SECONDS);
+		}
+	}
+
+	private static void assertEvent(UnitEvent event, Unit unit, UnitEventType type, Object target) {
+		assertSame(unit, event.getSource());
+		assertEquals(type, event.getType());
+		assertEquals(target, event.getTarget());
+	}
+
+	/**
+	 * Runs the deliveries handed to the dispatcher.
+	 */
+	private void runDispatched() {
+		while (!dispatched.isEmpty()) {
+			dispatched.remove(0).run();
+		}
+	}
+
+	/**
+	 * An asynchronous listener that records its events.
+	 */
+	private static class RecordingListener implements AsyncUnitListener {
+
+		private final Set<UnitEventType> types;
+		private final List<UnitEvent> events = new ArrayList<>();
+
+		RecordingListener(Set<UnitEventType> types) {
+			this.types = types;
+		}
+
+		@Override
+		public Set<UnitEventType> getUnitEventTypes() {
+			return types;
+		}
+
+		@Override
+		public void unitUpdate(UnitEvent event) {
+			events.add(event);
+		}
+	}
+}
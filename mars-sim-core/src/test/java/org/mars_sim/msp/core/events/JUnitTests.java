@@ -49,7 +49,9 @@ public class JUnitTests extends TestCase {
 	 * Collection of external test suites to be included in current testing.
 	 */
 	public static Test suite() {
-		return new TestSuite(thisClass);
+		TestSuite suite = new TestSuite(thisClass);
+		suite.addTestSuite(TestHistoricalEventManager.class);
+		return suite;
 	}
 
 	/**
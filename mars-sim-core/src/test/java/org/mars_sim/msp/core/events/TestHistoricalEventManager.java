@@ -0,0 +1,320 @@
+package org.mars_sim.msp.core.events;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.mars_sim.msp.core.Simulation;
+import org.mars_sim.msp.core.SimulationConfig;
+import org.mars_sim.msp.core.person.EventType;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit test suite for the ring buffer and the archive of the
+ * HistoricalEventManager.
+ */
+public class TestHistoricalEventManager extends TestCase {
+
+	private static final int RETENTION = 10;
+	private static final int NUM_EVENTS = 25;
+
+	private File directory;
+	private HistoricalEventManager manager;
+
+	@Override
+	public void setUp() throws Exception {
+		SimulationConfig.instance().loadConfig();
+		Simulation.instance().testRun();
+
+		directory = File.createTempFile("events", "");
+		directory.delete();
+		directory.mkdirs();
+		manager = new HistoricalEventManager(new EventArchive(directory));
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		manager.destroy();
+		File[] files = directory.listFiles();
+		if (files != null) {
+			for (File f : files)
+				f.delete();
+		}
+		directory.delete();
+	}
+
+	/**
+	 * Test that only the most recent events are kept in memory, most recent first.
+	 */
+	public void testRingBuffer() {
+		manager.setRetention(RETENTION);
+		register(NUM_EVENTS);
+
+		assertEquals(RETENTION, manager.getNumEvents());
+		for (int i = 0; i < RETENTION; i++) {
+			SimpleEvent e = manager.getEvent(i);
+			int n = NUM_EVENTS - 1 - i;
+			assertEquals("cause " + n, manager.getWhat(e.getWhat()));
+			assertEquals("doing " + n, manager.getWhileDoing(e.getWhileDoing()));
+			assertEquals("who " + n, manager.getWho(e.getWho()));
+			assertEquals("building " + n, manager.getLoc0(e.getLoc0()));
+			assertEquals("settlement " + n, manager.getLoc1(e.getLoc1()));
+			assertEquals((byte) HistoricalEventCategory.MALFUNCTION.ordinal(), e.getCat());
+			assertEquals((byte) EventType.MALFUNCTION_FIXED.ordinal(), e.getType());
+		}
+
+		List<SimpleEvent> events = manager.getEvents();
+		assertEquals(RETENTION, events.size());
+		assertSame(manager.getEvent(0), events.get(0));
+
+		try {
+			manager.getEvent(RETENTION);
+			fail("Only the retained events can be read.");
+		} catch (IndexOutOfBoundsException e) {
+			// expected
+		}
+	}
+
+	/**
+	 * Test that shrinking the retention keeps the most recent events.
+	 */
+	public void testShrinkRetention() {
+		register(NUM_EVENTS);
+		assertEquals(NUM_EVENTS, manager.getNumEvents());
+
+		manager.setRetention(RETENTION);
+		assertEquals(RETENTION, manager.getNumEvents());
+		assertEquals("cause " + (NUM_EVENTS - 1), manager.getWhat(manager.getEvent(0).getWhat()));
+		assertEquals(NUM_EVENTS - RETENTION, scan().size());
+	}
+
+	/**
+	 * Test that the events pushed out of memory are read back from the archive in
+	 * order and with their strings.
+	 */
+	public void testArchiveRoundTrip() {
+		manager.setRetention(RETENTION);
+		register(NUM_EVENTS);
+
+		List<ArchivedEvent> archived = scan();
+		assertEquals(NUM_EVENTS - RETENTION, archived.size());
+		for (int n = 0; n < archived.size(); n++) {
+			ArchivedEvent e = archived.get(n);
+			assertEquals("cause " + n, e.getWhat());
+			assertEquals("doing " + n, e.getWhileDoing());
+			assertEquals("who " + n, e.getWho());
+			assertEquals("building " + n, e.getLoc0());
+			assertEquals("settlement " + n, e.getLoc1());
+			assertEquals((byte) HistoricalEventCategory.MALFUNCTION.ordinal(), e.getCat());
+			assertEquals((byte) EventType.MALFUNCTION_FIXED.ordinal(), e.getType());
+		}
+
+		// Reading the archive leaves the events in memory as they were
+		assertEquals(RETENTION, manager.getNumEvents());
+		assertEquals("cause " + (NUM_EVENTS - 1), manager.getWhat(manager.getEvent(0).getWhat()));
+	}
+
+	/**
+	 * Test that a saved manager keeps its events.
+	 */
+	public void testSerialization() throws Exception {
+		manager.setRetention(RETENTION);
+		register(NUM_EVENTS);
+
+		HistoricalEventManager copy = (HistoricalEventManager) read(write(manager));
+		assertEquals(RETENTION, copy.getNumEvents());
+		for (int i = 0; i < RETENTION; i++) {
+			assertEquals(manager.getWhat(manager.getEvent(i).getWhat()), copy.getWhat(copy.getEvent(i).getWhat()));
+			assertEquals(manager.getWho(manager.getEvent(i).getWho()), copy.getWho(copy.getEvent(i).getWho()));
+		}
+	}
+
+	/**
+	 * Test that a loaded manager archives to a new file holding the events
+	 * archived up to the save, apart from the events archived after the save.
+	 */
+	public void testSerializationNewArchive() throws Exception {
+		manager.setRetention(RETENTION);
+		register(NUM_EVENTS);
+		byte[] saved = write(manager);
+		register(RETENTION);
+
+		HistoricalEventManager copy = (HistoricalEventManager) read(saved);
+		try {
+			assertEquals(NUM_EVENTS - RETENTION, scan(copy).size());
+			assertEquals(NUM_EVENTS, scan(manager).size());
+
+			copy.registerNewEvent(new TestEvent("cause", "doing", "who", "building", "settlement"));
+			List<ArchivedEvent> archived = scan(copy);
+			assertEquals(NUM_EVENTS - RETENTION + 1, archived.size());
+			assertEquals("cause " + (NUM_EVENTS - RETENTION), archived.get(NUM_EVENTS - RETENTION).getWhat());
+			assertEquals(NUM_EVENTS, scan(manager).size());
+		} finally {
+			copy.destroy();
+		}
+	}
+
+	/**
+	 * Test that the event list and string lists of an older save are converted on
+	 * load.
+	 */
+	public void testReadOldFormat() throws Exception {
+		OldEventManager old = new OldEventManager();
+		for (int n = 0; n < NUM_EVENTS; n++) {
+			old.whatList.add("cause " + n);
+			old.whileDoingList.add("doing " + n);
+			old.whoList.add("who " + n);
+			old.loc0List.add("building " + n);
+			old.loc1List.add("settlement " + n);
+			// Most recent first
+			old.eventsRegistry.add(0, new OldSimpleEvent((short) 1, n,
+					(byte) HistoricalEventCategory.MEDICAL.ordinal(), (byte) EventType.MEDICAL_STARTS.ordinal(),
+					(short) n, (short) -1));
+		}
+
+		// Give the stand-in classes the names of the old ones.
+		byte[] bytes = write(old);
+		bytes = rename(bytes, OldEventManager.class.getName(), HistoricalEventManager.class.getName());
+		bytes = rename(bytes, OldSimpleEvent.class.getName(), SimpleEvent.class.getName());
+
+		HistoricalEventManager converted = (HistoricalEventManager) read(bytes);
+		assertEquals(NUM_EVENTS, converted.getNumEvents());
+		for (int i = 0; i < NUM_EVENTS; i++) {
+			SimpleEvent e = converted.getEvent(i);
+			int n = NUM_EVENTS - 1 - i;
+			assertEquals("cause " + n, converted.getWhat(e.getWhat()));
+			assertEquals("doing " + n, converted.getWhileDoing(e.getWhileDoing()));
+			assertEquals("who " + n, converted.getWho(e.getWho()));
+			assertEquals("building " + n, converted.getLoc0(e.getLoc0()));
+			assertEquals("settlement " + n, converted.getLoc1(e.getLoc1()));
+			assertEquals((byte) EventType.MEDICAL_STARTS.ordinal(), e.getType());
+			assertEquals(-1, e.getSettlementID());
+		}
+		converted.destroy();
+	}
+
+	/**
+	 * Registers numbered events.
+	 */
+	private void register(int count) {
+		for (int n = 0; n < count; n++) {
+			manager.registerNewEvent(new TestEvent("cause " + n, "doing " + n, "who " + n, "building " + n,
+					"settlement " + n));
+		}
+	}
+
+	private List<ArchivedEvent> scan() {
+		return scan(manager);
+	}
+
+	private static List<ArchivedEvent> scan(HistoricalEventManager m) {
+		List<ArchivedEvent> result = new ArrayList<>();
+		m.scanArchivedEvents(result::add);
+		return result;
+	}
+
+	private static byte[] write(Object o) throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(o);
+		}
+		return bytes.toByteArray();
+	}
+
+	private static Object read(byte[] bytes) throws Exception {
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+			return in.readObject();
+		}
+	}
+
+	/**
+	 * Replaces a class name in a serialized stream. Class names are written once
+	 * as a length prefixed UTF string.
+	 */
+	private static byte[] rename(byte[] bytes, String from, String to) {
+		byte[] f = utf(from);
+		byte[] t = utf(to);
+		for (int i = 0; i + f.length <= bytes.length; i++) {
+			boolean match = true;
+			for (int j = 0; j < f.length && match; j++) {
+				match = bytes[i + j] == f[j];
+			}
+			if (match) {
+				ByteArrayOutputStream out = new ByteArrayOutputStream();
+				out.write(bytes, 0, i);
+				out.write(t, 0, t.length);
+				out.write(bytes, i + f.length, bytes.length - i - f.length);
+				return out.toByteArray();
+			}
+		}
+		throw new IllegalArgumentException(from + " not found");
+	}
+
+	private static byte[] utf(String s) {
+		byte[] b = s.getBytes(StandardCharsets.UTF_8);
+		byte[] result = new byte[b.length + 2];
+		result[0] = (byte) (b.length >> 8);
+		result[1] = (byte) b.length;
+		System.arraycopy(b, 0, result, 2, b.length);
+		return result;
+	}
+
+	private static class TestEvent extends HistoricalEvent {
+		private static final long serialVersionUID = 1L;
+
+		TestEvent(String what, String whileDoing, String who, String loc0, String loc1) {
+			super(HistoricalEventCategory.MALFUNCTION, EventType.MALFUNCTION_FIXED, null, what, whileDoing, who, loc0,
+					loc1, loc1);
+		}
+	}
+
+	/**
+	 * Stand-in for the event manager as it was saved before the ring buffer.
+	 */
+	private static class OldEventManager implements Serializable {
+		private static final long serialVersionUID = 1L;
+		private List<OldSimpleEvent> eventsRegistry = new ArrayList<>();
+		private List<String> whatList = new ArrayList<>();
+		private List<String> whileDoingList = new ArrayList<>();
+		private List<String> whoList = new ArrayList<>();
+		private List<String> loc0List = new ArrayList<>();
+		private List<String> loc1List = new ArrayList<>();
+	}
+
+	/**
+	 * Stand-in for SimpleEvent as it was saved with short string ids.
+	 */
+	private static class OldSimpleEvent implements Serializable {
+		private static final long serialVersionUID = 23982863L;
+		private short missionSol;
+		private float msol;
+		private byte cat;
+		private byte type;
+		private short what;
+		private short whileDoing;
+		private short who;
+		private short loc0;
+		private short loc1;
+		private short settlementID;
+
+		OldSimpleEvent(short missionSol, float msol, byte cat, byte type, short id, short settlementID) {
+			this.missionSol = missionSol;
+			this.msol = msol;
+			this.cat = cat;
+			this.type = type;
+			this.what = id;
+			this.whileDoing = id;
+			this.who = id;
+			this.loc0 = id;
+			this.loc1 = id;
+			this.settlementID = settlementID;
+		}
+	}
+}
@@ -0,0 +1,144 @@
+package org.mars_sim.msp.core.mars;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.mars_sim.msp.core.Coordinates;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit test suite for the MineralConcentrationIndex class. The lookups are
+ * compared with a linear scan of all the concentrations, with the
+ * concentrations and the locations crowded around the dateline and the poles.
+ */
+public class MineralConcentrationIndexTest extends TestCase {
+
+	private static final long SEED = 20200220L;
+	private static final int NUM_CONCENTRATIONS = 2_000;
+	private static final int NUM_LOCATIONS = 500;
+	private static final double MAX_CONCENTRATION = 100D;
+	/** The distances looked up (km), up to more than half way around Mars. */
+	private static final double[] DISTANCES = { 0D, 25D, MAX_CONCENTRATION, 500D, 3000D, 11000D };
+	/** The angle of the bands around the dateline and the poles (radians). */
+	private static final double EDGE = .05D;
+	private static final String[] TYPES = { "Hematite", "Olivine", "Kamacite" };
+
+	private Random random;
+	private List<MineralConcentration> concentrations;
+	private MineralConcentrationIndex index;
+
+	@Override
+	public void setUp() throws Exception {
+		random = new Random(SEED);
+		concentrations = new ArrayList<>();
+		for (int i = 0; i < NUM_CONCENTRATIONS; i++) {
+			concentrations.add(new MineralConcentration(getRandomLocation(),
+					random.nextDouble() * MAX_CONCENTRATION, TYPES[random.nextInt(TYPES.length)]));
+		}
+		// Exactly on the poles and the dateline
+		concentrations.add(new MineralConcentration(new Coordinates(0D, 0D), MAX_CONCENTRATION, TYPES[0]));
+		concentrations.add(new MineralConcentration(new Coordinates(Math.PI, Math.PI), MAX_CONCENTRATION, TYPES[1]));
+		concentrations.add(new MineralConcentration(new Coordinates(Math.PI / 2D, 0D), MAX_CONCENTRATION, TYPES[2]));
+		concentrations.add(new MineralConcentration(new Coordinates(Math.PI / 2D, Math.PI * 2D - 1E-9),
+				MAX_CONCENTRATION, TYPES[2]));
+
+		index = new MineralConcentrationIndex(concentrations);
+	}
+
+	/**
+	 * Test that the mineral types are interned regardless of case.
+	 */
+	public void testTypes() {
+		assertEquals(TYPES.length, index.getNumTypes());
+		assertEquals(MAX_CONCENTRATION, index.getMaxConcentration());
+		for (String type : TYPES) {
+			int id = index.getTypeId(type);
+			assertEquals(type, index.getTypeName(id));
+			assertEquals(id, index.getTypeId(type.toUpperCase()));
+		}
+		assertEquals(-1, index.getTypeId("Unobtainium"));
+		for (int x = 0; x < concentrations.size(); x++) {
+			assertSame(concentrations.get(x), index.getConcentration(x));
+			assertEquals(concentrations.get(x).getMineralType(), index.getTypeName(index.getTypeId(x)));
+		}
+	}
+
+	/**
+	 * Test that a lookup at random locations finds every concentration the scan
+	 * finds within the distance, in the order of the list.
+	 */
+	public void testRandomLocations() {
+		for (int i = 0; i < NUM_LOCATIONS; i++)
+			assertMatchesScan(getRandomLocation());
+	}
+
+	/**
+	 * Test the lookups on the poles and along the dateline, where the cells wrap
+	 * around.
+	 */
+	public void testPolesAndDateline() {
+		for (double theta = 0D; theta < Math.PI * 2D; theta += Math.PI / 8D) {
+			assertMatchesScan(new Coordinates(0D, theta));
+			assertMatchesScan(new Coordinates(Math.PI, theta));
+			assertMatchesScan(new Coordinates(1E-9, theta));
+			assertMatchesScan(new Coordinates(Math.PI - 1E-9, theta));
+		}
+		for (double phi = 0D; phi <= Math.PI; phi += Math.PI / 32D) {
+			assertMatchesScan(new Coordinates(phi, 0D));
+			assertMatchesScan(new Coordinates(phi, 1E-9));
+			assertMatchesScan(new Coordinates(phi, Math.PI * 2D - 1E-9));
+		}
+	}
+
+	/**
+	 * Compares the lookups of a location at every distance with a linear scan.
+	 */
+	private void assertMatchesScan(Coordinates location) {
+		for (double distance : DISTANCES) {
+			int[] nearby = index.getNearby(location, distance);
+			Set<Integer> found = new HashSet<>();
+			for (int n = 0; n < nearby.length; n++) {
+				if (n > 0)
+					assertTrue("Not in the list order", nearby[n - 1] < nearby[n]);
+				found.add(nearby[n]);
+			}
+
+			for (int x = 0; x < concentrations.size(); x++) {
+				Coordinates c = concentrations.get(x).getLocation();
+				if (Coordinates.computeDistance(location, c) <= distance && !found.contains(x))
+					fail(c + " is " + Coordinates.computeDistance(location, c) + " km from " + location
+							+ " but not found within " + distance + " km");
+			}
+		}
+	}
+
+	/**
+	 * Gets a random location, half of them in the bands around the dateline and
+	 * the poles.
+	 */
+	private Coordinates getRandomLocation() {
+		double phi = Math.acos(1D - 2D * random.nextDouble());
+		double theta = random.nextDouble() * Math.PI * 2D;
+		switch (random.nextInt(8)) {
+		case 0:
+			phi = random.nextDouble() * EDGE;
+			break;
+		case 1:
+			phi = Math.PI - random.nextDouble() * EDGE;
+			break;
+		case 2:
+			theta = random.nextDouble() * EDGE;
+			break;
+		case 3:
+			theta = Math.PI * 2D - random.nextDouble() * EDGE;
+			break;
+		default:
+			break;
+		}
+		return new Coordinates(phi, theta);
+	}
+}
@@ -0,0 +1,147 @@
+package org.mars_sim.msp.core.mars;
+
+import java.util.Random;
+
+import org.mars_sim.msp.core.Coordinates;
+import org.mars_sim.msp.core.Simulation;
+import org.mars_sim.msp.core.SimulationConfig;
+import org.mars_sim.msp.core.time.MarsClock;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit test suite for the SurfaceField class. The interpolated values are
+ * compared with the values of the evaluator at the same locations.
+ */
+public class SurfaceFieldTest extends TestCase {
+
+	private static final long SEED = 20200220L;
+	private static final int NUM_LOCATIONS = 10_000;
+	private static final double STEP_DEGREES = 1D;
+	private static final double STEP = Math.toRadians(STEP_DEGREES);
+	private static final int PERIOD = 5;
+	private static final double SMALL_DELTA = .0000001D;
+
+	/** The solar irradiance at the top of the atmosphere (in W/m2). */
+	private static final double SOLAR_CONSTANT = 590D;
+	private static final double SUN_PHI = 1.2D;
+	private static final double SUN_THETA = 2.5D;
+
+	private MarsClock marsClock;
+
+	@Override
+	public void setUp() throws Exception {
+		SimulationConfig.instance().loadConfig();
+		Simulation.instance().testRun();
+		marsClock = Simulation.instance().getMasterClock().getMarsClock();
+	}
+
+	/**
+	 * Test that the value at a node is the value of the evaluator.
+	 */
+	public void testNodes() {
+		SurfaceField field = new SurfaceField(STEP_DEGREES, PERIOD, false, marsClock, (node, previous) -> smooth(node));
+		for (int row = 0; row <= 180; row += 7) {
+			for (int column = 0; column < 360; column += 11) {
+				Coordinates node = new Coordinates(row * STEP, column * STEP);
+				assertEquals(node.toString(), smooth(node), field.getValue(node), SMALL_DELTA);
+			}
+		}
+	}
+
+	/**
+	 * Test that the error of a smooth quantity is within the bound of the
+	 * bilinear interpolation, i.e. an eighth of the squared step times the
+	 * largest second derivatives.
+	 */
+	public void testSmoothErrorBound() {
+		SurfaceField field = new SurfaceField(STEP_DEGREES, PERIOD, false, marsClock, (node, previous) -> smooth(node));
+		// The second derivatives of smooth() are at most 150 along phi and 50 along theta.
+		double bound = STEP * STEP / 8D * (150D + 50D);
+
+		Random random = new Random(SEED);
+		for (int i = 0; i < NUM_LOCATIONS; i++) {
+			Coordinates location = randomLocation(random);
+			double error = Math.abs(field.getValue(location) - smooth(location));
+			assertTrue(location + " : " + error, error <= bound);
+		}
+	}
+
+	/**
+	 * Test that the error of the irradiance, which has a kink at the terminator,
+	 * is within the bound given by its slopes over one step.
+	 */
+	public void testIrradianceErrorBound() {
+		SurfaceField field = new SurfaceField(STEP_DEGREES, PERIOD, false, marsClock,
+				(node, previous) -> irradiance(node));
+		// The irradiance changes by at most the solar constant per radian along phi
+		// and along theta.
+		double bound = SOLAR_CONSTANT * STEP * 2D;
+
+		Random random = new Random(SEED);
+		double maxError = 0D;
+		for (int i = 0; i < NUM_LOCATIONS; i++) {
+			Coordinates location = randomLocation(random);
+			double error = Math.abs(field.getValue(location) - irradiance(location));
+			assertTrue(location + " : " + error, error <= bound);
+			maxError = Math.max(maxError, error);
+		}
+		assertTrue(maxError > 0D);
+	}
+
+	/**
+	 * Test that a node is evaluated once per period, with its previous value.
+	 */
+	public void testOncePerPeriod() {
+		int[] count = new int[1];
+		double[] last = { Double.NaN };
+		SurfaceField field = new SurfaceField(STEP_DEGREES, PERIOD, false, marsClock, (node, previous) -> {
+			count[0]++;
+			last[0] = previous;
+			return count[0];
+		});
+
+		// Start at the beginning of a period
+		long millisols = (long) marsClock.getMissionSol() * 1000 + marsClock.getMillisolInt();
+		marsClock.addTime(PERIOD - (millisols % PERIOD) + .1D);
+
+		Coordinates node = new Coordinates(10 * STEP, 20 * STEP);
+		double value = field.getValue(node);
+		assertTrue(Double.isNaN(last[0]));
+		int evaluations = count[0];
+		for (int i = 0; i < 10; i++) {
+			marsClock.addTime(.2D);
+			assertEquals(value, field.getValue(node), 0D);
+		}
+		assertEquals(evaluations, count[0]);
+
+		marsClock.addTime(PERIOD);
+		field.getValue(node);
+		assertTrue(count[0] > evaluations);
+		assertFalse(Double.isNaN(last[0]));
+	}
+
+	private static Coordinates randomLocation(Random random) {
+		return new Coordinates(random.nextDouble() * Math.PI, random.nextDouble() * Math.PI * 2D);
+	}
+
+	/**
+	 * A smooth quantity over the surface.
+	 */
+	private static double smooth(Coordinates location) {
+		double phi = location.getPhi();
+		double theta = location.getTheta();
+		return 100D * Math.cos(phi) + 50D * Math.sin(phi) * Math.cos(theta - 1D);
+	}
+
+	/**
+	 * The irradiance of a sun above a fixed location, zero on the night side.
+	 */
+	private static double irradiance(Coordinates location) {
+		double phi = location.getPhi();
+		double theta = location.getTheta();
+		double cosZenith = Math.cos(phi) * Math.cos(SUN_PHI)
+				+ Math.sin(phi) * Math.sin(SUN_PHI) * Math.cos(theta - SUN_THETA);
+		return SOLAR_CONSTANT * Math.max(0D, cosZenith);
+	}
+}
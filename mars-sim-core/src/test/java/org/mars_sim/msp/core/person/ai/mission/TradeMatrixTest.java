@@ -0,0 +1,198 @@
+package org.mars_sim.msp.core.person.ai.mission;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.mars_sim.msp.core.Simulation;
+import org.mars_sim.msp.core.SimulationConfig;
+import org.mars_sim.msp.core.structure.MockSettlement;
+import org.mars_sim.msp.core.structure.Settlement;
+import org.mars_sim.msp.core.structure.goods.Good;
+import org.mars_sim.msp.core.structure.goods.GoodsUtil;
+import org.mars_sim.msp.core.vehicle.Rover;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit test suite for the TradeMatrix class. The estimates are counted to
+ * check which lookups make a pair stale.
+ */
+public class TradeMatrixTest extends TestCase {
+
+	private static final double VALUE = 100D;
+	private static final double SMALL_DELTA = .0000001D;
+
+	private Settlement start;
+	private Settlement partner1;
+	private Settlement partner2;
+	private List<Settlement> partners;
+	private Rover rover;
+	private Good good;
+	private MockMarket market;
+	private TradeMatrix matrix;
+
+	@Override
+	public void setUp() throws Exception {
+		SimulationConfig.instance().loadConfig();
+		Simulation.instance().testRun();
+
+		start = new MockSettlement();
+		partner1 = new MockSettlement();
+		partner2 = new MockSettlement();
+		partners = Arrays.asList(partner1, partner2);
+		rover = new Rover("Test Rover", "Explorer Rover", start);
+		good = GoodsUtil.getGoodsList().get(0);
+
+		market = new MockMarket();
+		market.profits.put(partner1, 10D);
+		market.profits.put(partner2, 20D);
+		matrix = new TradeMatrix(market);
+
+		assertEquals(20D, matrix.getBestProfit(start, rover, partners), SMALL_DELTA);
+		assertSame(partner2, matrix.getBestTradeSettlement(start));
+		assertEquals(2, market.estimates);
+		market.estimates = 0;
+	}
+
+	/**
+	 * Test that a repeated lookup reuses the estimates.
+	 */
+	public void testUnchanged() {
+		assertEquals(20D, matrix.getBestProfit(start, rover, partners), SMALL_DELTA);
+		assertEquals(0, market.estimates);
+	}
+
+	/**
+	 * Test that good values drifting less than the threshold keep the estimates.
+	 */
+	public void testSmallValueDrift() {
+		market.setValue(start, VALUE * 1.09D);
+		market.setValue(partner1, VALUE * .91D);
+		assertEquals(20D, matrix.getBestProfit(start, rover, partners), SMALL_DELTA);
+		assertEquals(0, market.estimates);
+
+		// The drift is measured from the values of the last estimates
+		market.setValue(start, VALUE * 1.05D);
+		assertEquals(20D, matrix.getBestProfit(start, rover, partners), SMALL_DELTA);
+		assertEquals(0, market.estimates);
+	}
+
+	/**
+	 * Test that a good value of a trading settlement drifting beyond the
+	 * threshold only estimates that pair again.
+	 */
+	public void testTradingValueDrift() {
+		market.setValue(partner1, VALUE * 1.11D);
+		market.profits.put(partner1, 30D);
+		assertEquals(30D, matrix.getBestProfit(start, rover, partners), SMALL_DELTA);
+		assertSame(partner1, matrix.getBestTradeSettlement(start));
+		assertEquals(1, market.estimates);
+	}
+
+	/**
+	 * Test that a good value of the starting settlement drifting beyond the
+	 * threshold estimates every pair again.
+	 */
+	public void testStartingValueDrift() {
+		market.setValue(start, VALUE * .89D);
+		assertEquals(20D, matrix.getBestProfit(start, rover, partners), SMALL_DELTA);
+		assertEquals(2, market.estimates);
+
+		// The new values are the reference of the next lookups
+		market.estimates = 0;
+		assertEquals(20D, matrix.getBestProfit(start, rover, partners), SMALL_DELTA);
+		assertEquals(0, market.estimates);
+	}
+
+	/**
+	 * Test that a credit crossing the sell limit, either way, estimates that
+	 * pair again and that a credit within the limits does not.
+	 */
+	public void testCreditLimit() {
+		market.credits.put(partner1, TradeUtil.SELL_CREDIT_LIMIT * .9D);
+		market.credits.put(partner2, TradeUtil.SELL_CREDIT_LIMIT * -.9D);
+		matrix.getBestProfit(start, rover, partners);
+		assertEquals(0, market.estimates);
+
+		market.credits.put(partner1, TradeUtil.SELL_CREDIT_LIMIT * 1.1D);
+		matrix.getBestProfit(start, rover, partners);
+		assertEquals(1, market.estimates);
+
+		market.credits.put(partner2, TradeUtil.SELL_CREDIT_LIMIT * -1.1D);
+		matrix.getBestProfit(start, rover, partners);
+		assertEquals(2, market.estimates);
+
+		// Back within the limits
+		market.credits.put(partner1, 0D);
+		market.credits.put(partner2, 0D);
+		matrix.getBestProfit(start, rover, partners);
+		assertEquals(4, market.estimates);
+	}
+
+	/**
+	 * Test that a lookup with another rover estimates every pair again.
+	 */
+	public void testRoverChange() {
+		Rover other = new Rover("Other Rover", "Explorer Rover", start);
+		matrix.getBestProfit(start, other, partners);
+		assertEquals(2, market.estimates);
+
+		matrix.getBestProfit(start, other, partners);
+		assertEquals(2, market.estimates);
+
+		matrix.getBestProfit(start, rover, partners);
+		assertEquals(4, market.estimates);
+	}
+
+	/**
+	 * Test that the estimates of an invalidated settlement are made again.
+	 */
+	public void testInvalidate() {
+		matrix.invalidate(partner1);
+		matrix.getBestProfit(start, rover, partners);
+		assertEquals(1, market.estimates);
+
+		matrix.invalidate(start);
+		matrix.getBestProfit(start, rover, partners);
+		assertEquals(3, market.estimates);
+	}
+
+	/**
+	 * A market with set values, credits and profits, which counts the estimates.
+	 */
+	private class MockMarket implements TradeMatrix.Market {
+
+		private final Map<Settlement, Double> values = new HashMap<>();
+		private final Map<Settlement, Double> credits = new HashMap<>();
+		private final Map<Settlement, Double> profits = new HashMap<>();
+		private int estimates;
+
+		/**
+		 * Sets the value of the tested good at a settlement.
+		 */
+		void setValue(Settlement settlement, double value) {
+			values.put(settlement, value);
+		}
+
+		@Override
+		public double getGoodValue(Settlement settlement, Good good) {
+			if (good == TradeMatrixTest.this.good)
+				return values.getOrDefault(settlement, VALUE);
+			return VALUE;
+		}
+
+		@Override
+		public double getCredit(Settlement startingSettlement, Settlement tradingSettlement) {
+			return credits.getOrDefault(tradingSettlement, 0D);
+		}
+
+		@Override
+		public synchronized double getEstimatedTradeProfit(Settlement startingSettlement, Rover rover,
+				Settlement tradingSettlement) {
+			estimates++;
+			return profits.get(tradingSettlement);
+		}
+	}
+}
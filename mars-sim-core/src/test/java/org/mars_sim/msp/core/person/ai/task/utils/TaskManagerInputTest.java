@@ -0,0 +1,140 @@
+package org.mars_sim.msp.core.person.ai.task.utils;
+
+import org.mars_sim.msp.core.Simulation;
+import org.mars_sim.msp.core.SimulationConfig;
+import org.mars_sim.msp.core.person.Person;
+import org.mars_sim.msp.core.person.ShiftType;
+import org.mars_sim.msp.core.structure.Settlement;
+import org.mars_sim.msp.core.structure.SettlementConfig;
+import org.mars_sim.msp.core.time.MarsClock;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit test suite for the recomputation of the task probabilities of the
+ * TaskManager when the inputs of the meta tasks change.
+ */
+public class TaskManagerInputTest extends TestCase {
+
+	private static final String TEMPLATE = "Mars Direct Base (Phase 1)";
+	private static final String SPONSOR = "Mars Society (MS)";
+	/** A step of time small enough to stay within a millisol. */
+	private static final double STEP = .2D;
+
+	/** The meta tasks that only depend on some of the inputs, but not on the time of day. */
+	private static final String[] READ_ONLY_ON_CHANGE = { "ReadMeta", "ConnectWithEarthMeta", "YogaMeta",
+			"ReturnLightUtilityVehicleMeta", "MaintenanceMeta", "RepairMalfunctionMeta",
+			"RepairEVAMalfunctionMeta", "WorkoutMeta", "TendGreenhouseMeta" };
+	/** The meta tasks that read the time of day, e.g. the work shift or the meal times. */
+	private static final String[] READ_SHIFT = { "RelaxMeta", "ListenToMusicMeta", "EatDrinkMeta", "SleepMeta",
+			"CookMealMeta", "MaintenanceEVAMeta" };
+
+	private MarsClock marsClock;
+	private Person person;
+	private TaskManager taskManager;
+
+	@Override
+	public void setUp() throws Exception {
+		SimulationConfig simulationConfig = SimulationConfig.instance();
+		simulationConfig.loadConfig();
+		SettlementConfig settlementConfig = simulationConfig.getSettlementConfiguration();
+		settlementConfig.clearInitialSettlements();
+		settlementConfig.addInitialSettlement("Base A", TEMPLATE, 4, 0, SPONSOR, "0.0 N", "0.0 E");
+
+		Simulation sim = Simulation.instance();
+		sim.createNewSimulation(-1, false);
+
+		Settlement settlement = sim.getUnitManager().getSettlements().iterator().next();
+		person = settlement.getAllAssociatedPeople().iterator().next();
+		taskManager = person.getMind().getTaskManager();
+		marsClock = sim.getMasterClock().getMarsClock();
+
+		// An on call person considers every meta task
+		person.getTaskSchedule().setShiftType(ShiftType.ON_CALL);
+
+		// Start in the middle of a millisol, 1 millisol into a surroundings period
+		double millisol = marsClock.getMillisol();
+		marsClock.addTime(TaskManager.SURROUNDINGS_PERIOD - (millisol % TaskManager.SURROUNDINGS_PERIOD) + 1.5D);
+		refresh();
+	}
+
+	/**
+	 * Test that every probability is reused while its inputs are unchanged.
+	 */
+	public void testUnchangedInputs() {
+		double total = taskManager.getTotalTaskProbability(true);
+		refresh();
+
+		for (MetaTask mt : MetaTaskUtil.getAllMetaTasks()) {
+			assertFalse(mt.getName(), taskManager.isComputedAtLastRefresh(mt));
+		}
+		assertEquals(total, taskManager.getTotalTaskProbability(true));
+	}
+
+	/**
+	 * Test that a new millisol only recomputes the probabilities that read the
+	 * time of day.
+	 */
+	public void testTimeChange() {
+		marsClock.addTime(1D - STEP);
+		refresh();
+
+		for (String name : READ_ONLY_ON_CHANGE) {
+			assertFalse(name, taskManager.isComputedAtLastRefresh(getMetaTask(name)));
+		}
+		for (String name : READ_SHIFT) {
+			assertTrue(name, taskManager.isComputedAtLastRefresh(getMetaTask(name)));
+		}
+	}
+
+	/**
+	 * Test that a change of the preferences and the tasks due recomputes the
+	 * probabilities that read them.
+	 */
+	public void testPreferenceChange() {
+		MetaTask yoga = getMetaTask("YogaMeta");
+		int changeCount = person.getPreference().getChangeCount();
+		person.getPreference().setTaskDue(yoga, false);
+		assertTrue(person.getPreference().getChangeCount() > changeCount);
+
+		refresh();
+
+		for (String name : READ_ONLY_ON_CHANGE) {
+			assertTrue(name, taskManager.isComputedAtLastRefresh(getMetaTask(name)));
+		}
+		for (String name : READ_SHIFT) {
+			assertTrue(name, taskManager.isComputedAtLastRefresh(getMetaTask(name)));
+		}
+	}
+
+	/**
+	 * Test that a change of the shift type recomputes the probabilities that read
+	 * the work shift.
+	 */
+	public void testShiftTypeChange() {
+		// A shift that the person is on at the current time
+		ShiftType shift = (marsClock.getMillisolInt() <= TaskSchedule.A_END) ? ShiftType.A : ShiftType.B;
+		person.getTaskSchedule().setShiftType(shift);
+
+		refresh();
+
+		for (String name : READ_SHIFT) {
+			assertTrue(name, taskManager.isComputedAtLastRefresh(getMetaTask(name)));
+		}
+	}
+
+	/**
+	 * Moves the time forward by a step and refreshes the task probabilities.
+	 */
+	private void refresh() {
+		marsClock.addTime(STEP);
+		taskManager.getTotalTaskProbability(false);
+	}
+
+	private static MetaTask getMetaTask(String name) {
+		MetaTask result = MetaTaskUtil.getMetaTask(name);
+		assertNotNull(name, result);
+		assertTrue(name, MetaTaskUtil.getAllMetaTasks().contains(result));
+		return result;
+	}
+}
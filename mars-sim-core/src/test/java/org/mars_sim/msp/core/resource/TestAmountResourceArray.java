@@ -0,0 +1,46 @@
+package org.mars_sim.msp.core.resource;
+
+import junit.framework.TestCase;
+
+public class TestAmountResourceArray extends TestCase {
+
+    private static final int FIRST = ResourceUtil.FIRST_AMOUNT_RESOURCE_ID;
+
+    public void testUnsetValueIsZero() throws Exception {
+        AmountResourceArray array = new AmountResourceArray();
+        assertEquals(0D, array.get(FIRST), 0D);
+        assertEquals(0D, array.get(FIRST + 500), 0D);
+        assertEquals(0D, array.get(0), 0D);
+    }
+
+    public void testSetAndGrow() throws Exception {
+        AmountResourceArray array = new AmountResourceArray();
+        array.set(FIRST + 3, 10D);
+        array.set(FIRST + 40, 20D);
+        array.set(FIRST + 3, 15D);
+        assertEquals(15D, array.get(FIRST + 3), 0D);
+        assertEquals(20D, array.get(FIRST + 40), 0D);
+        assertEquals(0D, array.get(FIRST + 39), 0D);
+        assertEquals(35D, array.sum(), 0D);
+        assertTrue(array.getIDBound() > FIRST + 40);
+    }
+
+    public void testClear() throws Exception {
+        AmountResourceArray array = new AmountResourceArray();
+        array.set(FIRST, 1D);
+        array.clear();
+        assertEquals(0D, array.get(FIRST), 0D);
+        assertEquals(0D, array.sum(), 0D);
+    }
+
+    public void testNotAnAmountResource() throws Exception {
+        AmountResourceArray array = new AmountResourceArray();
+        try {
+            array.set(FIRST - 1, 1D);
+            fail("Only amount resource ids can be set.");
+        }
+        catch (IllegalArgumentException e) {
+            // Expected.
+        }
+    }
+}
@@ -1,5 +1,13 @@
 package org.mars_sim.msp.core.resource;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 
 import junit.framework.TestCase;
@@ -200,4 +208,122 @@ public class TestAmountResourceTypeStorage extends TestCase {
         assertTrue("All resources contains carbon dioxide.", allResources.contains(carbonDioxide));
         assertTrue("All resources contains oxygen.", allResources.contains(oxygen));
     }
+
+    public void testSerializationRoundTrip() throws Exception {
+        AmountResourceTypeStorage storage = new AmountResourceTypeStorage();
+        AmountResource carbonDioxide = ResourceUtil.findAmountResource(CARBON_DIOXIDE);
+        AmountResource oxygen = ResourceUtil.findAmountResource(OXYGEN);
+        storage.addAmountResourceTypeCapacity(carbonDioxide, 100D);
+        storage.addAmountResourceTypeCapacity(oxygen, 50D);
+        storage.storeAmountResourceType(carbonDioxide, 10D);
+
+        AmountResourceTypeStorage copy = (AmountResourceTypeStorage) read(write(storage));
+        assertEquals(100D, copy.getAmountResourceTypeCapacity(carbonDioxide), 0D);
+        assertEquals(50D, copy.getAmountResourceTypeCapacity(oxygen), 0D);
+        assertEquals(10D, copy.getAmountResourceTypeStored(carbonDioxide), 0D);
+        assertEquals(10D, copy.getTotalAmountResourceTypesStored(false), 0D);
+    }
+
+    /**
+     * Test that a type storage saved with the old map based fields is converted
+     * on load.
+     */
+    public void testReadOldFormat() throws Exception {
+        int carbonDioxide = ResourceUtil.findIDbyAmountResourceName(CARBON_DIOXIDE);
+        int oxygen = ResourceUtil.findIDbyAmountResourceName(OXYGEN);
+
+        OldTypeStorage old = new OldTypeStorage();
+        old.typeCapacities = new HashMap<>();
+        old.typeCapacities.put(carbonDioxide, new ResourceAmount(100D));
+        old.typeCapacities.put(oxygen, new ResourceAmount(50D));
+        old.typeStored = new HashMap<>();
+        old.typeStored.put(carbonDioxide, new ResourceAmount(10D));
+
+        // Give the stand-in classes the names of the old ones.
+        byte[] bytes = write(old);
+        bytes = rename(bytes, OldTypeStorage.class.getName(), AmountResourceTypeStorage.class.getName());
+        bytes = rename(bytes, ResourceAmount.class.getName(),
+                AmountResourceTypeStorage.class.getName() + "$ResourceAmount");
+
+        AmountResourceTypeStorage storage = (AmountResourceTypeStorage) read(bytes);
+        assertTrue(storage.hasARTypeCapacity(carbonDioxide));
+        assertTrue(storage.hasARTypeCapacity(oxygen));
+        assertEquals(100D, storage.getAmountResourceTypeCapacity(carbonDioxide), 0D);
+        assertEquals(50D, storage.getAmountResourceTypeCapacity(oxygen), 0D);
+        assertEquals(10D, storage.getAmountResourceTypeStored(carbonDioxide), 0D);
+        assertEquals(0D, storage.getAmountResourceTypeStored(oxygen), 0D);
+        assertEquals(10D, storage.getTotalAmountResourceTypesStored(false), 0D);
+
+        // The converted storage keeps working.
+        storage.storeARType(oxygen, 20D);
+        assertEquals(30D, storage.getTotalAmountResourceTypesStored(false), 0D);
+    }
+
+    private static byte[] write(Object o) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(o);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object read(byte[] bytes) throws Exception {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        }
+    }
+
+    /**
+     * Replaces a class name in a serialized stream. Class names are written once
+     * as a length prefixed UTF string.
+     */
+    private static byte[] rename(byte[] bytes, String from, String to) {
+        byte[] f = utf(from);
+        byte[] t = utf(to);
+        for (int i = 0; i + f.length <= bytes.length; i++) {
+            boolean match = true;
+            for (int j = 0; j < f.length && match; j++) {
+                match = bytes[i + j] == f[j];
+            }
+            if (match) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                out.write(bytes, 0, i);
+                out.write(t, 0, t.length);
+                out.write(bytes, i + f.length, bytes.length - i - f.length);
+                return out.toByteArray();
+            }
+        }
+        throw new IllegalArgumentException(from + " not found");
+    }
+
+    private static byte[] utf(String s) {
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        byte[] result = new byte[b.length + 2];
+        result[0] = (byte) (b.length >> 8);
+        result[1] = (byte) b.length;
+        System.arraycopy(b, 0, result, 2, b.length);
+        return result;
+    }
+
+    /**
+     * Stand-in for the type storage as it was saved before the amounts were held
+     * in arrays.
+     */
+    private static class OldTypeStorage implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private Map<Integer, ResourceAmount> typeCapacities;
+        private Map<Integer, ResourceAmount> typeStored;
+    }
+
+    /**
+     * Stand-in for the old AmountResourceTypeStorage.ResourceAmount.
+     */
+    private static class ResourceAmount implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private double amount;
+
+        private ResourceAmount(double amount) {
+            this.amount = amount;
+        }
+    }
 }
\ No newline at end of file
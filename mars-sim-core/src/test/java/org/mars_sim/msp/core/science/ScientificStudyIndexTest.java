@@ -0,0 +1,241 @@
+package org.mars_sim.msp.core.science;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import org.mars_sim.msp.core.Simulation;
+import org.mars_sim.msp.core.SimulationConfig;
+import org.mars_sim.msp.core.person.Person;
+import org.mars_sim.msp.core.structure.Settlement;
+import org.mars_sim.msp.core.structure.SettlementConfig;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit test suite for the ScientificStudyIndex class. The indexes are compared
+ * with a scan of all the studies as the studies change phase, complete and
+ * gain or lose collaborators.
+ */
+public class ScientificStudyIndexTest extends TestCase {
+
+	private static final String TEMPLATE = "Mars Direct Base (Phase 1)";
+	private static final String SPONSOR = "Mars Society (MS)";
+	private static final long SEED = 20200220L;
+	private static final int NUM_STUDIES = 30;
+	private static final int NUM_CHANGES = 2_000;
+
+	private static final String[] PHASES = { ScientificStudy.PROPOSAL_PHASE, ScientificStudy.INVITATION_PHASE,
+			ScientificStudy.RESEARCH_PHASE, ScientificStudy.PAPER_PHASE, ScientificStudy.PEER_REVIEW_PHASE };
+	private static final String[] COMPLETIONS = { ScientificStudy.SUCCESSFUL_COMPLETION,
+			ScientificStudy.FAILED_COMPLETION, ScientificStudy.CANCELED };
+
+	private List<Person> people;
+	private List<Settlement> settlements;
+	private ScientificStudyIndex index;
+
+	@Override
+	public void setUp() throws Exception {
+		SimulationConfig simulationConfig = SimulationConfig.instance();
+		simulationConfig.loadConfig();
+		SettlementConfig settlementConfig = simulationConfig.getSettlementConfiguration();
+		settlementConfig.clearInitialSettlements();
+		settlementConfig.addInitialSettlement("Base A", TEMPLATE, 4, 0, SPONSOR, "0.0 N", "0.0 E");
+		settlementConfig.addInitialSettlement("Base B", TEMPLATE, 4, 0, SPONSOR, "10.0 N", "10.0 E");
+
+		Simulation sim = Simulation.instance();
+		sim.createNewSimulation(-1, false);
+
+		settlements = new ArrayList<>(sim.getUnitManager().getSettlements());
+		people = new ArrayList<>();
+		for (Settlement s : settlements)
+			people.addAll(s.getAllAssociatedPeople());
+		assertEquals(2, settlements.size());
+
+		index = new ScientificStudyIndex();
+	}
+
+	/**
+	 * Test that a new study is filed under its proposal phase, primary
+	 * researcher, settlement and science.
+	 */
+	public void testAdd() {
+		Person researcher = people.get(0);
+		ScientificStudy study = new ScientificStudy(researcher, ScienceType.BOTANY, 1);
+		index.add(study);
+		index.add(study);
+
+		assertEquals(1, index.getOngoingStudies().size());
+		assertEquals(1, index.getStudies(ScientificStudy.PROPOSAL_PHASE).size());
+		assertEquals(1, index.getPrimaryStudies(researcher.getIdentifier(), false).size());
+		assertTrue(index.getPrimaryStudies(researcher.getIdentifier(), true).isEmpty());
+		int settlementID = researcher.getAssociatedSettlement().getIdentifier();
+		assertEquals(1, index.getSettlementStudies(settlementID, null, s -> true).size());
+		assertEquals(1, index.getSettlementStudies(settlementID, ScienceType.BOTANY, s -> true).size());
+		assertTrue(index.getSettlementStudies(settlementID, ScienceType.CHEMISTRY, s -> true).isEmpty());
+	}
+
+	/**
+	 * Test that a phase change moves a study to the bucket of its new phase.
+	 */
+	public void testPhaseChange() {
+		ScientificStudy study = new ScientificStudy(people.get(0), ScienceType.BOTANY, 1);
+		index.add(study);
+
+		study.setPhase(ScientificStudy.RESEARCH_PHASE);
+		assertTrue(index.getStudies(ScientificStudy.PROPOSAL_PHASE).isEmpty());
+		assertEquals(1, index.getStudies(ScientificStudy.RESEARCH_PHASE).size());
+		assertEquals(1, index.getOngoingStudies().size());
+	}
+
+	/**
+	 * Test that a completed study leaves the ongoing studies and its phase and
+	 * is filed under its completion state.
+	 */
+	public void testCompletion() {
+		Person researcher = people.get(0);
+		ScientificStudy study = new ScientificStudy(researcher, ScienceType.BOTANY, 1);
+		index.add(study);
+		study.setPhase(ScientificStudy.PEER_REVIEW_PHASE);
+
+		study.setCompleted(ScientificStudy.FAILED_COMPLETION);
+		assertTrue(index.getOngoingStudies().isEmpty());
+		assertTrue(index.getStudies(ScientificStudy.PEER_REVIEW_PHASE).isEmpty());
+		assertEquals(1, index.getStudies(ScientificStudy.FAILED_COMPLETION).size());
+		assertTrue(index.getPrimaryStudies(researcher.getIdentifier(), false).isEmpty());
+		assertEquals(1, index.getPrimaryStudies(researcher.getIdentifier(), true).size());
+	}
+
+	/**
+	 * Test that the collaborators are filed as they join and leave a study,
+	 * including those who joined before the study was indexed.
+	 */
+	public void testCollaborators() {
+		Person collaborator1 = people.get(1);
+		Person collaborator2 = people.get(2);
+		ScientificStudy study = new ScientificStudy(people.get(0), ScienceType.BOTANY, 1);
+		study.addCollaborativeResearcher(collaborator1, ScienceType.CHEMISTRY);
+		index.add(study);
+		assertEquals(1, index.getCollaborativeStudies(collaborator1.getIdentifier(), false).size());
+		assertTrue(index.getCollaborativeStudies(collaborator2.getIdentifier(), false).isEmpty());
+
+		study.addCollaborativeResearcher(collaborator2, ScienceType.CHEMISTRY);
+		assertEquals(1, index.getCollaborativeStudies(collaborator2.getIdentifier(), false).size());
+
+		study.removeCollaborativeResearcher(collaborator1);
+		assertTrue(index.getCollaborativeStudies(collaborator1.getIdentifier(), false).isEmpty());
+
+		study.setCompleted(ScientificStudy.SUCCESSFUL_COMPLETION);
+		assertTrue(index.getCollaborativeStudies(collaborator2.getIdentifier(), false).isEmpty());
+		assertEquals(1, index.getCollaborativeStudies(collaborator2.getIdentifier(), true).size());
+	}
+
+	/**
+	 * Test that the events of a study that is not indexed, or no longer, are
+	 * ignored.
+	 */
+	public void testNotIndexed() {
+		ScientificStudy study = new ScientificStudy(people.get(0), ScienceType.BOTANY, 1);
+		index.add(study);
+		index.clear();
+
+		study.setPhase(ScientificStudy.RESEARCH_PHASE);
+		study.addCollaborativeResearcher(people.get(1), ScienceType.CHEMISTRY);
+		assertTrue(index.getOngoingStudies().isEmpty());
+		assertTrue(index.getStudies(ScientificStudy.RESEARCH_PHASE).isEmpty());
+		assertTrue(index.getCollaborativeStudies(people.get(1).getIdentifier(), false).isEmpty());
+	}
+
+	/**
+	 * Test that every lookup matches a scan of the studies through random phase
+	 * changes, completions and changes of collaborators.
+	 */
+	public void testRandomChanges() {
+		Random random = new Random(SEED);
+		ScienceType[] sciences = ScienceType.values();
+		List<ScientificStudy> studies = new ArrayList<>();
+		for (int i = 0; i < NUM_STUDIES; i++) {
+			ScientificStudy study = new ScientificStudy(people.get(random.nextInt(people.size())),
+					sciences[random.nextInt(sciences.length)], 1);
+			studies.add(study);
+			index.add(study);
+		}
+
+		for (int i = 0; i < NUM_CHANGES; i++) {
+			ScientificStudy study = studies.get(random.nextInt(studies.size()));
+			Person person = people.get(random.nextInt(people.size()));
+			switch (random.nextInt(4)) {
+			case 0:
+				if (!study.isCompleted())
+					study.setPhase(PHASES[random.nextInt(PHASES.length)]);
+				break;
+			case 1:
+				if (random.nextInt(10) == 0)
+					study.setCompleted(COMPLETIONS[random.nextInt(COMPLETIONS.length)]);
+				break;
+			case 2:
+				if (person.getIdentifier() != study.getPrimaryResearcherID())
+					study.addCollaborativeResearcher(person, sciences[random.nextInt(sciences.length)]);
+				break;
+			default:
+				if (study.getCollaborativeResearchers().containsKey(person.getIdentifier()))
+					study.removeCollaborativeResearcher(person);
+				break;
+			}
+
+			if (i % 100 == 99)
+				assertMatchesScan(studies);
+		}
+		assertMatchesScan(studies);
+	}
+
+	/**
+	 * Compares every lookup of the index with a scan of the studies.
+	 */
+	private void assertMatchesScan(List<ScientificStudy> studies) {
+		List<ScientificStudy> ongoing = new ArrayList<>();
+		for (ScientificStudy s : studies) {
+			if (!s.isCompleted())
+				ongoing.add(s);
+		}
+		assertEquals(ongoing, index.getOngoingStudies());
+
+		for (String phase : PHASES)
+			assertSameStudies(studies, index.getStudies(phase), s -> !s.isCompleted() && s.getPhase().equals(phase));
+		for (String state : COMPLETIONS)
+			assertSameStudies(studies, index.getStudies(state), s -> state.equals(s.getCompletionState()));
+
+		for (Person p : people) {
+			int id = p.getIdentifier();
+			for (boolean completed : new boolean[] { false, true }) {
+				assertSameStudies(studies, index.getPrimaryStudies(id, completed),
+						s -> s.getPrimaryResearcherID() == id && s.isCompleted() == completed);
+				assertSameStudies(studies, index.getCollaborativeStudies(id, completed),
+						s -> s.getCollaborativeResearchers().containsKey(id) && s.isCompleted() == completed);
+			}
+		}
+
+		for (Settlement settlement : settlements) {
+			int id = settlement.getIdentifier();
+			assertSameStudies(studies, index.getSettlementStudies(id, null, s -> !s.isCompleted()),
+					s -> s.getPrimarySettlementID() == id && !s.isCompleted());
+			for (ScienceType science : ScienceType.values()) {
+				assertSameStudies(studies, index.getSettlementStudies(id, science, s -> true),
+						s -> s.getPrimarySettlementID() == id && s.getScience() == science);
+			}
+		}
+	}
+
+	private static void assertSameStudies(List<ScientificStudy> studies, List<ScientificStudy> actual,
+			Predicate<ScientificStudy> filter) {
+		List<ScientificStudy> expected = new ArrayList<>();
+		for (ScientificStudy s : studies) {
+			if (filter.test(s))
+				expected.add(s);
+		}
+		assertEquals(expected.size(), actual.size());
+		assertEquals(new HashSet<>(expected), new HashSet<>(actual));
+	}
+}
@@ -241,5 +241,9 @@ public class BuildingConnectorManagerTest extends TestCase {
         assertEquals(-10D, path3.getNextPathLocation().getXLocation(), SMALL_DELTA);
         assertEquals(1D, path3.getNextPathLocation().getYLocation(), SMALL_DELTA);
         assertTrue(path3.isEndOfPath());
+
+        assertTrue(manager.hasValidPath(building0, building1));
+        assertTrue(manager.hasValidPath(building1, building0));
+        assertTrue(manager.hasValidPath(building2, building2));
     }
 }
\ No newline at end of file
@@ -0,0 +1,135 @@
+package org.mars_sim.msp.core.structure.building.connection;
+
+import java.util.List;
+import java.util.Random;
+
+import org.mars_sim.msp.core.Simulation;
+import org.mars_sim.msp.core.SimulationConfig;
+import org.mars_sim.msp.core.structure.Settlement;
+import org.mars_sim.msp.core.structure.SettlementConfig;
+import org.mars_sim.msp.core.structure.SettlementTemplate;
+import org.mars_sim.msp.core.structure.building.Building;
+
+import junit.framework.TestCase;
+
+/**
+ * Compares the paths found with the routing table against the exhaustive
+ * search that it replaced.
+ */
+public class BuildingRoutingTableTest extends TestCase {
+
+    private static final double SMALL_DELTA = .0000001D;
+    private static final String SPONSOR = "Mars Society (MS)";
+
+    /**
+     * Test the routing table on the buildings of every stock settlement template.
+     */
+    public void testStockTemplatesMatchExhaustiveSearch() {
+        SimulationConfig simulationConfig = SimulationConfig.instance();
+        simulationConfig.loadConfig();
+        SettlementConfig settlementConfig = simulationConfig.getSettlementConfiguration();
+        List<SettlementTemplate> templates = settlementConfig.getSettlementTemplates();
+        assertFalse(templates.isEmpty());
+
+        settlementConfig.clearInitialSettlements();
+        for (int i = 0; i < templates.size(); i++) {
+            settlementConfig.addInitialSettlement("Base " + i, templates.get(i).getTemplateName(), 0, 0, SPONSOR,
+                    (i * 5) + ".0 N", (i * 10) + ".0 E");
+        }
+        Simulation.instance().createNewSimulation(-1, false);
+
+        Random random = new Random(20200220L);
+        int paths = 0;
+        for (Settlement settlement : Simulation.instance().getUnitManager().getSettlements()) {
+            BuildingConnectorManager manager = settlement.getBuildingConnectorManager();
+            List<Building> buildings = settlement.getBuildingManager().getBuildings();
+            for (Building building1 : buildings) {
+                for (Building building2 : buildings) {
+                    if (building1 == building2) {
+                        continue;
+                    }
+
+                    double x1 = building1.getXLocation() + random.nextDouble() - .5D;
+                    double y1 = building1.getYLocation() + random.nextDouble() - .5D;
+                    double x2 = building2.getXLocation() + random.nextDouble() - .5D;
+                    double y2 = building2.getYLocation() + random.nextDouble() - .5D;
+
+                    InsideBuildingPath expected = search(manager, building1, x1, y1, building2, x2, y2);
+                    InsideBuildingPath actual = manager.determineShortestPath(building1, x1, y1, building2, x2, y2);
+
+                    String route = settlement.getName() + " : " + building1.getNickName() + " -> "
+                            + building2.getNickName();
+                    assertEquals(route, expected != null, actual != null);
+                    assertEquals(route, expected != null, manager.hasValidPath(building1, building2));
+                    if (expected != null) {
+                        assertEquals(route, expected.getPathLength(), actual.getPathLength(), SMALL_DELTA);
+                        paths++;
+                    }
+                }
+            }
+        }
+
+        assertTrue(paths > 0);
+    }
+
+    /**
+     * The exhaustive search used before the routing table.
+     */
+    private static InsideBuildingPath search(BuildingConnectorManager manager, Building building1, double x1,
+            double y1, Building building2, double x2, double y2) {
+        InsideBuildingPath startingPath = new InsideBuildingPath();
+        startingPath.addPathLocation(new BuildingLocation(building1, x1, y1));
+        return search(manager, startingPath, building1, building2, new BuildingLocation(building2, x2, y2));
+    }
+
+    private static InsideBuildingPath search(BuildingConnectorManager manager, InsideBuildingPath existingPath,
+            Building currentBuilding, Building targetBuilding, BuildingLocation endingLocation) {
+
+        InsideBuildingPath result = null;
+
+        for (BuildingConnector connector : manager.getConnectionsToBuilding(currentBuilding)) {
+            Building connectionBuilding = null;
+            Hatch nearHatch = null;
+            Hatch farHatch = null;
+            if (connector.getBuilding1().equals(currentBuilding)) {
+                connectionBuilding = connector.getBuilding2();
+                nearHatch = connector.getHatch1();
+                farHatch = connector.getHatch2();
+            } else {
+                connectionBuilding = connector.getBuilding1();
+                nearHatch = connector.getHatch2();
+                farHatch = connector.getHatch1();
+            }
+
+            // Make sure building or connection is not already in existing path.
+            if (existingPath.containsPathLocation(connectionBuilding) || existingPath.containsPathLocation(connector)
+                    || existingPath.containsPathLocation(nearHatch) || existingPath.containsPathLocation(farHatch)) {
+                continue;
+            }
+
+            InsideBuildingPath newPath = (InsideBuildingPath) existingPath.clone();
+            if (connector.isSplitConnection()) {
+                newPath.addPathLocation(nearHatch);
+                newPath.addPathLocation(connector);
+                newPath.addPathLocation(farHatch);
+            } else {
+                newPath.addPathLocation(connector);
+            }
+
+            InsideBuildingPath bestPath = null;
+            if (connectionBuilding.equals(targetBuilding)) {
+                newPath.addPathLocation(endingLocation);
+                bestPath = newPath;
+            } else {
+                newPath.addPathLocation(connectionBuilding);
+                bestPath = search(manager, newPath, connectionBuilding, targetBuilding, endingLocation);
+            }
+
+            if ((bestPath != null) && ((result == null) || (bestPath.getPathLength() < result.getPathLength()))) {
+                result = bestPath;
+            }
+        }
+
+        return result;
+    }
+}
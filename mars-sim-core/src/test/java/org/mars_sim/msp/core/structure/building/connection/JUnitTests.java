@@ -47,6 +47,7 @@ public class JUnitTests extends TestCase {
         // Add test suites.
         suite.addTestSuite(BuildingConnectorManagerTest.class);
         suite.addTestSuite(BuildingConnectorTest.class);
+        suite.addTestSuite(BuildingRoutingTableTest.class);
         suite.addTestSuite(HatchTest.class);
         suite.addTestSuite(InsideBuildingPathTest.class);
         
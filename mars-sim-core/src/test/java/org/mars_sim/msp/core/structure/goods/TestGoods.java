@@ -3,6 +3,8 @@ package org.mars_sim.msp.core.structure.goods;
 import java.util.List;
 
 import org.mars_sim.msp.core.SimulationConfig;
+import org.mars_sim.msp.core.manufacture.ManufactureProcessInfo;
+import org.mars_sim.msp.core.manufacture.ManufactureUtil;
 import org.mars_sim.msp.core.resource.ItemResource;
 import org.mars_sim.msp.core.resource.ItemResourceUtil;
 import org.mars_sim.msp.core.resource.Part;
@@ -29,6 +31,18 @@ public class TestGoods extends TestCase {
     public void testCreateItem() {
     	Part microlens = ItemResourceUtil.createItemResource("microlens", 1102, "a test lense", 0.05D, 1);
     }
+
+    public void testManufactureProcessesWithInput() {
+    	for (ManufactureProcessInfo process : ManufactureUtil.getAllManufactureProcesses()) {
+    		for (String name : process.getInputNames()) {
+    			List<ManufactureProcessInfo> consumers = GoodsGraph.getManufactureProcessesWithInput(name);
+    			assertTrue(consumers.contains(process));
+    			for (ManufactureProcessInfo consumer : consumers) {
+    				assertTrue(ManufactureUtil.getManufactureProcessesWithGivenInput(name).contains(consumer));
+    			}
+    		}
+    	}
+    }
     
 //    public void testGoodsListNotNull() {
 //        assertNotNull(goodsList);
@@ -0,0 +1,162 @@
+package org.mars_sim.msp.core.structure.goods;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.mars_sim.msp.core.Simulation;
+import org.mars_sim.msp.core.SimulationConfig;
+import org.mars_sim.msp.core.malfunction.Malfunction;
+import org.mars_sim.msp.core.malfunction.MalfunctionConfig;
+import org.mars_sim.msp.core.malfunction.MalfunctionManager;
+import org.mars_sim.msp.core.resource.ResourceUtil;
+import org.mars_sim.msp.core.structure.Settlement;
+import org.mars_sim.msp.core.structure.SettlementConfig;
+import org.mars_sim.msp.core.structure.building.Building;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit test suite for the dirty goods of the GoodsManager. The goods revalued
+ * by an update are recorded to check that only the goods touched by a change
+ * and their upstream goods are revalued.
+ */
+public class TestGoodsManager extends TestCase {
+
+	private static final String TEMPLATE = "Mars Direct Base (Phase 1)";
+	private static final String SPONSOR = "Mars Society (MS)";
+	private static final int MAX_SETTLING_UPDATES = 5;
+	private static final int MAX_MALFUNCTION_TRIES = 100;
+
+	private Settlement settlement;
+	private RecordingGoodsManager manager;
+
+	@Override
+	public void setUp() throws Exception {
+		SimulationConfig simulationConfig = SimulationConfig.instance();
+		simulationConfig.loadConfig();
+		SettlementConfig settlementConfig = simulationConfig.getSettlementConfiguration();
+		settlementConfig.clearInitialSettlements();
+		settlementConfig.addInitialSettlement("Base A", TEMPLATE, 4, 0, SPONSOR, "0.0 N", "0.0 E");
+
+		Simulation sim = Simulation.instance();
+		sim.createNewSimulation(-1, false);
+		settlement = sim.getUnitManager().getSettlements().iterator().next();
+
+		manager = new RecordingGoodsManager(settlement);
+		// The first update revalues every good
+		manager.updateGoodsValues();
+		assertFalse(manager.revalued.isEmpty());
+
+		// Let the goods whose inputs were revalued first settle
+		boolean settled = false;
+		for (int i = 0; i < MAX_SETTLING_UPDATES && !settled; i++) {
+			manager.revalued.clear();
+			manager.updateGoodsValues();
+			settled = manager.revalued.isEmpty();
+		}
+		assertTrue(settled);
+	}
+
+	/**
+	 * Test that an update without any change revalues no good.
+	 */
+	public void testNoChange() {
+		manager.updateGoodsValues();
+		assertTrue(manager.revalued.isEmpty());
+	}
+
+	/**
+	 * Test that a changed amount of a resource only revalues that good and its
+	 * upstream goods.
+	 */
+	public void testInventoryChange() {
+		int id = ResourceUtil.waterID;
+		settlement.getInventory().storeAmountResource(id, 1D, true);
+		manager.updateGoodsValues();
+
+		assertTrue(manager.revalued.contains(id));
+		assertRevaluedWithin(getUpstreamClosure(Collections.singleton(id)));
+	}
+
+	/**
+	 * Test that a malfunction of a building revalues its repair parts and their
+	 * upstream goods only.
+	 */
+	public void testMalfunction() {
+		Building building = settlement.getBuildingManager().getBuildings().get(0);
+		MalfunctionManager malfunctionManager = building.getMalfunctionManager();
+		Malfunction malfunction = getMalfunction(malfunctionManager.getScopes());
+		Set<Integer> parts = malfunction.getRepairParts().keySet();
+
+		malfunctionManager.addMalfunction(malfunction, false, null);
+		manager.updateGoodsValues();
+
+		for (int part : parts) {
+			if (GoodsUtil.getResourceGood(part) != null)
+				assertTrue(manager.revalued.contains(part));
+		}
+		assertRevaluedWithin(getUpstreamClosure(new HashSet<>(parts)));
+	}
+
+	/**
+	 * Gets a malfunction of the given scopes that needs repair parts.
+	 */
+	private static Malfunction getMalfunction(Collection<String> scopes) {
+		for (int i = 0; i < MAX_MALFUNCTION_TRIES; i++) {
+			for (Malfunction m : MalfunctionConfig.getMalfunctionList()) {
+				if (m.isMatched(scopes)) {
+					Malfunction clone = Simulation.instance().getMalfunctionFactory().determineRepairParts(m);
+					if (!clone.getRepairParts().isEmpty())
+						return clone;
+				}
+			}
+		}
+		fail("No malfunction with repair parts for " + scopes);
+		return null;
+	}
+
+	private void assertRevaluedWithin(Set<Integer> expected) {
+		for (int id : manager.revalued)
+			assertTrue("Good " + id + " is not upstream of the change", expected.contains(id));
+	}
+
+	/**
+	 * Gets the given goods and all the goods upstream of them.
+	 */
+	private static Set<Integer> getUpstreamClosure(Set<Integer> ids) {
+		Set<Integer> result = new HashSet<>(ids);
+		Deque<Integer> pending = new ArrayDeque<>(ids);
+		while (!pending.isEmpty()) {
+			for (int input : GoodsGraph.getUpstreamGoods(pending.pop())) {
+				if (result.add(input))
+					pending.push(input);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * A goods manager recording the goods revalued by the updates.
+	 */
+	private static class RecordingGoodsManager extends GoodsManager {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Set<Integer> revalued = new HashSet<>();
+
+		RecordingGoodsManager(Settlement settlement) {
+			super(settlement);
+		}
+
+		@Override
+		public void updateGoodValue(Good good, boolean collectiveUpdate) {
+			if (collectiveUpdate)
+				revalued.add(good.getID());
+			super.updateGoodValue(good, collectiveUpdate);
+		}
+	}
+}
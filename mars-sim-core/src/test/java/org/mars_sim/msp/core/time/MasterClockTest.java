@@ -0,0 +1,74 @@
+package org.mars_sim.msp.core.time;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.mars_sim.msp.core.Simulation;
+import org.mars_sim.msp.core.SimulationConfig;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit test suite for the pulse pipeline of the MasterClock.
+ */
+public class MasterClockTest extends TestCase {
+
+	private static final int NUM_PULSES = 1000;
+	private static final double PULSE = 3D;
+	private static final double SMALL_DELTA = .0001D;
+
+	private MasterClock masterClock;
+
+	@Override
+	public void setUp() throws Exception {
+		SimulationConfig.instance().loadConfig();
+		Simulation.instance().testRun();
+		masterClock = Simulation.instance().getMasterClock();
+		masterClock.startClockListenerExecutor();
+		// The sim stage, which skips the pulses until the simulation is initialized
+		masterClock.addClockListenerTask(Simulation.instance());
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		masterClock.endClockListenerExecutor();
+	}
+
+	/**
+	 * Test that flooding the clock while the sim stage is stalled keeps the
+	 * pulse queue bounded and stretches the clock by the time left out.
+	 */
+	public void testFloodBounded() throws Exception {
+		ExecutorService executor = masterClock.getClockListenerExecutor();
+		CountDownLatch release = new CountDownLatch(1);
+		executor.execute(() -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+
+		MarsClock marsClock = masterClock.getMarsClock();
+		MarsClock start = (MarsClock) marsClock.clone();
+		double added = 0;
+		for (int i = 0; i < NUM_PULSES; i++) {
+			added += masterClock.addClockPulse(PULSE);
+			assertTrue(masterClock.getPulseQueueDepth() <= MasterClock.MAX_QUEUED_PULSES);
+		}
+
+		// The queue is full and only holds what the clock was moved by
+		assertEquals(MasterClock.MAX_QUEUED_PULSES, masterClock.getPulseQueueDepth());
+		assertTrue(added <= MasterClock.MAX_QUEUED_PULSES * MasterClock.MAX_PULSE);
+		assertEquals(NUM_PULSES * PULSE - added, masterClock.getStretchedMillisols(), SMALL_DELTA);
+		assertEquals(added, MarsClock.getTimeDiff(marsClock, start), SMALL_DELTA);
+		assertTrue(masterClock.getMergedPulses() > 0);
+
+		// Once the sim stage catches up, the pulses are taken in full again
+		release.countDown();
+		executor.submit(() -> null).get(10, TimeUnit.SECONDS);
+		assertEquals(0, masterClock.getPulseQueueDepth());
+		assertEquals(PULSE, masterClock.addClockPulse(PULSE), SMALL_DELTA);
+	}
+}
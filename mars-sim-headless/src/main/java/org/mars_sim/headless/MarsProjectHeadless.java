@@ -61,6 +61,13 @@ public class MarsProjectHeadless {
 	
 	private String sponsorString;
 	
+	/** True if the clock runs in batch mode. */
+	private boolean batchMode = false;
+	/** The fixed pulse of the batch mode [in millisols]. */
+	private double batchStep = 1D;
+	/** The sol at which the batch mode stops. */
+	private int batchUntilSol = 0;
+	
 	private static final String HELP = 
 
 	 "java -jar mars-sim-[$VERSION].jar" + System.lineSeparator()
@@ -88,7 +95,12 @@ public class MarsProjectHeadless {
 	 +"                            folder as the jarfile)" + System.lineSeparator()
 	 +"    noaudio         disable background music and sound effect" + System.lineSeparator()
 	 +"    512x            set time ratio to 512x (for headless edition only)" + System.lineSeparator()		
-	 +"    1024x           set time ratio to 1024x (for headless edition only)" + System.lineSeparator();                   		
+	 +"    1024x           set time ratio to 1024x (for headless edition only)" + System.lineSeparator()
+	 +"    parallel        tick each settlement as a work unit on all CPU threads" + System.lineSeparator()
+	 +"    seed:123        use a fixed random seed to make a run reproducible" + System.lineSeparator()
+	 +"    batch           run fixed-length pulses as fast as possible (for headless edition only)" + System.lineSeparator()
+	 +"    step:0.5        set the fixed pulse of the batch mode to 0.5 millisols (1.0 by default)" + System.lineSeparator()
+	 +"    until:30        save and exit once the batch mode reaches sol 30" + System.lineSeparator();                   		
 
 	 
 	/**
@@ -165,6 +177,25 @@ public class MarsProjectHeadless {
 		else if (argList.contains("-8192x"))
 			userTimeRatio = 8192;
 
+		if (argList.contains("-parallel"))
+			UnitManager.setParallelTick(true);
+		
+		if (argList.contains("-batch"))
+			batchMode = true;
+		
+		for (String arg: argList) {
+			try {
+				if (arg.startsWith("-seed:"))
+					RandomUtil.setSeed(Long.parseLong(arg.substring(arg.indexOf(":") + 1)));
+				else if (arg.startsWith("-step:"))
+					batchStep = Double.parseDouble(arg.substring(arg.indexOf(":") + 1));
+				else if (arg.startsWith("-until:"))
+					batchUntilSol = Integer.parseInt(arg.substring(arg.indexOf(":") + 1));
+			} catch (NumberFormatException e) {
+				logger.warning("Invalid number in " + arg);
+			}
+		}
+
 		if (argList.contains("-help")) {
 			System.out.println(HELP);
 			System.exit(1);
@@ -557,6 +588,8 @@ public class MarsProjectHeadless {
 	
 		public void run() {
 //			logger.config("StartTask's run() is on " + Thread.currentThread().getName());
+			if (batchMode)
+				sim.getMasterClock().setBatchMode(batchStep, batchUntilSol, batchUntilSol > 0);
 			sim.startClock(autosaveDefault);
 			// Load the menu choice
 //			InteractiveTerm.loadTerminalMenu();
@@ -249,6 +249,23 @@ public class MarsProjectHeadlessStarter {
 			command.append(" -8192x");
 		}
 		
+		// Check for the parallel tick switch
+		if (argList.contains("parallel") || argList.contains("-parallel"))
+			command.append(" -parallel");
+		
+		// Check for the batch mode switch
+		if (argList.contains("batch") || argList.contains("-batch"))
+			command.append(" -batch");
+		
+		// Check for a fixed random seed and the batch mode parameters
+		for (String s: argList) {
+			for (String key: new String[] {"seed:", "step:", "until:"}) {
+				if (StringUtils.containsIgnoreCase(s, key)) {
+					command.append(" -" + s.substring(s.toLowerCase().indexOf(key)));
+				}
+			}
+		}
+		
 		String commandStr = command.toString();
 		System.out.println("Command: " + commandStr);
 
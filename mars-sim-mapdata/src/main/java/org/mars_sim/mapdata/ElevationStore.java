@@ -0,0 +1,347 @@
+/**
+ * Mars Simulation Project
+ * ElevationStore.java
+ * @version 3.1.1 2026-10-18
+ * @author agent
+ */
+
+package org.mars_sim.mapdata;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A read-only store of a MOLA elevation grid in meters. The grid is decoded once
+ * into a file of square tiles of 16-bit samples under the user's mars-sim
+ * directory. That file is memory-mapped, so only the tiles that are looked up
+ * are paged in, and it is reused by the next runs as long as the length and
+ * the modification time of the grid resource are the same, without reading the
+ * grid again. The lookups are thread-safe and do not allocate.
+ */
+public final class ElevationStore {
+
+	/** default logger. */
+	private static Logger logger = Logger.getLogger(ElevationStore.class.getName());
+
+	/** The directory holding the tiled elevation files. */
+	private static final String CACHE_DIR = System.getProperty("user.home") + File.separator + ".mars-sim"
+			+ File.separator + "cache";
+	private static final String FILE_EXTENSION = ".tiles";
+
+	/** The magic number at the start of a tiled elevation file. */
+	private static final int MAGIC = 0x4D4F4C41;
+	/** The size of the file header (in bytes). */
+	static final int HEADER_SIZE = 32;
+	/** The width and height of a tile (in samples). */
+	private static final int TILE_SIZE = 90;
+	/** The number of bytes of a sample. */
+	private static final int SAMPLE_SIZE = 2;
+
+	private static final double PI = Math.PI;
+	private static final double TWO_PI = Math.PI * 2D;
+
+	// Data members.
+	/** The number of rows of the grid, from the north pole to the south pole. */
+	private final int height;
+	/** The number of columns of the grid, eastward from longitude 0. */
+	private final int width;
+	/** The number of tiles across the grid. */
+	private final int tilesAcross;
+	/** The tiles, row by row, each holding its samples row by row. */
+	private final ByteBuffer tiles;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param resource the class path resource of the grid, as big-endian 16-bit
+	 *                 samples row by row.
+	 * @param height   the number of rows of the grid.
+	 * @param width    the number of columns of the grid.
+	 */
+	public ElevationStore(String resource, int height, int width) {
+		this(new File(CACHE_DIR), resource, height, width);
+	}
+
+	/**
+	 * Constructor with the directory of the tiled files.
+	 *
+	 * @param directory the directory holding the tiled files.
+	 * @param resource  the class path resource of the grid.
+	 * @param height    the number of rows of the grid.
+	 * @param width     the number of columns of the grid.
+	 */
+	ElevationStore(File directory, String resource, int height, int width) {
+		this.height = height;
+		this.width = width;
+		tilesAcross = (width + TILE_SIZE - 1) / TILE_SIZE;
+		tiles = openTiles(directory, resource);
+	}
+
+	/**
+	 * Maps the tiled file of the grid, creating it first if needed. The file is
+	 * keyed on the name, the length and the modification time of the resource, so
+	 * that the grid is only read when it has changed or was never decoded.
+	 *
+	 * @param directory the directory holding the tiled files.
+	 * @param resource  the class path resource of the grid.
+	 * @return the tiles.
+	 */
+	private ByteBuffer openTiles(File directory, String resource) {
+		URL url = ElevationStore.class.getResource(resource);
+		long length = -1;
+		long modified = 0;
+		if (url != null) {
+			try {
+				URLConnection connection = url.openConnection();
+				length = connection.getContentLengthLong();
+				modified = connection.getLastModified();
+			} catch (IOException e) {
+				logger.log(Level.WARNING, "Cannot look up the elevation data " + resource, e);
+			}
+		}
+
+		String name = new File(resource).getName();
+		int dot = name.lastIndexOf('.');
+		if (dot > 0)
+			name = name.substring(0, dot);
+		File file = new File(directory, name + "-" + height + "x" + width + "-" + Long.toHexString(length) + "-"
+				+ Long.toHexString(modified) + FILE_EXTENSION);
+
+		// An unknown length cannot tell a changed grid apart.
+		if (length >= 0) {
+			try {
+				ByteBuffer result = mapTiles(file, length, modified);
+				if (result != null)
+					return result;
+			} catch (IOException e) {
+				logger.log(Level.WARNING, "Cannot read the elevation tiles " + file + ". They are decoded again.", e);
+			}
+		}
+
+		byte[] source = readSource(url);
+		if (source == null) {
+			logger.log(Level.SEVERE, "Cannot read the elevation data " + resource + ". The elevation is taken as 0.");
+			return ByteBuffer.allocate((int) getFileSize() - HEADER_SIZE).asReadOnlyBuffer();
+		}
+
+		ByteBuffer decoded = decodeTiles(source, length, modified);
+		if (length >= 0) {
+			try {
+				writeTiles(file, decoded);
+				ByteBuffer result = mapTiles(file, length, modified);
+				if (result != null)
+					return result;
+			} catch (IOException e) {
+				logger.log(Level.WARNING, "Cannot write the elevation tiles " + file + ". They are kept in memory.", e);
+			}
+		}
+
+		decoded.position(HEADER_SIZE);
+		return decoded.slice().asReadOnlyBuffer();
+	}
+
+	/**
+	 * Gets the size of a tiled file of the grid, header included.
+	 *
+	 * @return size (in bytes).
+	 */
+	private long getFileSize() {
+		int tilesDown = (height + TILE_SIZE - 1) / TILE_SIZE;
+		return HEADER_SIZE + (long) tilesDown * tilesAcross * TILE_SIZE * TILE_SIZE * SAMPLE_SIZE;
+	}
+
+	/**
+	 * Reads the samples of the grid from its resource.
+	 *
+	 * @param url the class path resource of the grid, or null if not found.
+	 * @return the samples, or null if the resource cannot be read.
+	 */
+	private byte[] readSource(URL url) {
+		if (url == null)
+			return null;
+
+		byte[] result = new byte[height * width * SAMPLE_SIZE];
+		try (InputStream stream = url.openStream(); DataInputStream in = new DataInputStream(stream)) {
+			in.readFully(result);
+			return result;
+		} catch (IOException e) {
+			logger.log(Level.SEVERE, "Cannot read the elevation data " + url, e);
+			return null;
+		}
+	}
+
+	/**
+	 * Memory-maps an existing tiled file of the grid.
+	 *
+	 * @param file     the tiled file.
+	 * @param length   the length of the grid resource.
+	 * @param modified the modification time of the grid resource.
+	 * @return the tiles, or null if the file does not exist or does not match the
+	 *         grid.
+	 * @throws IOException if the file cannot be read.
+	 */
+	private ByteBuffer mapTiles(File file, long length, long modified) throws IOException {
+		if (!file.exists() || file.length() != getFileSize())
+			return null;
+
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+			ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != height || mapped.getInt(8) != width
+					|| mapped.getInt(12) != TILE_SIZE || mapped.getLong(16) != length || mapped.getLong(24) != modified)
+				return null;
+
+			// The mapping stays valid once the channel is closed.
+			mapped.position(HEADER_SIZE);
+			return mapped.slice();
+		}
+	}
+
+	/**
+	 * Decodes the samples of the grid into tiles, header included. The samples
+	 * past the edges of the grid are left at zero.
+	 *
+	 * @param source   the samples of the grid, row by row.
+	 * @param length   the length of the grid resource.
+	 * @param modified the modification time of the grid resource.
+	 * @return the header and the tiles.
+	 */
+	private ByteBuffer decodeTiles(byte[] source, long length, long modified) {
+		ByteBuffer result = ByteBuffer.allocate((int) getFileSize());
+		result.putInt(MAGIC).putInt(height).putInt(width).putInt(TILE_SIZE).putLong(length).putLong(modified);
+
+		for (int r = 0; r < height; r++) {
+			for (int c = 0; c < width; c++) {
+				int index = (r * width + c) * SAMPLE_SIZE;
+				int offset = HEADER_SIZE + getOffset(r, c);
+				result.put(offset, source[index]);
+				result.put(offset + 1, source[index + 1]);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Writes the decoded tiles to a file. The file is written under a temporary
+	 * name first so that no other run maps it half written.
+	 *
+	 * @param file    the tiled file.
+	 * @param decoded the header and the tiles.
+	 * @throws IOException if the file cannot be written.
+	 */
+	private void writeTiles(File file, ByteBuffer decoded) throws IOException {
+		File dir = file.getParentFile();
+		if (!dir.exists() && !dir.mkdirs())
+			throw new IOException("Cannot create " + dir);
+
+		File temp = File.createTempFile(file.getName(), null, dir);
+		try {
+			Files.write(temp.toPath(), decoded.array());
+			try {
+				Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(temp.toPath());
+		}
+	}
+
+	/**
+	 * Gets the offset of a sample in the tiles.
+	 *
+	 * @param row    the row, between 0 and the height.
+	 * @param column the column, between 0 and the width.
+	 * @return the offset (in bytes).
+	 */
+	private int getOffset(int row, int column) {
+		int tile = (row / TILE_SIZE) * tilesAcross + (column / TILE_SIZE);
+		return ((tile * TILE_SIZE + (row % TILE_SIZE)) * TILE_SIZE + (column % TILE_SIZE)) * SAMPLE_SIZE;
+	}
+
+	/**
+	 * Gets the number of rows of the grid.
+	 *
+	 * @return height.
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Gets the number of columns of the grid.
+	 *
+	 * @return width.
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Gets the elevation of a sample of the grid. The rows are clamped to the
+	 * poles and the columns wrap around.
+	 *
+	 * @param row    the row.
+	 * @param column the column.
+	 * @return the elevation (in meters).
+	 */
+	public int getElevation(int row, int column) {
+		if (row < 0)
+			row = 0;
+		else if (row >= height)
+			row = height - 1;
+
+		column %= width;
+		if (column < 0)
+			column += width;
+
+		return tiles.getShort(getOffset(row, column));
+	}
+
+	/**
+	 * Gets the elevation of the sample at a given location.
+	 *
+	 * @param phi   the phi location.
+	 * @param theta the theta location.
+	 * @return the elevation (in meters).
+	 */
+	public int getElevation(double phi, double theta) {
+		return getElevation((int) Math.floor(phi * height / PI), (int) Math.floor(theta * width / TWO_PI));
+	}
+
+	/**
+	 * Gets the elevation at a given location, interpolated between the four
+	 * nearest samples.
+	 *
+	 * @param phi   the phi location.
+	 * @param theta the theta location.
+	 * @return the elevation (in meters).
+	 */
+	public double getBilinearElevation(double phi, double theta) {
+		// The samples are at the centers of their cells.
+		double y = (phi * height / PI) - 0.5D;
+		double x = (theta * width / TWO_PI) - 0.5D;
+		double row = Math.floor(y);
+		double column = Math.floor(x);
+		double dy = y - row;
+		double dx = x - column;
+
+		int r = (int) row;
+		int c = (int) column;
+		double top = getElevation(r, c) * (1D - dx) + getElevation(r, c + 1) * dx;
+		double bottom = getElevation(r + 1, c) * (1D - dx) + getElevation(r + 1, c + 1) * dx;
+		return top * (1D - dy) + bottom * dy;
+	}
+}
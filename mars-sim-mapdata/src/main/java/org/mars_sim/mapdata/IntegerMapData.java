@@ -10,13 +10,19 @@ package org.mars_sim.mapdata;
 import java.awt.Color;
 import java.awt.Image;
 import java.awt.Point;
+import java.awt.geom.Point2D;
 import java.awt.image.BufferedImage;
 import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.IntStream;
 
 import javax.imageio.ImageIO;
 
@@ -39,9 +45,30 @@ abstract class IntegerMapData implements MapData {
 	public static final double HALF_MAP_ANGLE = .48587D;
 	public static final double PIXEL_RHO = (double) MAP_HEIGHT / Math.PI;
 	private static final double TWO_PI = Math.PI * 2D;
+	/** The number of recently rendered map images kept. */
+	private static final int IMAGE_CACHE_SIZE = 16;
+
+	/** The view coordinates of the pixels of the map images. */
+	private static final double[] VIEW_X = new double[IMAGE_WIDTH * IMAGE_HEIGHT];
+	private static final double[] VIEW_Y = new double[IMAGE_WIDTH * IMAGE_HEIGHT];
+	private static final double[] VIEW_DEPTH = new double[IMAGE_WIDTH * IMAGE_HEIGHT];
+
+	static {
+		computeView(VIEW_X, VIEW_Y, VIEW_DEPTH);
+	}
 
 	// Data members.
 	private int[][] pixels = null;
+	/** The recently rendered map images, keyed by their center, least recently used first. */
+	private Map<Point2D, BufferedImage> imageCache = Collections.synchronizedMap(
+			new LinkedHashMap<Point2D, BufferedImage>(IMAGE_CACHE_SIZE, 0.75F, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Point2D, BufferedImage> eldest) {
+					return size() > IMAGE_CACHE_SIZE;
+				}
+			});
 	
 	/**
 	 * Constructor
@@ -59,6 +86,15 @@ abstract class IntegerMapData implements MapData {
 		}
 	}
 
+	/**
+	 * Constructor with the map data already loaded.
+	 * 
+	 * @param pixels the RGB map colors, row by row.
+	 */
+	IntegerMapData(int[][] pixels) {
+		this.pixels = pixels;
+	}
+
 	private int[][] loadMapData(String imageURL) throws IOException {
 
 		URL imageMapURL = IntegerMapData.class.getResource(imageURL);
@@ -203,103 +239,92 @@ abstract class IntegerMapData implements MapData {
 	@Override
 	public Image getMapImage(double centerPhi, double centerTheta) {
 
-		// Create a new buffered image to draw the map on.
-		BufferedImage result = new BufferedImage(IMAGE_WIDTH, IMAGE_HEIGHT, BufferedImage.TYPE_4BYTE_ABGR);//BufferedImage.TYPE_INT_ARGB);
-
-		// The map data is PI offset from the center theta.
-		double correctedTheta = centerTheta - Math.PI;
-		while (correctedTheta < 0D)
-			correctedTheta += TWO_PI;
-		while (correctedTheta > TWO_PI)
-			correctedTheta -= TWO_PI;
-
-		// Create an array of int RGB color values to create the map image from.
-		int[] mapArray = new int[IMAGE_WIDTH * IMAGE_HEIGHT];
-
-		// Determine phi iteration angle.
-		double phiIterationPadding = 1.26D; // Derived from testing.
-		double phiIterationAngle = Math.PI / (MAP_HEIGHT / MAP_RATIO * phiIterationPadding);
-
-		// Determine phi range.
-		double phiPadding = 1.46D; // Derived from testing.
-		double phiRange = Math.PI * phiPadding * IMAGE_HEIGHT / MAP_HEIGHT * MAP_RATIO;
-
-		// Determine starting and ending phi values.
-		double startPhi = centerPhi - (phiRange / 2D);
-		if (startPhi < 0D)
-			startPhi = 0D;
-		double endPhi = centerPhi + (phiRange / 2D);
-		if (endPhi > Math.PI)
-			endPhi = Math.PI;
-
-		double ratio = TWO_PI * IMAGE_WIDTH / MAP_WIDTH * MAP_RATIO;
-		// Note : Polar cap phi values must display 2 PI theta range. 
-		// (derived from testing)
-		double polarCapRange = Math.PI / 6.54D; 
-		// Determine theta iteration angle.
-		double thetaIterationPadding = 1.46D; // Derived from testing.
-		// Theta padding, derived from testing.
-		double minThetaPadding = 1.02D; 
-		// Determine theta range.
-		double minThetaDisplay = ratio * minThetaPadding;
-		
-		// Loop through each phi value.
-		for (double x = startPhi; x <= endPhi; x += phiIterationAngle) {
+		Point2D center = new Point2D.Double(centerPhi, centerTheta);
+		BufferedImage result = imageCache.get(center);
+		if (result == null) {
+			result = createMapImage(centerPhi, centerTheta);
+			imageCache.put(center, result);
+		}
 
-			double thetaIterationAngle = TWO_PI / (((double) MAP_WIDTH / MAP_RATIO * Math.sin(x) * thetaIterationPadding) + 1D);
+		return result;
+	}
 
-			double thetaRange = ((1D - Math.sin(x)) * TWO_PI) + minThetaDisplay;
-			
-			if ((x < polarCapRange) || (x > (Math.PI - polarCapRange)))
-				thetaRange = TWO_PI;
-			if (thetaRange > TWO_PI)
-				thetaRange = TWO_PI;
-
-			// Determine the theta starting and ending values.
-			double startTheta = centerTheta - (thetaRange / 2D);
-			double endTheta = centerTheta + (thetaRange / 2D);
-
-			// Loop through each theta value.
-			for (double y = startTheta; y <= endTheta; y += thetaIterationAngle) {
-
-				// Correct y value to make sure it is within bounds. (0 to 2PI)
-				double yCorrected = y;
-				while (yCorrected < 0)
-					yCorrected += TWO_PI;
-				while (yCorrected > TWO_PI)
-					yCorrected -= TWO_PI;
-
-				// Determine the rectangular offset of the pixel in the image.
-				Point location = findRectPosition(centerPhi, centerTheta, x, yCorrected, 1440D / Math.PI, 720,
-						720 - 150);
-
-				// Determine the display x and y coordinates for the pixel in the image.
-				int displayX = IMAGE_WIDTH - location.x;
-				int displayY = IMAGE_HEIGHT - location.y;
-
-				// Check that the x and y coordinates are within the display area.
-				boolean leftBounds = displayX >= 0;
-				boolean rightBounds = displayX < IMAGE_WIDTH;
-				boolean topBounds = displayY >= 0;
-				boolean bottomBounds = displayY < IMAGE_HEIGHT;
-				if (leftBounds && rightBounds && topBounds && bottomBounds) {
-
-					// Determine array index for the display location.
-					int index = (IMAGE_WIDTH - displayX) + ((IMAGE_HEIGHT - displayY) * IMAGE_WIDTH);
-
-					// Put color in array at index.
-					if ((index >= 0) && (index < mapArray.length))
-						mapArray[index] = getRGBColorInt(x, yCorrected);
-				}
-			}
-		}
+	/**
+	 * Renders a map image centered on a given location. Each pixel of the image is
+	 * projected back onto the globe and takes the color of the map data there, so
+	 * every pixel is drawn exactly once. The rows are rendered in parallel.
+	 * 
+	 * @param centerPhi   the phi center location of the map.
+	 * @param centerTheta the theta center location of the map.
+	 * @return the map image.
+	 */
+	BufferedImage createMapImage(double centerPhi, double centerTheta) {
 
-		// Create new map image.
-		result.setRGB(0, 0, IMAGE_WIDTH, IMAGE_HEIGHT, mapArray, 0, IMAGE_WIDTH);
+		// Create a new buffered image to draw the map on.
+		BufferedImage result = new BufferedImage(IMAGE_WIDTH, IMAGE_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+		final int[] mapArray = ((DataBufferInt) result.getRaster().getDataBuffer()).getData();
+
+		final double sinCenterPhi = Math.sin(centerPhi);
+		final double cosCenterPhi = Math.cos(centerPhi);
+		// The map data is PI offset from the center theta, and the projection is
+		// PI / 2 offset from it.
+		final double thetaOffset = centerTheta + (Math.PI * 1.5D);
+
+		IntStream.range(0, IMAGE_HEIGHT).parallel().forEach(y -> {
+			for (int index = y * IMAGE_WIDTH, end = index + IMAGE_WIDTH; index < end; index++) {
+				double depth = VIEW_DEPTH[index];
+				if (Double.isNaN(depth))
+					continue;
+
+				// Rotate the pixel from the view to the globe.
+				double globeX = VIEW_X[index];
+				double globeY = -(VIEW_Y[index] * cosCenterPhi) - (depth * sinCenterPhi);
+				double globeZ = -(VIEW_Y[index] * sinCenterPhi) + (depth * cosCenterPhi);
+				if (globeZ > 1D)
+					globeZ = 1D;
+				else if (globeZ < -1D)
+					globeZ = -1D;
+
+				double phi = Math.acos(globeZ);
+				double theta = Math.atan2(globeY, globeX) + thetaOffset;
+				theta -= TWO_PI * Math.floor(theta / TWO_PI);
+
+				mapArray[index] = getPixel(phi, theta);
+			}
+		});
 
 		return result;
 	}
 
+	/**
+	 * Computes the view coordinates of the pixels of the map images. The map is an
+	 * orthographic view of a globe whose radius is the map height over PI pixels.
+	 * The x and y coordinates run right and down from the center of the image and
+	 * the depth points out of the screen, all in units of the globe radius.
+	 * 
+	 * @param viewX     the x coordinates, by pixel index.
+	 * @param viewY     the y coordinates, by pixel index.
+	 * @param viewDepth the depths, by pixel index, or NaN off the globe.
+	 */
+	private static void computeView(double[] viewX, double[] viewY, double[] viewDepth) {
+		final double rho = MAP_HEIGHT / Math.PI;
+		final int halfWidth = IMAGE_WIDTH / 2;
+		final int halfHeight = IMAGE_HEIGHT / 2;
+
+		for (int y = 0; y < IMAGE_HEIGHT; y++) {
+			for (int x = 0; x < IMAGE_WIDTH; x++) {
+				int index = x + (y * IMAGE_WIDTH);
+				double a = (x - halfWidth) / rho;
+				double b = (y - halfHeight) / rho;
+				double d = 1D - (a * a) - (b * b);
+				viewX[index] = a;
+				viewY[index] = b;
+				// Pixels off the globe are left blank.
+				viewDepth[index] = (d < 0D) ? Double.NaN : Math.sqrt(d);
+			}
+		}
+	}
+
 	@Override
 	public Color getRGBColor(double phi, double theta) {
 		return new Color(getRGBColorInt(phi, theta));
@@ -314,23 +339,28 @@ abstract class IntegerMapData implements MapData {
 	 */
 	private int getRGBColorInt(double phi, double theta) {
 		// Make sure phi is between 0 and PI.
-		while (phi > Math.PI)
-			phi -= Math.PI;
-		while (phi < 0)
-			phi += Math.PI;
+		if ((phi > Math.PI) || (phi < 0))
+			phi -= Math.PI * Math.floor(phi / Math.PI);
 
 		// Adjust theta with PI for the map offset.
 		// Note: the center of the map is when theta = 0
-		if (theta > Math.PI)
-			theta -= Math.PI;
-		else
-			theta += Math.PI;
+		theta += Math.PI;
 
 		// Make sure theta is between 0 and 2 PI.
-		while (theta > TWO_PI)
-			theta -= TWO_PI;
-		while (theta < 0)
-			theta += TWO_PI;
+		if ((theta > TWO_PI) || (theta < 0))
+			theta -= TWO_PI * Math.floor(theta / TWO_PI);
+
+		return getPixel(phi, theta);
+	}
+
+	/**
+	 * Gets the map data color at a given location.
+	 * 
+	 * @param phi   the phi location, between 0 and PI.
+	 * @param theta the theta location in the map data, between 0 and 2 PI.
+	 * @return the RGB map color as an integer.
+	 */
+	private int getPixel(double phi, double theta) {
 
 //		int row = (int) Math.round(phi * (MAP_HEIGHT / Math.PI));
 //		if (row == mapColors.size())
@@ -503,6 +533,7 @@ abstract class IntegerMapData implements MapData {
 	
 	public void destroy() {
 		pixels = null;
+		imageCache.clear();
 		logger = null;
 	}
 }
\ No newline at end of file
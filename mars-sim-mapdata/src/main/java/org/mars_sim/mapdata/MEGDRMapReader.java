@@ -42,7 +42,7 @@ import me.lemire.integercompression.differential.SkippableIntegratedComposition;
 
 public class MEGDRMapReader {
 
-	private static final String FILE = "/maps/megt90n000cb.img";
+	static final String FILE = "/maps/megt90n000cb.img";
 	private static final String COMPRESSED = "720x1440_JavaFastPFOR_compressed";
 //	private static final String UNCOMPRESSED = "720x1440_uncompressed";
 	
@@ -58,11 +58,9 @@ public class MEGDRMapReader {
 	
 	// Each number occupies 2 bytes
 	private static final int BUFFER_SIZE = 2;
-	private static final byte[] buffer = new byte[BUFFER_SIZE]; 
 	
 	// Each number occupies ? bytes
 	private static final int COMPRESSED_BUFFER_SIZE = 4;
-	private static final byte[] cBuffer = new byte[COMPRESSED_BUFFER_SIZE]; 
 	
 	private static int COMPRESSED_N;
 	
@@ -610,6 +608,7 @@ public class MEGDRMapReader {
     public int[] read2ByteArray(String filename) {
 
     	int[] array = new int[elevation.length];
+    	byte[] buffer = new byte[BUFFER_SIZE];
 		InputStream inputStream = null;
 		try {
 			inputStream = new BufferedInputStream(new FileInputStream(filename));
@@ -647,6 +646,7 @@ public class MEGDRMapReader {
     public int[] read4ByteArray(String filename) {
 
     	int[] compressed = new int[COMPRESSED_N];
+    	byte[] cBuffer = new byte[COMPRESSED_BUFFER_SIZE];
 //    	byte[] data = new byte[compressed.length * 4];
 //    	int size = data.length;
     	
@@ -18,16 +18,13 @@ public final class MapDataUtil {
 	public static final int IMAGE_HEIGHT = IMAGE_WIDTH;
 	private static final int HEIGHT = MEGDRMapReader.HEIGHT;
 	private static final int WIDTH = MEGDRMapReader.WIDTH;
-	
-	private static final double PI = Math.PI;
-	private static final double TWO_PI = Math.PI * 2D;
 
     // Singleton instance.
     private static MapDataUtil instance;
     private static MapDataFactory mapDataFactory;
-    private static MEGDRMapReader reader;
 
 	private static int[] elevationArray;
+	private static ElevationStore elevationStore;
 	
 //	static {
 //		reader = new MEGDRMapReader();
@@ -39,18 +36,29 @@ public final class MapDataUtil {
      */
     private MapDataUtil() {
         mapDataFactory = new MapDataFactory();
-		reader = new MEGDRMapReader();
     }
     
     public int[] getElevationArray() {
     	
     	if (elevationArray == null) {		
-    		elevationArray = reader.loadElevation();
+    		elevationArray = new MEGDRMapReader().loadElevation();
     	}
     		
 		return elevationArray;
 	}
 	
+    /**
+     * Gets the elevation store, opening it on first use.
+     * 
+     * @return elevation store.
+     */
+    public synchronized ElevationStore getElevationStore() {
+    	if (elevationStore == null) {
+    		elevationStore = new ElevationStore(MEGDRMapReader.FILE, HEIGHT, WIDTH);
+    	}
+    	return elevationStore;
+    }
+
     /**
 	 * Gets the elevation as an integer at a given location.
 	 * 
@@ -59,40 +67,19 @@ public final class MapDataUtil {
 	 * @return the elevation as an integer.
 	 */
 	public int getElevationInt(double phi, double theta) {
-		// Make sure phi is between 0 and PI.
-		while (phi > PI)
-			phi -= PI;
-		while (phi < 0)
-			phi += PI;
-
-		// Adjust theta with PI for the map offset.
-		// Note: the center of the map is when theta = 0
-		if (theta > PI)
-			theta -= PI;
-		else
-			theta += PI;
-		
-		// Make sure theta is between 0 and 2 PI.
-		while (theta > TWO_PI)
-			theta -= TWO_PI;
-		while (theta < 0)
-			theta += TWO_PI;
-
-		int row = (int) Math.round(phi * HEIGHT / PI);
-		if (row == HEIGHT) 
-			row--;
-		
-		int column = WIDTH /2 + (int) Math.round(theta * WIDTH / TWO_PI);
-//		if (column < 0)
-//			column = 0;		
-		if (column == WIDTH)
-			column--;
+		return getElevationStore().getElevation(phi, theta);
+	}
 
-		int index = row * WIDTH + column;
-		if (index >= HEIGHT * WIDTH)
-			index = HEIGHT * WIDTH - 1;
-		
-		return getElevationArray()[index];
+    /**
+	 * Gets the elevation at a given location, interpolated between the nearest
+	 * samples.
+	 * 
+	 * @param phi   the phi location.
+	 * @param theta the theta location.
+	 * @return the elevation (in meters).
+	 */
+	public double getElevation(double phi, double theta) {
+		return getElevationStore().getBilinearElevation(phi, theta);
 	}
 	
     /**
@@ -0,0 +1,136 @@
+package org.mars_sim.mapdata;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.net.URLConnection;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit test suite for the ElevationStore.
+ */
+public class ElevationStoreTest extends TestCase {
+
+	private static final int HEIGHT = MEGDRMapReader.HEIGHT;
+	private static final int WIDTH = MEGDRMapReader.WIDTH;
+	private static final int NUM_LOCATIONS = 10_000;
+
+	private File directory;
+	/** The samples of the grid, row by row, as read by MEGDRMapReader. */
+	private int[] elevation;
+
+	@Override
+	public void setUp() throws Exception {
+		directory = File.createTempFile("elevation", "");
+		directory.delete();
+		directory.mkdirs();
+		elevation = new MEGDRMapReader().loadElevation();
+		assertEquals(HEIGHT * WIDTH, elevation.length);
+	}
+
+	@Override
+	public void tearDown() throws Exception {
+		File[] files = directory.listFiles();
+		if (files != null) {
+			for (File f : files)
+				f.delete();
+		}
+		directory.delete();
+	}
+
+	/**
+	 * Test that every sample is found in its tile.
+	 */
+	public void testTileIndex() {
+		ElevationStore store = new ElevationStore(directory, MEGDRMapReader.FILE, HEIGHT, WIDTH);
+		assertSamples(store);
+	}
+
+	/**
+	 * Test that a location gives the sample of the old per pixel mapping, with the
+	 * rows clamped to the poles and theta wrapping around.
+	 */
+	public void testLocationMapping() {
+		ElevationStore store = new ElevationStore(directory, MEGDRMapReader.FILE, HEIGHT, WIDTH);
+		Random random = new Random(20200220L);
+		for (int i = 0; i < NUM_LOCATIONS; i++) {
+			double phi = random.nextDouble() * Math.PI;
+			double theta = random.nextDouble() * Math.PI * 2D;
+			int expected = getPixel(phi, theta);
+
+			assertEquals(expected, store.getElevation(phi, theta));
+			assertEquals(expected, store.getElevation(phi, theta + Math.PI * 2D));
+			assertEquals(expected, store.getElevation(phi, theta - Math.PI * 2D));
+		}
+
+		// The edges of the grid
+		assertEquals(elevation[0], store.getElevation(0D, 0D));
+		assertEquals(elevation[WIDTH - 1], store.getElevation(0D, -.0001D));
+		assertEquals(elevation[(HEIGHT - 1) * WIDTH], store.getElevation(Math.PI, 0D));
+		assertEquals(elevation[WIDTH - 1], store.getElevation(0, -1));
+		assertEquals(elevation[0], store.getElevation(-1, WIDTH));
+		assertEquals(elevation[(HEIGHT - 1) * WIDTH + 1], store.getElevation(HEIGHT, WIDTH + 1));
+	}
+
+	/**
+	 * Test that the tiled file is keyed on the length and the modification time
+	 * of the grid resource, that it is used without reading the grid again and
+	 * that a file whose key does not match is decoded again.
+	 */
+	public void testCacheKeyedByResource() throws Exception {
+		new ElevationStore(directory, MEGDRMapReader.FILE, HEIGHT, WIDTH);
+
+		URLConnection connection = ElevationStore.class.getResource(MEGDRMapReader.FILE).openConnection();
+		long length = connection.getContentLengthLong();
+		long modified = connection.getLastModified();
+		File[] files = directory.listFiles();
+		assertEquals(1, files.length);
+		assertTrue(files[0].getName(),
+				files[0].getName().contains("-" + Long.toHexString(length) + "-" + Long.toHexString(modified)));
+
+		// A changed sample under a matching key is taken as is, the grid is not read
+		try (RandomAccessFile raf = new RandomAccessFile(files[0], "rw")) {
+			raf.seek(ElevationStore.HEADER_SIZE);
+			raf.writeShort(~elevation[0]);
+		}
+		assertEquals((short) ~elevation[0], new ElevationStore(directory, MEGDRMapReader.FILE, HEIGHT, WIDTH)
+				.getElevation(0, 0));
+
+		// A stale file under the same name
+		try (RandomAccessFile raf = new RandomAccessFile(files[0], "rw")) {
+			raf.seek(16);
+			raf.writeLong(~length);
+			raf.seek(raf.length() / 2);
+			raf.writeLong(Long.MAX_VALUE);
+		}
+
+		assertSamples(new ElevationStore(directory, MEGDRMapReader.FILE, HEIGHT, WIDTH));
+		assertSamples(new ElevationStore(directory, MEGDRMapReader.FILE, HEIGHT, WIDTH));
+	}
+
+	private void assertSamples(ElevationStore store) {
+		for (int row = 0; row < HEIGHT; row++) {
+			for (int column = 0; column < WIDTH; column++) {
+				int expected = elevation[row * WIDTH + column];
+				if (store.getElevation(row, column) != expected)
+					fail("Sample at " + row + ", " + column + " : " + store.getElevation(row, column) + " instead of "
+							+ expected);
+			}
+		}
+	}
+
+	/**
+	 * Gets the sample of a location the way it was looked up in the flat array,
+	 * without the row offset.
+	 */
+	private int getPixel(double phi, double theta) {
+		int row = (int) (phi * HEIGHT / Math.PI);
+		if (row == HEIGHT)
+			row--;
+		int column = (int) (theta * WIDTH / (Math.PI * 2D));
+		if (column == WIDTH)
+			column--;
+		return elevation[row * WIDTH + column];
+	}
+}
@@ -0,0 +1,164 @@
+package org.mars_sim.mapdata;
+
+import java.awt.Point;
+import java.awt.image.BufferedImage;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit test suite for the map images of the IntegerMapData. The map data
+ * encodes the row and column of each pixel in its color, so that the location
+ * drawn at each pixel of an image can be compared with the old forward
+ * projection, which scattered the map data onto the image.
+ */
+public class IntegerMapDataTest extends TestCase {
+
+	private static final int WIDTH = IntegerMapData.IMAGE_WIDTH;
+	private static final int HEIGHT = IntegerMapData.IMAGE_HEIGHT;
+	private static final double TWO_PI = Math.PI * 2D;
+	/** The globe radius (in image pixels). */
+	private static final double RHO = IntegerMapData.MAP_HEIGHT / Math.PI;
+	/** The angle of a map data pixel (radians). */
+	private static final double PIXEL_ANGLE = Math.PI / IntegerMapData.MAP_HEIGHT;
+	/** The share of the pixels drawn by the old projection that may be off. */
+	private static final double MAX_MISMATCH = .01D;
+
+	private static final double[][] CENTERS = { { Math.PI / 2D, 0D }, { Math.PI / 2D, Math.PI },
+			{ Math.PI / 2D, TWO_PI - .01D }, { Math.PI / 4D, 1D }, { Math.PI * .75D, 4D }, { 0D, 0D },
+			{ Math.PI, 2D }, { .01D, 5D }, { Math.PI - .01D, 3D } };
+
+	private IntegerMapData mapData;
+
+	@Override
+	public void setUp() throws Exception {
+		int[][] pixels = new int[IntegerMapData.MAP_HEIGHT][IntegerMapData.MAP_WIDTH];
+		for (int row = 0; row < pixels.length; row++) {
+			for (int column = 0; column < pixels[row].length; column++)
+				pixels[row][column] = 0xFF000000 | (row << 12) | column;
+		}
+		mapData = new IntegerMapData(pixels) {
+		};
+	}
+
+	/**
+	 * Test that the pixels of the images show the locations the old forward
+	 * projection drew there, within the rounding of both projections.
+	 */
+	public void testMatchesForwardProjection() {
+		for (double[] center : CENTERS) {
+			int[] expected = createForwardImage(center[0], center[1]);
+			BufferedImage image = mapData.createMapImage(center[0], center[1]);
+
+			int drawn = 0;
+			int mismatches = 0;
+			for (int y = 0; y < HEIGHT; y++) {
+				for (int x = 0; x < WIDTH; x++) {
+					int old = expected[x + y * WIDTH];
+					if (old == 0)
+						continue;
+					drawn++;
+
+					int pixel = image.getRGB(x, y);
+					if (pixel == 0 || getAngle(old, pixel) > getTolerance(x, y))
+						mismatches++;
+				}
+			}
+
+			String name = "Center " + center[0] + ", " + center[1];
+			assertTrue(name, drawn > WIDTH * HEIGHT / 2);
+			assertTrue(name + " : " + mismatches + " of " + drawn, mismatches <= drawn * MAX_MISMATCH);
+		}
+	}
+
+	/**
+	 * Test that every pixel of the globe is drawn, including around the poles
+	 * where the old projection left gaps.
+	 */
+	public void testNoGaps() {
+		for (double[] center : CENTERS) {
+			BufferedImage image = mapData.createMapImage(center[0], center[1]);
+			for (int y = 0; y < HEIGHT; y++) {
+				for (int x = 0; x < WIDTH; x++) {
+					double a = (x - WIDTH / 2) / RHO;
+					double b = (y - HEIGHT / 2) / RHO;
+					if (a * a + b * b <= 1D)
+						assertTrue("Pixel " + x + ", " + y, image.getRGB(x, y) != 0);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the angle between the map data pixels encoded in two colors.
+	 */
+	private static double getAngle(int color0, int color1) {
+		double phi0 = ((color0 >> 12) & 0x7FF) * PIXEL_ANGLE;
+		double theta0 = (color0 & 0xFFF) * PIXEL_ANGLE;
+		double phi1 = ((color1 >> 12) & 0x7FF) * PIXEL_ANGLE;
+		double theta1 = (color1 & 0xFFF) * PIXEL_ANGLE;
+		double cos = Math.cos(phi0) * Math.cos(phi1) + Math.sin(phi0) * Math.sin(phi1) * Math.cos(theta0 - theta1);
+		return Math.acos(Math.max(-1D, Math.min(1D, cos)));
+	}
+
+	/**
+	 * Gets the angle that the rounding of both projections may put between the
+	 * locations drawn at a pixel. A pixel spans a wider angle toward the limb of
+	 * the globe.
+	 */
+	private static double getTolerance(int x, int y) {
+		double a = (x - WIDTH / 2) / RHO;
+		double b = (y - HEIGHT / 2) / RHO;
+		double depth = Math.sqrt(Math.max(0D, 1D - a * a - b * b));
+		return 2D * PIXEL_ANGLE + 1.5D / RHO / Math.max(depth, .1D);
+	}
+
+	/**
+	 * Draws a map image the way it was drawn before, by stepping through the
+	 * locations around the center and projecting each onto the image.
+	 *
+	 * @return the colors by pixel index, 0 where nothing was drawn.
+	 */
+	private int[] createForwardImage(double centerPhi, double centerTheta) {
+		int mapHeight = IntegerMapData.MAP_HEIGHT;
+		int mapWidth = IntegerMapData.MAP_WIDTH;
+		double mapRatio = IntegerMapData.MAP_RATIO;
+		int[] mapArray = new int[WIDTH * HEIGHT];
+
+		double phiIterationAngle = Math.PI / (mapHeight / mapRatio * 1.26D);
+		double phiRange = Math.PI * 1.46D * HEIGHT / mapHeight * mapRatio;
+		double startPhi = Math.max(0D, centerPhi - (phiRange / 2D));
+		double endPhi = Math.min(Math.PI, centerPhi + (phiRange / 2D));
+
+		double ratio = TWO_PI * WIDTH / mapWidth * mapRatio;
+		double polarCapRange = Math.PI / 6.54D;
+		double minThetaDisplay = ratio * 1.02D;
+
+		for (double x = startPhi; x <= endPhi; x += phiIterationAngle) {
+			double thetaIterationAngle = TWO_PI / (((double) mapWidth / mapRatio * Math.sin(x) * 1.46D) + 1D);
+			double thetaRange = ((1D - Math.sin(x)) * TWO_PI) + minThetaDisplay;
+			if ((x < polarCapRange) || (x > (Math.PI - polarCapRange)) || (thetaRange > TWO_PI))
+				thetaRange = TWO_PI;
+
+			double startTheta = centerTheta - (thetaRange / 2D);
+			double endTheta = centerTheta + (thetaRange / 2D);
+			for (double y = startTheta; y <= endTheta; y += thetaIterationAngle) {
+				double yCorrected = y;
+				while (yCorrected < 0)
+					yCorrected += TWO_PI;
+				while (yCorrected > TWO_PI)
+					yCorrected -= TWO_PI;
+
+				Point location = mapData.findRectPosition(centerPhi, centerTheta, x, yCorrected, 1440D / Math.PI,
+						720, 720 - 150);
+				int displayX = WIDTH - location.x;
+				int displayY = HEIGHT - location.y;
+				if (displayX >= 0 && displayX < WIDTH && displayY >= 0 && displayY < HEIGHT) {
+					int index = (WIDTH - displayX) + ((HEIGHT - displayY) * WIDTH);
+					if ((index >= 0) && (index < mapArray.length))
+						mapArray[index] = mapData.getRGBColor(x, yCorrected).getRGB();
+				}
+			}
+		}
+		return mapArray;
+	}
+}
@@ -13,10 +13,9 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
 
-import javax.swing.SwingUtilities;
-
 import org.mars_sim.msp.core.GameManager;
 import org.mars_sim.msp.core.GameManager.GameMode;
 import org.mars_sim.msp.core.Msg;
@@ -346,21 +345,18 @@ public class PersonTableModel extends UnitTableModel {
 	 * @param event the unit event.
 	 */
 	public void unitUpdate(UnitEvent event) {
+		// Already on the Swing event thread
+		new PersonTableUpdater(event, this).run();
+	}
 
-		// WARNING : the instance of desktop is NOT guarantee
-		// if (desktop.getMainScene() != null) {
-		// Platform.runLater(
-		// new PersonTableUpdater(event, this)
-		// );
-
-		// }
-		// else {
-		// WARNING : the use of SwingUtilities below seems to create StackOverflow from
-		// time to time in eclipse
-		SwingUtilities.invokeLater(new PersonTableUpdater(event, this));
-//		}
-
-
+	/**
+	 * Gets the types of unit event shown in the table.
+	 * 
+	 * @return set of event types.
+	 */
+	@Override
+	public Set<UnitEventType> getUnitEventTypes() {
+		return PersonTableUpdater.EVENT_COLUMN_MAPPING.keySet();
 	}
 
 	/**
@@ -12,8 +12,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
-
-import javax.swing.SwingUtilities;
+import java.util.Set;
 
 import org.mars_sim.msp.core.GameManager;
 import org.mars_sim.msp.core.GameManager.GameMode;
@@ -262,7 +261,18 @@ public class RobotTableModel extends UnitTableModel {
 	 * @param event the unit event.
 	 */
 	public void unitUpdate(UnitEvent event) {
-		SwingUtilities.invokeLater(new RobotTableUpdater(event, this));
+		// Already on the Swing event thread
+		new RobotTableUpdater(event, this).run();
+	}
+
+	/**
+	 * Gets the types of unit event shown in the table.
+	 * 
+	 * @return set of event types.
+	 */
+	@Override
+	public Set<UnitEventType> getUnitEventTypes() {
+		return RobotTableUpdater.EVENT_COLUMN_MAPPING.keySet();
 	}
 
 	/**
@@ -14,8 +14,6 @@ import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import javax.swing.SwingUtilities;
-
 import org.mars_sim.msp.core.GameManager;
 import org.mars_sim.msp.core.GameManager.GameMode;
 import org.mars_sim.msp.core.Msg;
@@ -375,7 +373,8 @@ public class SettlementTableModel extends UnitTableModel {
 		}
 
 		if (columnNum > -1) {
-			SwingUtilities.invokeLater(new SettlementTableCellUpdater(unitIndex, columnNum));
+			// Already on the Swing event thread
+			new SettlementTableCellUpdater(unitIndex, columnNum).run();
 		}
 	}
 
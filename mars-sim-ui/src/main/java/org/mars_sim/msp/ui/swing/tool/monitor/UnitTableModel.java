@@ -13,6 +13,7 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import javax.swing.SwingUtilities;
 import javax.swing.table.AbstractTableModel;
 
+import org.mars_sim.msp.core.AsyncUnitListener;
 import org.mars_sim.msp.core.Msg;
 import org.mars_sim.msp.core.Simulation;
 import org.mars_sim.msp.core.Unit;
@@ -21,10 +22,11 @@ import org.mars_sim.msp.core.UnitManager;
 
 /**
  * The UnitTableModel that maintains a table model of Units objects. It is only
- * a partial implementation of the TableModel interface.
+ * a partial implementation of the TableModel interface. Unit events reach it
+ * through the unit event bus, on the Swing event thread.
  */
 @SuppressWarnings("serial")
-abstract public class UnitTableModel extends AbstractTableModel implements MonitorModel, UnitListener {
+abstract public class UnitTableModel extends AbstractTableModel implements MonitorModel, AsyncUnitListener {
 
 	// Data members
 	/** Should it be refreshed to get the number of units. */
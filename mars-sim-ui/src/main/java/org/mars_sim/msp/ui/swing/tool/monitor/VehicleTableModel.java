@@ -529,7 +529,8 @@ public class VehicleTableModel extends UnitTableModel {
 				}
 		
 				if (columnNum > -1 && unitIndex > -1) {
-					SwingUtilities.invokeLater(new VehicleTableCellUpdater(unitIndex, columnNum));
+					// Already on the Swing event thread
+					new VehicleTableCellUpdater(unitIndex, columnNum).run();
 				}
 			}
 		}
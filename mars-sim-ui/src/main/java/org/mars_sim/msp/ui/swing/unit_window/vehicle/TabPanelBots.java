@@ -15,6 +15,7 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
@@ -122,7 +123,7 @@ implements MouseListener, ActionListener {
 		// Create crew list model
 		crewListModel = new DefaultListModel<Robot>();
 		//crewListModel = new DefaultListModel<Unit>();
-		crewCache = crewable.getRobotCrew();
+		crewCache = new ArrayList<>(crewable.getRobotCrew());
 		//crewCache = crewable.getUnitCrew();
 		Iterator<Robot> i = crewCache.iterator();
 		//Iterator<Unit> i = crewCache.iterator();
@@ -165,7 +166,7 @@ implements MouseListener, ActionListener {
 		//if (!Arrays.equals(crewCache.toArray(), crewable.getUnitCrew().toArray())) {
 		if (!Arrays.equals(crewCache.toArray(), crewable.getRobotCrew().toArray())) {
 			//crewCache = crewable.getUnitCrew();
-			crewCache = crewable.getRobotCrew();
+			crewCache = new ArrayList<>(crewable.getRobotCrew());
 			crewListModel.clear();
 			Iterator<Robot> i = crewCache.iterator();
 			//Iterator<Unit> i = crewCache.iterator();
@@ -15,6 +15,7 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
@@ -125,7 +126,7 @@ implements MouseListener, ActionListener {
 		// Create crew list model
 		crewListModel = new DefaultListModel<Person>();
 		//crewListModel = new DefaultListModel<Unit>();
-		crewCache = crewable.getCrew();
+		crewCache = new ArrayList<>(crewable.getCrew());
 		//crewCache = crewable.getUnitCrew();
 		Iterator<Person> i = crewCache.iterator();
 		//Iterator<Unit> i = crewCache.iterator();
@@ -171,7 +172,7 @@ implements MouseListener, ActionListener {
 		//if (!Arrays.equals(crewCache.toArray(), crewable.getUnitCrew().toArray())) {
 		if (!Arrays.equals(crewCache.toArray(), crewable.getCrew().toArray())) {
 			//crewCache = crewable.getUnitCrew();
-			crewCache = crewable.getCrew();
+			crewCache = new ArrayList<>(crewable.getCrew());
 			crewListModel.clear();
 			Iterator<Person> i = crewCache.iterator();
 			//Iterator<Unit> i = crewCache.iterator();